@@ -66,6 +66,11 @@ public class CasClient extends IndirectClient {
         configuration.findLogoutHandler().renewSession(oldSessionId, context, sessionStore);
     }
 
+    @Override
+    public boolean destroyBroadcastSession(final WebContext context, final SessionStore sessionStore) {
+        return configuration.findLogoutHandler().destroyBroadcastSession(context, sessionStore);
+    }
+
     public CasConfiguration getConfiguration() {
         return configuration;
     }
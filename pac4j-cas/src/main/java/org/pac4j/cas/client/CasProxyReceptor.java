@@ -2,6 +2,7 @@ package org.pac4j.cas.client;
 
 import java.util.concurrent.TimeUnit;
 
+import org.pac4j.cas.store.ProxyGrantingTicketStore;
 import org.pac4j.core.client.IndirectClient;
 import org.pac4j.core.exception.TechnicalException;
 import org.pac4j.core.exception.http.OkAction;
@@ -22,6 +23,9 @@ import static org.pac4j.core.util.CommonHelper.*;
  * <p>The proxy granting tickets and associations are stored by default in a {@link Store} class, which can be overridden by using the
  * {@link #setStore(Store)} method.</p>
  *
+ * <p>The PGT retrieval can wait for a PGT not received yet by using a {@link ProxyGrantingTicketStore} with a wait timeout,
+ * defined via the {@link #setProxyGrantingTicketStore(ProxyGrantingTicketStore)} method.</p>
+ *
  * @author Jerome Leleu
  * @since 1.4.0
  */
@@ -35,6 +39,8 @@ public final class CasProxyReceptor extends IndirectClient {
 
     private Store<String, String> store = new GuavaStore<>(1000, 1, TimeUnit.MINUTES);
 
+    private volatile ProxyGrantingTicketStore proxyGrantingTicketStore;
+
     @Override
     protected void internalInit(final boolean forceReinit) {
         assertNotNull("store", this.store);
@@ -52,7 +58,8 @@ public final class CasProxyReceptor extends IndirectClient {
                 throw new OkAction("");
             }
 
-            this.store.set(proxyGrantingTicketIou.get(), proxyGrantingTicket.get());
+            // also notifies the local validations waiting for this PGT
+            getProxyGrantingTicketStore().save(proxyGrantingTicketIou.get(), proxyGrantingTicket.get());
 
             logger.debug("Found pgtIou and pgtId for CAS proxy receptor -> returns ok");
             throw new OkAction("<?xml version=\"1.0\"?>\n<casClient:proxySuccess xmlns:casClient=\"http://www.yale.edu/tp/casClient\" />");
@@ -66,6 +73,29 @@ public final class CasProxyReceptor extends IndirectClient {
 
     public void setStore(final Store<String, String> store) {
         this.store = store;
+        final var previous = this.proxyGrantingTicketStore;
+        if (previous != null) {
+            // keep the wait settings of the current PGT store
+            final var pgtStore = new ProxyGrantingTicketStore(store, previous.getWaitTimeout());
+            pgtStore.setInitialPollInterval(previous.getInitialPollInterval());
+            pgtStore.setMaxPollInterval(previous.getMaxPollInterval());
+            pgtStore.setClock(previous.getClock());
+            this.proxyGrantingTicketStore = pgtStore;
+        }
+    }
+
+    public synchronized ProxyGrantingTicketStore getProxyGrantingTicketStore() {
+        if (this.proxyGrantingTicketStore == null) {
+            assertNotNull("store", this.store);
+            this.proxyGrantingTicketStore = new ProxyGrantingTicketStore(this.store);
+        }
+        return proxyGrantingTicketStore;
+    }
+
+    public void setProxyGrantingTicketStore(final ProxyGrantingTicketStore proxyGrantingTicketStore) {
+        assertNotNull("proxyGrantingTicketStore", proxyGrantingTicketStore);
+        this.proxyGrantingTicketStore = proxyGrantingTicketStore;
+        this.store = proxyGrantingTicketStore.getStore();
     }
 
     @Override
@@ -5,21 +5,14 @@ import org.pac4j.cas.config.CasConfiguration;
 import org.pac4j.cas.profile.CasProfile;
 import org.pac4j.cas.profile.CasRestProfile;
 import org.pac4j.core.profile.ProfileHelper;
-import org.pac4j.core.util.HttpUtils;
 import org.pac4j.core.client.DirectClient;
-import org.pac4j.core.context.HttpConstants;
 import org.pac4j.core.context.WebContext;
 import org.pac4j.core.credentials.TokenCredentials;
 import org.pac4j.core.exception.TechnicalException;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This is {@link CasRestFormClient} able to communicate to
@@ -33,50 +26,28 @@ public abstract class AbstractCasRestClient extends DirectClient {
 
     protected CasConfiguration configuration;
 
+    protected volatile CasRestHttpClient restHttpClient;
+
     public void destroyTicketGrantingTicket(final CasRestProfile profile, final WebContext context) {
-        HttpURLConnection connection = null;
-        try {
-            final var endpointURL = new URL(configuration.computeFinalRestUrl(context));
-            final var deleteURL = new URL(endpointURL, endpointURL.getPath() + "/" + profile.getTicketGrantingTicketId());
-            connection = HttpUtils.openDeleteConnection(deleteURL);
-            final var responseCode = connection.getResponseCode();
-            if (responseCode != HttpConstants.OK) {
-                throw new TechnicalException("TGT delete request for `" + profile + "` failed: " +
-                        HttpUtils.buildHttpErrorMessage(connection));
-            }
-        } catch (final IOException e) {
-            throw new TechnicalException(e);
-        } finally {
-            HttpUtils.closeConnection(connection);
-        }
+        CasRestHttpClient.join(getRestHttpClient().destroyTicketGrantingTicket(profile, context));
     }
 
     public TokenCredentials requestServiceTicket(final String serviceURL, final CasRestProfile profile, final WebContext context) {
-        HttpURLConnection connection = null;
-        try {
-            final var endpointURL = new URL(configuration.computeFinalRestUrl(context));
-            final var ticketURL = new URL(endpointURL, endpointURL.getPath() + "/" + profile.getTicketGrantingTicketId());
-
-            connection = HttpUtils.openPostConnection(ticketURL);
-            final var payload = HttpUtils.encodeQueryParam("service", serviceURL);
-
-            final var out = new BufferedWriter(new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8));
-            out.write(payload);
-            out.close();
+        return CasRestHttpClient.join(getRestHttpClient().requestServiceTicket(serviceURL, profile, context));
+    }
 
-            final var responseCode = connection.getResponseCode();
-            if (responseCode == HttpConstants.OK) {
-                try (var in = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
-                    return new TokenCredentials(in.readLine());
-                }
-            }
-            throw new TechnicalException("Service ticket request for `" + profile + "` failed: " +
-                    HttpUtils.buildHttpErrorMessage(connection));
-        } catch (final IOException e) {
-            throw new TechnicalException(e);
-        } finally {
-            HttpUtils.closeConnection(connection);
-        }
+    /**
+     * Request the service tickets of several services for the same TGT, asynchronously and with connection reuse.
+     *
+     * @param profile the CAS REST profile (holding the TGT)
+     * @param serviceURLs the service URLs
+     * @param context the web context
+     * @return the future service tickets per service URL
+     */
+    public CompletableFuture<Map<String, TokenCredentials>> requestServiceTickets(final CasRestProfile profile,
+                                                                                   final List<String> serviceURLs,
+                                                                                   final WebContext context) {
+        return getRestHttpClient().requestServiceTickets(profile, serviceURLs, context);
     }
 
     public CasProfile validateServiceTicket(final String serviceURL, final TokenCredentials ticket, final WebContext context) {
@@ -99,4 +70,15 @@ public abstract class AbstractCasRestClient extends DirectClient {
     public void setConfiguration(final CasConfiguration configuration) {
         this.configuration = configuration;
     }
+
+    public synchronized CasRestHttpClient getRestHttpClient() {
+        if (restHttpClient == null) {
+            restHttpClient = new CasRestHttpClient(configuration);
+        }
+        return restHttpClient;
+    }
+
+    public void setRestHttpClient(final CasRestHttpClient restHttpClient) {
+        this.restHttpClient = restHttpClient;
+    }
 }
@@ -0,0 +1,330 @@
+package org.pac4j.cas.client.rest;
+
+import org.pac4j.cas.config.CasConfiguration;
+import org.pac4j.cas.profile.CasRestProfile;
+import org.pac4j.core.context.HttpConstants;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.credentials.TokenCredentials;
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.http.client.DefaultHttpClientFactory;
+import org.pac4j.core.http.client.HttpClientFactory;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.core.util.HttpUtils;
+import org.pac4j.core.util.InitializableObject;
+import org.pac4j.core.util.Pac4jConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLContext;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous client of the CAS REST API, to request and destroy TGTs and to request STs.
+ *
+ * <p>It relies on the {@link HttpClientFactory} of the CAS configuration (unless a specific one is defined), which keeps
+ * the connections to the CAS server alive and is shared by all the requests, with its own timeouts and retry policy.
+ * The service tickets for several services can be requested in bulk for one TGT: the requests are sent concurrently,
+ * at most {@link #getMaxConcurrentRequests()} at a time.</p>
+ *
+ * <p>The timeouts, SSL context, executor and HTTP client setters configure a specific {@link DefaultHttpClientFactory}
+ * (created if none is defined or if the current one is the shared one of the CAS configuration): the shared factory
+ * is never modified.</p>
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public class CasRestHttpClient extends InitializableObject {
+
+    private static final Logger logger = LoggerFactory.getLogger(CasRestHttpClient.class);
+
+    private CasConfiguration configuration;
+
+    private int maxConcurrentRequests = 10;
+
+    private HttpClientFactory httpClientFactory;
+
+    public CasRestHttpClient() {}
+
+    public CasRestHttpClient(final CasConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    @Override
+    protected void internalInit(final boolean forceReinit) {
+        CommonHelper.assertNotNull("configuration", configuration);
+        CommonHelper.assertTrue(maxConcurrentRequests > 0, "maxConcurrentRequests must be greater than 0");
+
+        if (httpClientFactory == null) {
+            httpClientFactory = configuration.getHttpClientFactory();
+        }
+    }
+
+    /**
+     * Request a ticket granting ticket.
+     *
+     * @param username the username
+     * @param password the password
+     * @param context the web context
+     * @return the future TGT identifier, <code>null</code> if the authentication fails
+     */
+    public CompletableFuture<String> requestTicketGrantingTicket(final String username, final String password,
+                                                                 final WebContext context) {
+        init();
+
+        final var payload = HttpUtils.encodeQueryParam(Pac4jConstants.USERNAME, username)
+            + "&" + HttpUtils.encodeQueryParam(Pac4jConstants.PASSWORD, password);
+        final var request = buildPostRequest(toUri(configuration.computeFinalRestUrl(context)), payload);
+        return httpClientFactory.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenApply(response -> {
+            final var locationHeader = response.headers().firstValue("location").orElse(null);
+            if (locationHeader != null && response.statusCode() == HttpConstants.CREATED) {
+                return locationHeader.substring(locationHeader.lastIndexOf("/") + 1);
+            }
+            logger.debug("Ticket granting ticket request failed: {} {}", locationHeader, HttpUtils.buildHttpErrorMessage(response));
+            return null;
+        });
+    }
+
+    /**
+     * Request a service ticket.
+     *
+     * @param serviceURL the service URL
+     * @param profile the CAS REST profile (holding the TGT)
+     * @param context the web context
+     * @return the future service ticket
+     */
+    public CompletableFuture<TokenCredentials> requestServiceTicket(final String serviceURL, final CasRestProfile profile,
+                                                                    final WebContext context) {
+        init();
+
+        return requestServiceTicket(serviceURL, profile, computeTicketGrantingTicketUri(profile, context));
+    }
+
+    /**
+     * Request the service tickets of several services for the same TGT. The requests are sent concurrently.
+     *
+     * @param profile the CAS REST profile (holding the TGT)
+     * @param serviceURLs the service URLs
+     * @param context the web context
+     * @return the future service tickets per service URL, in the order of the service URLs
+     */
+    public CompletableFuture<Map<String, TokenCredentials>> requestServiceTickets(final CasRestProfile profile,
+                                                                                   final List<String> serviceURLs,
+                                                                                   final WebContext context) {
+        init();
+        CommonHelper.assertNotNull("serviceURLs", serviceURLs);
+
+        final var ticketGrantingTicketUri = computeTicketGrantingTicketUri(profile, context);
+        final var size = serviceURLs.size();
+        final var tickets = new TokenCredentials[size];
+        final var nextIndex = new AtomicInteger();
+        final var workers = new CompletableFuture<?>[Math.min(maxConcurrentRequests, size)];
+        for (var i = 0; i < workers.length; i++) {
+            workers[i] = requestNextServiceTicket(serviceURLs, tickets, nextIndex, profile, ticketGrantingTicketUri);
+        }
+        return CompletableFuture.allOf(workers).thenApply(v -> {
+            final Map<String, TokenCredentials> result = new LinkedHashMap<>(size);
+            for (var i = 0; i < size; i++) {
+                result.put(serviceURLs.get(i), tickets[i]);
+            }
+            return result;
+        });
+    }
+
+    private CompletableFuture<Void> requestNextServiceTicket(final List<String> serviceURLs, final TokenCredentials[] tickets,
+                                                             final AtomicInteger nextIndex, final CasRestProfile profile,
+                                                             final URI ticketGrantingTicketUri) {
+        final var index = nextIndex.getAndIncrement();
+        if (index >= serviceURLs.size()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return requestServiceTicket(serviceURLs.get(index), profile, ticketGrantingTicketUri).thenCompose(ticket -> {
+            tickets[index] = ticket;
+            return requestNextServiceTicket(serviceURLs, tickets, nextIndex, profile, ticketGrantingTicketUri);
+        });
+    }
+
+    protected CompletableFuture<TokenCredentials> requestServiceTicket(final String serviceURL, final CasRestProfile profile,
+                                                                       final URI ticketGrantingTicketUri) {
+        final var request = buildPostRequest(ticketGrantingTicketUri, HttpUtils.encodeQueryParam("service", serviceURL));
+        return httpClientFactory.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenApply(response -> {
+            if (response.statusCode() == HttpConstants.OK) {
+                return new TokenCredentials(firstLine(response.body()));
+            }
+            throw new TechnicalException("Service ticket request for `" + profile + "` failed: "
+                + HttpUtils.buildHttpErrorMessage(response));
+        });
+    }
+
+    /**
+     * Destroy a ticket granting ticket.
+     *
+     * @param profile the CAS REST profile (holding the TGT)
+     * @param context the web context
+     * @return the future completion
+     */
+    public CompletableFuture<Void> destroyTicketGrantingTicket(final CasRestProfile profile, final WebContext context) {
+        init();
+
+        final var request = httpClientFactory.newRequest(computeTicketGrantingTicketUri(profile, context))
+            .DELETE()
+            .build();
+        return httpClientFactory.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenAccept(response -> {
+            if (response.statusCode() != HttpConstants.OK) {
+                throw new TechnicalException("TGT delete request for `" + profile + "` failed: "
+                    + HttpUtils.buildHttpErrorMessage(response));
+            }
+        });
+    }
+
+    protected HttpRequest buildPostRequest(final URI uri, final String payload) {
+        return httpClientFactory.newRequest(uri)
+            .header(HttpConstants.CONTENT_TYPE_HEADER, HttpConstants.APPLICATION_FORM_ENCODED_HEADER_VALUE)
+            .POST(HttpRequest.BodyPublishers.ofString(payload))
+            .build();
+    }
+
+    protected URI computeTicketGrantingTicketUri(final CasRestProfile profile, final WebContext context) {
+        try {
+            final var endpointURL = new URL(configuration.computeFinalRestUrl(context));
+            return new URL(endpointURL, endpointURL.getPath() + "/" + profile.getTicketGrantingTicketId()).toURI();
+        } catch (final MalformedURLException | URISyntaxException e) {
+            throw new TechnicalException(e);
+        }
+    }
+
+    /**
+     * Wait for the result of a request.
+     *
+     * @param future the future result
+     * @param <T> the type of the result
+     * @return the result
+     * @throws TechnicalException if the request failed
+     */
+    public static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            final var cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof TechnicalException) {
+                throw (TechnicalException) cause;
+            }
+            throw new TechnicalException(cause);
+        }
+    }
+
+    private static URI toUri(final String url) {
+        try {
+            return new URI(url);
+        } catch (final URISyntaxException e) {
+            throw new TechnicalException(e);
+        }
+    }
+
+    private static String firstLine(final String body) {
+        final var end = body.indexOf('\n');
+        return end >= 0 ? body.substring(0, end).trim() : body.trim();
+    }
+
+    public CasConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    public void setConfiguration(final CasConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public void setMaxConcurrentRequests(final int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    public HttpClientFactory getHttpClientFactory() {
+        return httpClientFactory;
+    }
+
+    private DefaultHttpClientFactory getSpecificHttpClientFactory() {
+        if (httpClientFactory == null || configuration != null && httpClientFactory == configuration.getHttpClientFactory()) {
+            final var factory = new DefaultHttpClientFactory();
+            // the CAS REST API answers with the location of the tickets, which must not be followed
+            factory.setFollowRedirects(HttpClient.Redirect.NEVER);
+            httpClientFactory = factory;
+        }
+        CommonHelper.assertTrue(httpClientFactory instanceof DefaultHttpClientFactory,
+            "the HTTP client settings require a DefaultHttpClientFactory");
+        return (DefaultHttpClientFactory) httpClientFactory;
+    }
+
+    private DefaultHttpClientFactory getDefinedHttpClientFactory() {
+        return httpClientFactory instanceof DefaultHttpClientFactory ? (DefaultHttpClientFactory) httpClientFactory : null;
+    }
+
+    public int getConnectTimeout() {
+        final var factory = getDefinedHttpClientFactory();
+        return factory != null ? factory.getConnectTimeout() : HttpUtils.getConnectTimeout();
+    }
+
+    public void setConnectTimeout(final int connectTimeout) {
+        getSpecificHttpClientFactory().setConnectTimeout(connectTimeout);
+    }
+
+    public int getReadTimeout() {
+        final var factory = getDefinedHttpClientFactory();
+        return factory != null ? factory.getReadTimeout() : HttpUtils.getReadTimeout();
+    }
+
+    public void setReadTimeout(final int readTimeout) {
+        getSpecificHttpClientFactory().setReadTimeout(readTimeout);
+    }
+
+    public SSLContext getSslContext() {
+        final var factory = getDefinedHttpClientFactory();
+        return factory != null ? factory.getSslContext() : null;
+    }
+
+    public void setSslContext(final SSLContext sslContext) {
+        getSpecificHttpClientFactory().setSslContext(sslContext);
+    }
+
+    public Executor getExecutor() {
+        final var factory = getDefinedHttpClientFactory();
+        return factory != null ? factory.getExecutor() : null;
+    }
+
+    public void setExecutor(final Executor executor) {
+        getSpecificHttpClientFactory().setExecutor(executor);
+    }
+
+    public HttpClient getHttpClient() {
+        return httpClientFactory != null ? httpClientFactory.getHttpClient() : null;
+    }
+
+    public void setHttpClient(final HttpClient httpClient) {
+        getSpecificHttpClientFactory().setHttpClient(httpClient);
+    }
+
+    public void setHttpClientFactory(final HttpClientFactory httpClientFactory) {
+        this.httpClientFactory = httpClientFactory;
+    }
+
+    @Override
+    public String toString() {
+        return CommonHelper.toNiceString(this.getClass(), "configuration", configuration, "maxConcurrentRequests",
+            maxConcurrentRequests, "httpClientFactory", httpClientFactory);
+    }
+}
@@ -1,5 +1,7 @@
 package org.pac4j.cas.config;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.jasig.cas.client.ssl.HttpURLConnectionFactory;
 import org.jasig.cas.client.util.PrivateKeyUtils;
 import org.jasig.cas.client.validation.*;
@@ -7,9 +9,10 @@ import org.pac4j.cas.client.CasProxyReceptor;
 import org.pac4j.core.client.config.BaseClientConfiguration;
 import org.pac4j.core.logout.handler.LogoutHandler;
 import org.pac4j.core.logout.handler.DefaultLogoutHandler;
-import org.pac4j.cas.store.ProxyGrantingTicketStore;
 import org.pac4j.core.context.WebContext;
 import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.http.client.DefaultHttpClientFactory;
+import org.pac4j.core.http.client.HttpClientFactory;
 import org.pac4j.core.http.url.DefaultUrlResolver;
 import org.pac4j.core.http.url.UrlResolver;
 import org.pac4j.core.util.CommonHelper;
@@ -18,6 +21,7 @@ import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.HttpsURLConnection;
 import javax.net.ssl.SSLSocketFactory;
 import java.net.HttpURLConnection;
+import java.net.http.HttpClient;
 import java.net.URLConnection;
 import java.nio.charset.StandardCharsets;
 import java.security.PrivateKey;
@@ -90,6 +94,12 @@ public class CasConfiguration extends BaseClientConfiguration {
 
     private SSLSocketFactory sslSocketFactory;
 
+    private int ticketValidatorCacheSize = 100;
+
+    private volatile Cache<String, TicketValidator> ticketValidators;
+
+    private HttpURLConnectionFactory httpURLConnectionFactory;
+
     public CasConfiguration() {}
 
     public CasConfiguration(final String loginUrl) {
@@ -119,6 +129,8 @@ public class CasConfiguration extends BaseClientConfiguration {
 
         initializeLogoutHandler();
 
+        invalidateTicketValidators();
+
         if (privateKeyPath != null) {
             final String algo;
             if (privateKeyAlgorithm != null) {
@@ -154,25 +166,83 @@ public class CasConfiguration extends BaseClientConfiguration {
         }
     }
 
+    @Override
+    protected HttpClientFactory newHttpClientFactory() {
+        final var factory = new DefaultHttpClientFactory();
+        // the CAS REST API answers with the location of the tickets, which must not be followed
+        factory.setFollowRedirects(HttpClient.Redirect.NEVER);
+        return factory;
+    }
+
+    /**
+     * Retrieve the ticket validator: the validators are thread-safe, so they are cached per computed prefix URL
+     * (and proxy callback URL), which may depend on the request. The setters of the settings used by the validators
+     * invalidate the cache.
+     *
+     * @param context the web context
+     * @return the ticket validator
+     */
     public TicketValidator retrieveTicketValidator(final WebContext context) {
         if (this.defaultTicketValidator != null) {
             return this.defaultTicketValidator;
+        } else if (this.ticketValidatorCacheSize <= 0) {
+            return buildTicketValidator(context);
         } else {
-            if (this.protocol == CasProtocol.CAS10) {
-                return buildCas10TicketValidator(context);
-            } else if (this.protocol == CasProtocol.CAS20) {
-                return buildCas20TicketValidator(context);
-            } else if (this.protocol == CasProtocol.CAS20_PROXY) {
-                return buildCas20ProxyTicketValidator(context);
-            } else if (this.protocol == CasProtocol.CAS30) {
-                return buildCas30TicketValidator(context);
-            } else if (this.protocol == CasProtocol.CAS30_PROXY) {
-                return buildCas30ProxyTicketValidator(context);
-            } else if (this.protocol == CasProtocol.SAML) {
-                return buildSAMLTicketValidator(context);
-            } else {
-                throw new TechnicalException("Unable to initialize the TicketValidator for protocol: " + this.protocol);
+            // the key is computed first: it initializes the configuration, which resets the cache
+            final var key = computeTicketValidatorKey(context);
+            final var cache = getTicketValidators();
+            var validator = cache.getIfPresent(key);
+            if (validator == null) {
+                validator = buildTicketValidator(context);
+                final var previous = cache.asMap().putIfAbsent(key, validator);
+                if (previous != null) {
+                    validator = previous;
+                }
             }
+            return validator;
+        }
+    }
+
+    private Cache<String, TicketValidator> getTicketValidators() {
+        var cache = this.ticketValidators;
+        if (cache == null) {
+            // the least recently used validators are evicted once the cache is full
+            cache = CacheBuilder.newBuilder().maximumSize(this.ticketValidatorCacheSize).build();
+            this.ticketValidators = cache;
+        }
+        return cache;
+    }
+
+    /**
+     * Invalidate the cached ticket validators: they are rebuilt with the current configuration.
+     */
+    protected void invalidateTicketValidators() {
+        this.ticketValidators = null;
+    }
+
+    protected String computeTicketValidatorKey(final WebContext context) {
+        final var prefix = computeFinalPrefixUrl(context);
+        if (this.proxyReceptor != null) {
+            return prefix + "|" + this.proxyReceptor.computeFinalCallbackUrl(context);
+        }
+        return prefix;
+    }
+
+    protected TicketValidator buildTicketValidator(final WebContext context) {
+        if (this.protocol == CasProtocol.CAS10) {
+            return buildCas10TicketValidator(context);
+        } else if (this.protocol == CasProtocol.CAS20) {
+            return buildCas20TicketValidator(context);
+        } else if (this.protocol == CasProtocol.CAS20_PROXY) {
+            return buildCas20ProxyTicketValidator(context);
+        } else if (this.protocol == CasProtocol.CAS30) {
+            return buildCas30TicketValidator(context);
+        } else if (this.protocol == CasProtocol.CAS30_PROXY) {
+            return buildCas30ProxyTicketValidator(context);
+        } else if (this.protocol == CasProtocol.SAML) {
+            return buildSAMLTicketValidator(context);
+        } else {
+            throw new TechnicalException("Unable to initialize the TicketValidator for protocol: " + this.protocol);
         }
     }
 
@@ -199,7 +269,7 @@ public class CasConfiguration extends BaseClientConfiguration {
         cas30ProxyTicketValidator.setAllowedProxyChains(this.allowedProxyChains);
         if (this.proxyReceptor != null) {
             cas30ProxyTicketValidator.setProxyCallbackUrl(this.proxyReceptor.computeFinalCallbackUrl(context));
-            cas30ProxyTicketValidator.setProxyGrantingTicketStorage(new ProxyGrantingTicketStore(this.proxyReceptor.getStore()));
+            cas30ProxyTicketValidator.setProxyGrantingTicketStorage(this.proxyReceptor.getProxyGrantingTicketStore());
         }
         addPrivateKey(cas30ProxyTicketValidator);
         getHttpURLConnectionFactory().ifPresent(cas30ProxyTicketValidator::setURLConnectionFactory);
@@ -212,7 +282,7 @@ public class CasConfiguration extends BaseClientConfiguration {
         cas30ServiceTicketValidator.setRenew(this.renew);
         if (this.proxyReceptor != null) {
             cas30ServiceTicketValidator.setProxyCallbackUrl(this.proxyReceptor.computeFinalCallbackUrl(context));
-            cas30ServiceTicketValidator.setProxyGrantingTicketStorage(new ProxyGrantingTicketStore(this.proxyReceptor.getStore()));
+            cas30ServiceTicketValidator.setProxyGrantingTicketStorage(this.proxyReceptor.getProxyGrantingTicketStore());
         }
         addPrivateKey(cas30ServiceTicketValidator);
         getHttpURLConnectionFactory().ifPresent(cas30ServiceTicketValidator::setURLConnectionFactory);
@@ -227,7 +297,7 @@ public class CasConfiguration extends BaseClientConfiguration {
         cas20ProxyTicketValidator.setAllowedProxyChains(this.allowedProxyChains);
         if (this.proxyReceptor != null) {
             cas20ProxyTicketValidator.setProxyCallbackUrl(this.proxyReceptor.computeFinalCallbackUrl(context));
-            cas20ProxyTicketValidator.setProxyGrantingTicketStorage(new ProxyGrantingTicketStore(this.proxyReceptor.getStore()));
+            cas20ProxyTicketValidator.setProxyGrantingTicketStorage(this.proxyReceptor.getProxyGrantingTicketStore());
         }
         addPrivateKey(cas20ProxyTicketValidator);
         getHttpURLConnectionFactory().ifPresent(cas20ProxyTicketValidator::setURLConnectionFactory);
@@ -240,7 +310,7 @@ public class CasConfiguration extends BaseClientConfiguration {
         cas20ServiceTicketValidator.setRenew(this.renew);
         if (this.proxyReceptor != null) {
             cas20ServiceTicketValidator.setProxyCallbackUrl(this.proxyReceptor.computeFinalCallbackUrl(context));
-            cas20ServiceTicketValidator.setProxyGrantingTicketStorage(new ProxyGrantingTicketStore(this.proxyReceptor.getStore()));
+            cas20ServiceTicketValidator.setProxyGrantingTicketStorage(this.proxyReceptor.getProxyGrantingTicketStore());
         }
         addPrivateKey(cas20ServiceTicketValidator);
         getHttpURLConnectionFactory().ifPresent(cas20ServiceTicketValidator::setURLConnectionFactory);
@@ -261,6 +331,7 @@ public class CasConfiguration extends BaseClientConfiguration {
 
     public void setEncoding(final String encoding) {
         this.encoding = encoding;
+        invalidateTicketValidators();
     }
 
     public String computeFinalLoginUrl(final WebContext context) {
@@ -275,6 +346,7 @@ public class CasConfiguration extends BaseClientConfiguration {
 
     public void setLoginUrl(final String loginUrl) {
         this.loginUrl = loginUrl;
+        invalidateTicketValidators();
     }
 
     public String getPrefixUrl() {
@@ -289,6 +361,7 @@ public class CasConfiguration extends BaseClientConfiguration {
 
     public void setPrefixUrl(final String prefixUrl) {
         this.prefixUrl = prefixUrl;
+        invalidateTicketValidators();
     }
 
     public HostnameVerifier getHostnameVerifier() {
@@ -297,6 +370,7 @@ public class CasConfiguration extends BaseClientConfiguration {
 
     public void setHostnameVerifier(final HostnameVerifier hostnameVerifier) {
         this.hostnameVerifier = hostnameVerifier;
+        invalidateTicketValidators();
     }
 
     public SSLSocketFactory getSslSocketFactory() {
@@ -305,6 +379,7 @@ public class CasConfiguration extends BaseClientConfiguration {
 
     public void setSslSocketFactory(final SSLSocketFactory sslSocketFactory) {
         this.sslSocketFactory = sslSocketFactory;
+        invalidateTicketValidators();
     }
 
     public Map<String, String> getCustomParams() {
@@ -321,6 +396,7 @@ public class CasConfiguration extends BaseClientConfiguration {
 
     public void setTimeTolerance(final long timeTolerance) {
         this.timeTolerance = timeTolerance;
+        invalidateTicketValidators();
     }
 
     public CasProtocol getProtocol() {
@@ -329,6 +405,7 @@ public class CasConfiguration extends BaseClientConfiguration {
 
     public void setProtocol(final CasProtocol protocol) {
         this.protocol = protocol;
+        invalidateTicketValidators();
     }
 
     public boolean isRenew() {
@@ -337,6 +414,7 @@ public class CasConfiguration extends BaseClientConfiguration {
 
     public void setRenew(final boolean renew) {
         this.renew = renew;
+        invalidateTicketValidators();
     }
 
     public boolean isGateway() {
@@ -353,6 +431,7 @@ public class CasConfiguration extends BaseClientConfiguration {
 
     public void setAcceptAnyProxy(final boolean acceptAnyProxy) {
         this.acceptAnyProxy = acceptAnyProxy;
+        invalidateTicketValidators();
     }
 
     public ProxyList getAllowedProxyChains() {
@@ -361,6 +440,7 @@ public class CasConfiguration extends BaseClientConfiguration {
 
     public void setAllowedProxyChains(final ProxyList allowedProxyChains) {
         this.allowedProxyChains = allowedProxyChains;
+        invalidateTicketValidators();
     }
 
     public void setAllowedProxies(final List<String> allowedProxies) {
@@ -371,6 +451,7 @@ public class CasConfiguration extends BaseClientConfiguration {
             proxyChains.add(proxyChain);
         }
         this.allowedProxyChains = new ProxyList(proxyChains);
+        invalidateTicketValidators();
     }
 
     public LogoutHandler getLogoutHandler() {
@@ -401,6 +482,7 @@ public class CasConfiguration extends BaseClientConfiguration {
 
     public void setProxyReceptor(final CasProxyReceptor proxyReceptor) {
         this.proxyReceptor = proxyReceptor;
+        invalidateTicketValidators();
     }
 
     public String getPostLogoutUrlParameter() {
@@ -431,6 +513,7 @@ public class CasConfiguration extends BaseClientConfiguration {
 
     public void setUrlResolver(final UrlResolver urlResolver) {
         this.urlResolver = urlResolver;
+        invalidateTicketValidators();
     }
 
     public void addCustomParam(final String name, final String value) {
@@ -471,27 +554,46 @@ public class CasConfiguration extends BaseClientConfiguration {
                 "method", this.method, "privateKeyPath", this.privateKeyPath, "privateKeyAlgorithm", this.privateKeyAlgorithm);
     }
 
+    public int getTicketValidatorCacheSize() {
+        return ticketValidatorCacheSize;
+    }
+
+    /**
+     * Define the maximum number of cached ticket validators (one per computed prefix URL). 0 disables the cache.
+     *
+     * @param ticketValidatorCacheSize the maximum number of cached ticket validators
+     */
+    public void setTicketValidatorCacheSize(final int ticketValidatorCacheSize) {
+        this.ticketValidatorCacheSize = ticketValidatorCacheSize;
+        invalidateTicketValidators();
+    }
+
     private Optional<HttpURLConnectionFactory> getHttpURLConnectionFactory() {
         if (this.sslSocketFactory == null && this.hostnameVerifier == null) {
             return Optional.empty();
         }
-        var factory = new HttpURLConnectionFactory() {
-            private static final long serialVersionUID = 7296708420276819683L;
-
-            @Override
-            public HttpURLConnection buildHttpURLConnection(URLConnection conn) {
-                if (conn instanceof HttpsURLConnection) {
-                    var httpsConnection = (HttpsURLConnection) conn;
-                    if (getSslSocketFactory() != null) {
-                        httpsConnection.setSSLSocketFactory(getSslSocketFactory());
-                    }
-                    if (getHostnameVerifier() != null) {
-                        httpsConnection.setHostnameVerifier(getHostnameVerifier());
+        var factory = this.httpURLConnectionFactory;
+        if (factory == null) {
+            // one factory shared by all the validators: the JVM keeps the connections to the CAS server alive
+            factory = new HttpURLConnectionFactory() {
+                private static final long serialVersionUID = 7296708420276819683L;
+
+                @Override
+                public HttpURLConnection buildHttpURLConnection(URLConnection conn) {
+                    if (conn instanceof HttpsURLConnection) {
+                        var httpsConnection = (HttpsURLConnection) conn;
+                        if (getSslSocketFactory() != null) {
+                            httpsConnection.setSSLSocketFactory(getSslSocketFactory());
+                        }
+                        if (getHostnameVerifier() != null) {
+                            httpsConnection.setHostnameVerifier(getHostnameVerifier());
+                        }
                     }
+                    return (HttpURLConnection) conn;
                 }
-                return (HttpURLConnection) conn;
-            }
-        };
+            };
+            this.httpURLConnectionFactory = factory;
+        }
         return Optional.of(factory);
     }
 }
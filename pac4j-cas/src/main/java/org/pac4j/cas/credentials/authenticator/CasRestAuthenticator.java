@@ -1,26 +1,15 @@
 package org.pac4j.cas.credentials.authenticator;
 
-import java.io.BufferedWriter;
-import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
-
+import org.pac4j.cas.client.rest.CasRestHttpClient;
 import org.pac4j.cas.config.CasConfiguration;
 import org.pac4j.cas.profile.CasRestProfile;
-import org.pac4j.core.context.HttpConstants;
 import org.pac4j.core.context.session.SessionStore;
 import org.pac4j.core.credentials.Credentials;
-import org.pac4j.core.util.Pac4jConstants;
 import org.pac4j.core.context.WebContext;
 import org.pac4j.core.credentials.UsernamePasswordCredentials;
 import org.pac4j.core.credentials.authenticator.Authenticator;
 import org.pac4j.core.exception.TechnicalException;
 import org.pac4j.core.util.CommonHelper;
-import org.pac4j.core.util.HttpUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * This is a specific Authenticator to deal with the CAS REST API.
@@ -30,13 +19,14 @@ import org.slf4j.LoggerFactory;
  */
 public class CasRestAuthenticator implements Authenticator {
 
-    private final static Logger logger = LoggerFactory.getLogger(CasRestAuthenticator.class);
-
     protected CasConfiguration configuration;
 
+    protected CasRestHttpClient restHttpClient;
+
     public CasRestAuthenticator(final CasConfiguration configuration) {
         CommonHelper.assertNotNull("configuration", configuration);
         this.configuration = configuration;
+        this.restHttpClient = new CasRestHttpClient(configuration);
     }
 
     @Override
@@ -52,30 +42,18 @@ public class CasRestAuthenticator implements Authenticator {
     }
 
     private String requestTicketGrantingTicket(final String username, final String password, final WebContext context) {
-        HttpURLConnection connection = null;
-        try {
-            connection = HttpUtils.openPostConnection(new URL(this.configuration.computeFinalRestUrl(context)));
-            final var payload = HttpUtils.encodeQueryParam(Pac4jConstants.USERNAME, username)
-                    + "&" + HttpUtils.encodeQueryParam(Pac4jConstants.PASSWORD, password);
-
-            final var out = new BufferedWriter(new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8));
-            out.write(payload);
-            out.close();
+        return CasRestHttpClient.join(restHttpClient.requestTicketGrantingTicket(username, password, context));
+    }
 
-            final var locationHeader = connection.getHeaderField("location");
-            final var responseCode = connection.getResponseCode();
-            if (locationHeader != null && responseCode == HttpConstants.CREATED) {
-                return locationHeader.substring(locationHeader.lastIndexOf("/") + 1);
-            }
+    public CasConfiguration getConfiguration() {
+        return configuration;
+    }
 
-            logger.debug("Ticket granting ticket request failed: " + locationHeader + " " + responseCode +
-                HttpUtils.buildHttpErrorMessage(connection));
+    public CasRestHttpClient getRestHttpClient() {
+        return restHttpClient;
+    }
 
-            return null;
-        } catch (final IOException e) {
-            throw new TechnicalException(e);
-        } finally {
-            HttpUtils.closeConnection(connection);
-        }
+    public void setRestHttpClient(final CasRestHttpClient restHttpClient) {
+        this.restHttpClient = restHttpClient;
     }
 }
@@ -3,42 +3,187 @@ package org.pac4j.cas.store;
 import org.jasig.cas.client.proxy.ProxyGrantingTicketStorage;
 import org.pac4j.core.store.Store;
 import org.pac4j.core.util.CommonHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Apereo CAS client {@link ProxyGrantingTicketStorage} wrapper of a pac4j {@link Store}.
  *
+ * <p>The PGT IOU callback may be received slightly after the ticket validation asks for the PGT, or on another node
+ * of the cluster. If a wait timeout is defined, the retrieval waits for the PGT: it is notified immediately if the callback
+ * is received by this node and it polls the (shared) store with an exponential back-off otherwise. The IOUs waited for longer
+ * than the wait timeout are evicted at each retrieval (see {@link #cleanUp()}).</p>
+ *
  * @author Jerome Leleu
  * @since 2.0.0
  */
 public class ProxyGrantingTicketStore implements ProxyGrantingTicketStorage {
 
+    private static final Logger logger = LoggerFactory.getLogger(ProxyGrantingTicketStore.class);
+
     private final Store<String, String> store;
 
+    private final Map<String, Waiter> waiters = new ConcurrentHashMap<>();
+
+    private long waitTimeout;
+
+    private long initialPollInterval = 10;
+
+    private long maxPollInterval = 200;
+
+    private Clock clock = Clock.systemUTC();
+
     public ProxyGrantingTicketStore(final Store<String, String> store) {
         this.store = store;
     }
 
+    public ProxyGrantingTicketStore(final Store<String, String> store, final long waitTimeout) {
+        this.store = store;
+        this.waitTimeout = waitTimeout;
+    }
+
     @Override
     public void save(final String proxyGrantingTicketIou, final String proxyGrantingTicket) {
         store.set(proxyGrantingTicketIou, proxyGrantingTicket);
+        final var waiter = waiters.remove(proxyGrantingTicketIou);
+        if (waiter != null) {
+            waiter.release(proxyGrantingTicket);
+        }
     }
 
     @Override
     public String retrieve(final String proxyGrantingTicketIou) {
-        return store.get(proxyGrantingTicketIou).orElse(null);
+        if (!waiters.isEmpty()) {
+            cleanUp();
+        }
+        final var proxyGrantingTicket = store.get(proxyGrantingTicketIou);
+        if (proxyGrantingTicket.isPresent() || waitTimeout <= 0) {
+            return proxyGrantingTicket.orElse(null);
+        }
+        return waitFor(proxyGrantingTicketIou);
+    }
+
+    protected String waitFor(final String proxyGrantingTicketIou) {
+        logger.debug("Waiting at most {} ms for the PGT of IOU: {}", waitTimeout, proxyGrantingTicketIou);
+        final var waiter = waiters.computeIfAbsent(proxyGrantingTicketIou, k -> new Waiter(clock.millis()));
+        final var deadline = clock.millis() + waitTimeout;
+        var interval = initialPollInterval;
+        try {
+            while (true) {
+                final var remaining = deadline - clock.millis();
+                if (remaining <= 0) {
+                    logger.debug("No PGT received for IOU: {}", proxyGrantingTicketIou);
+                    return null;
+                }
+                // local arrival
+                if (waiter.await(Math.min(interval, remaining))) {
+                    return waiter.proxyGrantingTicket;
+                }
+                // remote arrival
+                final var proxyGrantingTicket = store.get(proxyGrantingTicketIou);
+                if (proxyGrantingTicket.isPresent()) {
+                    return proxyGrantingTicket.get();
+                }
+                interval = Math.min(interval * 2, maxPollInterval);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            waiters.remove(proxyGrantingTicketIou, waiter);
+        }
     }
 
+    /**
+     * Evict the IOUs waited for longer than the wait timeout: called at each retrieval, it can also be scheduled.
+     */
     @Override
     public void cleanUp() {
-        // never called
+        final var limit = clock.millis() - waitTimeout;
+        waiters.entrySet().removeIf(entry -> {
+            if (entry.getValue().creationTime < limit) {
+                entry.getValue().release(null);
+                return true;
+            }
+            return false;
+        });
     }
 
     public Store<String, String> getStore() {
         return store;
     }
 
+    public long getWaitTimeout() {
+        return waitTimeout;
+    }
+
+    /**
+     * Define how long (in milliseconds) the retrieval waits for a PGT not received yet. 0 disables the wait.
+     *
+     * @param waitTimeout the wait timeout
+     */
+    public void setWaitTimeout(final long waitTimeout) {
+        this.waitTimeout = waitTimeout;
+    }
+
+    public long getInitialPollInterval() {
+        return initialPollInterval;
+    }
+
+    public void setInitialPollInterval(final long initialPollInterval) {
+        CommonHelper.assertTrue(initialPollInterval > 0, "initialPollInterval must be greater than 0");
+        this.initialPollInterval = initialPollInterval;
+    }
+
+    public long getMaxPollInterval() {
+        return maxPollInterval;
+    }
+
+    public void setMaxPollInterval(final long maxPollInterval) {
+        CommonHelper.assertTrue(maxPollInterval > 0, "maxPollInterval must be greater than 0");
+        this.maxPollInterval = maxPollInterval;
+    }
+
+    public Clock getClock() {
+        return clock;
+    }
+
+    public void setClock(final Clock clock) {
+        CommonHelper.assertNotNull("clock", clock);
+        this.clock = clock;
+    }
+
     @Override
     public String toString() {
-        return CommonHelper.toNiceString(this.getClass(), "store", store);
+        return CommonHelper.toNiceString(this.getClass(), "store", store, "waitTimeout", waitTimeout,
+            "initialPollInterval", initialPollInterval, "maxPollInterval", maxPollInterval);
+    }
+
+    private static final class Waiter {
+
+        private final CountDownLatch latch = new CountDownLatch(1);
+
+        private final long creationTime;
+
+        private volatile String proxyGrantingTicket;
+
+        private Waiter(final long creationTime) {
+            this.creationTime = creationTime;
+        }
+
+        private void release(final String proxyGrantingTicket) {
+            this.proxyGrantingTicket = proxyGrantingTicket;
+            latch.countDown();
+        }
+
+        private boolean await(final long timeout) throws InterruptedException {
+            return latch.await(timeout, TimeUnit.MILLISECONDS);
+        }
     }
 }
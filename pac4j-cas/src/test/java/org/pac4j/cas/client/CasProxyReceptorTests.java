@@ -1,12 +1,16 @@
 package org.pac4j.cas.client;
 
 import org.junit.Test;
+import org.pac4j.cas.store.ProxyGrantingTicketStore;
 import org.pac4j.core.context.MockWebContext;
 import org.pac4j.core.context.session.MockSessionStore;
 import org.pac4j.core.exception.http.HttpAction;
+import org.pac4j.core.store.GuavaStore;
 import org.pac4j.core.util.TestsConstants;
 import org.pac4j.core.util.TestsHelper;
 
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.Assert.*;
 
 /**
@@ -64,4 +68,21 @@ public final class CasProxyReceptorTests implements TestsConstants {
         final var action = (HttpAction) TestsHelper.expectException(() -> client.getCredentials(context, new MockSessionStore()));
         assertEquals(200, action.getCode());
     }
+
+    @Test
+    public void testSetStoreKeepsWaitSettings() {
+        final var client = new CasProxyReceptor();
+        final var pgtStore = new ProxyGrantingTicketStore(new GuavaStore<>(100, 1, TimeUnit.MINUTES), 5000);
+        pgtStore.setInitialPollInterval(50);
+        pgtStore.setMaxPollInterval(500);
+        client.setProxyGrantingTicketStore(pgtStore);
+        final var store = new GuavaStore<String, String>(100, 1, TimeUnit.MINUTES);
+        client.setStore(store);
+        final var newPgtStore = client.getProxyGrantingTicketStore();
+        assertSame(store, newPgtStore.getStore());
+        assertEquals(5000, newPgtStore.getWaitTimeout());
+        assertEquals(50, newPgtStore.getInitialPollInterval());
+        assertEquals(500, newPgtStore.getMaxPollInterval());
+        assertSame(pgtStore.getClock(), newPgtStore.getClock());
+    }
 }
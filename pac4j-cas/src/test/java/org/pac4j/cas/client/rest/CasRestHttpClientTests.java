@@ -0,0 +1,152 @@
+package org.pac4j.cas.client.rest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.pac4j.cas.config.CasConfiguration;
+import org.pac4j.cas.profile.CasRestProfile;
+import org.pac4j.core.context.MockWebContext;
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.http.client.DefaultHttpClientFactory;
+import org.pac4j.core.util.TestsConstants;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link CasRestHttpClient} against a fake CAS REST API.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class CasRestHttpClientTests implements TestsConstants {
+
+    private static final String TGT = "TGT-1";
+
+    private HttpServer server;
+
+    private CasRestHttpClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/cas/v1/tickets", this::handle);
+        server.start();
+
+        final var configuration = new CasConfiguration();
+        configuration.setPrefixUrl("http://localhost:" + server.getAddress().getPort() + "/cas/");
+        client = new CasRestHttpClient(configuration);
+        client.setMaxConcurrentRequests(3);
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        final var path = exchange.getRequestURI().getPath();
+        final var body = URLDecoder.decode(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8),
+            StandardCharsets.UTF_8);
+        var status = 400;
+        var response = "";
+        if ("POST".equals(exchange.getRequestMethod()) && path.endsWith("/tickets")) {
+            if (body.equals("username=" + USERNAME + "&password=" + PASSWORD)) {
+                status = 201;
+                exchange.getResponseHeaders().add("Location", "http://localhost/cas/v1/tickets/" + TGT);
+            }
+        } else if ("POST".equals(exchange.getRequestMethod()) && path.endsWith("/" + TGT)) {
+            status = 200;
+            response = "ST-" + body.substring("service=".length()) + "\n";
+        } else if ("DELETE".equals(exchange.getRequestMethod()) && path.endsWith("/" + TGT)) {
+            status = 200;
+        }
+        final var bytes = response.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            exchange.getResponseBody().write(bytes);
+        }
+        exchange.close();
+    }
+
+    @Test
+    public void testTicketGrantingTicket() {
+        final var context = MockWebContext.create();
+        assertEquals(TGT, client.requestTicketGrantingTicket(USERNAME, PASSWORD, context).join());
+        assertNull(client.requestTicketGrantingTicket(USERNAME, VALUE, context).join());
+    }
+
+    @Test
+    public void testServiceTicket() {
+        final var ticket = client.requestServiceTicket(CALLBACK_URL, new CasRestProfile(TGT, USERNAME), MockWebContext.create()).join();
+        assertEquals("ST-" + CALLBACK_URL, ticket.getToken());
+    }
+
+    @Test
+    public void testServiceTicketFailure() {
+        final var future = client.requestServiceTicket(CALLBACK_URL, new CasRestProfile("TGT-2", USERNAME), MockWebContext.create());
+        try {
+            future.join();
+            fail("Service ticket request should fail");
+        } catch (final CompletionException e) {
+            assertTrue(e.getCause() instanceof TechnicalException);
+        }
+    }
+
+    @Test
+    public void testBulkServiceTickets() {
+        final List<String> services = new ArrayList<>();
+        for (var i = 0; i < 10; i++) {
+            services.add(CALLBACK_URL + "/" + i);
+        }
+        final var tickets = client.requestServiceTickets(new CasRestProfile(TGT, USERNAME), services, MockWebContext.create()).join();
+        assertEquals(services, new ArrayList<>(tickets.keySet()));
+        for (final var service : services) {
+            assertEquals("ST-" + service, tickets.get(service).getToken());
+        }
+    }
+
+    @Test
+    public void testDestroyTicketGrantingTicket() {
+        client.destroyTicketGrantingTicket(new CasRestProfile(TGT, USERNAME), MockWebContext.create()).join();
+    }
+
+    @Test
+    public void testSpecificHttpClientSettings() {
+        client.setConnectTimeout(1000);
+        client.setReadTimeout(2000);
+        final var httpClient = HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NEVER).build();
+        client.setHttpClient(httpClient);
+        assertEquals(1000, client.getConnectTimeout());
+        assertEquals(2000, client.getReadTimeout());
+        assertSame(httpClient, client.getHttpClient());
+        final var factory = (DefaultHttpClientFactory) client.getHttpClientFactory();
+        assertNotSame(client.getConfiguration().getHttpClientFactory(), factory);
+        assertEquals(HttpClient.Redirect.NEVER, factory.getFollowRedirects());
+        assertEquals(Duration.ofMillis(2000), factory.newRequest(java.net.URI.create(CALLBACK_URL)).build().timeout().get());
+        assertEquals(TGT, client.requestTicketGrantingTicket(USERNAME, PASSWORD, MockWebContext.create()).join());
+    }
+
+    @Test
+    public void testSharedFactoryNotModified() {
+        client.init();
+        final var shared = (DefaultHttpClientFactory) client.getConfiguration().getHttpClientFactory();
+        assertSame(shared, client.getHttpClientFactory());
+        final var connectTimeout = shared.getConnectTimeout();
+        client.setConnectTimeout(connectTimeout + 1000);
+        assertNotSame(shared, client.getHttpClientFactory());
+        assertEquals(connectTimeout, shared.getConnectTimeout());
+        assertEquals(connectTimeout + 1000, client.getConnectTimeout());
+    }
+}
@@ -0,0 +1,83 @@
+package org.pac4j.cas.config;
+
+import org.jasig.cas.client.validation.Cas10TicketValidator;
+import org.jasig.cas.client.validation.Cas30ServiceTicketValidator;
+import org.junit.Test;
+import org.pac4j.core.context.MockWebContext;
+import org.pac4j.core.util.TestsConstants;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link CasConfiguration}.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class CasConfigurationTests implements TestsConstants {
+
+    @Test
+    public void testTicketValidatorIsCached() {
+        final var configuration = new CasConfiguration(LOGIN_URL);
+        final var validator = configuration.retrieveTicketValidator(MockWebContext.create());
+        assertTrue(validator instanceof Cas30ServiceTicketValidator);
+        assertSame(validator, configuration.retrieveTicketValidator(MockWebContext.create()));
+    }
+
+    @Test
+    public void testTicketValidatorPerPrefixUrl() {
+        final var configuration = new CasConfiguration(LOGIN_URL);
+        configuration.setUrlResolver((url, context) -> url + ((MockWebContext) context).getServerName());
+        final var validator1 = configuration.retrieveTicketValidator(buildContext("server1"));
+        final var validator2 = configuration.retrieveTicketValidator(buildContext("server2"));
+        assertNotSame(validator1, validator2);
+        assertSame(validator1, configuration.retrieveTicketValidator(buildContext("server1")));
+    }
+
+    private static MockWebContext buildContext(final String serverName) {
+        final var context = MockWebContext.create();
+        context.setServerName(serverName);
+        return context;
+    }
+
+    @Test
+    public void testTicketValidatorCacheDisabled() {
+        final var configuration = new CasConfiguration(LOGIN_URL);
+        configuration.setTicketValidatorCacheSize(0);
+        final var context = MockWebContext.create();
+        assertNotSame(configuration.retrieveTicketValidator(context), configuration.retrieveTicketValidator(context));
+    }
+
+    @Test
+    public void testTicketValidatorCacheReset() {
+        final var configuration = new CasConfiguration(LOGIN_URL);
+        final var context = MockWebContext.create();
+        final var validator = configuration.retrieveTicketValidator(context);
+        configuration.init(true);
+        assertNotSame(validator, configuration.retrieveTicketValidator(context));
+    }
+
+    @Test
+    public void testTicketValidatorCacheEvictsLeastRecentlyUsed() {
+        final var configuration = new CasConfiguration(LOGIN_URL);
+        configuration.setTicketValidatorCacheSize(2);
+        configuration.setUrlResolver((url, context) -> url + ((MockWebContext) context).getServerName());
+        final var validator1 = configuration.retrieveTicketValidator(buildContext("server1"));
+        final var validator2 = configuration.retrieveTicketValidator(buildContext("server2"));
+        assertSame(validator1, configuration.retrieveTicketValidator(buildContext("server1")));
+        configuration.retrieveTicketValidator(buildContext("server3"));
+        assertSame(validator1, configuration.retrieveTicketValidator(buildContext("server1")));
+        assertNotSame(validator2, configuration.retrieveTicketValidator(buildContext("server2")));
+    }
+
+    @Test
+    public void testTicketValidatorCacheInvalidatedBySetter() {
+        final var configuration = new CasConfiguration(LOGIN_URL);
+        final var context = MockWebContext.create();
+        final var validator = configuration.retrieveTicketValidator(context);
+        configuration.setRenew(true);
+        assertNotSame(validator, configuration.retrieveTicketValidator(context));
+        configuration.setProtocol(CasProtocol.CAS10);
+        assertTrue(configuration.retrieveTicketValidator(context) instanceof Cas10TicketValidator);
+    }
+}
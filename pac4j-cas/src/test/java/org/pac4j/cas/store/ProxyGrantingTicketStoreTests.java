@@ -0,0 +1,172 @@
+package org.pac4j.cas.store;
+
+import org.junit.Test;
+import org.pac4j.core.store.GuavaStore;
+import org.pac4j.core.store.Store;
+import org.pac4j.core.util.TestsConstants;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link ProxyGrantingTicketStore}.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class ProxyGrantingTicketStoreTests implements TestsConstants {
+
+    private static final String PGT_IOU = "PGTIOU-1";
+
+    private static final String PGT = "PGT-1";
+
+    // the second reading of the clock happens once the retrieval waits for the PGT
+    private static final int WAITING_CALL = 2;
+
+    private static Store<String, String> buildStore() {
+        return new GuavaStore<>(100, 1, TimeUnit.MINUTES);
+    }
+
+    @Test
+    public void testNoWait() {
+        final var pgtStore = new ProxyGrantingTicketStore(buildStore());
+        assertNull(pgtStore.retrieve(PGT_IOU));
+        pgtStore.save(PGT_IOU, PGT);
+        assertEquals(PGT, pgtStore.retrieve(PGT_IOU));
+    }
+
+    @Test
+    public void testWaitTimeout() {
+        final var clock = new TestClock(10);
+        final var pgtStore = new ProxyGrantingTicketStore(buildStore(), 50);
+        pgtStore.setClock(clock);
+        assertNull(pgtStore.retrieve(PGT_IOU));
+        assertTrue(clock.millis() >= 50);
+    }
+
+    @Test
+    public void testLocalArrival() {
+        final var clock = new TestClock(0);
+        final var pgtStore = new ProxyGrantingTicketStore(buildStore(), 5000);
+        pgtStore.setInitialPollInterval(5000);
+        pgtStore.setClock(clock);
+        // the callback is received by this node while the retrieval waits
+        clock.onCall(WAITING_CALL, () -> pgtStore.save(PGT_IOU, PGT));
+        final var start = System.currentTimeMillis();
+        assertEquals(PGT, pgtStore.retrieve(PGT_IOU));
+        assertTrue(System.currentTimeMillis() - start < 5000);
+    }
+
+    @Test
+    public void testRemoteArrival() {
+        final var clock = new TestClock(0);
+        final var store = buildStore();
+        final var pgtStore = new ProxyGrantingTicketStore(store, 5000);
+        pgtStore.setClock(clock);
+        // the callback is received by another node while the retrieval waits
+        clock.onCall(WAITING_CALL, () -> store.set(PGT_IOU, PGT));
+        assertEquals(PGT, pgtStore.retrieve(PGT_IOU));
+    }
+
+    @Test
+    public void testCleanUp() throws Exception {
+        final var clock = new TestClock(0);
+        final var pgtStore = new ProxyGrantingTicketStore(buildStore(), 5000);
+        pgtStore.setInitialPollInterval(5000);
+        pgtStore.setClock(clock);
+        final var thread = startWaitingRetrieval(pgtStore, clock);
+        pgtStore.cleanUp();
+        thread.join(100);
+        assertTrue(thread.isAlive());
+        clock.advance(5001);
+        pgtStore.cleanUp();
+        thread.join(1000);
+        assertFalse(thread.isAlive());
+    }
+
+    @Test
+    public void testCleanUpOnRetrieval() throws Exception {
+        final var clock = new TestClock(0);
+        final var pgtStore = new ProxyGrantingTicketStore(buildStore(), 5000);
+        pgtStore.setInitialPollInterval(5000);
+        pgtStore.setClock(clock);
+        final var thread = startWaitingRetrieval(pgtStore, clock);
+        clock.advance(10);
+        pgtStore.setWaitTimeout(0);
+        assertNull(pgtStore.retrieve(VALUE));
+        thread.join(1000);
+        assertFalse(thread.isAlive());
+    }
+
+    private static Thread startWaitingRetrieval(final ProxyGrantingTicketStore pgtStore, final TestClock clock)
+        throws InterruptedException {
+        final var waiting = new CountDownLatch(1);
+        clock.onCall(WAITING_CALL, waiting::countDown);
+        final var thread = new Thread(() -> assertNull(pgtStore.retrieve(PGT_IOU)));
+        thread.start();
+        assertTrue(waiting.await(5, TimeUnit.SECONDS));
+        return thread;
+    }
+
+    /**
+     * A clock moving forward by a fixed step at each reading, which can run an action at a given reading.
+     */
+    private static final class TestClock extends Clock {
+
+        private final AtomicLong time = new AtomicLong();
+
+        private final AtomicInteger nbCalls = new AtomicInteger();
+
+        private final long step;
+
+        private volatile int actionCall;
+
+        private volatile Runnable action;
+
+        private TestClock(final long step) {
+            this.step = step;
+        }
+
+        private void onCall(final int call, final Runnable action) {
+            this.actionCall = call;
+            this.action = action;
+        }
+
+        private void advance(final long millis) {
+            time.addAndGet(millis);
+        }
+
+        @Override
+        public long millis() {
+            final var call = nbCalls.incrementAndGet();
+            final var current = time.getAndAdd(step);
+            if (call == actionCall && action != null) {
+                action.run();
+            }
+            return current;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+    }
+}
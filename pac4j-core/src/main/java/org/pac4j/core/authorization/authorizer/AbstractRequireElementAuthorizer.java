@@ -2,9 +2,11 @@ package org.pac4j.core.authorization.authorizer;
 
 import org.pac4j.core.context.WebContext;
 import org.pac4j.core.context.session.SessionStore;
+import org.pac4j.core.profile.ElementRegistry;
 import org.pac4j.core.profile.UserProfile;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -19,6 +21,8 @@ public abstract class AbstractRequireElementAuthorizer<E extends Object> extends
 
     protected Set<E> elements;
 
+    private volatile BitSet elementIds;
+
     @Override
     public boolean isAuthorized(final WebContext context, final SessionStore sessionStore, final List<UserProfile> profiles) {
         return isAnyAuthorized(context, sessionStore, profiles);
@@ -36,17 +40,36 @@ public abstract class AbstractRequireElementAuthorizer<E extends Object> extends
     protected abstract boolean check(final WebContext context, final SessionStore sessionStore,
                                      final UserProfile profile, final E element);
 
+    /**
+     * Get the identifiers of the elements in the registry.
+     *
+     * @param registry the registry of the elements
+     * @return the identifiers of the elements, <code>null</code> if they are not available
+     */
+    protected BitSet getElementIds(final ElementRegistry registry) {
+        if (!registry.isEnabled()) {
+            return null;
+        }
+        var ids = elementIds;
+        if (ids == null) {
+            ids = registry.toBitSet(elements);
+            elementIds = ids;
+        }
+        return ids;
+    }
+
     public Set<E> getElements() {
         return elements;
     }
 
     public void setElements(final Set<E> elements) {
         this.elements = elements;
+        this.elementIds = null;
     }
 
     public void setElements(final List<E> elements) {
         if (elements != null) {
-            this.elements = new HashSet<>(elements);
+            setElements(new HashSet<>(elements));
         }
     }
 
@@ -31,6 +31,16 @@ public class AndAuthorizer implements Authorizer {
         return true;
     }
 
+    @Override
+    public boolean isProfileDeterministic() {
+        for (final var authorizer : authorizers) {
+            if (!authorizer.isProfileDeterministic()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public static Authorizer and(Authorizer... authorizers) {
         return new AndAuthorizer(asList(authorizers));
     }
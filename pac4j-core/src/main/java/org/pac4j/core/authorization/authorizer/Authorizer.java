@@ -24,4 +24,16 @@ public interface Authorizer {
      * @return if the access is authorized
      */
     boolean isAuthorized(WebContext context, SessionStore sessionStore, List<UserProfile> profiles);
+
+    /**
+     * Whether the decision only depends on the user profile (its type, identifier, attributes, roles and permissions),
+     * and neither on the web context nor on the session: the access granted to a profile is then cached in the profile
+     * until it is modified.
+     * The built-in authorizers only return <code>true</code> for their own class, not for their subclasses.
+     *
+     * @return whether the decision only depends on the user profile
+     */
+    default boolean isProfileDeterministic() {
+        return false;
+    }
 }
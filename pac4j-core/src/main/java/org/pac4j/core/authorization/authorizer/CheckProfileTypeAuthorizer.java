@@ -29,6 +29,11 @@ public class CheckProfileTypeAuthorizer extends AbstractRequireAnyAuthorizer<Cla
         setElements(types);
     }
 
+    @Override
+    public boolean isProfileDeterministic() {
+        return getClass() == CheckProfileTypeAuthorizer.class;
+    }
+
     @Override
     protected boolean check(final WebContext context, final SessionStore sessionStore, final UserProfile profile, final Class element) {
         return profile.getClass().isAssignableFrom(element);
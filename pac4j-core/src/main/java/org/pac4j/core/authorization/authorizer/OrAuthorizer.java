@@ -31,6 +31,16 @@ public class OrAuthorizer implements Authorizer {
         return false;
     }
 
+    @Override
+    public boolean isProfileDeterministic() {
+        for (final var authorizer : authorizers) {
+            if (!authorizer.isProfileDeterministic()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public static OrAuthorizer or(Authorizer... authorizers) {
         return new OrAuthorizer(asList(authorizers));
     }
@@ -2,6 +2,7 @@ package org.pac4j.core.authorization.authorizer;
 
 import org.pac4j.core.context.WebContext;
 import org.pac4j.core.context.session.SessionStore;
+import org.pac4j.core.profile.ElementRegistry;
 import org.pac4j.core.profile.UserProfile;
 
 import java.util.List;
@@ -29,9 +30,26 @@ public class RequireAllRolesAuthorizer extends AbstractRequireAllAuthorizer<Stri
         setElements(roles);
     }
 
+    @Override
+    public boolean isProfileDeterministic() {
+        return getClass() == RequireAllRolesAuthorizer.class;
+    }
+
+    @Override
+    protected boolean isProfileAuthorized(final WebContext context, final SessionStore sessionStore, final UserProfile profile) {
+        final var requiredRoles = getElementIds(ElementRegistry.ROLES);
+        if (requiredRoles != null) {
+            final var profileRoles = profile.getRoleIds();
+            if (profileRoles != null) {
+                return ElementRegistry.containsAll(profileRoles, requiredRoles);
+            }
+        }
+        return super.isProfileAuthorized(context, sessionStore, profile);
+    }
+
     @Override
     protected boolean check(final WebContext context, final SessionStore sessionStore, final UserProfile profile, final String element) {
-        final var profileRoles = profile.getRoles();
+        final var profileRoles = profile.getRolesView();
         return profileRoles.contains(element);
     }
 
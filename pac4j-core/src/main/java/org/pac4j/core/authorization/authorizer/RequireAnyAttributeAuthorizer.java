@@ -28,6 +28,11 @@ public class RequireAnyAttributeAuthorizer extends AbstractRequireAnyAuthorizer<
         this.valueToMatch = valueToMatch;
     }
 
+    @Override
+    public boolean isProfileDeterministic() {
+        return getClass() == RequireAnyAttributeAuthorizer.class;
+    }
+
     @Override
     protected boolean check(final WebContext context, final SessionStore sessionStore, final UserProfile profile, final String element) {
         if (!profile.containsAttribute(element)) {
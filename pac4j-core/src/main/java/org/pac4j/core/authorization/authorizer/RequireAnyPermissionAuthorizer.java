@@ -2,6 +2,7 @@ package org.pac4j.core.authorization.authorizer;
 
 import org.pac4j.core.context.WebContext;
 import org.pac4j.core.context.session.SessionStore;
+import org.pac4j.core.profile.ElementRegistry;
 import org.pac4j.core.profile.UserProfile;
 
 import java.util.List;
@@ -29,9 +30,26 @@ public class RequireAnyPermissionAuthorizer extends AbstractRequireAnyAuthorizer
         setElements(permissions);
     }
 
+    @Override
+    public boolean isProfileDeterministic() {
+        return getClass() == RequireAnyPermissionAuthorizer.class;
+    }
+
+    @Override
+    protected boolean isProfileAuthorized(final WebContext context, final SessionStore sessionStore, final UserProfile profile) {
+        final var requiredPermissions = getElementIds(ElementRegistry.PERMISSIONS);
+        if (requiredPermissions != null) {
+            final var profilePermissions = profile.getPermissionIds();
+            if (profilePermissions != null) {
+                return requiredPermissions.isEmpty() ? !profilePermissions.isEmpty() : requiredPermissions.intersects(profilePermissions);
+            }
+        }
+        return super.isProfileAuthorized(context, sessionStore, profile);
+    }
+
     @Override
     protected boolean check(final WebContext context, final SessionStore sessionStore, final UserProfile profile, final String element) {
-        final var profilePermissions = profile.getPermissions();
+        final var profilePermissions = profile.getPermissionsView();
         if( profilePermissions.isEmpty() ) {
             return false;
         }
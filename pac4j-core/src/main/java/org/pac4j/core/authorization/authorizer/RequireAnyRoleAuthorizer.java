@@ -2,6 +2,7 @@ package org.pac4j.core.authorization.authorizer;
 
 import org.pac4j.core.context.WebContext;
 import org.pac4j.core.context.session.SessionStore;
+import org.pac4j.core.profile.ElementRegistry;
 import org.pac4j.core.profile.UserProfile;
 
 import java.util.List;
@@ -27,9 +28,26 @@ public class RequireAnyRoleAuthorizer extends AbstractRequireAnyAuthorizer<Strin
 
     public RequireAnyRoleAuthorizer(final Set<String> roles) { setElements(roles); }
 
+    @Override
+    public boolean isProfileDeterministic() {
+        return getClass() == RequireAnyRoleAuthorizer.class;
+    }
+
+    @Override
+    protected boolean isProfileAuthorized(final WebContext context, final SessionStore sessionStore, final UserProfile profile) {
+        final var requiredRoles = getElementIds(ElementRegistry.ROLES);
+        if (requiredRoles != null) {
+            final var profileRoles = profile.getRoleIds();
+            if (profileRoles != null) {
+                return requiredRoles.isEmpty() ? !profileRoles.isEmpty() : requiredRoles.intersects(profileRoles);
+            }
+        }
+        return super.isProfileAuthorized(context, sessionStore, profile);
+    }
+
     @Override
     protected boolean check(final WebContext context, final SessionStore sessionStore, final UserProfile profile, final String element) {
-        final var profileRoles = profile.getRoles();
+        final var profileRoles = profile.getRolesView();
         if( profileRoles.isEmpty() ) {
             return false;
         }
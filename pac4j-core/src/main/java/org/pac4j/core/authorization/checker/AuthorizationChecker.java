@@ -4,6 +4,7 @@ import org.pac4j.core.authorization.authorizer.Authorizer;
 import org.pac4j.core.client.Client;
 import org.pac4j.core.context.WebContext;
 import org.pac4j.core.context.session.SessionStore;
+import org.pac4j.core.metrics.MetricsRecorder;
 import org.pac4j.core.profile.UserProfile;
 
 import java.util.List;
@@ -31,4 +32,21 @@ public interface AuthorizationChecker {
      */
     boolean isAuthorized(WebContext context, SessionStore sessionStore, List<UserProfile> profiles, String authorizerNames,
                          Map<String, Authorizer> authorizersMap, List<Client> clients);
+
+    /**
+     * Check whether the user is authorized and record the metrics of the authorizers.
+     *
+     * @param context the web context
+     * @param sessionStore the session store
+     * @param profiles the profile
+     * @param authorizerNames the authorizers
+     * @param authorizersMap the map of authorizers
+     * @param clients the clients
+     * @param metricsRecorder the metrics recorder
+     * @return whether the user is authorized.
+     */
+    default boolean isAuthorized(WebContext context, SessionStore sessionStore, List<UserProfile> profiles, String authorizerNames,
+                                 Map<String, Authorizer> authorizersMap, List<Client> clients, MetricsRecorder metricsRecorder) {
+        return isAuthorized(context, sessionStore, profiles, authorizerNames, authorizersMap, clients);
+    }
 }
@@ -25,6 +25,8 @@ import org.pac4j.core.client.IndirectClient;
 import org.pac4j.core.client.direct.AnonymousClient;
 import org.pac4j.core.context.WebContext;
 import org.pac4j.core.context.session.SessionStore;
+import org.pac4j.core.metrics.Metrics;
+import org.pac4j.core.metrics.MetricsRecorder;
 import org.pac4j.core.profile.UserProfile;
 import org.pac4j.core.util.Pac4jConstants;
 import org.slf4j.Logger;
@@ -49,9 +51,16 @@ public class DefaultAuthorizationChecker implements AuthorizationChecker {
     @Override
     public boolean isAuthorized(final WebContext context, final SessionStore sessionStore, final List<UserProfile> profiles,
                                 final String authorizersValue, final Map<String, Authorizer> authorizersMap, final List<Client> clients) {
+        return isAuthorized(context, sessionStore, profiles, authorizersValue, authorizersMap, clients, null);
+    }
+
+    @Override
+    public boolean isAuthorized(final WebContext context, final SessionStore sessionStore, final List<UserProfile> profiles,
+                                final String authorizersValue, final Map<String, Authorizer> authorizersMap, final List<Client> clients,
+                                final MetricsRecorder metricsRecorder) {
 
         final var authorizers = computeAuthorizers(context, profiles, authorizersValue, authorizersMap, clients);
-        return isAuthorized(context, sessionStore, profiles, authorizers);
+        return isAuthorized(context, sessionStore, profiles, authorizers, metricsRecorder);
     }
 
     protected List<Authorizer> computeAuthorizers(final WebContext context, final List<UserProfile> profiles, final String authorizersValue,
@@ -159,16 +168,37 @@ public class DefaultAuthorizationChecker implements AuthorizationChecker {
 
     protected boolean isAuthorized(final WebContext context, final SessionStore sessionStore,
                                    final List<UserProfile> profiles, final List<Authorizer> authorizers) {
+        return isAuthorized(context, sessionStore, profiles, authorizers, null);
+    }
+
+    protected boolean isAuthorized(final WebContext context, final SessionStore sessionStore,
+                                   final List<UserProfile> profiles, final List<Authorizer> authorizers,
+                                   final MetricsRecorder metricsRecorder) {
         // authorizations check comes after authentication and profile must not be null nor empty
         assertTrue(isNotEmpty(profiles), "profiles must not be null or empty");
         if (isNotEmpty(authorizers)) {
             // check authorizations using authorizers: all must be satisfied
+            // the decisions of the profile-deterministic authorizers are cached in the profile (only for one profile)
+            final var profile = profiles.size() == 1 ? profiles.get(0) : null;
             for (var authorizer : authorizers) {
+                final var cacheable = profile != null && authorizer.isProfileDeterministic();
+                if (cacheable && profile.isAuthorizationGranted(authorizer)) {
+                    LOGGER.debug("Checking authorizer: {} -> true (cached)", authorizer);
+                    continue;
+                }
+                final var modificationCount = cacheable ? profile.getModificationCount() : -1;
+                final var start = Metrics.start(metricsRecorder);
                 final var isAuthorized = authorizer.isAuthorized(context, sessionStore, profiles);
+                Metrics.recordTime(metricsRecorder, Metrics.AUTHORIZER, authorizer.getClass(), start);
                 LOGGER.debug("Checking authorizer: {} -> {}", authorizer, isAuthorized);
                 if (!isAuthorized) {
+                    Metrics.increment(metricsRecorder, Metrics.AUTHORIZER_DENIED, authorizer.getClass());
                     return false;
                 }
+                // only the granted accesses are cached: a denied access is checked again to let the authorizer handle the error
+                if (cacheable) {
+                    profile.addGrantedAuthorization(authorizer, modificationCount);
+                }
             }
         }
         return true;
@@ -3,13 +3,19 @@ package org.pac4j.core.authorization.generator;
 import org.pac4j.core.context.WebContext;
 import org.pac4j.core.context.session.SessionStore;
 import org.pac4j.core.profile.UserProfile;
+import org.pac4j.core.util.CommonHelper;
 
 import java.util.*;
+import java.util.regex.Pattern;
 
 /**
  * <p>Generate the authorization information by inspecting attributes.</p>
  * <p>The attributes containing the roles separated by the {@link #splitChar} property (can be set through {@link #setSplitChar(String)})
- * are defined in the constructor. It's the same for the attributes containing the permissions.</p>
+ * are defined in the constructor. It's the same for the attributes containing the permissions.
+ * The attribute values can be delimited strings, arrays or collections of strings.</p>
+ * <p>Each value can be normalized by a regular expression (see {@link #setNormalizationPattern(String)}, for example to keep
+ * the common name of a group DN) and then translated into a role or permission (see {@link #setRoleTranslations(Map)}
+ * and {@link #setPermissionTranslations(Map)}). The configuration is compiled once, at the first generation.</p>
  *
  * @author Jerome Leleu
  * @since 1.5.0
@@ -22,6 +28,16 @@ public class FromAttributesAuthorizationGenerator implements AuthorizationGenera
 
     private String splitChar = ",";
 
+    private String normalizationPattern;
+
+    private String normalizationReplacement = "$1";
+
+    private Map<String, String> roleTranslations;
+
+    private Map<String, String> permissionTranslations;
+
+    private volatile CompiledMapping compiledMapping;
+
     public FromAttributesAuthorizationGenerator() {
         this.roleAttributes = new ArrayList<>();
         this.permissionAttributes = new ArrayList<>();
@@ -47,46 +63,25 @@ public class FromAttributesAuthorizationGenerator implements AuthorizationGenera
 
     @Override
     public Optional<UserProfile> generate(final WebContext context, final SessionStore sessionStore, final UserProfile profile) {
-        generateAuth(profile, this.roleAttributes, true);
-        generateAuth(profile, this.permissionAttributes, false);
-        return Optional.of(profile);
-    }
-
-    private void generateAuth(final UserProfile profile, final Iterable<String> attributes, final boolean isRole) {
-        if (attributes == null) {
-            return;
+        final var mapping = getCompiledMapping();
+        final var roles = mapping.extract(profile, mapping.roleAttributes, mapping.roleTranslations);
+        if (!roles.isEmpty()) {
+            profile.addRoles(roles);
         }
-
-        for (final var attribute : attributes) {
-            final var value = profile.getAttribute(attribute);
-            if (value != null) {
-                if (value instanceof String) {
-                    final var st = new StringTokenizer((String) value, this.splitChar);
-                    while (st.hasMoreTokens()) {
-                        addRoleOrPermissionToProfile(profile, st.nextToken(), isRole);
-                    }
-                } else if (value.getClass().isArray() && value.getClass().getComponentType().isAssignableFrom(String.class)) {
-                    for (var item : (Object[]) value) {
-                        addRoleOrPermissionToProfile(profile, item.toString(), isRole);
-                    }
-                } else if (Collection.class.isAssignableFrom(value.getClass())) {
-                    for (Object item : (Collection<?>) value) {
-                        if (item.getClass().isAssignableFrom(String.class)) {
-                            addRoleOrPermissionToProfile(profile, item.toString(), isRole);
-                        }
-                    }
-                }
-            }
+        final var permissions = mapping.extract(profile, mapping.permissionAttributes, mapping.permissionTranslations);
+        if (!permissions.isEmpty()) {
+            profile.addPermissions(permissions);
         }
-
+        return Optional.of(profile);
     }
 
-    private void addRoleOrPermissionToProfile(final UserProfile profile, final String value, final boolean isRole) {
-        if (isRole) {
-            profile.addRole(value);
-        } else {
-            profile.addPermission(value);
+    private CompiledMapping getCompiledMapping() {
+        var mapping = compiledMapping;
+        if (mapping == null) {
+            mapping = new CompiledMapping(this);
+            compiledMapping = mapping;
         }
+        return mapping;
     }
 
     public String getSplitChar() {
@@ -95,13 +90,180 @@ public class FromAttributesAuthorizationGenerator implements AuthorizationGenera
 
     public void setSplitChar(final String splitChar) {
         this.splitChar = splitChar;
+        this.compiledMapping = null;
     }
 
     public void setRoleAttributes(final String roleAttributesStr) {
         this.roleAttributes = Arrays.asList(roleAttributesStr.split(splitChar));
+        this.compiledMapping = null;
     }
 
     public void setPermissionAttributes(final String permissionAttributesStr) {
         this.permissionAttributes = Arrays.asList(permissionAttributesStr.split(splitChar));
+        this.compiledMapping = null;
+    }
+
+    public String getNormalizationPattern() {
+        return normalizationPattern;
+    }
+
+    /**
+     * Define the regular expression normalizing the values: the values matching it entirely are replaced
+     * by the {@link #getNormalizationReplacement()}, the other ones are kept as is.
+     *
+     * @param normalizationPattern the regular expression (for example: <code>(?i)cn=([^,]+),.*</code>)
+     */
+    public void setNormalizationPattern(final String normalizationPattern) {
+        this.normalizationPattern = normalizationPattern;
+        this.compiledMapping = null;
+    }
+
+    public String getNormalizationReplacement() {
+        return normalizationReplacement;
+    }
+
+    /**
+     * Define the replacement of the values matching the {@link #getNormalizationPattern()}.
+     *
+     * @param normalizationReplacement the replacement, which can refer to the groups (default: <code>$1</code>)
+     */
+    public void setNormalizationReplacement(final String normalizationReplacement) {
+        this.normalizationReplacement = normalizationReplacement;
+        this.compiledMapping = null;
+    }
+
+    public Map<String, String> getRoleTranslations() {
+        return roleTranslations;
+    }
+
+    /**
+     * Define the translations of the (normalized) values into roles. The values without translation are kept as is.
+     *
+     * @param roleTranslations the translations
+     */
+    public void setRoleTranslations(final Map<String, String> roleTranslations) {
+        this.roleTranslations = roleTranslations;
+        this.compiledMapping = null;
+    }
+
+    public Map<String, String> getPermissionTranslations() {
+        return permissionTranslations;
+    }
+
+    /**
+     * Define the translations of the (normalized) values into permissions. The values without translation are kept as is.
+     *
+     * @param permissionTranslations the translations
+     */
+    public void setPermissionTranslations(final Map<String, String> permissionTranslations) {
+        this.permissionTranslations = permissionTranslations;
+        this.compiledMapping = null;
+    }
+
+    @Override
+    public String toString() {
+        return CommonHelper.toNiceString(this.getClass(), "roleAttributes", roleAttributes, "permissionAttributes",
+            permissionAttributes, "splitChar", splitChar, "normalizationPattern", normalizationPattern,
+            "normalizationReplacement", normalizationReplacement, "roleTranslations", roleTranslations,
+            "permissionTranslations", permissionTranslations);
+    }
+
+    /**
+     * The compiled mapping: the attributes, the delimiters, the normalization pattern and the translations.
+     */
+    private static final class CompiledMapping {
+
+        private static final String[] NO_ATTRIBUTES = new String[0];
+
+        private final String[] roleAttributes;
+
+        private final String[] permissionAttributes;
+
+        private final String delimiters;
+
+        private final Pattern pattern;
+
+        private final String replacement;
+
+        private final Map<String, String> roleTranslations;
+
+        private final Map<String, String> permissionTranslations;
+
+        private CompiledMapping(final FromAttributesAuthorizationGenerator generator) {
+            this.roleAttributes = toArray(generator.roleAttributes);
+            this.permissionAttributes = toArray(generator.permissionAttributes);
+            this.delimiters = generator.splitChar != null ? generator.splitChar : "";
+            this.pattern = CommonHelper.isNotBlank(generator.normalizationPattern) ? Pattern.compile(generator.normalizationPattern)
+                : null;
+            this.replacement = generator.normalizationReplacement != null ? generator.normalizationReplacement : "";
+            this.roleTranslations = toMap(generator.roleTranslations);
+            this.permissionTranslations = toMap(generator.permissionTranslations);
+        }
+
+        private static String[] toArray(final Collection<String> attributes) {
+            return attributes != null ? attributes.toArray(NO_ATTRIBUTES) : NO_ATTRIBUTES;
+        }
+
+        private static Map<String, String> toMap(final Map<String, String> translations) {
+            return translations != null && !translations.isEmpty() ? new HashMap<>(translations) : null;
+        }
+
+        private List<String> extract(final UserProfile profile, final String[] attributes, final Map<String, String> translations) {
+            if (attributes.length == 0) {
+                return Collections.emptyList();
+            }
+            final List<String> elements = new ArrayList<>();
+            for (final var attribute : attributes) {
+                final var value = profile.getAttribute(attribute);
+                if (value instanceof String) {
+                    split((String) value, elements, translations);
+                } else if (value instanceof Collection) {
+                    for (final var item : (Collection<?>) value) {
+                        if (item instanceof String) {
+                            add((String) item, elements, translations);
+                        }
+                    }
+                } else if (value != null && value.getClass().isArray()
+                    && value.getClass().getComponentType().isAssignableFrom(String.class)) {
+                    for (final var item : (Object[]) value) {
+                        if (item != null) {
+                            add(item.toString(), elements, translations);
+                        }
+                    }
+                }
+            }
+            return elements;
+        }
+
+        private void split(final String value, final List<String> elements, final Map<String, String> translations) {
+            // like a StringTokenizer: each character of the delimiters is a separator and the empty tokens are ignored
+            final var length = value.length();
+            var begin = 0;
+            for (var i = 0; i <= length; i++) {
+                if (i == length || delimiters.indexOf(value.charAt(i)) >= 0) {
+                    if (i > begin) {
+                        add(value.substring(begin, i), elements, translations);
+                    }
+                    begin = i + 1;
+                }
+            }
+        }
+
+        private void add(final String value, final List<String> elements, final Map<String, String> translations) {
+            var element = value;
+            if (pattern != null) {
+                final var matcher = pattern.matcher(element);
+                if (matcher.matches()) {
+                    element = matcher.replaceFirst(replacement);
+                }
+            }
+            if (translations != null) {
+                element = translations.getOrDefault(element, element);
+            }
+            // a blank role or permission cannot be added to a profile
+            if (CommonHelper.isNotBlank(element)) {
+                elements.add(element);
+            }
+        }
     }
 }
@@ -9,6 +9,8 @@ import org.pac4j.core.credentials.Credentials;
 import org.pac4j.core.credentials.authenticator.Authenticator;
 import org.pac4j.core.credentials.extractor.CredentialsExtractor;
 import org.pac4j.core.exception.CredentialsException;
+import org.pac4j.core.metrics.Metrics;
+import org.pac4j.core.metrics.MetricsRecorder;
 import org.pac4j.core.profile.UserProfile;
 import org.pac4j.core.profile.creator.AuthenticatorProfileCreator;
 import org.pac4j.core.profile.creator.ProfileCreator;
@@ -58,6 +60,8 @@ public abstract class BaseClient extends InitializableObject implements Client {
 
     protected Boolean saveProfileInSession;
 
+    private MetricsRecorder metricsRecorder;
+
     private static boolean warned;
 
     /**
@@ -68,18 +72,23 @@ public abstract class BaseClient extends InitializableObject implements Client {
      */
     protected Optional<Credentials> retrieveCredentials(final WebContext context, final SessionStore sessionStore) {
         try {
+            final var start = Metrics.start(metricsRecorder);
             final var optCredentials = this.credentialsExtractor.extract(context, sessionStore);
+            Metrics.recordTime(metricsRecorder, Metrics.CLIENT_CREDENTIALS, getName(), start);
             optCredentials.ifPresent(credentials -> {
                 final var t0 = System.currentTimeMillis();
+                final var validationStart = Metrics.start(metricsRecorder);
                 try {
                     this.authenticator.validate(credentials, context, sessionStore);
                 } finally {
+                    Metrics.recordTime(metricsRecorder, Metrics.CLIENT_VALIDATION, getName(), validationStart);
                     final var t1 = System.currentTimeMillis();
                     logger.debug("Credentials validation took: {} ms", t1 - t0);
                 }
             });
             return optCredentials;
         } catch (CredentialsException e) {
+            Metrics.increment(metricsRecorder, Metrics.CLIENT_FAILURE, getName());
             logger.info("Failed to retrieve or validate credentials: {}", e.getMessage());
             logger.debug("Failed to retrieve or validate credentials", e);
 
@@ -102,6 +111,7 @@ public abstract class BaseClient extends InitializableObject implements Client {
             }
         }
 
+        final var start = Metrics.start(metricsRecorder);
         var profile = retrieveUserProfile(credentials, context, sessionStore);
         if (profile.isPresent()) {
             profile.get().setClientName(getName());
@@ -111,6 +121,7 @@ public abstract class BaseClient extends InitializableObject implements Client {
                 }
             }
         }
+        Metrics.recordTime(metricsRecorder, Metrics.CLIENT_PROFILE, getName(), start);
         return profile;
     }
 
@@ -155,6 +166,17 @@ public abstract class BaseClient extends InitializableObject implements Client {
     public void notifySessionRenewal(final String oldSessionId, final WebContext context, final SessionStore sessionStore) {
     }
 
+    /**
+     * Destroy the web session if a back channel logout has been received for it by another node of the cluster.
+     *
+     * @param context      the web context
+     * @param sessionStore the session store
+     * @return whether the web session has been destroyed
+     */
+    public boolean destroyBroadcastSession(final WebContext context, final SessionStore sessionStore) {
+        return false;
+    }
+
     public List<AuthorizationGenerator> getAuthorizationGenerators() {
         return this.authorizationGenerators;
     }
@@ -261,6 +283,19 @@ public abstract class BaseClient extends InitializableObject implements Client {
         this.multiProfile = multiProfile;
     }
 
+    public MetricsRecorder getMetricsRecorder() {
+        return metricsRecorder;
+    }
+
+    /**
+     * Define the metrics recorder of this client. By default, the one of the {@link org.pac4j.core.config.Config} is used.
+     *
+     * @param metricsRecorder the recorder
+     */
+    public void setMetricsRecorder(final MetricsRecorder metricsRecorder) {
+        this.metricsRecorder = metricsRecorder;
+    }
+
     public Boolean getSaveProfileInSession(final WebContext context, final UserProfile profile) {
         return saveProfileInSession;
     }
@@ -7,6 +7,7 @@ import org.pac4j.core.exception.TechnicalException;
 import org.pac4j.core.http.ajax.AjaxRequestResolver;
 import org.pac4j.core.http.callback.CallbackUrlResolver;
 import org.pac4j.core.http.url.UrlResolver;
+import org.pac4j.core.metrics.MetricsRecorder;
 import org.pac4j.core.util.CommonHelper;
 import org.pac4j.core.util.InitializableObject;
 import org.slf4j.Logger;
@@ -43,6 +44,8 @@ public class Clients extends InitializableObject {
 
     private String defaultSecurityClients;
 
+    private MetricsRecorder metricsRecorder;
+
     public Clients() {
     }
 
@@ -74,7 +77,7 @@ public class Clients extends InitializableObject {
     }
 
     /**
-     * Populate the resolvers, callback URL and authz generators in the Client
+     * Populate the resolvers, callback URL, authz generators and metrics recorder in the Client
      * if defined in Clients and not already in the Client itself. And check the client name.
      */
     @Override
@@ -107,6 +110,7 @@ public class Clients extends InitializableObject {
             if (!authorizationGenerators.isEmpty()) {
                 baseClient.addAuthorizationGenerators(this.authorizationGenerators);
             }
+            defaultMetricsRecorder(baseClient);
         }
         this.oldClientsHash = this.clients.hashCode();
     }
@@ -194,6 +198,38 @@ public class Clients extends InitializableObject {
         this.callbackUrlResolver = callbackUrlResolver;
     }
 
+    private void defaultMetricsRecorder(final BaseClient client) {
+        if (this.metricsRecorder != null && client.getMetricsRecorder() == null) {
+            client.setMetricsRecorder(this.metricsRecorder);
+        }
+    }
+
+    public MetricsRecorder getMetricsRecorder() {
+        return metricsRecorder;
+    }
+
+    /**
+     * Define the metrics recorder of the clients which have none (or the previous one of these clients),
+     * including the clients already initialized.
+     *
+     * @param metricsRecorder the recorder
+     */
+    public void setMetricsRecorder(final MetricsRecorder metricsRecorder) {
+        final var previous = this.metricsRecorder;
+        this.metricsRecorder = metricsRecorder;
+        final var currentClients = this.clients;
+        if (currentClients != null) {
+            for (final var client : currentClients) {
+                if (client instanceof BaseClient) {
+                    final var baseClient = (BaseClient) client;
+                    if (baseClient.getMetricsRecorder() == null || baseClient.getMetricsRecorder() == previous) {
+                        baseClient.setMetricsRecorder(metricsRecorder);
+                    }
+                }
+            }
+        }
+    }
+
     public List<AuthorizationGenerator> getAuthorizationGenerators() {
         return this.authorizationGenerators;
     }
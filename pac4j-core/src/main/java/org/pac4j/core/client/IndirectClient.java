@@ -95,7 +95,9 @@ public abstract class IndirectClient extends BaseClient {
         // it's an AJAX request -> appropriate action
         if (ajaxRequestResolver.isAjax(context, sessionStore)) {
             final var httpAction = ajaxRequestResolver.buildAjaxResponse(context, sessionStore, redirectionActionBuilder);
-            logger.debug("AJAX request detected -> returning " + httpAction + " for " + context.getFullRequestURL());
+            if (logger.isDebugEnabled()) {
+                logger.debug("AJAX request detected -> returning {} for {}", httpAction, context.getFullRequestURL());
+            }
             cleanRequestedUrl(context, sessionStore);
             throw httpAction;
         }
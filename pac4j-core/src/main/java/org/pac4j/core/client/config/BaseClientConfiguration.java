@@ -1,5 +1,7 @@
 package org.pac4j.core.client.config;
 
+import org.pac4j.core.http.client.DefaultHttpClientFactory;
+import org.pac4j.core.http.client.HttpClientFactory;
 import org.pac4j.core.util.InitializableObject;
 
 /**
@@ -11,4 +13,33 @@ import org.pac4j.core.util.InitializableObject;
  * @since 4.0.1
  */
 public abstract class BaseClientConfiguration extends InitializableObject {
+
+    private volatile HttpClientFactory httpClientFactory;
+
+    /**
+     * Get the factory of the HTTP client used to call the identity provider (created on first use if not defined).
+     *
+     * @return the HTTP client factory
+     */
+    public HttpClientFactory getHttpClientFactory() {
+        var factory = httpClientFactory;
+        if (factory == null) {
+            synchronized (this) {
+                factory = httpClientFactory;
+                if (factory == null) {
+                    factory = newHttpClientFactory();
+                    httpClientFactory = factory;
+                }
+            }
+        }
+        return factory;
+    }
+
+    protected HttpClientFactory newHttpClientFactory() {
+        return new DefaultHttpClientFactory();
+    }
+
+    public void setHttpClientFactory(final HttpClientFactory httpClientFactory) {
+        this.httpClientFactory = httpClientFactory;
+    }
 }
@@ -40,7 +40,9 @@ public class DefaultCallbackClientFinder implements ClientFinder {
                 }
             }
         }
-        logger.debug("result: {}", result.stream().map(Client::getName).collect(Collectors.toList()));
+        if (logger.isDebugEnabled()) {
+            logger.debug("result: {}", result.stream().map(Client::getName).collect(Collectors.toList()));
+        }
 
         // fallback: no client found and we have a default client, use it
         if (result.isEmpty() && CommonHelper.isNotBlank(clientNames)) {
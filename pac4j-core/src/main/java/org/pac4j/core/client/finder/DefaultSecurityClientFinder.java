@@ -75,7 +75,9 @@ public class DefaultSecurityClientFinder implements ClientFinder {
                 }
             }
         }
-        logger.debug("result: {}", result.stream().map(Client::getName).collect(Collectors.toList()));
+        if (logger.isDebugEnabled()) {
+            logger.debug("result: {}", result.stream().map(Client::getName).collect(Collectors.toList()));
+        }
         return result;
     }
 
@@ -10,6 +10,8 @@ import org.pac4j.core.engine.LogoutLogic;
 import org.pac4j.core.engine.SecurityLogic;
 import org.pac4j.core.http.adapter.HttpActionAdapter;
 import org.pac4j.core.matching.matcher.Matcher;
+import org.pac4j.core.metrics.MetricsRecorder;
+import org.pac4j.core.metrics.NoOpMetricsRecorder;
 import org.pac4j.core.profile.factory.ProfileManagerFactory;
 import org.pac4j.core.util.CommonHelper;
 import org.slf4j.Logger;
@@ -51,6 +53,8 @@ public class Config {
 
     protected WebContextFactory webContextFactory;
 
+    protected MetricsRecorder metricsRecorder = NoOpMetricsRecorder.INSTANCE;
+
     public Config() {}
 
     public Config(final Client client) {
@@ -116,6 +120,9 @@ public class Config {
 
     public void setClients(final Clients clients) {
         this.clients = clients;
+        if (clients != null && metricsRecorder != NoOpMetricsRecorder.INSTANCE) {
+            clients.setMetricsRecorder(metricsRecorder);
+        }
     }
 
     public Map<String, Authorizer> getAuthorizers() {
@@ -202,6 +209,23 @@ public class Config {
         this.webContextFactory = webContextFactory;
     }
 
+    public MetricsRecorder getMetricsRecorder() {
+        return metricsRecorder;
+    }
+
+    /**
+     * Define the recorder of the metrics, used by the logics and the clients (the {@link NoOpMetricsRecorder} disables the metrics).
+     *
+     * @param metricsRecorder the recorder
+     */
+    public void setMetricsRecorder(final MetricsRecorder metricsRecorder) {
+        CommonHelper.assertNotNull("metricsRecorder", metricsRecorder);
+        this.metricsRecorder = metricsRecorder;
+        if (clients != null) {
+            clients.setMetricsRecorder(metricsRecorder);
+        }
+    }
+
     public static ProfileManagerFactory getProfileManagerFactory() {
         return INSTANCE.profileManagerFactory;
     }
@@ -232,5 +256,6 @@ public class Config {
         INSTANCE.setCallbackLogic(config.getCallbackLogic());
         INSTANCE.setLogoutLogic(config.getLogoutLogic());
         INSTANCE.setWebContextFactory(config.getWebContextFactory());
+        INSTANCE.setMetricsRecorder(config.getMetricsRecorder());
     }
 }
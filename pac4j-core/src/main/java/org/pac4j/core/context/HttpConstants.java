@@ -24,6 +24,8 @@ public interface HttpConstants {
 
     int TEMPORARY_REDIRECT = 307;
 
+    int NOT_MODIFIED = 304;
+
     int BAD_REQUEST = 400;
 
     int DEFAULT_HTTP_PORT = 80;
@@ -54,12 +56,18 @@ public interface HttpConstants {
 
     String APPLICATION_JSON = "application/json";
 
+    String APPLICATION_XML = "application/xml";
+
     String AUTHENTICATE_HEADER = "WWW-Authenticate";
 
     String CONTENT_TYPE_HEADER = "Content-Type";
 
     String HTML_CONTENT_TYPE = "text/html; charset=utf-8";
 
+    String ETAG_HEADER = "ETag";
+
+    String IF_NONE_MATCH_HEADER = "If-None-Match";
+
     String AJAX_HEADER_VALUE = "XMLHttpRequest";
 
     String AJAX_HEADER_NAME = "X-Requested-With";
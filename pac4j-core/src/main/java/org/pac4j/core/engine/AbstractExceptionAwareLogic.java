@@ -39,7 +39,9 @@ public abstract class AbstractExceptionAwareLogic extends ProfileManagerFactoryA
             throw runtimeException(e);
         } else if (e instanceof HttpAction) {
             final var action = (HttpAction) e;
-            LOGGER.debug("extra HTTP action required in security: {}", action.getCode());
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("extra HTTP action required in security: {}", action.getCode());
+            }
             return httpActionAdapter.adapt(action, context);
         } else {
             if (CommonHelper.isNotBlank(errorUrl)) {
@@ -12,6 +12,7 @@ import org.pac4j.core.engine.savedrequest.DefaultSavedRequestHandler;
 import org.pac4j.core.engine.savedrequest.SavedRequestHandler;
 import org.pac4j.core.exception.http.HttpAction;
 import org.pac4j.core.http.adapter.HttpActionAdapter;
+import org.pac4j.core.metrics.Metrics;
 import org.pac4j.core.profile.UserProfile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,6 +43,8 @@ public class DefaultCallbackLogic extends AbstractExceptionAwareLogic implements
                           final String defaultClient) {
 
         LOGGER.debug("=== CALLBACK ===");
+        final var metricsRecorder = config != null ? config.getMetricsRecorder() : null;
+        final var start = Metrics.start(metricsRecorder);
 
         HttpAction action;
         try {
@@ -89,9 +92,11 @@ public class DefaultCallbackLogic extends AbstractExceptionAwareLogic implements
             action = redirectToOriginallyRequestedUrl(webContext, sessionStore, defaultUrl);
 
         } catch (final RuntimeException e) {
+            Metrics.recordTime(metricsRecorder, Metrics.CALLBACK_LOGIC, e instanceof HttpAction ? Metrics.ACTION : Metrics.ERROR, start);
             return handleException(e, httpActionAdapter, webContext);
         }
 
+        Metrics.recordTime(metricsRecorder, Metrics.CALLBACK_LOGIC, Metrics.ACTION, start);
         return httpActionAdapter.adapt(action, webContext);
     }
 
@@ -99,6 +104,7 @@ public class DefaultCallbackLogic extends AbstractExceptionAwareLogic implements
                                    final UserProfile profile, final boolean saveProfileInSession, final boolean multiProfile,
                                    final boolean renewSession) {
         final var manager = getProfileManager(context, sessionStore);
+        manager.setConfig(config);
         if (profile != null) {
             manager.save(saveProfileInSession, profile, multiProfile);
             if (renewSession) {
@@ -7,6 +7,7 @@ import org.pac4j.core.context.WebContext;
 import org.pac4j.core.context.session.SessionStore;
 import org.pac4j.core.exception.http.*;
 import org.pac4j.core.http.adapter.HttpActionAdapter;
+import org.pac4j.core.metrics.Metrics;
 import org.pac4j.core.util.HttpActionHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,6 +44,8 @@ public class DefaultLogoutLogic extends AbstractExceptionAwareLogic implements L
                           final Boolean inputLocalLogout, final Boolean inputDestroySession, final Boolean inputCentralLogout) {
 
         LOGGER.debug("=== LOGOUT ===");
+        final var metricsRecorder = config != null ? config.getMetricsRecorder() : null;
+        final var start = Metrics.start(metricsRecorder);
 
         HttpAction action;
         try {
@@ -129,9 +132,11 @@ public class DefaultLogoutLogic extends AbstractExceptionAwareLogic implements L
             }
 
         } catch (final RuntimeException e) {
+            Metrics.recordTime(metricsRecorder, Metrics.LOGOUT_LOGIC, e instanceof HttpAction ? Metrics.ACTION : Metrics.ERROR, start);
             return handleException(e, httpActionAdapter, context);
         }
 
+        Metrics.recordTime(metricsRecorder, Metrics.LOGOUT_LOGIC, Metrics.ACTION, start);
         return httpActionAdapter.adapt(action, context);
     }
 
@@ -2,7 +2,9 @@ package org.pac4j.core.engine;
 
 import org.pac4j.core.authorization.checker.AuthorizationChecker;
 import org.pac4j.core.authorization.checker.DefaultAuthorizationChecker;
+import org.pac4j.core.client.BaseClient;
 import org.pac4j.core.client.Client;
+import org.pac4j.core.client.Clients;
 import org.pac4j.core.client.DirectClient;
 import org.pac4j.core.client.IndirectClient;
 import org.pac4j.core.client.finder.ClientFinder;
@@ -18,6 +20,7 @@ import org.pac4j.core.http.adapter.HttpActionAdapter;
 import org.pac4j.core.matching.checker.DefaultMatchingChecker;
 import org.pac4j.core.http.ajax.AjaxRequestResolver;
 import org.pac4j.core.matching.checker.MatchingChecker;
+import org.pac4j.core.metrics.Metrics;
 import org.pac4j.core.profile.ProfileManager;
 import org.pac4j.core.profile.UserProfile;
 import org.pac4j.core.util.HttpActionHelper;
@@ -62,12 +65,16 @@ public class DefaultSecurityLogic extends AbstractExceptionAwareLogic implements
 
     private boolean loadProfilesFromSession = true;
 
+    private boolean checkLogoutBroadcast = false;
+
     @Override
     public Object perform(final WebContext context, final SessionStore sessionStore, final Config config,
                           final SecurityGrantedAccessAdapter securityGrantedAccessAdapter, final HttpActionAdapter httpActionAdapter,
                           final String clients, final String authorizers, final String matchers, final Object... parameters) {
 
         LOGGER.debug("=== SECURITY ===");
+        final var metricsRecorder = config != null ? config.getMetricsRecorder() : null;
+        var start = Metrics.start(metricsRecorder);
 
         HttpAction action;
         try {
@@ -82,12 +89,14 @@ public class DefaultSecurityLogic extends AbstractExceptionAwareLogic implements
             assertNotNull("configClients", configClients);
 
             // logic
-            LOGGER.debug("url: {}", context.getFullRequestURL());
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("url: {}", context.getFullRequestURL());
+            }
             LOGGER.debug("clients: {} | matchers: {}", clients, matchers);
             final var currentClients = clientFinder.find(configClients, context, clients);
             LOGGER.debug("currentClients: {}", currentClients);
 
-            if (matchingChecker.matches(context, sessionStore, matchers, config.getMatchers(), currentClients)) {
+            if (matchingChecker.matches(context, sessionStore, matchers, config.getMatchers(), currentClients, metricsRecorder)) {
 
                 final var manager = getProfileManager(context, sessionStore);
                 manager.setConfig(config);
@@ -96,6 +105,12 @@ public class DefaultSecurityLogic extends AbstractExceptionAwareLogic implements
                     : List.<UserProfile>of();
                 LOGGER.debug("Loaded profiles (from session: {}): {} ", this.loadProfilesFromSession, profiles);
 
+                if (this.checkLogoutBroadcast && isNotEmpty(profiles)
+                    && destroyBroadcastSession(context, sessionStore, configClients, profiles)) {
+                    profiles = loadProfiles(manager, context, sessionStore, currentClients);
+                    LOGGER.debug("Reloaded profiles after the logout broadcast: {}", profiles);
+                }
+
                 // no profile and some current clients
                 if (isEmpty(profiles) && isNotEmpty(currentClients)) {
                     var updated = false;
@@ -135,8 +150,11 @@ public class DefaultSecurityLogic extends AbstractExceptionAwareLogic implements
                 if (isNotEmpty(profiles)) {
                     LOGGER.debug("authorizers: {}", authorizers);
                     if (authorizationChecker.isAuthorized(context, sessionStore, profiles,
-                                                          authorizers, config.getAuthorizers(), currentClients)) {
+                                                          authorizers, config.getAuthorizers(), currentClients, metricsRecorder)) {
                         LOGGER.debug("authenticated and authorized -> grant access");
+                        Metrics.recordTime(metricsRecorder, Metrics.SECURITY_LOGIC, Metrics.GRANTED, start);
+                        // the exceptions raised by the web application are not timed
+                        start = Metrics.NOT_STARTED;
                         return securityGrantedAccessAdapter.adapt(context, sessionStore, profiles, parameters);
                     } else {
                         LOGGER.debug("forbidden");
@@ -156,13 +174,17 @@ public class DefaultSecurityLogic extends AbstractExceptionAwareLogic implements
             } else {
 
                 LOGGER.debug("no matching for this request -> grant access");
+                Metrics.recordTime(metricsRecorder, Metrics.SECURITY_LOGIC, Metrics.GRANTED, start);
+                start = Metrics.NOT_STARTED;
                 return securityGrantedAccessAdapter.adapt(context, sessionStore, Collections.emptyList(), parameters);
             }
 
         } catch (final Exception e) {
+            Metrics.recordTime(metricsRecorder, Metrics.SECURITY_LOGIC, e instanceof HttpAction ? Metrics.ACTION : Metrics.ERROR, start);
             return handleException(e, httpActionAdapter, context);
         }
 
+        Metrics.recordTime(metricsRecorder, Metrics.SECURITY_LOGIC, Metrics.ACTION, start);
         return httpActionAdapter.adapt(action, context);
     }
 
@@ -180,6 +202,31 @@ public class DefaultSecurityLogic extends AbstractExceptionAwareLogic implements
         return manager.getProfiles();
     }
 
+    /**
+     * Destroy the web session if a back channel logout has been received for it by another node of the cluster.
+     *
+     * @param context the web context
+     * @param sessionStore the session store
+     * @param clients the configured clients
+     * @param profiles the loaded profiles
+     * @return whether the web session has been destroyed
+     */
+    protected boolean destroyBroadcastSession(final WebContext context, final SessionStore sessionStore, final Clients clients,
+                                              final List<UserProfile> profiles) {
+        for (final var profile : profiles) {
+            if (isBlank(profile.getClientName())) {
+                continue;
+            }
+            final var client = clients.findClient(profile.getClientName());
+            if (client.isPresent() && client.get() instanceof BaseClient
+                && ((BaseClient) client.get()).destroyBroadcastSession(context, sessionStore)) {
+                LOGGER.debug("Web session destroyed by a logout broadcast for client: {}", profile.getClientName());
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Return a forbidden error.
      *
@@ -288,9 +335,24 @@ public class DefaultSecurityLogic extends AbstractExceptionAwareLogic implements
         return loadProfilesFromSession;
     }
 
+    public boolean isCheckLogoutBroadcast() {
+        return checkLogoutBroadcast;
+    }
+
+    /**
+     * Define whether the web session must be checked at each request, to destroy it if a back channel logout has been received
+     * for it by another node of the cluster (see {@link org.pac4j.core.logout.registry.StoreLogoutBroadcaster}).
+     *
+     * @param checkLogoutBroadcast whether the logout broadcasts must be checked
+     */
+    public void setCheckLogoutBroadcast(final boolean checkLogoutBroadcast) {
+        this.checkLogoutBroadcast = checkLogoutBroadcast;
+    }
+
     @Override
     public String toString() {
         return toNiceString(this.getClass(), "clientFinder", this.clientFinder, "authorizationChecker", this.authorizationChecker,
-            "matchingChecker", this.matchingChecker, "errorUrl", getErrorUrl(), "savedRequestHandler", savedRequestHandler);
+            "matchingChecker", this.matchingChecker, "errorUrl", getErrorUrl(), "savedRequestHandler", savedRequestHandler,
+            "checkLogoutBroadcast", checkLogoutBroadcast);
     }
 }
@@ -0,0 +1,404 @@
+package org.pac4j.core.http.client;
+
+import org.pac4j.core.metrics.Metrics;
+import org.pac4j.core.metrics.MetricsRecorder;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.core.util.HttpUtils;
+import org.pac4j.core.util.InitializableObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLContext;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Default {@link HttpClientFactory} based on one {@link HttpClient}, which keeps its connections alive.
+ *
+ * <p>By default, the timeouts are the current ones of the {@link HttpUtils} (read at each request) and no request is retried.
+ * A timeout lower than or equal to 0 means no timeout.
+ * A specific {@link HttpClient} can also be provided, it is then used as is. If retries are enabled,
+ * the idempotent requests (and the non-idempotent ones if {@link #setRetryNonIdempotentRequests(boolean)}) are retried
+ * on I/O errors and on the {@link #getRetryStatusCodes()}, with an exponential back-off.</p>
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public class DefaultHttpClientFactory extends InitializableObject implements HttpClientFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(DefaultHttpClientFactory.class);
+
+    private static final Set<String> IDEMPOTENT_METHODS = new HashSet<>(Arrays.asList("GET", "HEAD", "PUT", "DELETE", "OPTIONS",
+        "TRACE"));
+
+    private IntSupplier connectTimeout;
+
+    private IntSupplier readTimeout;
+
+    private String proxyHost;
+
+    private int proxyPort;
+
+    private ProxySelector proxySelector;
+
+    private SSLContext sslContext;
+
+    private Executor executor;
+
+    private HttpClient.Version version = HttpClient.Version.HTTP_1_1;
+
+    private HttpClient.Redirect followRedirects = HttpClient.Redirect.NORMAL;
+
+    private int maxRetries;
+
+    private long retryDelay = 100;
+
+    private Set<Integer> retryStatusCodes = new HashSet<>(Arrays.asList(502, 503, 504));
+
+    private boolean retryNonIdempotentRequests;
+
+    private final HttpClientMetrics metrics = new HttpClientMetrics();
+
+    private MetricsRecorder metricsRecorder;
+
+    private HttpClient httpClient;
+
+    private volatile HttpClient builtHttpClient;
+
+    public DefaultHttpClientFactory() {}
+
+    public DefaultHttpClientFactory(final int connectTimeout, final int readTimeout) {
+        setConnectTimeout(connectTimeout);
+        setReadTimeout(readTimeout);
+    }
+
+    /**
+     * Define the suppliers of the timeouts, called at each request.
+     *
+     * @param connectTimeout the supplier of the connect timeout
+     * @param readTimeout the supplier of the read timeout
+     */
+    public DefaultHttpClientFactory(final IntSupplier connectTimeout, final IntSupplier readTimeout) {
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+    }
+
+    @Override
+    protected void internalInit(final boolean forceReinit) {
+        CommonHelper.assertTrue(maxRetries >= 0, "maxRetries cannot be negative");
+
+        if (forceReinit) {
+            builtHttpClient = null;
+        }
+    }
+
+    @Override
+    public HttpClient getHttpClient() {
+        init();
+
+        if (httpClient != null) {
+            return httpClient;
+        }
+        final var client = builtHttpClient;
+        final var timeout = toDuration(getConnectTimeout());
+        // the client is rebuilt if the connect timeout has changed since it was built (in the HttpUtils for example)
+        if (client != null && client.connectTimeout().equals(timeout)) {
+            return client;
+        }
+        // concurrent builds are harmless: one of the equivalent clients is kept
+        return buildHttpClient(timeout);
+    }
+
+    private static Optional<Duration> toDuration(final int timeout) {
+        return timeout > 0 ? Optional.of(Duration.ofMillis(timeout)) : Optional.empty();
+    }
+
+    private HttpClient buildHttpClient(final Optional<Duration> timeout) {
+        final var builder = HttpClient.newBuilder()
+            .version(version)
+            .followRedirects(followRedirects);
+        timeout.ifPresent(builder::connectTimeout);
+        if (proxySelector != null) {
+            builder.proxy(proxySelector);
+        } else if (CommonHelper.isNotBlank(proxyHost)) {
+            builder.proxy(ProxySelector.of(new InetSocketAddress(proxyHost, proxyPort)));
+        }
+        if (sslContext != null) {
+            builder.sslContext(sslContext);
+        }
+        if (executor != null) {
+            builder.executor(executor);
+        }
+        final var client = builder.build();
+        builtHttpClient = client;
+        return client;
+    }
+
+    @Override
+    public HttpRequest.Builder newRequest(final URI uri) {
+        final var builder = HttpRequest.newBuilder(uri);
+        toDuration(getReadTimeout()).ifPresent(builder::timeout);
+        return builder;
+    }
+
+    @Override
+    public <T> HttpResponse<T> send(final HttpRequest request, final HttpResponse.BodyHandler<T> bodyHandler) throws IOException {
+        final var client = getHttpClient();
+        var attempt = 0;
+        while (true) {
+            final var start = System.nanoTime();
+            try {
+                final var response = client.send(request, bodyHandler);
+                final var duration = System.nanoTime() - start;
+                metrics.recordResponse(response.statusCode(), duration);
+                Metrics.recordDuration(metricsRecorder, Metrics.HTTP_REQUEST, request.uri().getHost(), duration);
+                if (attempt >= maxRetries || !isRetryable(request, response.statusCode())) {
+                    return response;
+                }
+                discard(response);
+                logger.debug("Retrying request: {} after status: {}", request, response.statusCode());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted request: " + request);
+            } catch (final IOException e) {
+                final var duration = System.nanoTime() - start;
+                metrics.recordFailure(duration);
+                Metrics.recordDuration(metricsRecorder, Metrics.HTTP_REQUEST, request.uri().getHost(), duration);
+                Metrics.increment(metricsRecorder, Metrics.HTTP_FAILURE, request.uri().getHost());
+                if (attempt >= maxRetries || !isRetryable(request)) {
+                    throw e;
+                }
+                logger.debug("Retrying request: {} after error: {}", request, e.toString());
+            }
+            attempt++;
+            metrics.recordRetry();
+            Metrics.increment(metricsRecorder, Metrics.HTTP_RETRY, request.uri().getHost());
+            try {
+                Thread.sleep(computeRetryDelay(attempt));
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted request: " + request);
+            }
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest request, final HttpResponse.BodyHandler<T> bodyHandler) {
+        return sendAsync(getHttpClient(), request, bodyHandler, 0);
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpClient client, final HttpRequest request,
+                                                             final HttpResponse.BodyHandler<T> bodyHandler, final int attempt) {
+        final var start = System.nanoTime();
+        return client.sendAsync(request, bodyHandler).handle((response, error) -> {
+            if (error == null) {
+                final var duration = System.nanoTime() - start;
+                metrics.recordResponse(response.statusCode(), duration);
+                Metrics.recordDuration(metricsRecorder, Metrics.HTTP_REQUEST, request.uri().getHost(), duration);
+                if (attempt >= maxRetries || !isRetryable(request, response.statusCode())) {
+                    return CompletableFuture.completedFuture(response);
+                }
+                discard(response);
+            } else {
+                final var duration = System.nanoTime() - start;
+                metrics.recordFailure(duration);
+                Metrics.recordDuration(metricsRecorder, Metrics.HTTP_REQUEST, request.uri().getHost(), duration);
+                Metrics.increment(metricsRecorder, Metrics.HTTP_FAILURE, request.uri().getHost());
+                if (attempt >= maxRetries || !isRetryable(request)) {
+                    return CompletableFuture.<HttpResponse<T>>failedFuture(error);
+                }
+            }
+            metrics.recordRetry();
+            Metrics.increment(metricsRecorder, Metrics.HTTP_RETRY, request.uri().getHost());
+            final var delayedExecutor = CompletableFuture.delayedExecutor(computeRetryDelay(attempt + 1), TimeUnit.MILLISECONDS,
+                executor != null ? executor : ForkJoinPool.commonPool());
+            return CompletableFuture.supplyAsync(() -> null, delayedExecutor)
+                .thenCompose(v -> sendAsync(client, request, bodyHandler, attempt + 1));
+        }).thenCompose(future -> future);
+    }
+
+    protected boolean isRetryable(final HttpRequest request) {
+        return retryNonIdempotentRequests || IDEMPOTENT_METHODS.contains(request.method());
+    }
+
+    protected boolean isRetryable(final HttpRequest request, final int statusCode) {
+        return retryStatusCodes.contains(statusCode) && isRetryable(request);
+    }
+
+    protected long computeRetryDelay(final int attempt) {
+        return retryDelay << Math.min(attempt - 1, 10);
+    }
+
+    private static void discard(final HttpResponse<?> response) {
+        final var body = response.body();
+        if (body instanceof Closeable) {
+            try {
+                ((Closeable) body).close();
+            } catch (final IOException e) {
+                // the response is not used anyway: it must not prevent the retry
+                logger.debug("Cannot close the discarded response: {}", e.toString());
+            }
+        }
+    }
+
+    public HttpClientMetrics getMetrics() {
+        return metrics;
+    }
+
+    public int getConnectTimeout() {
+        return connectTimeout != null ? connectTimeout.getAsInt() : HttpUtils.getConnectTimeout();
+    }
+
+    public void setConnectTimeout(final int connectTimeout) {
+        this.connectTimeout = () -> connectTimeout;
+    }
+
+    public int getReadTimeout() {
+        return readTimeout != null ? readTimeout.getAsInt() : HttpUtils.getReadTimeout();
+    }
+
+    public void setReadTimeout(final int readTimeout) {
+        this.readTimeout = () -> readTimeout;
+    }
+
+    public String getProxyHost() {
+        return proxyHost;
+    }
+
+    public void setProxyHost(final String proxyHost) {
+        this.proxyHost = proxyHost;
+    }
+
+    public int getProxyPort() {
+        return proxyPort;
+    }
+
+    public void setProxyPort(final int proxyPort) {
+        this.proxyPort = proxyPort;
+    }
+
+    public ProxySelector getProxySelector() {
+        return proxySelector;
+    }
+
+    public void setProxySelector(final ProxySelector proxySelector) {
+        this.proxySelector = proxySelector;
+    }
+
+    /**
+     * Define the {@link HttpClient} to use as is: only the read timeout and the retry policy of this factory then apply.
+     *
+     * @param httpClient the HTTP client
+     */
+    public void setHttpClient(final HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    public SSLContext getSslContext() {
+        return sslContext;
+    }
+
+    public void setSslContext(final SSLContext sslContext) {
+        this.sslContext = sslContext;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public void setExecutor(final Executor executor) {
+        this.executor = executor;
+    }
+
+    public HttpClient.Version getVersion() {
+        return version;
+    }
+
+    public void setVersion(final HttpClient.Version version) {
+        this.version = version;
+    }
+
+    public HttpClient.Redirect getFollowRedirects() {
+        return followRedirects;
+    }
+
+    public void setFollowRedirects(final HttpClient.Redirect followRedirects) {
+        this.followRedirects = followRedirects;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public void setMaxRetries(final int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    public long getRetryDelay() {
+        return retryDelay;
+    }
+
+    /**
+     * Define the delay (in milliseconds) before the first retry, doubled for each next retry.
+     *
+     * @param retryDelay the retry delay
+     */
+    public void setRetryDelay(final long retryDelay) {
+        this.retryDelay = retryDelay;
+    }
+
+    public Set<Integer> getRetryStatusCodes() {
+        return retryStatusCodes;
+    }
+
+    public void setRetryStatusCodes(final Set<Integer> retryStatusCodes) {
+        CommonHelper.assertNotNull("retryStatusCodes", retryStatusCodes);
+        this.retryStatusCodes = retryStatusCodes;
+    }
+
+    public boolean isRetryNonIdempotentRequests() {
+        return retryNonIdempotentRequests;
+    }
+
+    public void setRetryNonIdempotentRequests(final boolean retryNonIdempotentRequests) {
+        this.retryNonIdempotentRequests = retryNonIdempotentRequests;
+    }
+
+    public MetricsRecorder getMetricsRecorder() {
+        return metricsRecorder;
+    }
+
+    /**
+     * Define the recorder of the HTTP metrics (none by default): the HTTP client factories are not attached to a configuration.
+     *
+     * @param metricsRecorder the recorder
+     */
+    public void setMetricsRecorder(final MetricsRecorder metricsRecorder) {
+        this.metricsRecorder = metricsRecorder;
+    }
+
+    @Override
+    public String toString() {
+        return CommonHelper.toNiceString(this.getClass(), "connectTimeout", getConnectTimeout(), "readTimeout", getReadTimeout(),
+            "proxyHost", proxyHost, "proxyPort", proxyPort, "version", version, "followRedirects", followRedirects,
+            "maxRetries", maxRetries, "retryDelay", retryDelay, "retryStatusCodes", retryStatusCodes,
+            "retryNonIdempotentRequests", retryNonIdempotentRequests, "metrics", metrics);
+    }
+}
@@ -0,0 +1,56 @@
+package org.pac4j.core.http.client;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Provides the HTTP client of a pac4j component (pac4j client, authenticator...) and sends its requests.
+ *
+ * <p>Each factory holds its own connection pool, timeouts, proxy and retry policy, so that the calls to a slow server
+ * can be configured independently of the others.</p>
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public interface HttpClientFactory {
+
+    /**
+     * Get the HTTP client (shared by all the requests of this factory).
+     *
+     * @return the HTTP client
+     */
+    HttpClient getHttpClient();
+
+    /**
+     * Create a request builder for the URI, with the request (read) timeout of this factory.
+     *
+     * @param uri the URI
+     * @return the request builder
+     */
+    HttpRequest.Builder newRequest(URI uri);
+
+    /**
+     * Send a request, applying the retry policy.
+     *
+     * @param request the request
+     * @param bodyHandler the response body handler
+     * @param <T> the type of the response body
+     * @return the response
+     * @throws IOException if the request fails
+     */
+    <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) throws IOException;
+
+    /**
+     * Send a request asynchronously, applying the retry policy.
+     *
+     * @param request the request
+     * @param bodyHandler the response body handler
+     * @param <T> the type of the response body
+     * @return the future response
+     */
+    <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler);
+}
@@ -0,0 +1,78 @@
+package org.pac4j.core.http.client;
+
+import org.pac4j.core.util.CommonHelper;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of the requests sent by a {@link HttpClientFactory}.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public class HttpClientMetrics {
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder errorResponses = new LongAdder();
+
+    private final LongAdder failures = new LongAdder();
+
+    private final LongAdder retries = new LongAdder();
+
+    private final LongAdder totalTimeNanos = new LongAdder();
+
+    public void recordResponse(final int statusCode, final long durationNanos) {
+        requests.increment();
+        totalTimeNanos.add(durationNanos);
+        if (statusCode >= 400) {
+            errorResponses.increment();
+        }
+    }
+
+    public void recordFailure(final long durationNanos) {
+        requests.increment();
+        totalTimeNanos.add(durationNanos);
+        failures.increment();
+    }
+
+    public void recordRetry() {
+        retries.increment();
+    }
+
+    /**
+     * @return the number of requests sent (including the retries)
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * @return the number of responses with a 4xx or 5xx status code
+     */
+    public long getErrorResponses() {
+        return errorResponses.sum();
+    }
+
+    /**
+     * @return the number of requests without response (I/O errors, timeouts...)
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    public long getTotalTime(final TimeUnit unit) {
+        return unit.convert(totalTimeNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return CommonHelper.toNiceString(this.getClass(), "requests", getRequests(), "errorResponses", getErrorResponses(),
+            "failures", getFailures(), "retries", getRetries(), "totalTimeMs", getTotalTime(TimeUnit.MILLISECONDS));
+    }
+}
@@ -2,19 +2,24 @@ package org.pac4j.core.logout.handler;
 
 import org.pac4j.core.context.WebContext;
 import org.pac4j.core.context.session.SessionStore;
+import org.pac4j.core.logout.registry.InMemoryLogoutSessionRegistry;
+import org.pac4j.core.logout.registry.LogoutBroadcaster;
+import org.pac4j.core.logout.registry.LogoutSessionRegistry;
+import org.pac4j.core.logout.registry.StoreLogoutBroadcaster;
+import org.pac4j.core.logout.registry.StoreLogoutSessionRegistry;
 import org.pac4j.core.profile.factory.ProfileManagerFactoryAware;
-import org.pac4j.core.store.GuavaStore;
 import org.pac4j.core.store.Store;
 import org.pac4j.core.util.CommonHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Optional;
-import java.util.concurrent.TimeUnit;
-
 /**
  * Default logout handler.
  *
+ * The sessions are recorded in a {@link LogoutSessionRegistry} (in memory by default). In a cluster, the back channel logout
+ * requests for sessions not owned by the current node can be forwarded to the other nodes via a {@link LogoutBroadcaster}
+ * (like the {@link StoreLogoutBroadcaster}).
+ *
  * @author Jerome Leleu
  * @since 2.0.0
  */
@@ -22,14 +27,20 @@ public class DefaultLogoutHandler extends ProfileManagerFactoryAware implements
 
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
-    private Store<String, Object> store = new GuavaStore<>(10000, 30, TimeUnit.MINUTES);
+    private LogoutSessionRegistry sessionRegistry = new InMemoryLogoutSessionRegistry();
+
+    private LogoutBroadcaster broadcaster;
 
     private boolean destroySession;
 
     public DefaultLogoutHandler() {}
 
     public DefaultLogoutHandler(final Store<String, Object> store) {
-        this.store = store;
+        this.sessionRegistry = new StoreLogoutSessionRegistry(store);
+    }
+
+    public DefaultLogoutHandler(final LogoutSessionRegistry sessionRegistry) {
+        this.sessionRegistry = sessionRegistry;
     }
 
     @Override
@@ -44,8 +55,7 @@ public class DefaultLogoutHandler extends ProfileManagerFactoryAware implements
                 final var trackableSession = optTrackableSession.get();
                 logger.debug("key: {} -> trackableSession: {}", key, trackableSession);
                 logger.debug("sessionId: {}", sessionId);
-                store.set(key, trackableSession);
-                store.set(sessionId, key);
+                sessionRegistry.record(key, sessionId, trackableSession);
             } else {
                 logger.debug("No trackable session for the current session store: {}", sessionStore);
             }
@@ -54,16 +64,16 @@ public class DefaultLogoutHandler extends ProfileManagerFactoryAware implements
 
     @Override
     public void destroySessionFront(final WebContext context, final SessionStore sessionStore, final String key) {
-        store.remove(key);
-
         if (sessionStore == null) {
+            sessionRegistry.removeByKey(key);
             logger.error("No session store available for this web context");
         } else {
             final var currentSessionId = sessionStore.getSessionId(context, true).get();
             logger.debug("currentSessionId: {}", currentSessionId);
-            final var sessionToKey = (String) store.get(currentSessionId).orElse(null);
+            final var sessionToKey = sessionRegistry.findKey(currentSessionId).orElse(null);
             logger.debug("-> key: {}", key);
-            store.remove(currentSessionId);
+            sessionRegistry.removeByKey(key);
+            sessionRegistry.removeBySessionId(currentSessionId);
 
             if (CommonHelper.areEquals(key, sessionToKey)) {
                 destroy(context, sessionStore, "front");
@@ -91,53 +101,136 @@ public class DefaultLogoutHandler extends ProfileManagerFactoryAware implements
 
     @Override
     public void destroySessionBack(final WebContext context, final SessionStore sessionStore, final String key) {
-        final var optTrackableSession = store.get(key);
+        if (!destroyLocalSessionBack(context, sessionStore, key)) {
+            if (broadcaster != null) {
+                logger.debug("No local trackable session for key: {} -> broadcast the back channel logout", key);
+                broadcaster.broadcast(context, key);
+            } else {
+                logger.error("No trackable session found for back channel logout. Either the session store does not support to track "
+                    + "session or it has expired from the store and the store settings must be updated (expired data)");
+            }
+        }
+    }
+
+    /**
+     * Destroys the web session recorded on this node for the given key for a back channel logout (the request is never broadcast).
+     *
+     * @param context the web context
+     * @param sessionStore the session store
+     * @param key the key
+     * @return whether a trackable session was recorded for this key
+     */
+    public boolean destroyLocalSessionBack(final WebContext context, final SessionStore sessionStore, final String key) {
+        final var optTrackableSession = sessionRegistry.findTrackableSession(key);
         logger.debug("key: {} -> trackableSession: {}", key, optTrackableSession);
         if (!optTrackableSession.isPresent()) {
-            logger.error("No trackable session found for back channel logout. Either the session store does not support to track session "
-                + "or it has expired from the store and the store settings must be updated (expired data)");
-        } else {
-            store.remove(key);
+            return false;
+        }
+        sessionRegistry.removeByKey(key);
 
-            // renew context with the original session store
-            if (sessionStore == null) {
-                logger.error("No session store available for this web context");
+        // renew context with the original session store
+        if (sessionStore == null) {
+            logger.error("No session store available for this web context");
+        } else {
+            final var optNewSessionStore = sessionStore
+                .buildFromTrackableSession(context, optTrackableSession.get());
+            if (optNewSessionStore.isPresent()) {
+                final var newSessionStore = optNewSessionStore.get();
+                logger.debug("newSesionStore: {}", newSessionStore);
+                final var sessionId = newSessionStore.getSessionId(context, true).get();
+                logger.debug("remove sessionId: {}", sessionId);
+                sessionRegistry.removeBySessionId(sessionId);
+
+                destroy(context, newSessionStore, "back");
             } else {
-                final var optNewSessionStore = sessionStore
-                    .buildFromTrackableSession(context, optTrackableSession.get());
-                if (optNewSessionStore.isPresent()) {
-                    final var newSessionStore = optNewSessionStore.get();
-                    logger.debug("newSesionStore: {}", newSessionStore);
-                    final var sessionId = newSessionStore.getSessionId(context, true).get();
-                    logger.debug("remove sessionId: {}", sessionId);
-                    store.remove(sessionId);
-
-                    destroy(context, newSessionStore, "back");
-                } else {
-                    logger.error("The session store should be able to build a new session store from the tracked session");
-                }
+                logger.error("The session store should be able to build a new session store from the tracked session");
             }
         }
+        return true;
+    }
+
+    /**
+     * Destroys the current web session if its logout key has been broadcast by another node through a {@link StoreLogoutBroadcaster}.
+     * The lookup of the current session also renews it in the session registry.
+     *
+     * @param context the web context
+     * @param sessionStore the session store
+     * @return whether the current web session has been destroyed
+     */
+    @Override
+    public boolean destroyBroadcastSession(final WebContext context, final SessionStore sessionStore) {
+        if (sessionStore == null) {
+            return false;
+        }
+        final var optSessionId = sessionStore.getSessionId(context, false);
+        if (optSessionId.isEmpty()) {
+            return false;
+        }
+        final var sessionId = optSessionId.get();
+        final var optKey = sessionRegistry.findKey(sessionId);
+        if (optKey.isEmpty() || !(broadcaster instanceof StoreLogoutBroadcaster)) {
+            return false;
+        }
+        final var storeBroadcaster = (StoreLogoutBroadcaster) broadcaster;
+        if (!storeBroadcaster.isBroadcast(optKey.get())) {
+            return false;
+        }
+        final var key = optKey.get();
+        logger.debug("Broadcast logout for key: {} -> destroy the current session: {}", key, sessionId);
+        sessionRegistry.removeByKey(key);
+        sessionRegistry.removeBySessionId(sessionId);
+        storeBroadcaster.acknowledge(key);
+        destroy(context, sessionStore, "back");
+        return true;
     }
 
     @Override
     public void renewSession(final String oldSessionId, final WebContext context, final SessionStore sessionStore) {
-        final Optional optKey = store.get(oldSessionId);
+        final var optKey = sessionRegistry.findKey(oldSessionId);
         logger.debug("oldSessionId: {} -> key: {}", oldSessionId, optKey);
         if (optKey.isPresent()) {
-            final var key = (String) optKey.get();
-            store.remove(key);
-            store.remove(oldSessionId);
+            final var key = optKey.get();
+            sessionRegistry.removeByKey(key);
+            sessionRegistry.removeBySessionId(oldSessionId);
             recordSession(context, sessionStore, key);
         }
     }
 
+    /**
+     * @return the store if the sessions are recorded in a {@link StoreLogoutSessionRegistry}, <code>null</code> otherwise
+     * @deprecated use {@link #getSessionRegistry()} instead
+     */
+    @Deprecated
     public Store<String, Object> getStore() {
-        return store;
+        if (sessionRegistry instanceof StoreLogoutSessionRegistry) {
+            return ((StoreLogoutSessionRegistry) sessionRegistry).getStore();
+        }
+        return null;
     }
 
+    /**
+     * @param store the store in which the sessions are recorded
+     * @deprecated use {@link #setSessionRegistry(LogoutSessionRegistry)} with a {@link StoreLogoutSessionRegistry} instead
+     */
+    @Deprecated
     public void setStore(final Store<String, Object> store) {
-        this.store = store;
+        this.sessionRegistry = new StoreLogoutSessionRegistry(store);
+    }
+
+    public LogoutSessionRegistry getSessionRegistry() {
+        return sessionRegistry;
+    }
+
+    public void setSessionRegistry(final LogoutSessionRegistry sessionRegistry) {
+        this.sessionRegistry = sessionRegistry;
+    }
+
+    public LogoutBroadcaster getBroadcaster() {
+        return broadcaster;
+    }
+
+    public void setBroadcaster(final LogoutBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
     }
 
     public boolean isDestroySession() {
@@ -150,6 +243,7 @@ public class DefaultLogoutHandler extends ProfileManagerFactoryAware implements
 
     @Override
     public String toString() {
-        return CommonHelper.toNiceString(this.getClass(), "store", store, "destroySession", destroySession);
+        return CommonHelper.toNiceString(this.getClass(), "sessionRegistry", sessionRegistry, "broadcaster", broadcaster,
+            "destroySession", destroySession);
     }
 }
@@ -56,4 +56,16 @@ public interface LogoutHandler {
     default void renewSession(String oldSessionId, WebContext context, SessionStore sessionStore) {
         // do nothing by default
     }
+
+    /**
+     * Destroys the current web session if a back channel logout has been received for it by another node of the cluster.
+     * It is called at each request by the security logic when it checks the logout broadcasts.
+     *
+     * @param context the web context
+     * @param sessionStore the session store
+     * @return whether the current web session has been destroyed
+     */
+    default boolean destroyBroadcastSession(WebContext context, SessionStore sessionStore) {
+        return false;
+    }
 }
@@ -0,0 +1,210 @@
+package org.pac4j.core.logout.registry;
+
+import org.pac4j.core.util.CommonHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory {@link LogoutSessionRegistry} with two indexes (key -&gt; session and session identifier -&gt; key).
+ *
+ * Like the web sessions, the entries expire after a time of inactivity (30 minutes by default), which should be the session timeout:
+ * an entry is renewed each time its session is looked up, that is at each request when the security logic checks the logout
+ * broadcasts (see {@link org.pac4j.core.engine.DefaultSecurityLogic#setCheckLogoutBroadcast(boolean)}).
+ * The number of sessions is capped (10,000 by default, to be increased for a large number of concurrent users): when it is reached,
+ * the expired entries are purged and, if necessary, arbitrary entries are evicted.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public class InMemoryLogoutSessionRegistry implements LogoutSessionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryLogoutSessionRegistry.class);
+
+    private static final long PURGE_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    private static final int DEFAULT_MAX_SIZE = 10_000;
+
+    private final Map<String, Entry> sessionsByKey = new ConcurrentHashMap<>();
+
+    private final Map<String, String> keysBySessionId = new ConcurrentHashMap<>();
+
+    private final long timeToLive;
+
+    private final int maxSize;
+
+    private volatile long nextPurge;
+
+    public InMemoryLogoutSessionRegistry() {
+        this(30, TimeUnit.MINUTES);
+    }
+
+    public InMemoryLogoutSessionRegistry(final long timeToLive, final TimeUnit timeUnit) {
+        this(timeToLive, timeUnit, DEFAULT_MAX_SIZE);
+    }
+
+    public InMemoryLogoutSessionRegistry(final long timeToLive, final TimeUnit timeUnit, final int maxSize) {
+        CommonHelper.assertTrue(timeToLive > 0, "timeToLive must be greater than 0");
+        CommonHelper.assertNotNull("timeUnit", timeUnit);
+        CommonHelper.assertTrue(maxSize > 0, "maxSize must be greater than 0");
+        this.timeToLive = timeUnit.toMillis(timeToLive);
+        this.maxSize = maxSize;
+        this.nextPurge = System.currentTimeMillis() + PURGE_INTERVAL;
+    }
+
+    @Override
+    public void record(final String key, final String sessionId, final Object trackableSession) {
+        CommonHelper.assertNotNull("key", key);
+        CommonHelper.assertNotNull("sessionId", sessionId);
+        CommonHelper.assertNotNull("trackableSession", trackableSession);
+
+        final var now = System.currentTimeMillis();
+        final var previous = sessionsByKey.put(key, new Entry(sessionId, trackableSession, now + timeToLive));
+        if (previous != null && !previous.sessionId.equals(sessionId)) {
+            keysBySessionId.remove(previous.sessionId, key);
+        }
+        keysBySessionId.put(sessionId, key);
+        if (previous == null && sessionsByKey.size() > maxSize) {
+            evict(key, now);
+        } else {
+            purgeIfNecessary(now);
+        }
+    }
+
+    @Override
+    public Optional<Object> findTrackableSession(final String key) {
+        return findEntry(key).map(entry -> entry.trackableSession);
+    }
+
+    @Override
+    public Optional<String> findKey(final String sessionId) {
+        final var key = keysBySessionId.get(sessionId);
+        if (key == null) {
+            return Optional.empty();
+        }
+        final var entry = findEntry(key);
+        if (entry.isPresent() && entry.get().sessionId.equals(sessionId)) {
+            return Optional.of(key);
+        }
+        keysBySessionId.remove(sessionId, key);
+        return Optional.empty();
+    }
+
+    private Optional<Entry> findEntry(final String key) {
+        final var entry = sessionsByKey.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        final var now = System.currentTimeMillis();
+        if (entry.isExpired(now)) {
+            remove(key, entry);
+            return Optional.empty();
+        }
+        entry.expirationTime = now + timeToLive;
+        return Optional.of(entry);
+    }
+
+    @Override
+    public void removeByKey(final String key) {
+        final var entry = sessionsByKey.remove(key);
+        if (entry != null) {
+            keysBySessionId.remove(entry.sessionId, key);
+        }
+    }
+
+    @Override
+    public void removeBySessionId(final String sessionId) {
+        final var key = keysBySessionId.remove(sessionId);
+        if (key != null) {
+            sessionsByKey.computeIfPresent(key, (k, entry) -> entry.sessionId.equals(sessionId) ? null : entry);
+        }
+    }
+
+    private void remove(final String key, final Entry entry) {
+        if (sessionsByKey.remove(key, entry)) {
+            keysBySessionId.remove(entry.sessionId, key);
+        }
+    }
+
+    private void purgeIfNecessary(final long now) {
+        if (now >= nextPurge) {
+            synchronized (this) {
+                if (now >= nextPurge) {
+                    nextPurge = now + PURGE_INTERVAL;
+                    sessionsByKey.forEach((key, entry) -> {
+                        if (entry.isExpired(now)) {
+                            remove(key, entry);
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    private synchronized void evict(final String recordedKey, final long now) {
+        if (sessionsByKey.size() <= maxSize) {
+            return;
+        }
+        nextPurge = now + PURGE_INTERVAL;
+        sessionsByKey.forEach((key, entry) -> {
+            if (entry.isExpired(now)) {
+                remove(key, entry);
+            }
+        });
+        final var iterator = sessionsByKey.entrySet().iterator();
+        var evicted = 0;
+        while (sessionsByKey.size() > maxSize && iterator.hasNext()) {
+            final var entry = iterator.next();
+            if (!entry.getKey().equals(recordedKey)) {
+                remove(entry.getKey(), entry.getValue());
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            logger.warn("Too many sessions recorded: {} evicted (the maximum size: {} should be increased)", evicted, maxSize);
+        }
+    }
+
+    /**
+     * @return the number of recorded sessions (including the expired ones not purged yet)
+     */
+    public int size() {
+        return sessionsByKey.size();
+    }
+
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public String toString() {
+        return CommonHelper.toNiceString(this.getClass(), "timeToLive", timeToLive, "maxSize", maxSize, "size", size());
+    }
+
+    private static final class Entry {
+
+        private final String sessionId;
+
+        private final Object trackableSession;
+
+        private volatile long expirationTime;
+
+        private Entry(final String sessionId, final Object trackableSession, final long expirationTime) {
+            this.sessionId = sessionId;
+            this.trackableSession = trackableSession;
+            this.expirationTime = expirationTime;
+        }
+
+        private boolean isExpired(final long now) {
+            return now >= expirationTime;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.pac4j.core.logout.registry;
+
+import org.pac4j.core.context.WebContext;
+
+/**
+ * Forwards the back channel logout requests to the other nodes of a cluster when the session to destroy is not owned
+ * by the current node.
+ *
+ * The node owning the session must then call
+ * {@link org.pac4j.core.logout.handler.DefaultLogoutHandler#destroyLocalSessionBack(WebContext,
+ * org.pac4j.core.context.session.SessionStore, String)}, which never forwards the request again.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+@FunctionalInterface
+public interface LogoutBroadcaster {
+
+    /**
+     * Ask the other nodes to destroy the session linked to the logout key.
+     *
+     * @param context the web context of the logout request
+     * @param key the logout key
+     */
+    void broadcast(WebContext context, String key);
+}
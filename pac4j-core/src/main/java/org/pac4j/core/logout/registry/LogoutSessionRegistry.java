@@ -0,0 +1,52 @@
+package org.pac4j.core.logout.registry;
+
+import java.util.Optional;
+
+/**
+ * Registry of the web sessions which can be destroyed by a logout request: it indexes the trackable session by logout key
+ * (CAS service ticket, SAML session index, OIDC sid...) and the logout key by session identifier.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public interface LogoutSessionRegistry {
+
+    /**
+     * Record the session for a logout key.
+     *
+     * @param key the logout key
+     * @param sessionId the session identifier
+     * @param trackableSession the trackable session
+     */
+    void record(String key, String sessionId, Object trackableSession);
+
+    /**
+     * Find the trackable session for a logout key.
+     *
+     * @param key the logout key
+     * @return the trackable session
+     */
+    Optional<Object> findTrackableSession(String key);
+
+    /**
+     * Find the logout key for a session identifier.
+     *
+     * @param sessionId the session identifier
+     * @return the logout key
+     */
+    Optional<String> findKey(String sessionId);
+
+    /**
+     * Remove the session recorded for a logout key.
+     *
+     * @param key the logout key
+     */
+    void removeByKey(String key);
+
+    /**
+     * Remove the session recorded for a session identifier.
+     *
+     * @param sessionId the session identifier
+     */
+    void removeBySessionId(String sessionId);
+}
@@ -0,0 +1,59 @@
+package org.pac4j.core.logout.registry;
+
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.store.Store;
+import org.pac4j.core.util.CommonHelper;
+
+/**
+ * {@link LogoutBroadcaster} backed by a {@link Store} shared by all the nodes of the cluster (and dedicated to the broadcast):
+ * the logout keys are recorded in the store and the node owning the session destroys it at its next request, when calling
+ * {@link org.pac4j.core.logout.handler.DefaultLogoutHandler#destroyBroadcastSession(WebContext,
+ * org.pac4j.core.context.session.SessionStore)}. This requires the security logic to check the logout broadcasts
+ * (see {@link org.pac4j.core.engine.DefaultSecurityLogic#setCheckLogoutBroadcast(boolean)}).
+ * The store should expire its entries after the maximum lifetime of the web sessions.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public class StoreLogoutBroadcaster implements LogoutBroadcaster {
+
+    private final Store<String, Object> store;
+
+    public StoreLogoutBroadcaster(final Store<String, Object> store) {
+        CommonHelper.assertNotNull("store", store);
+        this.store = store;
+    }
+
+    @Override
+    public void broadcast(final WebContext context, final String key) {
+        store.set(key, Boolean.TRUE);
+    }
+
+    /**
+     * Whether a logout has been broadcast for the logout key.
+     *
+     * @param key the logout key
+     * @return whether a logout has been broadcast
+     */
+    public boolean isBroadcast(final String key) {
+        return store.get(key).isPresent();
+    }
+
+    /**
+     * Acknowledge the logout broadcast for the logout key, once the session has been destroyed.
+     *
+     * @param key the logout key
+     */
+    public void acknowledge(final String key) {
+        store.remove(key);
+    }
+
+    public Store<String, Object> getStore() {
+        return store;
+    }
+
+    @Override
+    public String toString() {
+        return CommonHelper.toNiceString(this.getClass(), "store", store);
+    }
+}
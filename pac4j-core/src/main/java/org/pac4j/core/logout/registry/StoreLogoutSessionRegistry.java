@@ -0,0 +1,58 @@
+package org.pac4j.core.logout.registry;
+
+import org.pac4j.core.store.Store;
+import org.pac4j.core.util.CommonHelper;
+
+import java.util.Optional;
+
+/**
+ * {@link LogoutSessionRegistry} backed by a {@link Store}: the trackable sessions are stored by key and the keys by session
+ * identifier. With a distributed store, the trackable sessions must be serializable and usable on all the nodes.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public class StoreLogoutSessionRegistry implements LogoutSessionRegistry {
+
+    private final Store<String, Object> store;
+
+    public StoreLogoutSessionRegistry(final Store<String, Object> store) {
+        CommonHelper.assertNotNull("store", store);
+        this.store = store;
+    }
+
+    @Override
+    public void record(final String key, final String sessionId, final Object trackableSession) {
+        store.set(key, trackableSession);
+        store.set(sessionId, key);
+    }
+
+    @Override
+    public Optional<Object> findTrackableSession(final String key) {
+        return store.get(key);
+    }
+
+    @Override
+    public Optional<String> findKey(final String sessionId) {
+        return store.get(sessionId).map(key -> (String) key);
+    }
+
+    @Override
+    public void removeByKey(final String key) {
+        store.remove(key);
+    }
+
+    @Override
+    public void removeBySessionId(final String sessionId) {
+        store.remove(sessionId);
+    }
+
+    public Store<String, Object> getStore() {
+        return store;
+    }
+
+    @Override
+    public String toString() {
+        return CommonHelper.toNiceString(this.getClass(), "store", store);
+    }
+}
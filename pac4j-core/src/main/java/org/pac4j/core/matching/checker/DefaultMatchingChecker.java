@@ -31,6 +31,8 @@ import org.pac4j.core.matching.matcher.XFrameOptionsMatcher;
 import org.pac4j.core.matching.matcher.XSSProtectionMatcher;
 import org.pac4j.core.matching.matcher.csrf.CsrfTokenGeneratorMatcher;
 import org.pac4j.core.matching.matcher.csrf.DefaultCsrfTokenGenerator;
+import org.pac4j.core.metrics.Metrics;
+import org.pac4j.core.metrics.MetricsRecorder;
 import org.pac4j.core.util.Pac4jConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -75,9 +77,16 @@ public class DefaultMatchingChecker implements MatchingChecker {
     @Override
     public boolean matches(final WebContext context, final SessionStore sessionStore, final String matchersValue,
                            final Map<String, Matcher> matchersMap, final List<Client> clients) {
+        return matches(context, sessionStore, matchersValue, matchersMap, clients, null);
+    }
+
+    @Override
+    public boolean matches(final WebContext context, final SessionStore sessionStore, final String matchersValue,
+                           final Map<String, Matcher> matchersMap, final List<Client> clients,
+                           final MetricsRecorder metricsRecorder) {
 
         final var matchers = computeMatchers(context, sessionStore, matchersValue, matchersMap, clients);
-        return matches(context, sessionStore, matchers);
+        return matches(context, sessionStore, matchers, metricsRecorder);
     }
 
     protected List<Matcher> computeMatchers(final WebContext context, final SessionStore sessionStore, final String matchersValue,
@@ -193,10 +202,17 @@ public class DefaultMatchingChecker implements MatchingChecker {
 
 
     protected boolean matches(final WebContext context, final SessionStore sessionStore, final List<Matcher> matchers) {
+        return matches(context, sessionStore, matchers, null);
+    }
+
+    protected boolean matches(final WebContext context, final SessionStore sessionStore, final List<Matcher> matchers,
+                              final MetricsRecorder metricsRecorder) {
         if (!matchers.isEmpty()) {
             // check matching using matchers: all must be satisfied
             for (final var matcher : matchers) {
+                final var start = Metrics.start(metricsRecorder);
                 final var matches = matcher.matches(context, sessionStore);
+                Metrics.recordTime(metricsRecorder, Metrics.MATCHER, matcher.getClass(), start);
                 LOGGER.debug("Checking matcher: {} -> {}", matcher, matches);
                 if (!matches) {
                     return false;
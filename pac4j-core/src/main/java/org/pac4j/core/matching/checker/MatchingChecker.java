@@ -4,6 +4,7 @@ import org.pac4j.core.client.Client;
 import org.pac4j.core.context.WebContext;
 import org.pac4j.core.context.session.SessionStore;
 import org.pac4j.core.matching.matcher.Matcher;
+import org.pac4j.core.metrics.MetricsRecorder;
 
 import java.util.List;
 import java.util.Map;
@@ -29,4 +30,20 @@ public interface MatchingChecker {
      */
     boolean matches(WebContext context, SessionStore sessionStore, String matcherNames,
                     Map<String, Matcher> matchersMap, List<Client> clients);
+
+    /**
+     * Check if the web context matches and record the metrics of the matchers.
+     *
+     * @param context the web context
+     * @param sessionStore the session store
+     * @param matcherNames the matchers
+     * @param matchersMap the map of matchers
+     * @param clients the clients
+     * @param metricsRecorder the metrics recorder
+     * @return whether the web context matches
+     */
+    default boolean matches(WebContext context, SessionStore sessionStore, String matcherNames,
+                            Map<String, Matcher> matchersMap, List<Client> clients, MetricsRecorder metricsRecorder) {
+        return matches(context, sessionStore, matcherNames, matchersMap, clients);
+    }
 }
@@ -7,14 +7,24 @@ import org.pac4j.core.util.CommonHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * Matches all request paths except whitelisted (excluded) paths.
  *
+ * <p>The excluded paths and branches (and the regular expressions equivalent to them) are compiled into a trie of path segments
+ * and the other regular expressions into a single combined pattern, so that the matching time does not grow
+ * with the number of exclusions. The exclusions must be changed through the <code>exclude*</code>
+ * and <code>setExcluded*</code> methods, not through the returned sets.</p>
+ *
  * @author Rob Ward
  * @since 2.0.0
  */
@@ -23,6 +33,16 @@ public class PathMatcher implements Matcher {
     private final Set<String> excludedPaths = new HashSet<>();
     private final Set<Pattern> excludedPatterns = new HashSet<>();
 
+    private static final String BRANCH_SUFFIX = "(/.*)?$";
+
+    private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+
+    private static final Pattern BACK_REFERENCE = Pattern.compile("\\\\([1-9]|k<)");
+
+    private static final Pattern NAMED_GROUP = Pattern.compile("\\(\\?<[a-zA-Z]");
+
+    private volatile CompiledExclusions compiledExclusions;
+
     private static boolean warned;
 
     public PathMatcher() {}
@@ -42,6 +62,7 @@ public class PathMatcher implements Matcher {
     public PathMatcher excludePath(final String path) {
         validatePath(path);
         excludedPaths.add(path);
+        compiledExclusions = null;
         return this;
     }
 
@@ -63,7 +84,8 @@ public class PathMatcher implements Matcher {
     public PathMatcher excludeBranch(final String path) {
         warn();
         validatePath(path);
-        excludedPatterns.add(Pattern.compile("^" + path + "(/.*)?$"));
+        excludedPatterns.add(Pattern.compile("^" + path + BRANCH_SUFFIX));
+        compiledExclusions = null;
         return this;
     }
 
@@ -83,6 +105,7 @@ public class PathMatcher implements Matcher {
         }
 
         excludedPatterns.add(Pattern.compile(regex));
+        compiledExclusions = null;
         return this;
     }
 
@@ -104,16 +127,53 @@ public class PathMatcher implements Matcher {
 
         logger.debug("path to match: {}", path);
 
-        if (excludedPaths.contains(path)) {
-            return false;
+        var exclusions = compiledExclusions;
+        if (exclusions == null) {
+            exclusions = compileExclusions();
+            compiledExclusions = exclusions;
         }
+        return !exclusions.excludes(path);
+    }
 
-        for (var pattern : excludedPatterns) {
-            if (pattern.matcher(path).matches()) {
-                return false;
+    private CompiledExclusions compileExclusions() {
+        final var root = new SegmentNode();
+        final List<String> regexes = new ArrayList<>();
+        final List<Pattern> separatePatterns = new ArrayList<>();
+        for (final var path : excludedPaths) {
+            root.add(path).exact = true;
+        }
+        for (final var pattern : excludedPatterns) {
+            final var regex = pattern.pattern();
+            final var length = regex.length();
+            final var anchored = pattern.flags() == 0 && regex.startsWith("^");
+            if (anchored && regex.endsWith(BRANCH_SUFFIX) && isLiteral(regex, 1, length - BRANCH_SUFFIX.length())) {
+                root.add(regex.substring(1, length - BRANCH_SUFFIX.length())).branch = true;
+            } else if (anchored && regex.endsWith("$") && isLiteral(regex, 1, length - 1)) {
+                root.add(regex.substring(1, length - 1)).exact = true;
+            } else if (pattern.flags() != 0 || BACK_REFERENCE.matcher(regex).find() || NAMED_GROUP.matcher(regex).find()) {
+                // the group numbers would change and the group names could be duplicated in a combined pattern
+                separatePatterns.add(pattern);
+            } else {
+                regexes.add(regex);
             }
         }
+        if (regexes.size() == 1) {
+            separatePatterns.add(Pattern.compile(regexes.get(0)));
+        } else if (regexes.size() > 1) {
+            separatePatterns.add(Pattern.compile(regexes.stream().map(r -> "(?:" + r + ")").collect(Collectors.joining("|"))));
+        }
+        return new CompiledExclusions(root, separatePatterns.toArray(new Pattern[0]));
+    }
 
+    private static boolean isLiteral(final String regex, final int start, final int end) {
+        if (start >= end || regex.charAt(start) != '/') {
+            return false;
+        }
+        for (var i = start; i < end; i++) {
+            if (REGEX_METACHARACTERS.indexOf(regex.charAt(i)) >= 0) {
+                return false;
+            }
+        }
         return true;
     }
 
@@ -127,21 +187,25 @@ public class PathMatcher implements Matcher {
 
     public void setExcludedPaths(Collection<String> paths) {
         excludedPaths.clear();
+        compiledExclusions = null;
         paths.forEach(this::excludePath);
     }
 
     public void setExcludedPatterns(Collection<String> regularExpressions) {
         excludedPatterns.clear();
+        compiledExclusions = null;
         regularExpressions.forEach(this::excludeRegex);
     }
 
     public void setExcludedPath(final String path) {
         excludedPaths.clear();
+        compiledExclusions = null;
         excludePath(path);
     }
 
     public void setExcludedPattern(final String regularExpression) {
         excludedPatterns.clear();
+        compiledExclusions = null;
         excludeRegex(regularExpression);
     }
 
@@ -156,4 +220,95 @@ public class PathMatcher implements Matcher {
     public String toString() {
         return CommonHelper.toNiceString(this.getClass(), "excludedPaths", excludedPaths, "excludedPatterns", excludedPatterns);
     }
+
+    /**
+     * The compiled exclusions: the trie of the excluded paths and branches, and the remaining patterns.
+     */
+    private static final class CompiledExclusions {
+
+        private final SegmentNode root;
+
+        private final Pattern[] patterns;
+
+        private CompiledExclusions(final SegmentNode root, final Pattern[] patterns) {
+            this.root = root;
+            this.patterns = patterns;
+        }
+
+        private boolean excludes(final String path) {
+            if (path == null) {
+                return false;
+            }
+            if (!root.children.isEmpty() && root.excludes(path)) {
+                return true;
+            }
+            for (final var pattern : patterns) {
+                if (pattern.matcher(path).matches()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A node of the trie of the path segments.
+     */
+    private static final class SegmentNode {
+
+        private final Map<String, SegmentNode> children = new HashMap<>();
+
+        private boolean exact;
+
+        private boolean branch;
+
+        private SegmentNode add(final String path) {
+            var node = this;
+            var start = 0;
+            while (true) {
+                var end = path.indexOf('/', start);
+                if (end < 0) {
+                    end = path.length();
+                }
+                node = node.children.computeIfAbsent(path.substring(start, end), k -> new SegmentNode());
+                if (end == path.length()) {
+                    return node;
+                }
+                start = end + 1;
+            }
+        }
+
+        private boolean excludes(final String path) {
+            var node = this;
+            var start = 0;
+            while (true) {
+                var end = path.indexOf('/', start);
+                if (end < 0) {
+                    end = path.length();
+                }
+                node = node.children.get(path.substring(start, end));
+                if (node == null) {
+                    return false;
+                }
+                if (end == path.length()) {
+                    return node.exact || node.branch;
+                }
+                // like the "(/.*)?$" pattern, the rest of the path cannot contain line terminators
+                if (node.branch && !hasLineTerminator(path, end)) {
+                    return true;
+                }
+                start = end + 1;
+            }
+        }
+
+        private static boolean hasLineTerminator(final String path, final int start) {
+            for (var i = start; i < path.length(); i++) {
+                final var c = path.charAt(i);
+                if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
 }
@@ -25,7 +25,9 @@ public class DefaultCsrfTokenGenerator implements CsrfTokenGenerator {
     @Override
     public String get(final WebContext context, final SessionStore sessionStore) {
         final var token = CommonHelper.randomString(32);
-        LOGGER.debug("generated CSRF token: {} for current URL: {}", token, context.getFullRequestURL());
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("generated CSRF token: {} for current URL: {}", token, context.getFullRequestURL());
+        }
         final var expirationDate = new Date().getTime() + ttlInSeconds * 1000;
 
         final var optCurrentToken = sessionStore.get(context, Pac4jConstants.CSRF_TOKEN);
@@ -0,0 +1,110 @@
+package org.pac4j.core.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import org.pac4j.core.util.CommonHelper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A recorder emitting the metrics as Java Flight Recorder events: <code>org.pac4j.Timer</code> for the durations
+ * and <code>org.pac4j.Counter</code> for the counters.
+ *
+ * <p>The events are only created when enabled in the recording. Only the durations greater than or equal to
+ * the {@link #getThreshold(TimeUnit)} are emitted, to focus on the latency outliers.</p>
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public class JfrMetricsRecorder implements MetricsRecorder {
+
+    private volatile long thresholdNanos;
+
+    public JfrMetricsRecorder() {}
+
+    public JfrMetricsRecorder(final long threshold, final TimeUnit unit) {
+        setThreshold(threshold, unit);
+    }
+
+    @Override
+    public void recordTime(final String name, final String tag, final long durationNanos) {
+        if (durationNanos < thresholdNanos) {
+            return;
+        }
+        final var event = new TimerEvent();
+        if (event.isEnabled()) {
+            event.name = name;
+            event.tag = tag;
+            event.elapsed = durationNanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void increment(final String name, final String tag) {
+        final var event = new CounterEvent();
+        if (event.isEnabled()) {
+            event.name = name;
+            event.tag = tag;
+            event.commit();
+        }
+    }
+
+    public long getThreshold(final TimeUnit unit) {
+        return unit.convert(thresholdNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void setThreshold(final long threshold, final TimeUnit unit) {
+        CommonHelper.assertTrue(threshold >= 0, "threshold cannot be negative");
+        CommonHelper.assertNotNull("unit", unit);
+        this.thresholdNanos = unit.toNanos(threshold);
+    }
+
+    @Override
+    public String toString() {
+        return CommonHelper.toNiceString(this.getClass(), "thresholdNanos", thresholdNanos);
+    }
+
+    /**
+     * The event of a recorded duration.
+     */
+    @Name("org.pac4j.Timer")
+    @Label("pac4j Timer")
+    @Description("Duration of a pac4j operation")
+    @Category("pac4j")
+    @StackTrace(false)
+    static final class TimerEvent extends Event {
+
+        @Label("Name")
+        String name;
+
+        @Label("Tag")
+        String tag;
+
+        @Label("Elapsed")
+        @Timespan(Timespan.NANOSECONDS)
+        long elapsed;
+    }
+
+    /**
+     * The event of an incremented counter.
+     */
+    @Name("org.pac4j.Counter")
+    @Label("pac4j Counter")
+    @Description("Increment of a pac4j counter")
+    @Category("pac4j")
+    @StackTrace(false)
+    static final class CounterEvent extends Event {
+
+        @Label("Name")
+        String name;
+
+        @Label("Tag")
+        String tag;
+    }
+}
@@ -0,0 +1,171 @@
+package org.pac4j.core.metrics;
+
+/**
+ * The names of the pac4j metrics and the helpers to send them to a {@link MetricsRecorder}.
+ *
+ * <p>The recorder is defined in the {@link org.pac4j.core.config.Config#setMetricsRecorder(MetricsRecorder) configuration}.
+ * By default, the {@link NoOpMetricsRecorder} is used and the instrumented code does not even read the clock.</p>
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class Metrics {
+
+    /** Duration of the security logic (tag: the outcome), without the access granted to the web application. */
+    public static final String SECURITY_LOGIC = "pac4j.logic.security";
+
+    /** Duration of the callback logic (tag: the outcome). */
+    public static final String CALLBACK_LOGIC = "pac4j.logic.callback";
+
+    /** Duration of the logout logic (tag: the outcome). */
+    public static final String LOGOUT_LOGIC = "pac4j.logic.logout";
+
+    /** Duration of the credentials extraction (tag: the client name). */
+    public static final String CLIENT_CREDENTIALS = "pac4j.client.credentials";
+
+    /** Duration of the credentials validation (tag: the client name). */
+    public static final String CLIENT_VALIDATION = "pac4j.client.validation";
+
+    /** Number of credentials which failed to be extracted or validated (tag: the client name). */
+    public static final String CLIENT_FAILURE = "pac4j.client.failure";
+
+    /** Duration of the user profile creation, authorization generators included (tag: the client name). */
+    public static final String CLIENT_PROFILE = "pac4j.client.profile";
+
+    /** Duration of an authorizer check (tag: the authorizer class). */
+    public static final String AUTHORIZER = "pac4j.authorizer";
+
+    /** Number of denied authorizations (tag: the authorizer class). */
+    public static final String AUTHORIZER_DENIED = "pac4j.authorizer.denied";
+
+    /** Duration of a matcher check (tag: the matcher class). */
+    public static final String MATCHER = "pac4j.matcher";
+
+    /** Duration of the read of the profiles in the session. */
+    public static final String SESSION_READ = "pac4j.session.read";
+
+    /** Duration of the write of the profiles in the session. */
+    public static final String SESSION_WRITE = "pac4j.session.write";
+
+    /** Duration of an HTTP request sent to a remote server (tag: the host). */
+    public static final String HTTP_REQUEST = "pac4j.http.request";
+
+    /** Number of failed HTTP requests, without response (tag: the host). */
+    public static final String HTTP_FAILURE = "pac4j.http.failure";
+
+    /** Number of retried HTTP requests (tag: the host). */
+    public static final String HTTP_RETRY = "pac4j.http.retry";
+
+    /** Outcome of a logic: the access is granted. */
+    public static final String GRANTED = "granted";
+
+    /** Outcome of a logic: an HTTP action is returned (redirection, 401, 403...). */
+    public static final String ACTION = "action";
+
+    /** Outcome of a logic: an exception is raised. */
+    public static final String ERROR = "error";
+
+    /** The value returned by {@link #start(MetricsRecorder)} when the metrics are disabled. */
+    public static final long NOT_STARTED = Long.MIN_VALUE;
+
+    private Metrics() {}
+
+    /**
+     * Whether the metrics are recorded.
+     *
+     * @param recorder the recorder
+     * @return whether the recorder is defined and not the {@link NoOpMetricsRecorder}
+     */
+    public static boolean isEnabled(final MetricsRecorder recorder) {
+        return recorder != null && recorder != NoOpMetricsRecorder.INSTANCE;
+    }
+
+    /**
+     * Start a timer.
+     *
+     * @param recorder the recorder
+     * @return the start time, {@link #NOT_STARTED} if the metrics are disabled
+     */
+    public static long start(final MetricsRecorder recorder) {
+        return isEnabled(recorder) ? System.nanoTime() : NOT_STARTED;
+    }
+
+    /**
+     * Record the time elapsed since the start of a timer.
+     *
+     * @param recorder the recorder
+     * @param name the metric name
+     * @param tag the tag
+     * @param start the start time returned by {@link #start(MetricsRecorder)}
+     */
+    public static void recordTime(final MetricsRecorder recorder, final String name, final String tag, final long start) {
+        if (start != NOT_STARTED && isEnabled(recorder)) {
+            recorder.recordTime(name, tag, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Record the time elapsed since the start of a timer, tagged with the name of a class (see {@link #tagOf(Class)}).
+     *
+     * @param recorder the recorder
+     * @param name the metric name
+     * @param tag the class used as tag
+     * @param start the start time returned by {@link #start(MetricsRecorder)}
+     */
+    public static void recordTime(final MetricsRecorder recorder, final String name, final Class<?> tag, final long start) {
+        if (start != NOT_STARTED && isEnabled(recorder)) {
+            recorder.recordTime(name, tagOf(tag), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Record a duration.
+     *
+     * @param recorder the recorder
+     * @param name the metric name
+     * @param tag the tag
+     * @param durationNanos the duration in nanoseconds
+     */
+    public static void recordDuration(final MetricsRecorder recorder, final String name, final String tag, final long durationNanos) {
+        if (isEnabled(recorder)) {
+            recorder.recordTime(name, tag, durationNanos);
+        }
+    }
+
+    /**
+     * Increment a counter.
+     *
+     * @param recorder the recorder
+     * @param name the metric name
+     * @param tag the tag
+     */
+    public static void increment(final MetricsRecorder recorder, final String name, final String tag) {
+        if (isEnabled(recorder)) {
+            recorder.increment(name, tag);
+        }
+    }
+
+    /**
+     * Increment a counter, tagged with the name of a class (see {@link #tagOf(Class)}).
+     *
+     * @param recorder the recorder
+     * @param name the metric name
+     * @param tag the class used as tag
+     */
+    public static void increment(final MetricsRecorder recorder, final String name, final Class<?> tag) {
+        if (isEnabled(recorder)) {
+            recorder.increment(name, tagOf(tag));
+        }
+    }
+
+    /**
+     * The tag of a class: its simple name, or its full name for the anonymous classes (which have no simple name).
+     *
+     * @param clazz the class
+     * @return the tag
+     */
+    public static String tagOf(final Class<?> clazz) {
+        final var simpleName = clazz.getSimpleName();
+        return simpleName.isEmpty() ? clazz.getName() : simpleName;
+    }
+}
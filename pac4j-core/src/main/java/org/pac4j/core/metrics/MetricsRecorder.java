@@ -0,0 +1,29 @@
+package org.pac4j.core.metrics;
+
+/**
+ * The vendor-neutral SPI to record the pac4j metrics (see the names in {@link Metrics}).
+ *
+ * <p>The implementations must be thread-safe and fast: they are called on the request threads.</p>
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public interface MetricsRecorder {
+
+    /**
+     * Record the duration of an operation.
+     *
+     * @param name the metric name
+     * @param tag the tag (client name, authorizer, matcher, outcome...), may be <code>null</code>
+     * @param durationNanos the duration in nanoseconds
+     */
+    void recordTime(String name, String tag, long durationNanos);
+
+    /**
+     * Increment a counter.
+     *
+     * @param name the metric name
+     * @param tag the tag, may be <code>null</code>
+     */
+    void increment(String name, String tag);
+}
@@ -0,0 +1,20 @@
+package org.pac4j.core.metrics;
+
+/**
+ * The default recorder: it records nothing.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class NoOpMetricsRecorder implements MetricsRecorder {
+
+    public static final NoOpMetricsRecorder INSTANCE = new NoOpMetricsRecorder();
+
+    private NoOpMetricsRecorder() {}
+
+    @Override
+    public void recordTime(final String name, final String tag, final long durationNanos) {}
+
+    @Override
+    public void increment(final String name, final String tag) {}
+}
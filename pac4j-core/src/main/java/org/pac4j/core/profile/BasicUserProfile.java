@@ -10,6 +10,8 @@ import com.google.common.collect.Streams;
 import java.io.*;
 import java.security.Principal;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -24,6 +26,9 @@ public class BasicUserProfile implements UserProfile, Externalizable {
 
     private static final long serialVersionUID = 9020114478664816338L;
 
+    /** Cached in place of the identifiers when the registry is full, to avoid computing them again on each request. */
+    private static final BitSet UNAVAILABLE_IDS = new BitSet();
+
     protected transient final Logger logger = LoggerFactory.getLogger(getClass());
 
     private String id;
@@ -44,6 +49,22 @@ public class BasicUserProfile implements UserProfile, Externalizable {
 
     private final boolean canAttributesBeMerged;
 
+    private transient boolean modified = true;
+
+    private transient Map<String, Object> attributesView;
+
+    private transient Set<String> rolesView;
+
+    private transient Set<String> permissionsView;
+
+    private transient BitSet roleIds;
+
+    private transient BitSet permissionIds;
+
+    private final transient AtomicLong modificationCount = new AtomicLong();
+
+    private transient volatile GrantedAuthorizations grantedAuthorizations;
+
     public BasicUserProfile() {
         this(true);
     }
@@ -89,6 +110,7 @@ public class BasicUserProfile implements UserProfile, Externalizable {
     public void setId(final String id) {
         CommonHelper.assertNotBlank("id", id);
         this.id = id;
+        markAsModified();
     }
 
     /**
@@ -120,9 +142,12 @@ public class BasicUserProfile implements UserProfile, Externalizable {
     private void addAttributeToMap(final Map<String, Object> map, final String key, final Object value)
     {
         if (value != null) {
-            logger.debug("adding => key: {} / value: {} / {}", key, value, value.getClass());
+            if (logger.isDebugEnabled()) {
+                logger.debug("adding => key: {} / value: {} / {}", key, value, value.getClass());
+            }
             var valueForMap = getValueForMap(map, key, value);
             map.put(key, valueForMap);
+            markAsModified();
         }
     }
 
@@ -208,7 +233,9 @@ public class BasicUserProfile implements UserProfile, Externalizable {
      */
     public void removeAttribute(final String key) {
         CommonHelper.assertNotNull("key", key);
-        attributes.remove(key);
+        if (attributes.remove(key) != null) {
+            markAsModified();
+        }
     }
 
     /**
@@ -218,7 +245,9 @@ public class BasicUserProfile implements UserProfile, Externalizable {
      */
     public void removeAuthenticationAttribute(final String key) {
         CommonHelper.assertNotNull("key", key);
-        authenticationAttributes.remove(key);
+        if (authenticationAttributes.remove(key) != null) {
+            markAsModified();
+        }
     }
 
     /**
@@ -231,6 +260,16 @@ public class BasicUserProfile implements UserProfile, Externalizable {
         return getAttributeMap(this.attributes);
     }
 
+    @Override
+    public Map<String, Object> getAttributesView() {
+        var view = attributesView;
+        if (view == null) {
+            view = Collections.unmodifiableMap(this.attributes);
+            attributesView = view;
+        }
+        return view;
+    }
+
     /**
      * Get all authentication attributes as an immutable map
      *
@@ -364,7 +403,10 @@ public class BasicUserProfile implements UserProfile, Externalizable {
     @Override
     public void addRole(final String role) {
         CommonHelper.assertNotBlank("role", role);
-        this.roles.add(role);
+        if (this.roles.add(ElementRegistry.ROLES.intern(role))) {
+            this.roleIds = null;
+            markAsModified();
+        }
     }
 
     /**
@@ -375,7 +417,14 @@ public class BasicUserProfile implements UserProfile, Externalizable {
     @Override
     public void addRoles(final Collection<String> roles) {
         CommonHelper.assertNotNull("roles", roles);
-        this.roles.addAll(roles);
+        var changed = false;
+        for (final var role : roles) {
+            changed |= this.roles.add(ElementRegistry.ROLES.intern(role));
+        }
+        if (changed) {
+            this.roleIds = null;
+            markAsModified();
+        }
     }
 
     /**
@@ -388,9 +437,36 @@ public class BasicUserProfile implements UserProfile, Externalizable {
         return new LinkedHashSet<>(this.roles);
     }
 
+    @Override
+    public Set<String> getRolesView() {
+        var view = rolesView;
+        if (view == null) {
+            view = Collections.unmodifiableSet(this.roles);
+            rolesView = view;
+        }
+        return view;
+    }
+
+    @Override
+    public BitSet getRoleIds() {
+        var ids = roleIds;
+        if (ids == null) {
+            ids = ElementRegistry.ROLES.toBitSet(this.roles);
+            if (ids != null) {
+                roleIds = ids;
+            } else if (ElementRegistry.ROLES.isEnabled()) {
+                roleIds = UNAVAILABLE_IDS;
+            }
+        }
+        return ids != UNAVAILABLE_IDS ? ids : null;
+    }
+
     public void setRoles(Set<String> roles) {
         CommonHelper.assertNotNull("roles", roles);
-        this.roles = roles;
+        this.roles = ElementRegistry.ROLES.internAll(roles);
+        this.rolesView = null;
+        this.roleIds = null;
+        markAsModified();
     }
 
     /**
@@ -401,7 +477,10 @@ public class BasicUserProfile implements UserProfile, Externalizable {
     @Override
     public void addPermission(final String permission) {
         CommonHelper.assertNotBlank("permission", permission);
-        this.permissions.add(permission);
+        if (this.permissions.add(ElementRegistry.PERMISSIONS.intern(permission))) {
+            this.permissionIds = null;
+            markAsModified();
+        }
     }
 
     /** Add permissions.
@@ -411,7 +490,14 @@ public class BasicUserProfile implements UserProfile, Externalizable {
     @Override
     public void addPermissions(final Collection<String> permissions) {
         CommonHelper.assertNotNull("permissions", permissions);
-        this.permissions.addAll(permissions);
+        var changed = false;
+        for (final var permission : permissions) {
+            changed |= this.permissions.add(ElementRegistry.PERMISSIONS.intern(permission));
+        }
+        if (changed) {
+            this.permissionIds = null;
+            markAsModified();
+        }
     }
 
     /**
@@ -424,9 +510,36 @@ public class BasicUserProfile implements UserProfile, Externalizable {
         return new LinkedHashSet<>(this.permissions);
     }
 
+    @Override
+    public Set<String> getPermissionsView() {
+        var view = permissionsView;
+        if (view == null) {
+            view = Collections.unmodifiableSet(this.permissions);
+            permissionsView = view;
+        }
+        return view;
+    }
+
+    @Override
+    public BitSet getPermissionIds() {
+        var ids = permissionIds;
+        if (ids == null) {
+            ids = ElementRegistry.PERMISSIONS.toBitSet(this.permissions);
+            if (ids != null) {
+                permissionIds = ids;
+            } else if (ElementRegistry.PERMISSIONS.isEnabled()) {
+                permissionIds = UNAVAILABLE_IDS;
+            }
+        }
+        return ids != UNAVAILABLE_IDS ? ids : null;
+    }
+
     public void setPermissions(final Set<String> permissions) {
         CommonHelper.assertNotNull("permissions", permissions);
-        this.permissions = permissions;
+        this.permissions = ElementRegistry.PERMISSIONS.internAll(permissions);
+        this.permissionsView = null;
+        this.permissionIds = null;
+        markAsModified();
     }
 
     /**
@@ -436,7 +549,10 @@ public class BasicUserProfile implements UserProfile, Externalizable {
      */
     @Override
     public void setRemembered(final boolean rme) {
-        this.isRemembered = rme;
+        if (this.isRemembered != rme) {
+            this.isRemembered = rme;
+            markAsModified();
+        }
     }
 
     /**
@@ -474,10 +590,63 @@ public class BasicUserProfile implements UserProfile, Externalizable {
         this.attributes = (Map<String, Object>) in.readObject();
         this.authenticationAttributes = (Map<String, Object>) in.readObject();
         this.isRemembered = in.readBoolean();
-        this.roles = (Set<String>) in.readObject();
-        this.permissions = (Set<String>) in.readObject();
+        this.roles = ElementRegistry.ROLES.internAll((Set<String>) in.readObject());
+        this.permissions = ElementRegistry.PERMISSIONS.internAll((Set<String>) in.readObject());
         this.clientName = (String) in.readObject();
         this.linkedId = (String) in.readObject();
+        this.attributesView = null;
+        this.rolesView = null;
+        this.permissionsView = null;
+        this.roleIds = null;
+        this.permissionIds = null;
+        this.grantedAuthorizations = null;
+        // restored as saved
+        this.modified = false;
+    }
+
+    @Override
+    public boolean isModified() {
+        return modified;
+    }
+
+    @Override
+    public void setModified(final boolean modified) {
+        if (modified) {
+            markAsModified();
+        } else {
+            this.modified = false;
+        }
+    }
+
+    private void markAsModified() {
+        this.modified = true;
+        this.modificationCount.incrementAndGet();
+        this.grantedAuthorizations = null;
+    }
+
+    @Override
+    public long getModificationCount() {
+        return modificationCount.get();
+    }
+
+    @Override
+    public boolean isAuthorizationGranted(final Object authorizationKey) {
+        final var granted = grantedAuthorizations;
+        return granted != null && granted.modificationCount == modificationCount.get() && granted.keys.contains(authorizationKey);
+    }
+
+    @Override
+    public void addGrantedAuthorization(final Object authorizationKey, final long modificationCount) {
+        if (modificationCount != this.modificationCount.get()) {
+            return;
+        }
+        var granted = grantedAuthorizations;
+        if (granted == null || granted.modificationCount != modificationCount) {
+            granted = new GrantedAuthorizations(modificationCount);
+            grantedAuthorizations = granted;
+        }
+        // a grant added after a concurrent modification is tagged with the previous count and never used
+        granted.keys.add(authorizationKey);
     }
 
     /**
@@ -495,7 +664,10 @@ public class BasicUserProfile implements UserProfile, Externalizable {
 
     @Override
     public void setClientName(final String clientName) {
-        this.clientName = clientName;
+        if (!Objects.equals(this.clientName, clientName)) {
+            this.clientName = clientName;
+            markAsModified();
+        }
     }
 
     @Override
@@ -505,7 +677,10 @@ public class BasicUserProfile implements UserProfile, Externalizable {
 
     @Override
     public void setLinkedId(final String linkedId) {
-        this.linkedId = linkedId;
+        if (!Objects.equals(this.linkedId, linkedId)) {
+            this.linkedId = linkedId;
+            markAsModified();
+        }
     }
 
     @Override
@@ -517,4 +692,18 @@ public class BasicUserProfile implements UserProfile, Externalizable {
     public Principal asPrincipal() {
         return new Pac4JPrincipal(this);
     }
+
+    /**
+     * The accesses granted by profile-deterministic authorizations for a given number of modifications of the profile.
+     */
+    private static final class GrantedAuthorizations {
+
+        private final long modificationCount;
+
+        private final Set<Object> keys = ConcurrentHashMap.newKeySet();
+
+        private GrantedAuthorizations(final long modificationCount) {
+            this.modificationCount = modificationCount;
+        }
+    }
 }
@@ -0,0 +1,202 @@
+package org.pac4j.core.profile;
+
+import org.pac4j.core.util.CommonHelper;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A registry interning element names (roles or permissions) into dense identifiers.
+ *
+ * <p>When enabled, the profiles share the same instances of the role and permission names and expose them as bitsets
+ * ({@link UserProfile#getRoleIds()}, {@link UserProfile#getPermissionIds()}), so that the role and permission authorizers
+ * check them with bitset operations instead of set lookups.</p>
+ *
+ * <p>The registry is disabled by default. Once registered, a name is never removed: at most {@link #getMaxSize()} names
+ * are registered, the profiles and authorizers with more names falling back to the set lookups.</p>
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class ElementRegistry {
+
+    /** The registry of the roles. */
+    public static final ElementRegistry ROLES = new ElementRegistry("roles");
+
+    /** The registry of the permissions. */
+    public static final ElementRegistry PERMISSIONS = new ElementRegistry("permissions");
+
+    private final String name;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    private volatile boolean enabled;
+
+    private volatile int maxSize = 10_000;
+
+    public ElementRegistry(final String name) {
+        CommonHelper.assertNotBlank("name", name);
+        this.name = name;
+    }
+
+    /**
+     * Return the shared instance of the name, registering it if necessary.
+     *
+     * @param element the element name
+     * @return the shared instance of the name, or the name itself if the registry is disabled or full
+     */
+    public String intern(final String element) {
+        if (!enabled || element == null) {
+            return element;
+        }
+        final var entry = register(element);
+        return entry != null ? entry.name : element;
+    }
+
+    /**
+     * Return a set of the shared instances of the names.
+     *
+     * @param elements the element names
+     * @return a new set of the shared instances of the names, in the same order (a copy of the names if the registry is disabled)
+     */
+    public Set<String> internAll(final Set<String> elements) {
+        if (elements == null) {
+            return null;
+        }
+        if (!enabled) {
+            return new LinkedHashSet<>(elements);
+        }
+        final Set<String> interned = new LinkedHashSet<>(elements.size() * 4 / 3 + 1);
+        for (final var element : elements) {
+            interned.add(intern(element));
+        }
+        return interned;
+    }
+
+    /**
+     * Get the identifier of a name, registering it if necessary.
+     *
+     * @param element the element name
+     * @return the identifier, -1 if the registry is disabled or full
+     */
+    public int getId(final String element) {
+        if (!enabled || element == null) {
+            return -1;
+        }
+        final var entry = register(element);
+        return entry != null ? entry.id : -1;
+    }
+
+    /**
+     * Build the bitset of the identifiers of the names, registering them if necessary.
+     *
+     * @param elements the element names
+     * @return the bitset, <code>null</code> if the registry is disabled or full or if an element is not a string
+     */
+    public BitSet toBitSet(final Collection<?> elements) {
+        if (!enabled) {
+            return null;
+        }
+        final var bitSet = new BitSet();
+        if (elements != null) {
+            for (final var element : elements) {
+                if (!(element instanceof String)) {
+                    return null;
+                }
+                final var entry = register((String) element);
+                if (entry == null) {
+                    return null;
+                }
+                bitSet.set(entry.id);
+            }
+        }
+        return bitSet;
+    }
+
+    /**
+     * Whether a bitset contains all the bits of another one.
+     *
+     * @param bitSet the bitset
+     * @param subset the bits to look for
+     * @return whether all the bits of the subset are set in the bitset
+     */
+    public static boolean containsAll(final BitSet bitSet, final BitSet subset) {
+        for (var i = subset.nextSetBit(0); i >= 0; i = subset.nextSetBit(i + 1)) {
+            if (!bitSet.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Entry register(final String element) {
+        final var entry = entries.get(element);
+        if (entry != null) {
+            return entry;
+        }
+        if (entries.size() >= maxSize) {
+            return null;
+        }
+        return entries.computeIfAbsent(element, key -> new Entry(key, nextId.getAndIncrement()));
+    }
+
+    /**
+     * @return the number of registered names
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Define the maximum number of registered names (to bound the memory used by the registry and the bitsets).
+     *
+     * @param maxSize the maximum number of names
+     */
+    public void setMaxSize(final int maxSize) {
+        CommonHelper.assertTrue(maxSize > 0, "maxSize must be greater than zero");
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public String toString() {
+        return CommonHelper.toNiceString(this.getClass(), "name", name, "enabled", enabled, "size", size(), "maxSize", maxSize);
+    }
+
+    /**
+     * A registered name and its identifier.
+     */
+    private static final class Entry {
+
+        private final String name;
+
+        private final int id;
+
+        private Entry(final String name, final int id) {
+            this.name = name;
+            this.id = id;
+        }
+    }
+}
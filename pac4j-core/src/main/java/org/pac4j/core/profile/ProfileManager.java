@@ -8,15 +8,21 @@ import org.pac4j.core.context.WebContext;
 import org.pac4j.core.context.session.SessionStore;
 import org.pac4j.core.exception.http.HttpAction;
 import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.metrics.Metrics;
+import org.pac4j.core.metrics.MetricsRecorder;
 import org.pac4j.core.util.CommonHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * This class is a generic way to manage the current user profile(s), i.e. the one(s) of the current authenticated user.
  *
+ * <p>The profiles are only written into the session if they have changed since they were read from it (other profiles,
+ * or profiles {@link UserProfile#isModified() modified}): see {@link #getSkippedSessionWrites()}.</p>
+ *
  * @author Jerome Leleu
  * @since 1.8.0
  */
@@ -24,6 +30,8 @@ public class ProfileManager {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ProfileManager.class);
 
+    private static final LongAdder SKIPPED_SESSION_WRITES = new LongAdder();
+
     private final Authorizer IS_AUTHENTICATED_AUTHORIZER = new IsAuthenticatedAuthorizer();
 
     protected final Logger logger = LoggerFactory.getLogger(getClass());
@@ -34,6 +42,8 @@ public class ProfileManager {
 
     protected Config config;
 
+    protected Map<String, UserProfile> sessionProfiles;
+
     public ProfileManager(final WebContext context, final SessionStore sessionStore) {
         CommonHelper.assertNotNull("context", context);
         CommonHelper.assertNotNull("sessionStore", sessionStore);
@@ -79,11 +89,15 @@ public class ProfileManager {
                 profiles.putAll((Map<String, UserProfile>) requestAttribute);
             });
         if (readFromSession) {
-            this.sessionStore.get(this.context, Pac4jConstants.USER_PROFILES)
-                .ifPresent(sessionAttribute -> {
-                    LOGGER.debug("Retrieved profiles (session): {}", sessionAttribute);
-                    profiles.putAll((Map<String, UserProfile>) sessionAttribute);
-                });
+            final var metricsRecorder = getMetricsRecorder();
+            final var start = Metrics.start(metricsRecorder);
+            final var optSessionAttribute = this.sessionStore.get(this.context, Pac4jConstants.USER_PROFILES);
+            Metrics.recordTime(metricsRecorder, Metrics.SESSION_READ, (String) null, start);
+            optSessionAttribute.ifPresent(sessionAttribute -> {
+                LOGGER.debug("Retrieved profiles (session): {}", sessionAttribute);
+                sessionProfiles = (Map<String, UserProfile>) sessionAttribute;
+                profiles.putAll(sessionProfiles);
+            });
         }
 
         removeOrRenewExpiredProfiles(profiles, readFromSession);
@@ -93,7 +107,7 @@ public class ProfileManager {
 
     protected void removeOrRenewExpiredProfiles(final LinkedHashMap<String, UserProfile> profiles, final boolean readFromSession) {
         var profilesUpdated = false;
-        for (final var entry : profiles.entrySet()) {
+        for (final var entry : new ArrayList<>(profiles.entrySet())) {
             final var key = entry.getKey();
             final var profile = entry.getValue();
             if (profile.isExpired()) {
@@ -129,6 +143,7 @@ public class ProfileManager {
         if (sessionExists) {
             LOGGER.debug("Removing profiles from session");
             this.sessionStore.set(this.context, Pac4jConstants.USER_PROFILES, new LinkedHashMap<String, UserProfile>());
+            sessionProfiles = new LinkedHashMap<>();
         }
         LOGGER.debug("Removing profiles from request");
         this.context.setRequestAttribute(Pac4jConstants.USER_PROFILES, new LinkedHashMap<String, UserProfile>());
@@ -166,13 +181,55 @@ public class ProfileManager {
 
     protected void saveAll(LinkedHashMap<String, UserProfile> profiles, final boolean saveInSession) {
         if (saveInSession) {
-            LOGGER.debug("Saving profiles (session): {}", profiles);
-            this.sessionStore.set(this.context, Pac4jConstants.USER_PROFILES, profiles);
+            if (isUnchangedInSession(profiles)) {
+                LOGGER.debug("Unchanged profiles, not saved in session");
+                SKIPPED_SESSION_WRITES.increment();
+            } else {
+                LOGGER.debug("Saving profiles (session): {}", profiles);
+                final var metricsRecorder = getMetricsRecorder();
+                final var start = Metrics.start(metricsRecorder);
+                this.sessionStore.set(this.context, Pac4jConstants.USER_PROFILES, profiles);
+                Metrics.recordTime(metricsRecorder, Metrics.SESSION_WRITE, (String) null, start);
+                for (final var profile : profiles.values()) {
+                    profile.setModified(false);
+                }
+                sessionProfiles = new LinkedHashMap<>(profiles);
+            }
         }
         LOGGER.debug("Saving profiles (request): {}", profiles);
         this.context.setRequestAttribute(Pac4jConstants.USER_PROFILES, profiles);
     }
 
+    /**
+     * Whether the profiles are the ones read from (or written into) the session, in the same order and unmodified.
+     *
+     * @param profiles the profiles to save
+     * @return whether the session already holds these profiles
+     */
+    protected boolean isUnchangedInSession(final Map<String, UserProfile> profiles) {
+        if (sessionProfiles == null || sessionProfiles.size() != profiles.size()) {
+            return false;
+        }
+        final var sessionEntries = sessionProfiles.entrySet().iterator();
+        for (final var entry : profiles.entrySet()) {
+            final var sessionEntry = sessionEntries.next();
+            final var profile = entry.getValue();
+            if (!entry.getKey().equals(sessionEntry.getKey()) || profile != sessionEntry.getValue() || profile.isModified()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the number of session writes skipped (since the start of the JVM) because the profiles were unchanged.
+     *
+     * @return the number of skipped session writes
+     */
+    public static long getSkippedSessionWrites() {
+        return SKIPPED_SESSION_WRITES.sum();
+    }
+
     /**
      * Tests if the current user is authenticated (meaning a user profile exists which is not an {@link AnonymousProfile}).
      *
@@ -193,4 +250,8 @@ public class ProfileManager {
     public void setConfig(final Config config) {
         this.config = config;
     }
+
+    private MetricsRecorder getMetricsRecorder() {
+        return config != null ? config.getMetricsRecorder() : null;
+    }
 }
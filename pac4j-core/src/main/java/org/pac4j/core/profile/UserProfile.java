@@ -1,8 +1,11 @@
 package org.pac4j.core.profile;
 
+
 import java.io.Serializable;
 import java.security.Principal;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 
@@ -26,6 +29,16 @@ public interface UserProfile extends Serializable {
 
     Map<String, Object> getAttributes();
 
+    /**
+     * Get a read-only view of the attributes: unlike {@link #getAttributes()}, the attributes are not copied
+     * and the view reflects the later changes of the profile.
+     *
+     * @return the read-only attributes
+     */
+    default Map<String, Object> getAttributesView() {
+        return Collections.unmodifiableMap(getAttributes());
+    }
+
     boolean containsAttribute(String name);
 
     void addAttribute(String key, Object value);
@@ -42,12 +55,51 @@ public interface UserProfile extends Serializable {
 
     Set<String> getRoles();
 
+    /**
+     * Get a read-only view of the roles: unlike {@link #getRoles()}, the roles are not copied
+     * and the view reflects the later changes of the profile.
+     *
+     * @return the read-only roles
+     */
+    default Set<String> getRolesView() {
+        return Collections.unmodifiableSet(getRoles());
+    }
+
+    /**
+     * Get the identifiers of the roles in the {@link ElementRegistry#ROLES} registry. The returned bitset must not be modified.
+     *
+     * @return the identifiers of the roles, <code>null</code> if they are not available
+     */
+    default BitSet getRoleIds() {
+        return null;
+    }
+
     void addPermission(String permission);
 
     void addPermissions(Collection<String> permissions);
 
     Set<String> getPermissions();
 
+    /**
+     * Get a read-only view of the permissions: unlike {@link #getPermissions()}, the permissions are not copied
+     * and the view reflects the later changes of the profile.
+     *
+     * @return the read-only permissions
+     */
+    default Set<String> getPermissionsView() {
+        return Collections.unmodifiableSet(getPermissions());
+    }
+
+    /**
+     * Get the identifiers of the permissions in the {@link ElementRegistry#PERMISSIONS} registry.
+     * The returned bitset must not be modified.
+     *
+     * @return the identifiers of the permissions, <code>null</code> if they are not available
+     */
+    default BitSet getPermissionIds() {
+        return null;
+    }
+
     boolean isRemembered();
 
     void setRemembered(boolean rme);
@@ -63,4 +115,49 @@ public interface UserProfile extends Serializable {
     boolean isExpired();
 
     Principal asPrincipal();
+
+    /**
+     * Whether the profile may have been modified since it was last saved into or restored from the session.
+     * The in-place changes of mutable attribute values are not tracked.
+     *
+     * @return whether the profile may have been modified (<code>true</code> if the changes are not tracked)
+     */
+    default boolean isModified() {
+        return true;
+    }
+
+    /**
+     * Define whether the profile has been modified since it was last saved into or restored from the session.
+     *
+     * @param modified whether the profile has been modified
+     */
+    default void setModified(final boolean modified) {}
+
+    /**
+     * Get the number of modifications of the profile, to detect a modification during an authorization check.
+     *
+     * @return the number of modifications (<code>-1</code> if the modifications are not counted)
+     */
+    default long getModificationCount() {
+        return -1;
+    }
+
+    /**
+     * Whether the access has already been granted to this profile by a profile-deterministic authorization.
+     *
+     * @param authorizationKey the key identifying the authorization (like the authorizer itself)
+     * @return whether the granted access is cached (<code>false</code> if the decisions are not cached)
+     */
+    default boolean isAuthorizationGranted(final Object authorizationKey) {
+        return false;
+    }
+
+    /**
+     * Cache the access granted to this profile by a profile-deterministic authorization, until the profile is modified.
+     * Nothing is cached if the profile has been modified since the check started.
+     *
+     * @param authorizationKey the key identifying the authorization (like the authorizer itself)
+     * @param modificationCount the {@link #getModificationCount()} read before the check
+     */
+    default void addGrantedAuthorization(final Object authorizationKey, final long modificationCount) {}
 }
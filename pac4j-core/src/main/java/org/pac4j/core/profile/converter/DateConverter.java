@@ -2,9 +2,19 @@ package org.pac4j.core.profile.converter;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
 import java.util.Date;
 import java.util.Locale;
+import java.util.TimeZone;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,17 +22,38 @@ import org.slf4j.LoggerFactory;
 /**
  * This class converts a String (depending on a specified format) into a Date.
  *
+ * <p>The format is compiled once into an immutable {@link DateTimeFormatter} when its pattern letters parse like
+ * the {@link SimpleDateFormat} ones (lenient parsing, fields defaulting to 1970-01-01T00:00:00 in the default time zone).
+ * Otherwise, or if the value cannot be parsed this way, a copy of a cached {@link SimpleDateFormat} is used.</p>
+ *
+ * <p>Without a valid format, the values are parsed as ISO-8601 dates or epoch timestamps (in seconds below 10<sup>11</sup>,
+ * in milliseconds otherwise). With the {@link #EPOCH_FORMAT}, they are only parsed as epoch timestamps. With another format,
+ * the values which do not match it are not converted. Numeric attributes are always converted as epoch timestamps.</p>
+ *
  * @author Jerome Leleu
  * @since 1.0.0
  */
 public class DateConverter extends AbstractAttributeConverter {
 
+    /**
+     * The format of the epoch timestamps.
+     */
+    public static final String EPOCH_FORMAT = "epoch";
+
     protected static final Logger logger = LoggerFactory.getLogger(DateConverter.class);
 
+    private static final String JAVA_TIME_PATTERN_LETTERS = "yMdHhamsEZX";
+
+    private static final String JAVA_TIME_RESERVED_CHARACTERS = "[]{}#";
+
+    private static final long MAX_EPOCH_SECONDS = 100_000_000_000L;
+
     protected String format;
 
     protected Locale locale;
 
+    private volatile CompiledFormat compiledFormat;
+
     public DateConverter() {
         this(DateTimeFormatter.ISO_LOCAL_DATE_TIME.toString());
     }
@@ -40,19 +71,187 @@ public class DateConverter extends AbstractAttributeConverter {
     @Override
     protected Date internalConvert(final Object attribute) {
         if (attribute instanceof String) {
-            SimpleDateFormat simpleDateFormat;
-            if (this.locale == null) {
-                simpleDateFormat = new SimpleDateFormat(this.format);
-            } else {
-                simpleDateFormat = new SimpleDateFormat(this.format, this.locale);
-            }
             final var s = (String) attribute;
-            try {
-                return simpleDateFormat.parse(s);
-            } catch (final ParseException e) {
-                logger.error("parse exception on {} with format: {} and locale: {}", s, this.format, this.locale, e);
+            final var compiled = getCompiledFormat();
+            if (compiled.epoch) {
+                final var date = parseEpoch(s);
+                if (date != null) {
+                    return date;
+                }
+            } else if (compiled.formatter != null) {
+                try {
+                    return toDate(compiled.formatter.parse(s));
+                } catch (final DateTimeException e) {
+                    logger.debug("Cannot parse {} with the java.time format: {}", s, this.format);
+                }
+            }
+            if (compiled.simpleDateFormat != null) {
+                try {
+                    final var simpleDateFormat = (SimpleDateFormat) compiled.simpleDateFormat.clone();
+                    simpleDateFormat.setTimeZone(TimeZone.getDefault());
+                    return simpleDateFormat.parse(s);
+                } catch (final ParseException e) {
+                    logger.debug("Cannot parse {} with the format: {}", s, this.format);
+                }
+            }
+            if (compiled.formatter == null && compiled.simpleDateFormat == null && !compiled.epoch) {
+                final var date = parseIsoOrEpoch(s);
+                if (date != null) {
+                    return date;
+                }
             }
+            logger.error("parse exception on {} with format: {} and locale: {}", s, this.format, this.locale);
+        } else if (attribute instanceof Number) {
+            return fromEpoch(((Number) attribute).longValue());
         }
         return null;
     }
+
+    private CompiledFormat getCompiledFormat() {
+        var compiled = compiledFormat;
+        if (compiled == null || compiled.format != this.format || compiled.locale != this.locale) {
+            compiled = new CompiledFormat(this.format, this.locale);
+            compiledFormat = compiled;
+        }
+        return compiled;
+    }
+
+    private static Date toDate(final TemporalAccessor temporal) {
+        if (temporal.isSupported(ChronoField.INSTANT_SECONDS)) {
+            return Date.from(Instant.from(temporal));
+        }
+        return Date.from(LocalDateTime.from(temporal).atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static Date parseIsoOrEpoch(final String s) {
+        final var length = s.length();
+        if (length >= 10 && s.charAt(4) == '-' && s.charAt(7) == '-') {
+            try {
+                if (length == 10) {
+                    return Date.from(LocalDate.parse(s).atStartOfDay(ZoneId.systemDefault()).toInstant());
+                }
+                return toDate(DateTimeFormatter.ISO_DATE_TIME.parse(s));
+            } catch (final DateTimeException e) {
+                return null;
+            }
+        }
+        return parseEpoch(s);
+    }
+
+    private static Date parseEpoch(final String s) {
+        final var length = s.length();
+        if (length == 0 || length > 19) {
+            return null;
+        }
+        for (var i = s.charAt(0) == '-' && length > 1 ? 1 : 0; i < length; i++) {
+            final var c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return null;
+            }
+        }
+        try {
+            return fromEpoch(Long.parseLong(s));
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Date fromEpoch(final long epoch) {
+        if (Math.abs(epoch) < MAX_EPOCH_SECONDS) {
+            return new Date(epoch * 1000);
+        }
+        return new Date(epoch);
+    }
+
+    /**
+     * Whether the pattern can be parsed by java.time like by {@link SimpleDateFormat}.
+     *
+     * @param pattern the pattern
+     * @return whether java.time can be used
+     */
+    static boolean isJavaTimeCompatible(final String pattern) {
+        var quoted = false;
+        for (var i = 0; i < pattern.length(); i++) {
+            final var c = pattern.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (!quoted) {
+                if (c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z') {
+                    if (JAVA_TIME_PATTERN_LETTERS.indexOf(c) < 0) {
+                        return false;
+                    }
+                    if (c == 'y') {
+                        var count = 1;
+                        while (i + 1 < pattern.length() && pattern.charAt(i + 1) == 'y') {
+                            count++;
+                            i++;
+                        }
+                        // SimpleDateFormat handles two-digit years specifically
+                        if (count <= 2) {
+                            return false;
+                        }
+                    }
+                } else if (JAVA_TIME_RESERVED_CHARACTERS.indexOf(c) >= 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The compiled format: the java.time formatter (if compatible) and the prototype of the SimpleDateFormat (if valid).
+     */
+    private static final class CompiledFormat {
+
+        private final String format;
+
+        private final Locale locale;
+
+        private final DateTimeFormatter formatter;
+
+        private final SimpleDateFormat simpleDateFormat;
+
+        private final boolean epoch;
+
+        private CompiledFormat(final String format, final Locale locale) {
+            this.format = format;
+            this.locale = locale;
+            this.epoch = EPOCH_FORMAT.equals(format);
+            this.formatter = epoch ? null : buildFormatter(format, locale);
+            this.simpleDateFormat = epoch ? null : buildSimpleDateFormat(format, locale);
+        }
+
+        private static DateTimeFormatter buildFormatter(final String format, final Locale locale) {
+            if (format == null || !isJavaTimeCompatible(format)) {
+                return null;
+            }
+            try {
+                final var builder = new DateTimeFormatterBuilder().parseCaseInsensitive().parseLenient().appendPattern(format)
+                    .parseDefaulting(ChronoField.YEAR_OF_ERA, 1970)
+                    .parseDefaulting(ChronoField.MONTH_OF_YEAR, 1)
+                    .parseDefaulting(ChronoField.DAY_OF_MONTH, 1);
+                if (format.indexOf('H') < 0 && format.indexOf('h') < 0) {
+                    builder.parseDefaulting(ChronoField.HOUR_OF_DAY, 0);
+                }
+                builder.parseDefaulting(ChronoField.MINUTE_OF_HOUR, 0).parseDefaulting(ChronoField.SECOND_OF_MINUTE, 0);
+                return builder.toFormatter(locale != null ? locale : Locale.getDefault(Locale.Category.FORMAT))
+                    .withResolverStyle(ResolverStyle.LENIENT);
+            } catch (final IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        private static SimpleDateFormat buildSimpleDateFormat(final String format, final Locale locale) {
+            if (format == null) {
+                return null;
+            }
+            try {
+                return locale == null ? new SimpleDateFormat(format) : new SimpleDateFormat(format, locale);
+            } catch (final IllegalArgumentException e) {
+                logger.warn("Invalid date format: {}, only the ISO-8601 dates and epoch timestamps are parsed", format);
+                return null;
+            }
+        }
+    }
 }
@@ -92,12 +92,14 @@ public abstract class ProfileDefinition {
             final var converter = this.converters.get(name);
             if (converter != null) {
                 convertedValue = converter.convert(value);
-                if (convertedValue != null) {
+                if (convertedValue != null && logger.isDebugEnabled()) {
                     logger.debug("converted to => key: {} / value: {} / {}", name, convertedValue, convertedValue.getClass());
                 }
             } else {
                 convertedValue = value;
-                logger.debug("no conversion => key: {} / value: {} / {}", name, convertedValue, convertedValue.getClass());
+                if (logger.isDebugEnabled()) {
+                    logger.debug("no conversion => key: {} / value: {} / {}", name, convertedValue, convertedValue.getClass());
+                }
             }
 
             if (attributeLocation.equals(AUTHENTICATION_ATTRIBUTE)) {
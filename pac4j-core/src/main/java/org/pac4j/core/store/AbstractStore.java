@@ -3,6 +3,7 @@ package org.pac4j.core.store;
 import org.pac4j.core.util.CommonHelper;
 import org.pac4j.core.util.InitializableObject;
 
+import java.time.Duration;
 import java.util.Optional;
 
 /**
@@ -37,6 +38,25 @@ public abstract class AbstractStore<K, O> extends InitializableObject implements
         }
     }
 
+    @Override
+    public boolean setIfAbsent(final K key, final O value) {
+        CommonHelper.assertNotNull("key", key);
+        CommonHelper.assertNotNull("value", value);
+        init();
+
+        return internalSetIfAbsent(key, value);
+    }
+
+    @Override
+    public boolean setIfAbsent(final K key, final O value, final Duration timeToLive) {
+        CommonHelper.assertNotNull("key", key);
+        CommonHelper.assertNotNull("value", value);
+        CommonHelper.assertNotNull("timeToLive", timeToLive);
+        init();
+
+        return internalSetIfAbsent(key, value, timeToLive);
+    }
+
     @Override
     public void remove(final K key) {
         CommonHelper.assertNotNull("key", key);
@@ -50,4 +70,31 @@ public abstract class AbstractStore<K, O> extends InitializableObject implements
     protected abstract void internalSet(final K key, final O value);
 
     protected abstract void internalRemove(final K key);
+
+    /**
+     * Non-atomic default implementation: the stores which can should override it with an atomic operation.
+     *
+     * @param key the key
+     * @param value the value
+     * @return whether the value has been set
+     */
+    protected boolean internalSetIfAbsent(final K key, final O value) {
+        if (internalGet(key).isPresent()) {
+            return false;
+        }
+        internalSet(key, value);
+        return true;
+    }
+
+    /**
+     * By default, the time-to-live is ignored: the entry expires according to the policy of the store.
+     *
+     * @param key the key
+     * @param value the value
+     * @param timeToLive the time-to-live of the entry
+     * @return whether the value has been set
+     */
+    protected boolean internalSetIfAbsent(final K key, final O value, final Duration timeToLive) {
+        return internalSetIfAbsent(key, value);
+    }
 }
@@ -53,6 +53,11 @@ public class GuavaStore<K, O> extends AbstractStore<K, O> {
         cache.put(key, value);
     }
 
+    @Override
+    protected boolean internalSetIfAbsent(final K key, final O value) {
+        return cache.asMap().putIfAbsent(key, value) == null;
+    }
+
     @Override
     protected void internalRemove(final K key) {
         cache.invalidate(key);
@@ -1,5 +1,6 @@
 package org.pac4j.core.store;
 
+import java.time.Duration;
 import java.util.Optional;
 
 /**
@@ -26,6 +27,38 @@ public interface Store<K, O> {
      */
     void set(K key, O value);
 
+    /**
+     * Set a value by its key only if no value is already associated to the key.
+     *
+     * The default implementation is a get followed by a set, which is not atomic: the stores which can should override it
+     * so that concurrent calls for the same key (on any node sharing the store) set one value only.
+     *
+     * @param key the key
+     * @param value the value
+     * @return whether the value has been set
+     */
+    default boolean setIfAbsent(K key, O value) {
+        if (get(key).isPresent()) {
+            return false;
+        }
+        set(key, value);
+        return true;
+    }
+
+    /**
+     * Set a value by its key only if no value is already associated to the key, the entry expiring after the time-to-live.
+     *
+     * The default implementation ignores the time-to-live: the entry then expires according to the policy of the store.
+     *
+     * @param key the key
+     * @param value the value
+     * @param timeToLive the time-to-live of the entry
+     * @return whether the value has been set
+     */
+    default boolean setIfAbsent(K key, O value, Duration timeToLive) {
+        return setIfAbsent(key, value);
+    }
+
     /**
      * Remove the value associated to the key.
      *
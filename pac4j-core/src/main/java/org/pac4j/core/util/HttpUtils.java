@@ -7,6 +7,7 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
@@ -52,6 +53,16 @@ public final class HttpUtils {
         return messageBuilder.toString();
     }
 
+    /**
+     * Build error message from a response in case of failure
+     * @param response the response
+     * @return String by combining response code and body
+     */
+    public static String buildHttpErrorMessage(final HttpResponse<String> response) {
+        final var body = response.body();
+        return "(" + response.statusCode() + ")[" + (body != null ? body.replace("\n", "").replace("\r", "") : "") + "]";
+    }
+
     public static HttpURLConnection openPostConnection(final URL url) throws IOException {
         return openConnection(url, HttpConstants.HTTP_METHOD.POST.name(), null);
     }
@@ -106,6 +117,12 @@ public final class HttpUtils {
         return connectTimeout;
     }
 
+    /**
+     * Define the global default connect timeout. The timeouts of one client should rather be defined
+     * on its {@link org.pac4j.core.http.client.HttpClientFactory}.
+     *
+     * @param connectTimeout the connect timeout
+     */
     public static void setConnectTimeout(final int connectTimeout) {
         HttpUtils.connectTimeout = connectTimeout;
     }
@@ -114,6 +131,12 @@ public final class HttpUtils {
         return readTimeout;
     }
 
+    /**
+     * Define the global default read timeout. The timeouts of one client should rather be defined
+     * on its {@link org.pac4j.core.http.client.HttpClientFactory}.
+     *
+     * @param readTimeout the read timeout
+     */
     public static void setReadTimeout(final int readTimeout) {
         HttpUtils.readTimeout = readTimeout;
     }
@@ -23,6 +23,8 @@ public class JavaSerializer extends AbstractSerializer {
 
     private Set<Class<?>> trustedClasses;
 
+    private volatile TrustedClassChecker trustedClassChecker;
+
     public JavaSerializer() {
         trustedPackages = new HashSet<>();
         trustedPackages.addAll(Arrays.asList("java.", "javax.", "[Ljava.lang.String", "org.pac4j.", "[Lorg.pac4j.",
@@ -61,7 +63,7 @@ public class JavaSerializer extends AbstractSerializer {
     protected Serializable internalDeserializeFromBytes(final byte[] bytes) {
         Serializable o = null;
         try (var bais = new ByteArrayInputStream(bytes);
-             ObjectInputStream ois = new RestrictedObjectInputStream(bais, this.trustedPackages, this.trustedClasses)) {
+             ObjectInputStream ois = new RestrictedObjectInputStream(bais, getTrustedClassChecker())) {
             o = (Serializable) ois.readObject();
         } catch (final IOException | ClassNotFoundException e) {
             logger.warn("cannot Java deserialize object", e);
@@ -69,6 +71,26 @@ public class JavaSerializer extends AbstractSerializer {
         return o;
     }
 
+    /**
+     * Whether a class can be deserialized: it is one of the trusted classes or it belongs to one of the trusted packages.
+     *
+     * @param className the class name
+     * @return whether the class is trusted
+     */
+    public boolean isTrustedClass(final String className) {
+        return getTrustedClassChecker().isTrusted(className);
+    }
+
+    private TrustedClassChecker getTrustedClassChecker() {
+        var checker = trustedClassChecker;
+        if (checker == null) {
+            checker = new TrustedClassChecker(PrefixTrie.of(new ArrayList<>(trustedPackages)),
+                trustedClasses.stream().collect(Collectors.toMap(Class::getName, Function.identity(), (c1, c2) -> c1)));
+            trustedClassChecker = checker;
+        }
+        return checker;
+    }
+
     /**
      * Returns an immutable set of tusted packages.
      *
@@ -89,26 +111,32 @@ public class JavaSerializer extends AbstractSerializer {
 
     public void addTrustedPackages(final Collection<String> trustedPackages) {
         this.trustedPackages.addAll(trustedPackages);
+        this.trustedClassChecker = null;
     }
 
     public void addTrustedPackage(final String trustedPackage) {
         this.trustedPackages.add(trustedPackage);
+        this.trustedClassChecker = null;
     }
 
     public void clearTrustedPackages() {
         this.trustedPackages.clear();
+        this.trustedClassChecker = null;
     }
 
     public void addTrustedClasses(final Collection<Class<?>> trustedClasses) {
         this.trustedClasses.addAll(trustedClasses);
+        this.trustedClassChecker = null;
     }
 
     public void addTrustedClass(final Class<?> trustedClass) {
         this.trustedClasses.add(trustedClass);
+        this.trustedClassChecker = null;
     }
 
     public void clearTrustedClasses() {
         this.trustedClasses.clear();
+        this.trustedClassChecker = null;
     }
 
     @Override
@@ -117,28 +145,43 @@ public class JavaSerializer extends AbstractSerializer {
     }
 
     /**
-     * Restricted <code>ObjectInputStream</code> for security reasons.
+     * The trusted packages (compiled into a trie) and classes (by name).
      */
-    private static class RestrictedObjectInputStream extends ObjectInputStream {
+    private static final class TrustedClassChecker {
 
-        private final Set<String> trustedPackages;
+        private final PrefixTrie trustedPackages;
 
         private final Map<String, Class<?>> trustedClasses; // className -> Class
 
-        private RestrictedObjectInputStream(final InputStream in, final Set<String> trustedPackages,
-                                            final Set<Class<?>> trustedClasses) throws IOException {
-            super(in);
+        private TrustedClassChecker(final PrefixTrie trustedPackages, final Map<String, Class<?>> trustedClasses) {
             this.trustedPackages = trustedPackages;
-            this.trustedClasses = trustedClasses.stream().collect(Collectors.toMap(Class::getName, Function.identity()));
+            this.trustedClasses = trustedClasses;
+        }
+
+        private boolean isTrusted(final String className) {
+            return trustedClasses.containsKey(className) || trustedPackages.matches(className);
+        }
+    }
+
+    /**
+     * Restricted <code>ObjectInputStream</code> for security reasons.
+     */
+    private static class RestrictedObjectInputStream extends ObjectInputStream {
+
+        private final TrustedClassChecker checker;
+
+        private RestrictedObjectInputStream(final InputStream in, final TrustedClassChecker checker) throws IOException {
+            super(in);
+            this.checker = checker;
         }
 
         @Override
         protected Class<?> resolveClass(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
             final var qualifiedClassName = desc.getName();
-            final var clazz = trustedClasses.get(qualifiedClassName);
+            final var clazz = checker.trustedClasses.get(qualifiedClassName);
             if (Objects.nonNull(clazz)) {
                 return clazz;
-            } else if (trustedPackages.stream().anyMatch(qualifiedClassName::startsWith)) {
+            } else if (checker.trustedPackages.matches(qualifiedClassName)) {
                 return super.resolveClass(desc);
             } else {
                 throw new ClassNotFoundException("Wont resolve untrusted class: " + qualifiedClassName);
@@ -0,0 +1,118 @@
+package org.pac4j.core.util.serializer;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An immutable set of prefixes (like trusted package names), compiled into a trie: checking whether a string starts with
+ * one of the prefixes walks the string at most once, whatever the number of prefixes.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class PrefixTrie {
+
+    private static final PrefixTrie EMPTY = new PrefixTrie(new Node(false, new char[0], new Node[0]));
+
+    private final Node root;
+
+    private PrefixTrie(final Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Compile the prefixes.
+     *
+     * @param prefixes the prefixes
+     * @return the trie
+     */
+    public static PrefixTrie of(final Collection<String> prefixes) {
+        if (prefixes == null || prefixes.isEmpty()) {
+            return EMPTY;
+        }
+        final var builder = new BuilderNode();
+        for (final var prefix : prefixes) {
+            if (prefix != null) {
+                builder.insert(prefix);
+            }
+        }
+        return new PrefixTrie(builder.build());
+    }
+
+    /**
+     * Whether the value starts with one of the prefixes.
+     *
+     * @param value the value
+     * @return whether the value starts with one of the prefixes
+     */
+    public boolean matches(final String value) {
+        if (value == null) {
+            return false;
+        }
+        var node = root;
+        final var length = value.length();
+        for (var i = 0; !node.terminal; i++) {
+            if (i >= length) {
+                return false;
+            }
+            final var index = Arrays.binarySearch(node.chars, value.charAt(i));
+            if (index < 0) {
+                return false;
+            }
+            node = node.children[index];
+        }
+        return true;
+    }
+
+    /**
+     * A node of the trie: whether a prefix ends here and the children sorted by character.
+     */
+    private static final class Node {
+
+        private final boolean terminal;
+
+        private final char[] chars;
+
+        private final Node[] children;
+
+        private Node(final boolean terminal, final char[] chars, final Node[] children) {
+            this.terminal = terminal;
+            this.chars = chars;
+            this.children = children;
+        }
+    }
+
+    /**
+     * A mutable node used to build the trie.
+     */
+    private static final class BuilderNode {
+
+        private boolean terminal;
+
+        private final Map<Character, BuilderNode> children = new TreeMap<>();
+
+        private void insert(final String prefix) {
+            var node = this;
+            for (var i = 0; i < prefix.length() && !node.terminal; i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), c -> new BuilderNode());
+            }
+            // the longer prefixes are useless
+            node.terminal = true;
+            node.children.clear();
+        }
+
+        private Node build() {
+            final var chars = new char[children.size()];
+            final var nodes = new Node[children.size()];
+            var i = 0;
+            for (final var entry : children.entrySet()) {
+                chars[i] = entry.getKey();
+                nodes[i] = entry.getValue().build();
+                i++;
+            }
+            return new Node(terminal, chars, nodes);
+        }
+    }
+}
@@ -0,0 +1,474 @@
+package org.pac4j.core.util.serializer;
+
+import org.pac4j.core.profile.BasicUserProfile;
+import org.pac4j.core.profile.UserProfile;
+import org.pac4j.core.util.CommonHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A compact binary serializer for the user profiles and the maps of user profiles (as saved in the session),
+ * the other objects being Java serialized.
+ *
+ * <p>The format is versioned. The profile fields are named, so that unknown fields are skipped and missing fields
+ * keep their default values. The common attribute types (strings, numbers, booleans, dates, URIs, bytes arrays, lists,
+ * sets and maps) are encoded with a type tag, the other values are Java serialized. The profile classes and the Java
+ * serialized values must be trusted by the {@link #getJavaSerializer()} (trusted packages are compiled into a
+ * {@link PrefixTrie}).</p>
+ *
+ * <p>The data Java serialized by the {@link JavaSerializer} can still be deserialized.</p>
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public class ProfileSerializer extends AbstractSerializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfileSerializer.class);
+
+    private static final byte MAGIC = (byte) 0xB4;
+
+    private static final byte VERSION = 1;
+
+    private static final byte JAVA_STREAM_MAGIC = (byte) 0xAC;
+
+    private static final int MAX_DEPTH = 32;
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_TRUE = 1;
+    private static final byte TAG_FALSE = 2;
+    private static final byte TAG_INT = 3;
+    private static final byte TAG_LONG = 4;
+    private static final byte TAG_DOUBLE = 5;
+    private static final byte TAG_STRING = 6;
+    private static final byte TAG_DATE = 7;
+    private static final byte TAG_URI = 8;
+    private static final byte TAG_BYTES = 9;
+    private static final byte TAG_LIST = 10;
+    private static final byte TAG_SET = 11;
+    private static final byte TAG_MAP = 12;
+    private static final byte TAG_PROFILE = 13;
+    private static final byte TAG_JAVA = 14;
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_ATTRIBUTES = "attributes";
+    private static final String FIELD_AUTHENTICATION_ATTRIBUTES = "authenticationAttributes";
+    private static final String FIELD_REMEMBERED = "remembered";
+    private static final String FIELD_ROLES = "roles";
+    private static final String FIELD_PERMISSIONS = "permissions";
+    private static final String FIELD_CLIENT_NAME = "clientName";
+    private static final String FIELD_LINKED_ID = "linkedId";
+
+    private JavaSerializer javaSerializer;
+
+    public ProfileSerializer() {
+        this(new JavaSerializer());
+    }
+
+    public ProfileSerializer(final JavaSerializer javaSerializer) {
+        CommonHelper.assertNotNull("javaSerializer", javaSerializer);
+        this.javaSerializer = javaSerializer;
+    }
+
+    @Override
+    protected byte[] internalSerializeToBytes(final Object obj) {
+        final var writer = new Writer();
+        writer.writeByte(MAGIC);
+        writer.writeByte(VERSION);
+        try {
+            writeValue(writer, obj, 0);
+        } catch (final IllegalArgumentException e) {
+            logger.warn("cannot serialize object", e);
+            return null;
+        }
+        return writer.toByteArray();
+    }
+
+    @Override
+    protected Object internalDeserializeFromBytes(final byte[] bytes) {
+        if (bytes.length > 0 && bytes[0] == JAVA_STREAM_MAGIC) {
+            return javaSerializer.deserializeFromBytes(bytes);
+        }
+        try {
+            final var reader = new Reader(bytes);
+            if (reader.readByte() != MAGIC) {
+                throw new IllegalArgumentException("Unknown format");
+            }
+            final var version = reader.readByte();
+            if (version < 1 || version > VERSION) {
+                throw new IllegalArgumentException("Unsupported version: " + version);
+            }
+            return readValue(reader, 0);
+        } catch (final IllegalArgumentException | IndexOutOfBoundsException | ClassCastException e) {
+            logger.warn("cannot deserialize object", e);
+            return null;
+        }
+    }
+
+    private void writeValue(final Writer writer, final Object value, final int depth) {
+        checkDepth(depth);
+        if (value == null) {
+            writer.writeByte(TAG_NULL);
+        } else if (value instanceof String) {
+            writer.writeByte(TAG_STRING);
+            writer.writeString((String) value);
+        } else if (value instanceof Boolean) {
+            writer.writeByte((Boolean) value ? TAG_TRUE : TAG_FALSE);
+        } else if (value instanceof Integer) {
+            writer.writeByte(TAG_INT);
+            writer.writeSignedVarLong((Integer) value);
+        } else if (value instanceof Long) {
+            writer.writeByte(TAG_LONG);
+            writer.writeSignedVarLong((Long) value);
+        } else if (value instanceof Double) {
+            writer.writeByte(TAG_DOUBLE);
+            writer.writeLong(Double.doubleToLongBits((Double) value));
+        } else if (value.getClass() == Date.class) {
+            writer.writeByte(TAG_DATE);
+            writer.writeSignedVarLong(((Date) value).getTime());
+        } else if (value instanceof URI) {
+            writer.writeByte(TAG_URI);
+            writer.writeString(value.toString());
+        } else if (value instanceof byte[]) {
+            writer.writeByte(TAG_BYTES);
+            writer.writeBytes((byte[]) value);
+        } else if (value instanceof UserProfile) {
+            writeProfile(writer, (UserProfile) value, depth);
+        } else if (value instanceof List) {
+            writeCollection(writer, TAG_LIST, (List<?>) value, depth);
+        } else if (value instanceof Set) {
+            writeCollection(writer, TAG_SET, (Set<?>) value, depth);
+        } else if (value instanceof Map) {
+            final var map = (Map<?, ?>) value;
+            writer.writeByte(TAG_MAP);
+            writer.writeVarInt(map.size());
+            for (final var entry : map.entrySet()) {
+                writeValue(writer, entry.getKey(), depth + 1);
+                writeValue(writer, entry.getValue(), depth + 1);
+            }
+        } else {
+            final var bytes = javaSerializer.serializeToBytes(value);
+            if (bytes == null) {
+                throw new IllegalArgumentException("Cannot Java serialize: " + value.getClass().getName());
+            }
+            writer.writeByte(TAG_JAVA);
+            writer.writeBytes(bytes);
+        }
+    }
+
+    private void writeCollection(final Writer writer, final byte tag, final Collection<?> collection, final int depth) {
+        writer.writeByte(tag);
+        writer.writeVarInt(collection.size());
+        for (final var element : collection) {
+            writeValue(writer, element, depth + 1);
+        }
+    }
+
+    private void writeProfile(final Writer writer, final UserProfile profile, final int depth) {
+        final var fields = new LinkedHashMap<String, Object>();
+        fields.put(FIELD_ID, profile.getId());
+        fields.put(FIELD_ATTRIBUTES, profile.getAttributesView());
+        if (profile instanceof BasicUserProfile) {
+            fields.put(FIELD_AUTHENTICATION_ATTRIBUTES, ((BasicUserProfile) profile).getAuthenticationAttributes());
+        }
+        fields.put(FIELD_REMEMBERED, profile.isRemembered() ? Boolean.TRUE : null);
+        fields.put(FIELD_ROLES, profile.getRolesView());
+        fields.put(FIELD_PERMISSIONS, profile.getPermissionsView());
+        fields.put(FIELD_CLIENT_NAME, profile.getClientName());
+        fields.put(FIELD_LINKED_ID, profile.getLinkedId());
+        // the missing fields keep their default values
+        fields.values().removeIf(v -> v == null || v instanceof Map && ((Map<?, ?>) v).isEmpty()
+            || v instanceof Collection && ((Collection<?>) v).isEmpty());
+
+        writer.writeByte(TAG_PROFILE);
+        writer.writeString(profile.getClass().getName());
+        writer.writeVarInt(fields.size());
+        for (final var field : fields.entrySet()) {
+            writer.writeString(field.getKey());
+            writeValue(writer, field.getValue(), depth + 1);
+        }
+    }
+
+    private Object readValue(final Reader reader, final int depth) {
+        checkDepth(depth);
+        final var tag = reader.readByte();
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_TRUE:
+                return Boolean.TRUE;
+            case TAG_FALSE:
+                return Boolean.FALSE;
+            case TAG_INT:
+                return (int) reader.readSignedVarLong();
+            case TAG_LONG:
+                return reader.readSignedVarLong();
+            case TAG_DOUBLE:
+                return Double.longBitsToDouble(reader.readLong());
+            case TAG_STRING:
+                return reader.readString();
+            case TAG_DATE:
+                return new Date(reader.readSignedVarLong());
+            case TAG_URI:
+                return URI.create(reader.readString());
+            case TAG_BYTES:
+                return reader.readBytes();
+            case TAG_LIST:
+                return readCollection(reader, new ArrayList<>(), depth);
+            case TAG_SET:
+                return readCollection(reader, new LinkedHashSet<>(), depth);
+            case TAG_MAP:
+                final var size = reader.readLength();
+                final Map<Object, Object> map = new LinkedHashMap<>();
+                for (var i = 0; i < size; i++) {
+                    map.put(readValue(reader, depth + 1), readValue(reader, depth + 1));
+                }
+                return map;
+            case TAG_PROFILE:
+                return readProfile(reader, depth);
+            case TAG_JAVA:
+                final var value = javaSerializer.deserializeFromBytes(reader.readBytes());
+                if (value == null) {
+                    throw new IllegalArgumentException("Cannot Java deserialize value");
+                }
+                return value;
+            default:
+                throw new IllegalArgumentException("Unknown type tag: " + tag);
+        }
+    }
+
+    private Collection<Object> readCollection(final Reader reader, final Collection<Object> collection, final int depth) {
+        final var size = reader.readLength();
+        for (var i = 0; i < size; i++) {
+            collection.add(readValue(reader, depth + 1));
+        }
+        return collection;
+    }
+
+    @SuppressWarnings("unchecked")
+    private UserProfile readProfile(final Reader reader, final int depth) {
+        final var profile = newProfile(reader.readString());
+        final var nbFields = reader.readLength();
+        for (var i = 0; i < nbFields; i++) {
+            final var name = reader.readString();
+            final var value = readValue(reader, depth + 1);
+            if (value == null) {
+                continue;
+            }
+            switch (name) {
+                case FIELD_ID:
+                    profile.setId((String) value);
+                    break;
+                case FIELD_ATTRIBUTES:
+                    for (final var entry : ((Map<String, Object>) value).entrySet()) {
+                        profile.addAttribute(entry.getKey(), entry.getValue());
+                    }
+                    break;
+                case FIELD_AUTHENTICATION_ATTRIBUTES:
+                    for (final var entry : ((Map<String, Object>) value).entrySet()) {
+                        profile.addAuthenticationAttribute(entry.getKey(), entry.getValue());
+                    }
+                    break;
+                case FIELD_REMEMBERED:
+                    profile.setRemembered((Boolean) value);
+                    break;
+                case FIELD_ROLES:
+                    profile.addRoles((Collection<String>) value);
+                    break;
+                case FIELD_PERMISSIONS:
+                    profile.addPermissions((Collection<String>) value);
+                    break;
+                case FIELD_CLIENT_NAME:
+                    profile.setClientName((String) value);
+                    break;
+                case FIELD_LINKED_ID:
+                    profile.setLinkedId((String) value);
+                    break;
+                default:
+                    logger.debug("Unknown profile field: {}", name);
+            }
+        }
+        // restored as saved
+        profile.setModified(false);
+        return profile;
+    }
+
+    protected UserProfile newProfile(final String className) {
+        if (!javaSerializer.isTrustedClass(className)) {
+            throw new IllegalArgumentException("Untrusted profile class: " + className);
+        }
+        try {
+            final var clazz = Class.forName(className, false, Thread.currentThread().getContextClassLoader());
+            if (!UserProfile.class.isAssignableFrom(clazz)) {
+                throw new IllegalArgumentException("Not a profile class: " + className);
+            }
+            return (UserProfile) clazz.getDeclaredConstructor().newInstance();
+        } catch (final ClassNotFoundException | NoSuchMethodException | InstantiationException | IllegalAccessException
+            | InvocationTargetException e) {
+            throw new IllegalArgumentException("Cannot instantiate profile class: " + className, e);
+        }
+    }
+
+    private static void checkDepth(final int depth) {
+        if (depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Too many nested values");
+        }
+    }
+
+    public JavaSerializer getJavaSerializer() {
+        return javaSerializer;
+    }
+
+    public void setJavaSerializer(final JavaSerializer javaSerializer) {
+        CommonHelper.assertNotNull("javaSerializer", javaSerializer);
+        this.javaSerializer = javaSerializer;
+    }
+
+    @Override
+    public String toString() {
+        return CommonHelper.toNiceString(this.getClass(), "javaSerializer", javaSerializer);
+    }
+
+    /**
+     * A growable bytes buffer.
+     */
+    private static final class Writer {
+
+        private byte[] buffer = new byte[256];
+
+        private int size;
+
+        private void ensureCapacity(final int length) {
+            if (size + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + length));
+            }
+        }
+
+        private void writeByte(final byte b) {
+            ensureCapacity(1);
+            buffer[size++] = b;
+        }
+
+        private void writeVarInt(final int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        private void writeVarLong(final long value) {
+            ensureCapacity(10);
+            var v = value;
+            while ((v & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buffer[size++] = (byte) v;
+        }
+
+        private void writeSignedVarLong(final long value) {
+            // zigzag encoding: the small negative values are short too
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        private void writeLong(final long value) {
+            ensureCapacity(8);
+            for (var shift = 56; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void writeBytes(final byte[] bytes) {
+            writeVarInt(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        private void writeString(final String value) {
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+    /**
+     * A reader of bytes which checks the lengths against the remaining bytes.
+     */
+    private static final class Reader {
+
+        private final byte[] buffer;
+
+        private int position;
+
+        private Reader(final byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        private byte readByte() {
+            if (position >= buffer.length) {
+                throw new IllegalArgumentException("Unexpected end of data");
+            }
+            return buffer[position++];
+        }
+
+        private long readVarLong() {
+            long result = 0;
+            for (var shift = 0; shift < 64; shift += 7) {
+                final var b = readByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("Invalid variable-length number");
+        }
+
+        private long readSignedVarLong() {
+            final var value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private long readLong() {
+            long result = 0;
+            for (var i = 0; i < 8; i++) {
+                result = (result << 8) | (readByte() & 0xFF);
+            }
+            return result;
+        }
+
+        private int readLength() {
+            final var length = readVarLong();
+            // each element takes at least one byte
+            if (length < 0 || length > buffer.length - position) {
+                throw new IllegalArgumentException("Invalid length: " + length);
+            }
+            return (int) length;
+        }
+
+        private byte[] readBytes() {
+            final var length = readLength();
+            final var bytes = Arrays.copyOfRange(buffer, position, position + length);
+            position += length;
+            return bytes;
+        }
+
+        private String readString() {
+            final var length = readLength();
+            final var value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.Test;
 import org.pac4j.core.context.MockWebContext;
 import org.pac4j.core.context.session.MockSessionStore;
 import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.core.profile.ElementRegistry;
 import org.pac4j.core.profile.UserProfile;
 
 import java.util.ArrayList;
@@ -114,4 +115,22 @@ public final class RequireAllPermissionsAuthorizerTests {
         profile.addPermission(PERMISSION2);
         assertFalse(authorizer.isAuthorized(context, new MockSessionStore(), profiles));
     }
+
+    @Test
+    public void testHasAllPermissionsWithRegistry() {
+        ElementRegistry.PERMISSIONS.setEnabled(true);
+        try {
+            final var authorizer = new RequireAllPermissionsAuthorizer(PERMISSION3, PERMISSION1);
+            profile.addPermission(PERMISSION1);
+            profile.addPermission(PERMISSION2);
+            assertNotNull(profile.getPermissionIds());
+            assertFalse(authorizer.isAuthorized(context, new MockSessionStore(), profiles));
+            profile.addPermission(PERMISSION3);
+            assertTrue(authorizer.isAuthorized(context, new MockSessionStore(), profiles));
+            authorizer.setElements(PERMISSION1, "otherPermission");
+            assertFalse(authorizer.isAuthorized(context, new MockSessionStore(), profiles));
+        } finally {
+            ElementRegistry.PERMISSIONS.setEnabled(false);
+        }
+    }
 }
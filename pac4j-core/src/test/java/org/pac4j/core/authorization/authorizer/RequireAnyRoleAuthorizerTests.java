@@ -5,6 +5,7 @@ import org.junit.Test;
 import org.pac4j.core.context.MockWebContext;
 import org.pac4j.core.context.session.MockSessionStore;
 import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.core.profile.ElementRegistry;
 import org.pac4j.core.profile.UserProfile;
 
 import java.util.ArrayList;
@@ -127,4 +128,23 @@ public final class RequireAnyRoleAuthorizerTests {
         profile.addRole(ROLE1);
         assertTrue(authorizer.isAuthorized(context, new MockSessionStore(), profiles));
     }
+
+    @Test
+    public void testHasAnyRoleWithRegistry() {
+        ElementRegistry.ROLES.setEnabled(true);
+        try {
+            final var authorizer = new RequireAnyRoleAuthorizer(ROLE2, ROLE1);
+            final var emptyAuthorizer = new RequireAnyRoleAuthorizer();
+            assertFalse(authorizer.isAuthorized(context, new MockSessionStore(), profiles));
+            assertFalse(emptyAuthorizer.isAuthorized(context, new MockSessionStore(), profiles));
+            profile.addRole(ROLE3);
+            assertNotNull(profile.getRoleIds());
+            assertFalse(authorizer.isAuthorized(context, new MockSessionStore(), profiles));
+            assertTrue(emptyAuthorizer.isAuthorized(context, new MockSessionStore(), profiles));
+            profile.addRole(ROLE1);
+            assertTrue(authorizer.isAuthorized(context, new MockSessionStore(), profiles));
+        } finally {
+            ElementRegistry.ROLES.setEnabled(false);
+        }
+    }
 }
@@ -8,6 +8,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -62,6 +63,26 @@ public final class DefaultAuthorizationCheckerTests implements TestsConstants {
         }
     }
 
+    private static class CountingRoleAuthorizer extends RequireAnyRoleAuthorizer {
+
+        private int nbCall;
+
+        private CountingRoleAuthorizer(final String... roles) {
+            super(roles);
+        }
+
+        @Override
+        public boolean isAuthorized(final WebContext context, final SessionStore sessionStore, final List<UserProfile> profiles) {
+            nbCall++;
+            return super.isAuthorized(context, sessionStore, profiles);
+        }
+
+        @Override
+        public boolean isProfileDeterministic() {
+            return true;
+        }
+    }
+
     @Test
     public void testBlankAuthorizerNameAProfile() {
         assertTrue(checker.isAuthorized(MockWebContext.create(), new MockSessionStore(), profiles, "", new HashMap<>(), new ArrayList<>()));
@@ -341,4 +362,91 @@ public final class DefaultAuthorizationCheckerTests implements TestsConstants {
             checker.computeAuthorizers(MockWebContext.create(), new ArrayList<>(), DefaultAuthorizers.IS_AUTHENTICATED,
                 authorizers, new ArrayList<>()));
     }
+
+    @Test
+    public void testProfileDeterministicAuthorizerGrantedAccessIsCached() {
+        final var authorizer = new CountingRoleAuthorizer(ROLE);
+        final Map<String, Authorizer> authorizers = new HashMap<>();
+        authorizers.put(NAME, authorizer);
+        profile.addRole(ROLE);
+        assertTrue(checker.isAuthorized(MockWebContext.create(), new MockSessionStore(), profiles, NAME, authorizers, new ArrayList<>()));
+        assertTrue(checker.isAuthorized(MockWebContext.create(), new MockSessionStore(), profiles, NAME, authorizers, new ArrayList<>()));
+        assertEquals(1, authorizer.nbCall);
+        assertTrue(profile.isAuthorizationGranted(authorizer));
+    }
+
+    @Test
+    public void testProfileDeterministicAuthorizerCacheInvalidatedOnModification() {
+        final var authorizer = new CountingRoleAuthorizer(ROLE);
+        final Map<String, Authorizer> authorizers = new HashMap<>();
+        authorizers.put(NAME, authorizer);
+        profile.addRole(ROLE);
+        assertTrue(checker.isAuthorized(MockWebContext.create(), new MockSessionStore(), profiles, NAME, authorizers, new ArrayList<>()));
+        profile.setRoles(new HashSet<>());
+        assertFalse(profile.isAuthorizationGranted(authorizer));
+        assertFalse(checker.isAuthorized(MockWebContext.create(), new MockSessionStore(), profiles, NAME, authorizers, new ArrayList<>()));
+        assertEquals(2, authorizer.nbCall);
+    }
+
+    @Test
+    public void testProfileDeterministicAuthorizerDeniedAccessNotCached() {
+        final var authorizer = new CountingRoleAuthorizer(ROLE);
+        final Map<String, Authorizer> authorizers = new HashMap<>();
+        authorizers.put(NAME, authorizer);
+        assertFalse(checker.isAuthorized(MockWebContext.create(), new MockSessionStore(), profiles, NAME, authorizers, new ArrayList<>()));
+        assertFalse(checker.isAuthorized(MockWebContext.create(), new MockSessionStore(), profiles, NAME, authorizers, new ArrayList<>()));
+        assertEquals(2, authorizer.nbCall);
+    }
+
+    @Test
+    public void testNotProfileDeterministicAuthorizerNotCached() {
+        final Map<String, Authorizer> authorizers = new HashMap<>();
+        final var nbCall = new int[1];
+        final Authorizer authorizer = (context, sessionStore, userProfiles) -> ++nbCall[0] > 0;
+        authorizers.put(NAME, authorizer);
+        assertTrue(checker.isAuthorized(MockWebContext.create(), new MockSessionStore(), profiles, NAME, authorizers, new ArrayList<>()));
+        assertTrue(checker.isAuthorized(MockWebContext.create(), new MockSessionStore(), profiles, NAME, authorizers, new ArrayList<>()));
+        assertEquals(2, nbCall[0]);
+        assertFalse(profile.isAuthorizationGranted(authorizer));
+    }
+
+    @Test
+    public void testSubclassOfProfileDeterministicAuthorizerNotCached() {
+        assertTrue(new RequireAnyRoleAuthorizer(ROLE).isProfileDeterministic());
+        final var nbCall = new int[1];
+        final Authorizer authorizer = new RequireAnyRoleAuthorizer(ROLE) {
+            @Override
+            public boolean isAuthorized(final WebContext context, final SessionStore sessionStore, final List<UserProfile> profiles) {
+                nbCall[0]++;
+                return super.isAuthorized(context, sessionStore, profiles);
+            }
+        };
+        assertFalse(authorizer.isProfileDeterministic());
+        final Map<String, Authorizer> authorizers = new HashMap<>();
+        authorizers.put(NAME, authorizer);
+        profile.addRole(ROLE);
+        assertTrue(checker.isAuthorized(MockWebContext.create(), new MockSessionStore(), profiles, NAME, authorizers, new ArrayList<>()));
+        assertTrue(checker.isAuthorized(MockWebContext.create(), new MockSessionStore(), profiles, NAME, authorizers, new ArrayList<>()));
+        assertEquals(2, nbCall[0]);
+        assertFalse(profile.isAuthorizationGranted(authorizer));
+    }
+
+    @Test
+    public void testProfileModifiedDuringCheckNotCached() {
+        final var authorizer = new CountingRoleAuthorizer(ROLE) {
+            @Override
+            public boolean isAuthorized(final WebContext context, final SessionStore sessionStore, final List<UserProfile> profiles) {
+                final var authorized = super.isAuthorized(context, sessionStore, profiles);
+                // concurrent modification of the profile during the check
+                profile.setRoles(new HashSet<>());
+                return authorized;
+            }
+        };
+        final Map<String, Authorizer> authorizers = new HashMap<>();
+        authorizers.put(NAME, authorizer);
+        profile.addRole(ROLE);
+        assertTrue(checker.isAuthorized(MockWebContext.create(), new MockSessionStore(), profiles, NAME, authorizers, new ArrayList<>()));
+        assertFalse(profile.isAuthorizationGranted(authorizer));
+        assertFalse(checker.isAuthorized(MockWebContext.create(), new MockSessionStore(), profiles, NAME, authorizers, new ArrayList<>()));
+    }
 }
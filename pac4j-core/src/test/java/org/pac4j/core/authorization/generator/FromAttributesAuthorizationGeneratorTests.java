@@ -1,8 +1,11 @@
 package org.pac4j.core.authorization.generator;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -172,4 +175,52 @@ public final class FromAttributesAuthorizationGeneratorTests {
             assertTrue(permissions.contains(value));
         }
     }
+
+    @Test
+    public void testSeveralDelimitersAndEmptyTokens() {
+        this.profile.addAttribute(ATTRIB5, ",info51;;info52,");
+        final var generator = new FromAttributesAuthorizationGenerator(new String[] {ATTRIB5}, null);
+        generator.setSplitChar(",;");
+        generator.generate(null, null, this.profile);
+        assertEquals(new HashSet<>(Arrays.asList("info51", "info52")), this.profile.getRoles());
+    }
+
+    @Test
+    public void testNormalizationAndTranslations() {
+        this.profile.addAttribute(ATTRIB5, Arrays.asList("CN=admins,OU=groups,DC=pac4j,DC=org", "cn=users,ou=groups,dc=pac4j,dc=org",
+            "other"));
+        final var generator = new FromAttributesAuthorizationGenerator(new String[] {ATTRIB5}, new String[] {ATTRIB5});
+        generator.setNormalizationPattern("(?i)cn=([^,]+),.*");
+        final Map<String, String> roleTranslations = new HashMap<>();
+        roleTranslations.put("admins", "ROLE_ADMIN");
+        generator.setRoleTranslations(roleTranslations);
+        generator.generate(null, null, this.profile);
+        assertEquals(new HashSet<>(Arrays.asList("ROLE_ADMIN", "users", "other")), this.profile.getRoles());
+        assertEquals(new HashSet<>(Arrays.asList("admins", "users", "other")), this.profile.getPermissions());
+    }
+
+    @Test
+    public void testBlankElementsIgnored() {
+        this.profile.addAttribute(ATTRIB5, Arrays.asList("info51", "", " ", "cn=,ou=groups"));
+        final var generator = new FromAttributesAuthorizationGenerator(new String[] {ATTRIB5}, new String[] {ATTRIB5});
+        generator.setNormalizationPattern("cn=([^,]*),.*");
+        final Map<String, String> permissionTranslations = new HashMap<>();
+        permissionTranslations.put("info51", " ");
+        generator.setPermissionTranslations(permissionTranslations);
+        generator.generate(null, null, this.profile);
+        assertEquals(new HashSet<>(Arrays.asList("info51")), this.profile.getRoles());
+        assertTrue(this.profile.getPermissions().isEmpty());
+    }
+
+    @Test
+    public void testReconfiguration() {
+        final var generator = new FromAttributesAuthorizationGenerator(new String[] {ATTRIB1}, null);
+        generator.generate(null, null, this.profile);
+        assertEquals(2, this.profile.getRoles().size());
+        generator.setRoleAttributes(ATTRIB2);
+        final var profile2 = new CommonProfile();
+        profile2.addAttribute(ATTRIB2, VALUE2);
+        generator.generate(null, null, profile2);
+        assertEquals(new HashSet<>(Arrays.asList("info21", "info22")), profile2.getRoles());
+    }
 }
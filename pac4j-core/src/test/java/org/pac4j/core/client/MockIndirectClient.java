@@ -1,7 +1,10 @@
 package org.pac4j.core.client;
 
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.context.session.SessionStore;
 import org.pac4j.core.credentials.Credentials;
 import org.pac4j.core.exception.http.RedirectionAction;
+import org.pac4j.core.logout.handler.LogoutHandler;
 import org.pac4j.core.profile.CommonProfile;
 
 import java.util.Optional;
@@ -20,6 +23,8 @@ public final class MockIndirectClient extends IndirectClient {
 
     private CommonProfile profile;
 
+    private LogoutHandler logoutHandler;
+
     public MockIndirectClient(final String name) {
         setName(name);
     }
@@ -44,4 +49,13 @@ public final class MockIndirectClient extends IndirectClient {
         defaultAuthenticator((cred, ctx, store) -> cred.setUserProfile(profile));
         defaultLogoutActionBuilder(getLogoutActionBuilder());
     }
+
+    @Override
+    public boolean destroyBroadcastSession(final WebContext context, final SessionStore sessionStore) {
+        return logoutHandler != null && logoutHandler.destroyBroadcastSession(context, sessionStore);
+    }
+
+    public void setLogoutHandler(final LogoutHandler logoutHandler) {
+        this.logoutHandler = logoutHandler;
+    }
 }
@@ -0,0 +1,109 @@
+package org.pac4j.core.engine;
+
+import ch.qos.logback.classic.Level;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.pac4j.core.client.Clients;
+import org.pac4j.core.client.MockDirectClient;
+import org.pac4j.core.config.Config;
+import org.pac4j.core.context.MockWebContext;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.context.session.MockSessionStore;
+import org.pac4j.core.credentials.MockCredentials;
+import org.pac4j.core.matching.matcher.DefaultMatchers;
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.core.util.TestsConstants;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the arguments of the debug logs are not computed on the security path when the DEBUG level is disabled.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class DebugLoggingTests implements TestsConstants {
+
+    private final ch.qos.logback.classic.Logger pac4jLogger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger("org.pac4j");
+
+    private Level level;
+
+    private int fullRequestUrlCalls;
+
+    private int nbCall;
+
+    @Before
+    public void setUp() {
+        level = pac4jLogger.getLevel();
+    }
+
+    @After
+    public void tearDown() {
+        pac4jLogger.setLevel(level);
+    }
+
+    @Test
+    public void testNoDebugLoggingWork() {
+        pac4jLogger.setLevel(Level.INFO);
+        final var profile = perform();
+        assertEquals(1, nbCall);
+        assertEquals(0, fullRequestUrlCalls);
+        assertEquals(0, profile.toStringCalls);
+    }
+
+    @Test
+    public void testDebugLoggingWork() {
+        pac4jLogger.setLevel(Level.DEBUG);
+        final var profile = perform();
+        assertEquals(1, nbCall);
+        assertTrue(fullRequestUrlCalls > 0);
+        assertTrue(profile.toStringCalls > 0);
+    }
+
+    private CountingProfile perform() {
+        final var profile = new CountingProfile();
+        profile.setId(ID);
+        final var client = new MockDirectClient(NAME, Optional.of(new MockCredentials()), profile);
+        final var config = new Config(new Clients(client));
+        final var context = countingContext(MockWebContext.create().setFullRequestURL(CALLBACK_URL));
+        new DefaultSecurityLogic().perform(context, new MockSessionStore(), config,
+            (ctx, store, profiles, parameters) -> { nbCall++; return null; }, (action, ctx) -> null, NAME, null, DefaultMatchers.NONE);
+        return profile;
+    }
+
+    private WebContext countingContext(final WebContext delegate) {
+        return (WebContext) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {WebContext.class},
+            (proxy, method, args) -> {
+                if ("getFullRequestURL".equals(method.getName())) {
+                    fullRequestUrlCalls++;
+                }
+                try {
+                    return method.invoke(delegate, args);
+                } catch (final InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+    }
+
+    /**
+     * A profile counting the calls to its toString method.
+     */
+    public static final class CountingProfile extends CommonProfile {
+
+        private static final long serialVersionUID = 2914535290447521302L;
+
+        private transient int toStringCalls;
+
+        @Override
+        public String toString() {
+            toStringCalls++;
+            return super.toString();
+        }
+    }
+}
@@ -14,12 +14,16 @@ import org.pac4j.core.exception.http.HttpAction;
 import org.pac4j.core.exception.http.StatusAction;
 import org.pac4j.core.exception.http.FoundAction;
 import org.pac4j.core.http.adapter.HttpActionAdapter;
+import org.pac4j.core.logout.handler.DefaultLogoutHandler;
+import org.pac4j.core.logout.registry.StoreLogoutBroadcaster;
 import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.core.store.GuavaStore;
 import org.pac4j.core.util.TestsConstants;
 import org.pac4j.core.util.TestsHelper;
 
 import java.util.LinkedHashMap;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.*;
 
@@ -167,6 +171,41 @@ public final class DefaultSecurityLogicTests implements TestsConstants {
         assertEquals(1, nbCall);
     }
 
+    private MockIndirectClient prepareLogoutBroadcast() {
+        final var profile = new CommonProfile();
+        profile.setId(ID);
+        profile.setClientName(NAME);
+        final var profiles = new LinkedHashMap<String, CommonProfile>();
+        profiles.put(NAME, profile);
+        sessionStore.set(context, Pac4jConstants.USER_PROFILES, profiles);
+        final var broadcaster = new StoreLogoutBroadcaster(new GuavaStore<>(100, 30, TimeUnit.MINUTES));
+        final var logoutHandler = new DefaultLogoutHandler();
+        logoutHandler.setBroadcaster(broadcaster);
+        logoutHandler.recordSession(context, sessionStore, KEY);
+        broadcaster.broadcast(context, KEY);
+        final var indirectClient = new MockIndirectClient(NAME, new FoundAction(PAC4J_URL), Optional.empty(), new CommonProfile());
+        indirectClient.setLogoutHandler(logoutHandler);
+        config.setClients(new Clients(CALLBACK_URL, indirectClient));
+        return indirectClient;
+    }
+
+    @Test
+    public void testLogoutBroadcastNotChecked() {
+        prepareLogoutBroadcast();
+        call();
+        assertNull(action);
+        assertEquals(1, nbCall);
+    }
+
+    @Test
+    public void testLogoutBroadcastChecked() {
+        prepareLogoutBroadcast();
+        logic.setCheckLogoutBroadcast(true);
+        call();
+        assertEquals(302, action.getCode());
+        assertEquals(0, nbCall);
+    }
+
     @Test
     public void testAlreadyAuthenticatedNotAuthorized() {
         final var profile = new CommonProfile();
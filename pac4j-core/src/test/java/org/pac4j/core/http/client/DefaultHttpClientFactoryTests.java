@@ -0,0 +1,180 @@
+package org.pac4j.core.http.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.pac4j.core.context.HttpConstants;
+import org.pac4j.core.util.HttpUtils;
+import org.pac4j.core.util.TestsConstants;
+import org.pac4j.core.util.TestsHelper;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link DefaultHttpClientFactory}.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class DefaultHttpClientFactoryTests implements TestsConstants {
+
+    private HttpServer server;
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private volatile int failures;
+
+    private DefaultHttpClientFactory factory;
+
+    private java.net.URI uri;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+        uri = java.net.URI.create("http://localhost:" + server.getAddress().getPort() + "/test");
+
+        factory = new DefaultHttpClientFactory(1000, 1000);
+        factory.setMaxRetries(2);
+        factory.setRetryDelay(1);
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        final var status = calls.incrementAndGet() <= failures ? 503 : 200;
+        final var bytes = VALUE.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    @Test
+    public void testSend() throws IOException {
+        final var response = factory.send(factory.newRequest(uri).GET().build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        assertEquals(VALUE, response.body());
+        assertEquals(1, calls.get());
+        assertEquals(1, factory.getMetrics().getRequests());
+        assertEquals(0, factory.getMetrics().getRetries());
+    }
+
+    @Test
+    public void testRetryIdempotentRequest() throws IOException {
+        failures = 2;
+        final var response = factory.send(factory.newRequest(uri).GET().build(), HttpResponse.BodyHandlers.ofInputStream());
+        assertEquals(200, response.statusCode());
+        try (var body = response.body()) {
+            assertEquals(VALUE, new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals(3, calls.get());
+        assertEquals(3, factory.getMetrics().getRequests());
+        assertEquals(2, factory.getMetrics().getErrorResponses());
+        assertEquals(2, factory.getMetrics().getRetries());
+    }
+
+    @Test
+    public void testTooManyFailures() throws IOException {
+        failures = 5;
+        final var response = factory.send(factory.newRequest(uri).GET().build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(503, response.statusCode());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void testNoRetryNonIdempotentRequest() throws IOException {
+        failures = 1;
+        final var request = factory.newRequest(uri).POST(HttpRequest.BodyPublishers.ofString(VALUE)).build();
+        assertEquals(503, factory.send(request, HttpResponse.BodyHandlers.ofString()).statusCode());
+        assertEquals(1, calls.get());
+
+        factory.setRetryNonIdempotentRequests(true);
+        calls.set(0);
+        assertEquals(200, factory.send(request, HttpResponse.BodyHandlers.ofString()).statusCode());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testRetryAsync() {
+        failures = 1;
+        final var response = factory.sendAsync(factory.newRequest(uri).GET().build(), HttpResponse.BodyHandlers.ofString()).join();
+        assertEquals(200, response.statusCode());
+        assertEquals(VALUE, response.body());
+        assertEquals(2, calls.get());
+        assertEquals(1, factory.getMetrics().getRetries());
+    }
+
+    @Test
+    public void testRetryConnectionFailure() {
+        server.stop(0);
+        final var request = factory.newRequest(uri).GET().build();
+        assertTrue(TestsHelper.expectException(() -> factory.send(request, HttpResponse.BodyHandlers.ofString())) instanceof IOException);
+        assertEquals(3, factory.getMetrics().getFailures());
+        assertEquals(2, factory.getMetrics().getRetries());
+    }
+
+    @Test
+    public void testHttpUtilsTimeoutsReadAtEachRequest() {
+        final var utilsFactory = new DefaultHttpClientFactory();
+        try {
+            HttpUtils.setConnectTimeout(1000);
+            HttpUtils.setReadTimeout(2000);
+            final var client = utilsFactory.getHttpClient();
+            assertEquals(Optional.of(Duration.ofMillis(1000)), client.connectTimeout());
+            assertEquals(Optional.of(Duration.ofMillis(2000)), utilsFactory.newRequest(uri).build().timeout());
+            assertSame(client, utilsFactory.getHttpClient());
+
+            HttpUtils.setConnectTimeout(3000);
+            HttpUtils.setReadTimeout(4000);
+            assertEquals(Optional.of(Duration.ofMillis(3000)), utilsFactory.getHttpClient().connectTimeout());
+            assertEquals(Optional.of(Duration.ofMillis(4000)), utilsFactory.newRequest(uri).build().timeout());
+        } finally {
+            HttpUtils.setConnectTimeout(HttpConstants.DEFAULT_CONNECT_TIMEOUT);
+            HttpUtils.setReadTimeout(HttpConstants.DEFAULT_READ_TIMEOUT);
+        }
+    }
+
+    @Test
+    public void testProvidedHttpClient() throws IOException {
+        final var client = HttpClient.newHttpClient();
+        factory.setHttpClient(client);
+        assertSame(client, factory.getHttpClient());
+        failures = 1;
+        assertEquals(200, factory.send(factory.newRequest(uri).GET().build(), HttpResponse.BodyHandlers.ofString()).statusCode());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testNoTimeout() {
+        final var noTimeoutFactory = new DefaultHttpClientFactory(0, -1);
+        assertTrue(noTimeoutFactory.getHttpClient().connectTimeout().isEmpty());
+        assertTrue(noTimeoutFactory.newRequest(uri).build().timeout().isEmpty());
+    }
+
+    @Test
+    public void testTimeoutSuppliers() {
+        final var timeout = new AtomicInteger(1000);
+        final var supplierFactory = new DefaultHttpClientFactory(timeout::get, timeout::get);
+        assertEquals(Duration.ofMillis(1000), supplierFactory.getHttpClient().connectTimeout().get());
+        timeout.set(2000);
+        assertEquals(Duration.ofMillis(2000), supplierFactory.getHttpClient().connectTimeout().get());
+        assertEquals(Duration.ofMillis(2000), supplierFactory.newRequest(uri).build().timeout().get());
+    }
+}
@@ -0,0 +1,119 @@
+package org.pac4j.core.logout.handler;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.pac4j.core.context.MockWebContext;
+import org.pac4j.core.context.session.MockSessionStore;
+import org.pac4j.core.logout.registry.InMemoryLogoutSessionRegistry;
+import org.pac4j.core.logout.registry.StoreLogoutBroadcaster;
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.core.profile.ProfileManager;
+import org.pac4j.core.store.GuavaStore;
+import org.pac4j.core.util.TestsConstants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link DefaultLogoutHandler}.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class DefaultLogoutHandlerTests implements TestsConstants {
+
+    private MockSessionStore userSessionStore;
+
+    private final List<String> broadcastKeys = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        userSessionStore = new MockSessionStore();
+        final var profile = new CommonProfile();
+        profile.setId(ID);
+        new ProfileManager(MockWebContext.create(), userSessionStore).save(true, profile, false);
+    }
+
+    private boolean isAuthenticated() {
+        return new ProfileManager(MockWebContext.create(), userSessionStore).isAuthenticated();
+    }
+
+    @Test
+    public void testDestroyLocalSessionBack() {
+        final var handler = new DefaultLogoutHandler();
+        handler.setBroadcaster((context, key) -> broadcastKeys.add(key));
+        handler.recordSession(MockWebContext.create(), userSessionStore, KEY);
+        assertTrue(isAuthenticated());
+
+        assertTrue(handler.destroyLocalSessionBack(MockWebContext.create(), new MockSessionStore(), KEY));
+        assertFalse(isAuthenticated());
+        assertFalse(handler.getSessionRegistry().findTrackableSession(KEY).isPresent());
+        assertFalse(handler.destroyLocalSessionBack(MockWebContext.create(), new MockSessionStore(), KEY));
+        assertTrue(broadcastKeys.isEmpty());
+    }
+
+    @Test
+    public void testBroadcastUnknownSession() {
+        final var handler = new DefaultLogoutHandler();
+        handler.setBroadcaster((context, key) -> broadcastKeys.add(key));
+        handler.recordSession(MockWebContext.create(), userSessionStore, KEY);
+
+        handler.destroySessionBack(MockWebContext.create(), new MockSessionStore(), VALUE);
+        assertEquals(List.of(VALUE), broadcastKeys);
+        assertTrue(isAuthenticated());
+
+        handler.destroySessionBack(MockWebContext.create(), new MockSessionStore(), KEY);
+        assertEquals(List.of(VALUE), broadcastKeys);
+        assertFalse(isAuthenticated());
+    }
+
+    @Test
+    public void testStoreBroadcaster() {
+        final var broadcaster = new StoreLogoutBroadcaster(new GuavaStore<>(100, 30, TimeUnit.MINUTES));
+        final var owner = new DefaultLogoutHandler();
+        owner.setBroadcaster(broadcaster);
+        final var other = new DefaultLogoutHandler();
+        other.setBroadcaster(broadcaster);
+        owner.recordSession(MockWebContext.create(), userSessionStore, KEY);
+
+        assertFalse(owner.destroyBroadcastSession(MockWebContext.create(), userSessionStore));
+        other.destroySessionBack(MockWebContext.create(), new MockSessionStore(), KEY);
+        assertTrue(broadcaster.isBroadcast(KEY));
+        assertTrue(isAuthenticated());
+
+        assertTrue(owner.destroyBroadcastSession(MockWebContext.create(), userSessionStore));
+        assertFalse(isAuthenticated());
+        assertFalse(broadcaster.isBroadcast(KEY));
+        assertFalse(owner.getSessionRegistry().findTrackableSession(KEY).isPresent());
+    }
+
+    @Test
+    public void testBroadcastCheckRenewsSession() throws InterruptedException {
+        final var handler = new DefaultLogoutHandler(new InMemoryLogoutSessionRegistry(200, TimeUnit.MILLISECONDS));
+        handler.recordSession(MockWebContext.create(), userSessionStore, KEY);
+        for (var i = 0; i < 4; i++) {
+            Thread.sleep(100);
+            assertFalse(handler.destroyBroadcastSession(MockWebContext.create(), userSessionStore));
+        }
+        assertTrue(handler.getSessionRegistry().findTrackableSession(KEY).isPresent());
+    }
+
+    @Test
+    public void testStore() {
+        final var store = new GuavaStore<String, Object>(100, 30, TimeUnit.MINUTES);
+        final var handler = new DefaultLogoutHandler(store);
+        assertSame(store, handler.getStore());
+        handler.recordSession(MockWebContext.create(), userSessionStore, KEY);
+        final var sessionId = userSessionStore.getSessionId(MockWebContext.create(), false).get();
+        assertTrue(store.get(KEY).isPresent());
+        assertEquals(KEY, store.get(sessionId).get());
+    }
+
+    @Test
+    public void testNoStoreForInMemoryRegistry() {
+        assertNull(new DefaultLogoutHandler().getStore());
+    }
+}
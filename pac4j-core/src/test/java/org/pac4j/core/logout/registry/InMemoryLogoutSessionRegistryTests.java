@@ -0,0 +1,107 @@
+package org.pac4j.core.logout.registry;
+
+import org.junit.Test;
+import org.pac4j.core.util.TestsConstants;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link InMemoryLogoutSessionRegistry}.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class InMemoryLogoutSessionRegistryTests implements TestsConstants {
+
+    private static final String SESSION_ID = "sessionId";
+
+    private static final String SESSION_ID2 = "sessionId2";
+
+    private static final Object SESSION = new Object();
+
+    @Test
+    public void testRecordAndFind() {
+        final var registry = new InMemoryLogoutSessionRegistry();
+        registry.record(KEY, SESSION_ID, SESSION);
+        assertSame(SESSION, registry.findTrackableSession(KEY).get());
+        assertEquals(KEY, registry.findKey(SESSION_ID).get());
+        assertFalse(registry.findTrackableSession(VALUE).isPresent());
+        assertFalse(registry.findKey(SESSION_ID2).isPresent());
+    }
+
+    @Test
+    public void testRemoveByKey() {
+        final var registry = new InMemoryLogoutSessionRegistry();
+        registry.record(KEY, SESSION_ID, SESSION);
+        registry.removeByKey(KEY);
+        assertFalse(registry.findTrackableSession(KEY).isPresent());
+        assertFalse(registry.findKey(SESSION_ID).isPresent());
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void testRemoveBySessionId() {
+        final var registry = new InMemoryLogoutSessionRegistry();
+        registry.record(KEY, SESSION_ID, SESSION);
+        registry.removeBySessionId(SESSION_ID);
+        assertFalse(registry.findTrackableSession(KEY).isPresent());
+        assertFalse(registry.findKey(SESSION_ID).isPresent());
+    }
+
+    @Test
+    public void testRecordNewSessionForSameKey() {
+        final var registry = new InMemoryLogoutSessionRegistry();
+        registry.record(KEY, SESSION_ID, SESSION);
+        registry.record(KEY, SESSION_ID2, SESSION);
+        assertFalse(registry.findKey(SESSION_ID).isPresent());
+        assertEquals(KEY, registry.findKey(SESSION_ID2).get());
+        registry.removeBySessionId(SESSION_ID);
+        assertTrue(registry.findTrackableSession(KEY).isPresent());
+    }
+
+    @Test
+    public void testExpiration() throws InterruptedException {
+        final var registry = new InMemoryLogoutSessionRegistry(50, TimeUnit.MILLISECONDS);
+        registry.record(KEY, SESSION_ID, SESSION);
+        Thread.sleep(100);
+        assertFalse(registry.findTrackableSession(KEY).isPresent());
+        assertFalse(registry.findKey(SESSION_ID).isPresent());
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void testSlidingExpiration() throws InterruptedException {
+        final var registry = new InMemoryLogoutSessionRegistry(200, TimeUnit.MILLISECONDS);
+        registry.record(KEY, SESSION_ID, SESSION);
+        for (var i = 0; i < 4; i++) {
+            Thread.sleep(100);
+            assertEquals(KEY, registry.findKey(SESSION_ID).get());
+        }
+        Thread.sleep(300);
+        assertFalse(registry.findKey(SESSION_ID).isPresent());
+    }
+
+    @Test
+    public void testDefaultMaxSize() {
+        final var registry = new InMemoryLogoutSessionRegistry();
+        assertEquals(10000, registry.getMaxSize());
+        for (var i = 0; i < 10500; i++) {
+            registry.record(KEY + i, SESSION_ID + i, SESSION);
+        }
+        assertEquals(10000, registry.size());
+        assertEquals(KEY + 10499, registry.findKey(SESSION_ID + 10499).get());
+    }
+
+    @Test
+    public void testMaxSize() {
+        final var registry = new InMemoryLogoutSessionRegistry(30, TimeUnit.MINUTES, 10);
+        for (var i = 0; i < 25; i++) {
+            registry.record(KEY + i, SESSION_ID + i, SESSION);
+            assertTrue(registry.size() <= 10);
+        }
+        assertEquals(10, registry.size());
+        assertEquals(KEY + 24, registry.findKey(SESSION_ID + 24).get());
+    }
+}
@@ -100,4 +100,67 @@ public class PathMatcherTests {
         assertFalse(matcher.matches(MockWebContext.create().setPath("/img/"), new MockSessionStore()));
 
     }
+
+    @Test
+    public void testManyExclusions() {
+        final var matcher = new PathMatcher();
+        for (var i = 0; i < 1000; i++) {
+            matcher.excludePath("/path" + i);
+            matcher.excludeBranch("/branch" + i);
+        }
+        matcher.excludeRegex("^/(img/.*|css/.*|page\\.html)$");
+        matcher.excludeRegex("^/js/.*\\.js$");
+
+        assertFalse(matcher.matches("/path999"));
+        assertTrue(matcher.matches("/path999/foo"));
+        assertFalse(matcher.matches("/branch999"));
+        assertFalse(matcher.matches("/branch999/"));
+        assertFalse(matcher.matches("/branch999/foo/bar"));
+        assertTrue(matcher.matches("/branch9999"));
+        assertTrue(matcher.matches("/branch999foo"));
+        assertFalse(matcher.matches("/page.html"));
+        assertFalse(matcher.matches("/js/app.js"));
+        assertTrue(matcher.matches("/js/app.css"));
+        assertTrue(matcher.matches("/"));
+        assertTrue(matcher.matches("foo"));
+    }
+
+    @Test
+    public void testBranchLikeRegex() {
+        final var matcher = new PathMatcher().excludeRegex("^/foo(/.*)?$").excludeRegex("^/bar$").excludeBranch("/");
+        assertFalse(matcher.matches("/foo/bar"));
+        assertFalse(matcher.matches("/bar"));
+        assertTrue(matcher.matches("/bar/foo"));
+        assertFalse(matcher.matches("/"));
+        assertFalse(matcher.matches("//foo"));
+        assertTrue(matcher.matches("/foo/bar\n"));
+    }
+
+    @Test
+    public void testRegexBackReferences() {
+        final var matcher = new PathMatcher().excludeRegex("^/(a|b)/\\1$").excludeRegex("^/(c)/(d)$");
+        assertFalse(matcher.matches("/a/a"));
+        assertTrue(matcher.matches("/a/b"));
+        assertFalse(matcher.matches("/c/d"));
+    }
+
+    @Test
+    public void testRegexNamedGroups() {
+        final var matcher = new PathMatcher().excludeRegex("^/(?<x>a)/b$").excludeRegex("^/(?<x>c)/d$")
+            .excludeRegex("^/(?<=/)e$").excludeRegex("^/f+$");
+        assertFalse(matcher.matches("/a/b"));
+        assertFalse(matcher.matches("/c/d"));
+        assertFalse(matcher.matches("/ff"));
+        assertTrue(matcher.matches("/a/d"));
+    }
+
+    @Test
+    public void testChangesAfterMatching() {
+        final var matcher = new PathMatcher().excludeBranch("/foo");
+        assertFalse(matcher.matches("/foo/bar"));
+        matcher.setExcludedPatterns(new HashSet<>());
+        assertTrue(matcher.matches("/foo/bar"));
+        matcher.excludePath("/foo/bar");
+        assertFalse(matcher.matches("/foo/bar"));
+    }
 }
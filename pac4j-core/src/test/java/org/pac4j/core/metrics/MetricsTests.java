@@ -0,0 +1,168 @@
+package org.pac4j.core.metrics;
+
+import org.junit.Test;
+import org.pac4j.core.authorization.authorizer.DefaultAuthorizers;
+import org.pac4j.core.authorization.authorizer.IsAnonymousAuthorizer;
+import org.pac4j.core.client.Clients;
+import org.pac4j.core.client.MockDirectClient;
+import org.pac4j.core.config.Config;
+import org.pac4j.core.context.MockWebContext;
+import org.pac4j.core.context.session.MockSessionStore;
+import org.pac4j.core.credentials.MockCredentials;
+import org.pac4j.core.engine.DefaultSecurityLogic;
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.matching.matcher.DefaultMatchers;
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.core.util.TestsConstants;
+import org.pac4j.core.util.TestsHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link Metrics}.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class MetricsTests implements TestsConstants {
+
+    private int nbCall;
+
+    @Test
+    public void testDisabledByDefault() {
+        final var config = new Config();
+        assertSame(NoOpMetricsRecorder.INSTANCE, config.getMetricsRecorder());
+        assertFalse(Metrics.isEnabled(config.getMetricsRecorder()));
+        assertFalse(Metrics.isEnabled(null));
+        assertEquals(Metrics.NOT_STARTED, Metrics.start(config.getMetricsRecorder()));
+        assertEquals(Metrics.NOT_STARTED, Metrics.start(null));
+    }
+
+    @Test
+    public void testNullRecorder() {
+        TestsHelper.expectException(() -> new Config().setMetricsRecorder(null), TechnicalException.class,
+            "metricsRecorder cannot be null");
+    }
+
+    @Test
+    public void testNoRecordWhenDisabled() {
+        final var recorder = new RecordingMetricsRecorder();
+        final var config = buildConfig();
+        config.setMetricsRecorder(recorder);
+        config.setMetricsRecorder(NoOpMetricsRecorder.INSTANCE);
+        perform(config, DefaultAuthorizers.IS_AUTHENTICATED);
+        assertEquals(1, nbCall);
+        assertTrue(recorder.timers.isEmpty());
+        assertTrue(recorder.counters.isEmpty());
+    }
+
+    @Test
+    public void testSecurityGranted() {
+        final var recorder = new RecordingMetricsRecorder();
+        final var config = buildConfig();
+        config.setMetricsRecorder(recorder);
+        perform(config, DefaultAuthorizers.IS_AUTHENTICATED);
+        assertEquals(1, nbCall);
+        assertTrue(recorder.timers.contains(Metrics.CLIENT_CREDENTIALS + ":" + NAME));
+        assertTrue(recorder.timers.contains(Metrics.CLIENT_VALIDATION + ":" + NAME));
+        assertTrue(recorder.timers.contains(Metrics.CLIENT_PROFILE + ":" + NAME));
+        assertTrue(recorder.timers.contains(Metrics.AUTHORIZER + ":IsAuthenticatedAuthorizer"));
+        assertTrue(recorder.timers.contains(Metrics.SECURITY_LOGIC + ":" + Metrics.GRANTED));
+        assertTrue(recorder.counters.isEmpty());
+    }
+
+    @Test
+    public void testSecurityDenied() {
+        final var recorder = new RecordingMetricsRecorder();
+        final var config = buildConfig();
+        config.setMetricsRecorder(recorder);
+        perform(config, DefaultAuthorizers.IS_ANONYMOUS);
+        assertEquals(0, nbCall);
+        assertTrue(recorder.timers.contains(Metrics.AUTHORIZER + ":" + IsAnonymousAuthorizer.class.getSimpleName()));
+        assertTrue(recorder.counters.contains(Metrics.AUTHORIZER_DENIED + ":" + IsAnonymousAuthorizer.class.getSimpleName()));
+        assertTrue(recorder.timers.contains(Metrics.SECURITY_LOGIC + ":" + Metrics.ACTION));
+        assertFalse(recorder.timers.contains(Metrics.SECURITY_LOGIC + ":" + Metrics.GRANTED));
+    }
+
+    @Test
+    public void testRecordersPerConfig() {
+        final var recorder = new RecordingMetricsRecorder();
+        final var config = buildConfig();
+        config.setMetricsRecorder(recorder);
+        perform(buildConfig(), DefaultAuthorizers.IS_AUTHENTICATED);
+        assertEquals(1, nbCall);
+        assertTrue(recorder.timers.isEmpty());
+    }
+
+    @Test
+    public void testClientsAddedAfterTheRecorder() {
+        final var recorder = new RecordingMetricsRecorder();
+        final var config = new Config();
+        config.setMetricsRecorder(recorder);
+        config.setClients(buildConfig().getClients());
+        final var client = (MockDirectClient) config.getClients().getClients().get(0);
+        assertSame(recorder, client.getMetricsRecorder());
+
+        final var otherRecorder = new RecordingMetricsRecorder();
+        config.setMetricsRecorder(otherRecorder);
+        assertSame(otherRecorder, client.getMetricsRecorder());
+    }
+
+    @Test
+    public void testAnonymousClassTag() {
+        final var anonymous = new Object() {};
+        assertEquals(anonymous.getClass().getName(), Metrics.tagOf(anonymous.getClass()));
+        assertEquals("MetricsTests", Metrics.tagOf(MetricsTests.class));
+    }
+
+    @Test
+    public void testJfrRecorder() {
+        final var recorder = new JfrMetricsRecorder(10, TimeUnit.MILLISECONDS);
+        assertEquals(10_000_000L, recorder.getThreshold(TimeUnit.NANOSECONDS));
+        final var config = buildConfig();
+        config.setMetricsRecorder(recorder);
+        perform(config, DefaultAuthorizers.IS_AUTHENTICATED);
+        assertEquals(1, nbCall);
+        recorder.recordTime(Metrics.HTTP_REQUEST, "localhost", TimeUnit.MILLISECONDS.toNanos(20));
+        recorder.increment(Metrics.HTTP_RETRY, "localhost");
+    }
+
+    private static Config buildConfig() {
+        final var profile = new CommonProfile();
+        profile.setId(ID);
+        final var client = new MockDirectClient(NAME, Optional.of(new MockCredentials()), profile);
+        return new Config(new Clients(client));
+    }
+
+    private void perform(final Config config, final String authorizers) {
+        new DefaultSecurityLogic().perform(MockWebContext.create(), new MockSessionStore(), config,
+            (ctx, store, profiles, parameters) -> { nbCall++; return null; }, (action, ctx) -> null, NAME, authorizers,
+            DefaultMatchers.NONE);
+    }
+
+    /**
+     * A recorder collecting the names and tags of the metrics.
+     */
+    private static final class RecordingMetricsRecorder implements MetricsRecorder {
+
+        private final List<String> timers = new ArrayList<>();
+
+        private final List<String> counters = new ArrayList<>();
+
+        @Override
+        public void recordTime(final String name, final String tag, final long durationNanos) {
+            assertTrue(durationNanos >= 0);
+            timers.add(name + ":" + tag);
+        }
+
+        @Override
+        public void increment(final String name, final String tag) {
+            counters.add(name + ":" + tag);
+        }
+    }
+}
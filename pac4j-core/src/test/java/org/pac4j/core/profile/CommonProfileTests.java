@@ -9,7 +9,9 @@ import org.pac4j.core.util.TestsHelper;
 
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.Assert.*;
 
@@ -122,6 +124,37 @@ public final class CommonProfileTests implements TestsConstants {
         assertTrue(profile.getPermissions().contains(PERMISSION));
     }
 
+    @Test
+    public void testViews() {
+        final var profile = new CommonProfile();
+        final var attributes = profile.getAttributesView();
+        final var roles = profile.getRolesView();
+        final var permissions = profile.getPermissionsView();
+        assertSame(roles, profile.getRolesView());
+        profile.addAttribute(KEY, VALUE);
+        profile.addRole(ROLE1);
+        profile.addPermission(PERMISSION);
+        assertEquals(VALUE, attributes.get(KEY));
+        assertTrue(roles.contains(ROLE1));
+        assertTrue(permissions.contains(PERMISSION));
+        TestsHelper.expectException(() -> roles.add(ROLE1));
+        TestsHelper.expectException(() -> attributes.put(KEY, VALUE));
+
+        profile.setRoles(new HashSet<>(Arrays.asList(NAME)));
+        assertEquals(Set.of(NAME), profile.getRolesView());
+    }
+
+    @Test
+    public void testViewsAfterDeserialization() {
+        final var profile = new CommonProfile();
+        profile.addRole(ROLE1);
+        profile.getRolesView();
+        final var helper = new JavaSerializer();
+        final var profile2 = (CommonProfile) helper.deserializeFromString(helper.serializeToString(profile));
+        profile2.addRole(NAME);
+        assertEquals(Set.of(ROLE1, NAME), profile2.getRolesView());
+    }
+
     @Test
     public void testRme() {
         final var profile = new CommonProfile();
@@ -190,4 +223,23 @@ public final class CommonProfileTests implements TestsConstants {
         profile.setLinkedId(null);
         assertNull(profile.getLinkedId());
     }
+
+    @Test
+    public void testSetRolesCopiesTheSet() {
+        final var profile = new CommonProfile();
+        final Set<String> roles = new HashSet<>();
+        roles.add(VALUE);
+        profile.setRoles(roles);
+        final var modificationCount = profile.getModificationCount();
+        profile.addGrantedAuthorization(KEY, modificationCount);
+        assertTrue(profile.isAuthorizationGranted(KEY));
+
+        roles.add(NAME);
+        assertEquals(1, profile.getRoles().size());
+        assertEquals(modificationCount, profile.getModificationCount());
+        assertTrue(profile.isAuthorizationGranted(KEY));
+
+        profile.addRole(NAME);
+        assertFalse(profile.isAuthorizationGranted(KEY));
+    }
 }
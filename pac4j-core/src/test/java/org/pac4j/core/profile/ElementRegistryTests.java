@@ -0,0 +1,131 @@
+package org.pac4j.core.profile;
+
+import org.junit.Test;
+import org.pac4j.core.util.TestsConstants;
+import org.pac4j.core.util.TestsHelper;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link ElementRegistry}.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class ElementRegistryTests implements TestsConstants {
+
+    @Test
+    public void testDisabled() {
+        final var registry = new ElementRegistry(NAME);
+        assertEquals(-1, registry.getId(VALUE));
+        assertNull(registry.toBitSet(Arrays.asList(VALUE)));
+        final Set<String> elements = new HashSet<>(Arrays.asList(VALUE));
+        final var copy = registry.internAll(elements);
+        assertNotSame(elements, copy);
+        assertEquals(elements, copy);
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void testIds() {
+        final var registry = new ElementRegistry(NAME);
+        registry.setEnabled(true);
+        final var id = registry.getId(VALUE);
+        final var id2 = registry.getId(KEY);
+        assertNotEquals(id, id2);
+        assertEquals(id, registry.getId(VALUE));
+        final var bitSet = registry.toBitSet(Arrays.asList(VALUE, KEY));
+        assertTrue(bitSet.get(id));
+        assertTrue(bitSet.get(id2));
+        assertEquals(2, bitSet.cardinality());
+        assertNull(registry.toBitSet(Arrays.asList(VALUE, 1)));
+        assertTrue(registry.toBitSet(null).isEmpty());
+    }
+
+    @Test
+    public void testIntern() {
+        final var registry = new ElementRegistry(NAME);
+        registry.setEnabled(true);
+        final var value = registry.intern(new String(VALUE.toCharArray()));
+        assertSame(value, registry.intern(new String(VALUE.toCharArray())));
+        assertSame(value, registry.internAll(new HashSet<>(Arrays.asList(new String(VALUE.toCharArray())))).iterator().next());
+    }
+
+    @Test
+    public void testInternAllKeepsOrder() {
+        final var registry = new ElementRegistry(NAME);
+        final Set<String> elements = new LinkedHashSet<>(Arrays.asList(VALUE, KEY, NAME, ID, SECRET));
+        assertEquals(Arrays.asList(VALUE, KEY, NAME, ID, SECRET), Arrays.asList(registry.internAll(elements).toArray()));
+        registry.setEnabled(true);
+        assertEquals(Arrays.asList(VALUE, KEY, NAME, ID, SECRET), Arrays.asList(registry.internAll(elements).toArray()));
+    }
+
+    @Test
+    public void testMaxSize() {
+        final var registry = new ElementRegistry(NAME);
+        registry.setEnabled(true);
+        registry.setMaxSize(1);
+        assertEquals(0, registry.getId(VALUE));
+        assertEquals(-1, registry.getId(KEY));
+        assertNull(registry.toBitSet(Arrays.asList(VALUE, KEY)));
+        assertEquals(KEY, registry.intern(KEY));
+        TestsHelper.expectException(() -> registry.setMaxSize(0));
+    }
+
+    @Test
+    public void testContainsAll() {
+        final var bitSet = new BitSet();
+        bitSet.set(1);
+        bitSet.set(3);
+        final var subset = new BitSet();
+        assertTrue(ElementRegistry.containsAll(bitSet, subset));
+        subset.set(3);
+        assertTrue(ElementRegistry.containsAll(bitSet, subset));
+        subset.set(2);
+        assertFalse(ElementRegistry.containsAll(bitSet, subset));
+    }
+
+    @Test
+    public void testProfileIds() {
+        ElementRegistry.ROLES.setEnabled(true);
+        try {
+            final var profile = new CommonProfile();
+            assertTrue(profile.getRoleIds().isEmpty());
+            profile.addRole(NAME);
+            assertTrue(profile.getRoleIds().get(ElementRegistry.ROLES.getId(NAME)));
+            profile.setRoles(new HashSet<>(Arrays.asList(VALUE)));
+            assertFalse(profile.getRoleIds().get(ElementRegistry.ROLES.getId(NAME)));
+            assertTrue(profile.getRoleIds().get(ElementRegistry.ROLES.getId(VALUE)));
+            assertNull(profile.getPermissionIds());
+        } finally {
+            ElementRegistry.ROLES.setEnabled(false);
+        }
+    }
+
+    @Test
+    public void testProfileIdsWhenRegistryFull() {
+        final var maxSize = ElementRegistry.ROLES.getMaxSize();
+        ElementRegistry.ROLES.setEnabled(true);
+        try {
+            ElementRegistry.ROLES.getId(NAME);
+            ElementRegistry.ROLES.setMaxSize(ElementRegistry.ROLES.size());
+            final var profile = new CommonProfile();
+            profile.addRole(getClass().getName() + VALUE);
+            assertNull(profile.getRoleIds());
+            // the unavailable identifiers are cached until the roles change
+            ElementRegistry.ROLES.setMaxSize(maxSize);
+            assertNull(profile.getRoleIds());
+            profile.addRole(NAME);
+            assertEquals(2, profile.getRoleIds().cardinality());
+        } finally {
+            ElementRegistry.ROLES.setMaxSize(maxSize);
+            ElementRegistry.ROLES.setEnabled(false);
+        }
+    }
+}
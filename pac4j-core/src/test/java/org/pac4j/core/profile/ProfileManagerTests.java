@@ -273,4 +273,40 @@ public final class ProfileManagerTests {
         assertEquals(AnonymousProfile.INSTANCE, profileManager.getProfiles().get(0));
         assertFalse(profileManager.isAuthenticated());
     }
+
+    @Test
+    public void testSaveUnchangedProfileSkipsSessionWrite() {
+        profileManager.save(true, profile1, true);
+
+        final var spiedSessionStore = spy(sessionStore);
+        final var manager = new ProfileManager(context, spiedSessionStore);
+        final var skippedWrites = ProfileManager.getSkippedSessionWrites();
+        manager.save(true, profile1, true);
+        verify(spiedSessionStore, never()).set(any(), eq(Pac4jConstants.USER_PROFILES), any());
+        assertEquals(skippedWrites + 1, ProfileManager.getSkippedSessionWrites());
+        assertEquals(profile1, manager.getProfile().get());
+    }
+
+    @Test
+    public void testSaveModifiedProfileWritesSession() {
+        profileManager.save(true, profile1, true);
+        assertFalse(profile1.isModified());
+        profile1.addRole(CLIENT2);
+        assertTrue(profile1.isModified());
+
+        final var spiedSessionStore = spy(sessionStore);
+        new ProfileManager(context, spiedSessionStore).save(true, profile1, true);
+        verify(spiedSessionStore).set(any(), eq(Pac4jConstants.USER_PROFILES), any());
+        assertFalse(profile1.isModified());
+    }
+
+    @Test
+    public void testSaveOtherProfileWritesSession() {
+        profileManager.save(true, profile1, true);
+
+        final var spiedSessionStore = spy(sessionStore);
+        new ProfileManager(context, spiedSessionStore).save(true, profile3, true);
+        verify(spiedSessionStore).set(any(), eq(Pac4jConstants.USER_PROFILES), any());
+        assertEquals(profile3, profileManager.getProfile().get());
+    }
 }
@@ -2,6 +2,7 @@ package org.pac4j.core.profile.converter;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.Locale;
 
 import org.junit.Test;
 
@@ -44,4 +45,63 @@ public final class DateConverterTests {
     public void testBadDate() {
         assertNull(this.converter.convert(BAD_DATE));
     }
+
+    @Test
+    public void testSameResultsAsSimpleDateFormat() throws Exception {
+        assertSameDate("yyyy.MM.dd", null, "2012.13.32");
+        assertSameDate("yyyy.MM.dd", null, "2012.1.5");
+        assertSameDate("yyyy.MM.dd", null, "2012.01.01 and some text");
+        assertSameDate("MM/dd", null, "12/25");
+        assertSameDate("yy-MM-dd", null, "12-01-01");
+        assertSameDate("dd.MM.yyyy HH:mm:ss", null, "01.02.2012 25:61:00");
+        assertSameDate("EEE MMM dd HH:mm:ss Z yyyy", Locale.US, "Wed Aug 27 13:08:45 +0000 2008");
+        assertSameDate("EEE MMM dd HH:mm:ss Z yyyy", Locale.US, "mon august 27 13:08:45 +0200 2008");
+        assertSameDate(Converters.DATE_TZ_RFC822_FORMAT, null, "2012-01-01T10:00:00Z");
+        assertSameDate(Converters.DATE_TZ_GENERAL_FORMAT, null, "2012-01-01T10:00:00PST");
+        assertSameDate("yyyy-MM-dd hh:mm a", Locale.US, "2012-01-01 10:30 PM");
+    }
+
+    private static void assertSameDate(final String format, final Locale locale, final String value) throws Exception {
+        final var simpleDateFormat = locale == null ? new SimpleDateFormat(format) : new SimpleDateFormat(format, locale);
+        assertEquals(simpleDateFormat.parse(value), new DateConverter(format, locale).convert(value));
+    }
+
+    @Test
+    public void testIsoDates() {
+        final var isoConverter = new DateConverter();
+        assertEquals(new Date(1_600_000_000_000L), isoConverter.convert("2020-09-13T12:26:40Z"));
+        assertEquals(new Date(1_600_000_000_000L), isoConverter.convert("2020-09-13T14:26:40+02:00"));
+        assertNull(converter.convert("2020-09-13T14:26:40+02:00"));
+        assertNotNull(isoConverter.convert("2020-09-13T12:26:40"));
+        assertNotNull(isoConverter.convert("2020-09-13"));
+        assertNull(isoConverter.convert("2020-09-13T"));
+    }
+
+    @Test
+    public void testEpochValues() {
+        final var epochConverter = new DateConverter(DateConverter.EPOCH_FORMAT);
+        assertEquals(new Date(1_600_000_000_000L), epochConverter.convert("1600000000"));
+        assertEquals(new Date(1_600_000_000_123L), epochConverter.convert("1600000000123"));
+        assertEquals(new Date(1_600_000_000_000L), new DateConverter().convert("1600000000"));
+        assertEquals(new Date(1_600_000_000_000L), converter.convert(1_600_000_000L));
+        assertEquals(new Date(1_600_000_000_123L), converter.convert(1_600_000_000_123L));
+        assertNull(epochConverter.convert("16000000001234567890"));
+        assertNull(epochConverter.convert("2020-09-13"));
+    }
+
+    @Test
+    public void testDigitsNotMatchingTheFormat() {
+        assertNull(converter.convert("20231015"));
+        assertNull(converter.convert("1600000000"));
+    }
+
+    @Test
+    public void testJavaTimeCompatibility() {
+        assertTrue(DateConverter.isJavaTimeCompatible("yyyy-MM-dd'T'HH:mm:ss'Z'"));
+        assertTrue(DateConverter.isJavaTimeCompatible("EEE MMM dd HH:mm:ss Z yyyy"));
+        assertFalse(DateConverter.isJavaTimeCompatible("yy-MM-dd"));
+        assertFalse(DateConverter.isJavaTimeCompatible("yyyy-MM-dd'T'HH:mm:ssz"));
+        assertFalse(DateConverter.isJavaTimeCompatible("yyyy-MM-dd HH:mm:ss.SSS"));
+        assertFalse(DateConverter.isJavaTimeCompatible("[yyyy]"));
+    }
 }
@@ -5,6 +5,11 @@ import org.pac4j.core.exception.TechnicalException;
 import org.pac4j.core.util.TestsConstants;
 import org.pac4j.core.util.TestsHelper;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.Assert.*;
 
 /**
@@ -48,6 +53,46 @@ public abstract class AbstractStoreTests<S extends Store> implements TestsConsta
         assertFalse(store.get(KEY).isPresent());
     }
 
+    @Test
+    public void testSetIfAbsent() {
+        final var store = buildStore();
+        assertTrue(store.setIfAbsent(KEY, VALUE));
+        assertFalse(store.setIfAbsent(KEY, NAME));
+        assertEquals(VALUE, store.get(KEY).get());
+        store.remove(KEY);
+        assertTrue(store.setIfAbsent(KEY, NAME));
+        assertEquals(NAME, store.get(KEY).get());
+    }
+
+    @Test
+    public void testSetIfAbsentConcurrently() throws Exception {
+        final var store = buildStore();
+        final var nbThreads = 8;
+        final var start = new CountDownLatch(1);
+        final var nbSet = new AtomicInteger();
+        final var executor = Executors.newFixedThreadPool(nbThreads);
+        try {
+            for (var i = 0; i < nbThreads; i++) {
+                final var value = VALUE + i;
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    if (store.setIfAbsent(KEY, value)) {
+                        nbSet.incrementAndGet();
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(1, nbSet.get());
+    }
+
     @Test
     public void testMissingObject() {
         final var store = buildStore();
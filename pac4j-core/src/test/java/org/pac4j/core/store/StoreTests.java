@@ -0,0 +1,73 @@
+package org.pac4j.core.store;
+
+import org.junit.Test;
+import org.pac4j.core.util.TestsConstants;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the default <code>setIfAbsent</code> operations of the {@link Store} and the {@link AbstractStore}.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class StoreTests implements TestsConstants {
+
+    @Test
+    public void testDefaultSetIfAbsent() {
+        final var map = new HashMap<String, String>();
+        final Store<String, String> store = new Store<>() {
+            @Override
+            public Optional<String> get(final String key) {
+                return Optional.ofNullable(map.get(key));
+            }
+
+            @Override
+            public void set(final String key, final String value) {
+                map.put(key, value);
+            }
+
+            @Override
+            public void remove(final String key) {
+                map.remove(key);
+            }
+        };
+        assertTrue(store.setIfAbsent(KEY, VALUE));
+        assertFalse(store.setIfAbsent(KEY, NAME));
+        assertFalse(store.setIfAbsent(KEY, NAME, Duration.ofMinutes(1)));
+        assertEquals(VALUE, map.get(KEY));
+    }
+
+    @Test
+    public void testDefaultAbstractSetIfAbsent() {
+        final var store = new MapStore();
+        assertTrue(store.setIfAbsent(KEY, VALUE, Duration.ofMinutes(1)));
+        assertFalse(store.setIfAbsent(KEY, NAME));
+        assertEquals(VALUE, store.get(KEY).get());
+    }
+
+    private static final class MapStore extends AbstractStore<String, String> {
+
+        private final Map<String, String> map = new HashMap<>();
+
+        @Override
+        protected Optional<String> internalGet(final String key) {
+            return Optional.ofNullable(map.get(key));
+        }
+
+        @Override
+        protected void internalSet(final String key, final String value) {
+            map.put(key, value);
+        }
+
+        @Override
+        protected void internalRemove(final String key) {
+            map.remove(key);
+        }
+    }
+}
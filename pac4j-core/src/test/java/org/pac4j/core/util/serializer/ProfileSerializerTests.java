@@ -0,0 +1,147 @@
+package org.pac4j.core.util.serializer;
+
+import org.junit.Test;
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.core.profile.UserProfile;
+import org.pac4j.core.util.TestsConstants;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link ProfileSerializer}.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class ProfileSerializerTests implements TestsConstants {
+
+    private final ProfileSerializer serializer = new ProfileSerializer();
+
+    private CommonProfile getUserProfile() {
+        final var profile = new CommonProfile();
+        profile.setId(ID);
+        profile.setClientName(MY_CLIENT_NAME);
+        profile.setLinkedId(KEY);
+        profile.setRemembered(true);
+        profile.addAttribute(NAME, VALUE);
+        profile.addAttribute("int", 12);
+        profile.addAttribute("long", -1234567890123L);
+        profile.addAttribute("double", 1.5d);
+        profile.addAttribute("boolean", false);
+        profile.addAttribute("date", new Date(1_600_000_000_000L));
+        profile.addAttribute("uri", java.net.URI.create(CALLBACK_URL));
+        profile.addAttribute("list", new ArrayList<>(Arrays.asList(VALUE, 1)));
+        profile.addAttribute("map", Map.of(KEY, VALUE));
+        profile.addAttribute("locale", Locale.FRANCE);
+        profile.addAuthenticationAttribute(KEY, VALUE);
+        profile.addRole(NAME);
+        profile.addPermission(VALUE);
+        return profile;
+    }
+
+    @Test
+    public void testProfile() {
+        final var profile = getUserProfile();
+        final var profile2 = (CommonProfile) serializer.deserializeFromBytes(serializer.serializeToBytes(profile));
+        assertEquals(ID, profile2.getId());
+        assertEquals(MY_CLIENT_NAME, profile2.getClientName());
+        assertEquals(KEY, profile2.getLinkedId());
+        assertTrue(profile2.isRemembered());
+        assertEquals(profile.getAttributes(), profile2.getAttributes());
+        assertEquals(profile.getAuthenticationAttributes(), profile2.getAuthenticationAttributes());
+        assertEquals(Set.of(NAME), profile2.getRoles());
+        assertEquals(Set.of(VALUE), profile2.getPermissions());
+        assertFalse(profile2.isModified());
+    }
+
+    @Test
+    public void testSessionProfiles() {
+        final var profiles = new LinkedHashMap<String, UserProfile>();
+        profiles.put(MY_CLIENT_NAME, getUserProfile());
+        final var other = new CommonProfile();
+        other.setId(VALUE);
+        profiles.put(KEY, other);
+        final var encoded = serializer.serializeToString(profiles);
+        final var profiles2 = (Map<String, UserProfile>) serializer.deserializeFromString(encoded);
+        assertEquals(List.of(MY_CLIENT_NAME, KEY), List.copyOf(profiles2.keySet()));
+        assertEquals(ID, profiles2.get(MY_CLIENT_NAME).getId());
+        assertEquals(VALUE, profiles2.get(KEY).getId());
+    }
+
+    @Test
+    public void testSmallerThanJavaSerialization() {
+        final var profile = getUserProfile();
+        assertTrue(serializer.serializeToBytes(profile).length * 2 < new JavaSerializer().serializeToBytes(profile).length);
+    }
+
+    @Test
+    public void testJavaSerializedData() {
+        final var profile = getUserProfile();
+        final var profile2 = (CommonProfile) serializer.deserializeFromBytes(new JavaSerializer().serializeToBytes(profile));
+        assertEquals(ID, profile2.getId());
+    }
+
+    @Test
+    public void testUntrustedProfileClass() {
+        final var javaSerializer = new JavaSerializer();
+        javaSerializer.clearTrustedPackages();
+        final var untrusted = new ProfileSerializer(javaSerializer);
+        assertNull(untrusted.deserializeFromBytes(serializer.serializeToBytes(getUserProfile())));
+
+        javaSerializer.addTrustedClass(CommonProfile.class);
+        javaSerializer.addTrustedPackage("java.");
+        assertNotNull(untrusted.deserializeFromBytes(serializer.serializeToBytes(getUserProfile())));
+    }
+
+    @Test
+    public void testCorruptedData() {
+        final var bytes = serializer.serializeToBytes(getUserProfile());
+        assertNull(serializer.deserializeFromBytes(Arrays.copyOf(bytes, bytes.length / 2)));
+        bytes[1] = 99;
+        assertNull(serializer.deserializeFromBytes(bytes));
+    }
+
+    @Test
+    public void testMalformedProfileField() {
+        final var profile = new CommonProfile();
+        profile.setId("abc");
+        final var bytes = serializer.serializeToBytes(profile);
+        // the identifier is the last field: turn its string tag into an integer one
+        assertEquals(6, bytes[bytes.length - 5]);
+        bytes[bytes.length - 5] = 3;
+        assertNull(serializer.deserializeFromBytes(bytes));
+    }
+
+    @Test
+    public void testMalformedAttributes() {
+        final var profile = new CommonProfile();
+        profile.addAttribute(KEY, VALUE);
+        final var bytes = serializer.serializeToBytes(profile);
+        // the attributes are the last field: turn the map tag into a list one
+        final var index = bytes.length - (2 + KEY.length() + 2 + VALUE.length()) - 2;
+        assertEquals(12, bytes[index]);
+        bytes[index] = 10;
+        assertNull(serializer.deserializeFromBytes(bytes));
+    }
+
+    @Test
+    public void testPrefixTrie() {
+        final var trie = PrefixTrie.of(Arrays.asList("java.", "org.pac4j.", "org.pac4j.core.", "[B"));
+        assertTrue(trie.matches("java.util.HashMap"));
+        assertTrue(trie.matches("org.pac4j.core.profile.CommonProfile"));
+        assertTrue(trie.matches("[B"));
+        assertFalse(trie.matches("java"));
+        assertFalse(trie.matches("org.apache.Foo"));
+        assertFalse(trie.matches(null));
+        assertFalse(PrefixTrie.of(null).matches("java.util.HashMap"));
+    }
+}
@@ -0,0 +1,53 @@
+package org.pac4j.http.authorization.authorizer;
+
+import org.pac4j.core.authorization.authorizer.Authorizer;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.context.session.SessionStore;
+import org.pac4j.core.profile.UserProfile;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.http.util.IpRangeSet;
+
+import java.util.List;
+
+/**
+ * Authorizes users based on their IP and a set of IPv4/IPv6 ranges (CIDR notation).
+ * The ranges are only re-read (from their file) when {@link IpRangeSet#reload()} is called.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public class IpRangeAuthorizer implements Authorizer {
+
+    private IpRangeSet ranges = new IpRangeSet();
+
+    public IpRangeAuthorizer() { }
+
+    public IpRangeAuthorizer(final String... ranges) {
+        this.ranges.setRanges(ranges);
+    }
+
+    public IpRangeAuthorizer(final IpRangeSet ranges) {
+        this.ranges = ranges;
+    }
+
+    @Override
+    public boolean isAuthorized(final WebContext context, final SessionStore sessionStore, final List<UserProfile> profiles) {
+        CommonHelper.assertNotNull("ranges", ranges);
+        CommonHelper.assertTrue(!ranges.isEmpty(), "ranges cannot be empty");
+
+        return ranges.contains(context.getRemoteAddr());
+    }
+
+    public IpRangeSet getRanges() {
+        return ranges;
+    }
+
+    public void setRanges(final IpRangeSet ranges) {
+        this.ranges = ranges;
+    }
+
+    @Override
+    public String toString() {
+        return CommonHelper.toNiceString(this.getClass(), "ranges", ranges);
+    }
+}
@@ -8,16 +8,19 @@ import org.pac4j.core.credentials.Credentials;
 import org.pac4j.core.credentials.authenticator.Authenticator;
 import org.pac4j.core.profile.creator.ProfileCreator;
 import org.pac4j.core.util.CommonHelper;
-import org.pac4j.http.credentials.CredentialUtil;
+import org.pac4j.http.credentials.DigestCredentials;
+import org.pac4j.http.credentials.DigestNonceService;
 import org.pac4j.http.credentials.extractor.DigestAuthExtractor;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.Optional;
 
 /**
  * <p>This class is the client to authenticate users directly through HTTP digest auth.</p>
  * <p>Add the <code>commons-codec</code> dependency to use this class.</p>
+ * <p>The nonces are issued by the {@link DigestNonceService}. The nonce verification is enabled by default: the nonces not issued
+ * by the service, expired (the client is then asked to retry with <code>stale=true</code>) or replayed are rejected.</p>
+ * <p>In a cluster, the same {@link DigestNonceService#setSecret(String) secret} must be defined on all the nodes,
+ * otherwise the nonces issued by one node are rejected by the others. The nonce counts are tracked per node.</p>
  *
  * @author Mircea Carasel
  * @since 1.9.0
@@ -26,6 +29,10 @@ public class DirectDigestAuthClient extends DirectClient {
 
     private String realm = "pac4jRealm";
 
+    private DigestNonceService nonceService;
+
+    private boolean nonceVerification = true;
+
     public DirectDigestAuthClient() {
     }
 
@@ -42,6 +49,13 @@ public class DirectDigestAuthClient extends DirectClient {
     @Override
     protected void internalInit(final boolean forceReinit) {
         defaultCredentialsExtractor(new DigestAuthExtractor());
+        if (nonceService == null) {
+            nonceService = new DigestNonceService();
+        }
+        if (nonceVerification && CommonHelper.isBlank(nonceService.getSecret())) {
+            logger.info("No secret defined for the digest nonces of client: {}: a random one is used, which only works on one node",
+                getName());
+        }
     }
 
     /** Per RFC 2617
@@ -52,22 +66,38 @@ public class DirectDigestAuthClient extends DirectClient {
     @Override
     protected Optional<Credentials> retrieveCredentials(final WebContext context, final SessionStore sessionStore) {
         // set the www-authenticate in case of error
-        final var nonce = calculateNonce();
-        context.setResponseHeader(HttpConstants.AUTHENTICATE_HEADER, "Digest realm=\"" + realm + "\", qop=\"auth\", nonce=\""
-            + nonce + "\"");
+        setAuthenticateHeader(context, false);
 
-        return super.retrieveCredentials(context, sessionStore);
+        final var credentials = super.retrieveCredentials(context, sessionStore);
+        if (nonceVerification && credentials.isPresent()) {
+            final var digestCredentials = (DigestCredentials) credentials.get();
+            final DigestNonceService.Status status;
+            if (digestCredentials.getQop() == null) {
+                status = nonceService.verifyNonce(digestCredentials.getNonce());
+            } else {
+                status = nonceService.verifyNonce(digestCredentials.getNonce(), digestCredentials.getNc());
+            }
+            if (status != DigestNonceService.Status.VALID) {
+                logger.debug("Digest nonce rejected: {}", status);
+                if (status == DigestNonceService.Status.STALE) {
+                    setAuthenticateHeader(context, true);
+                }
+                return Optional.empty();
+            }
+        }
+        return credentials;
     }
 
     /**
-     * A server-specified data string which should be uniquely generated each time a 401 response is made (RFC 2617)
-     * Based on current time including nanoseconds
+     * Set the WWW-Authenticate header with a new nonce: a server-specified data string which should be uniquely generated
+     * each time a 401 response is made (RFC 2617).
+     *
+     * @param context the web context
+     * @param stale whether the received nonce was stale
      */
-    private String calculateNonce() {
-        var time = LocalDateTime.now();
-        var formatter = DateTimeFormatter.ofPattern("yyyy:MM:dd:HH:mm:ss.SSS");
-        var fmtTime = formatter.format(time);
-        return CredentialUtil.encryptMD5(fmtTime + CommonHelper.randomString(10));
+    protected void setAuthenticateHeader(final WebContext context, final boolean stale) {
+        context.setResponseHeader(HttpConstants.AUTHENTICATE_HEADER, "Digest realm=\"" + realm + "\", qop=\"auth\", nonce=\""
+            + nonceService.generateNonce() + "\"" + (stale ? ", stale=true" : ""));
     }
 
     public String getRealm() {
@@ -78,9 +108,26 @@ public class DirectDigestAuthClient extends DirectClient {
         this.realm = realm;
     }
 
+    public DigestNonceService getNonceService() {
+        return nonceService;
+    }
+
+    public void setNonceService(final DigestNonceService nonceService) {
+        this.nonceService = nonceService;
+    }
+
+    public boolean isNonceVerification() {
+        return nonceVerification;
+    }
+
+    public void setNonceVerification(final boolean nonceVerification) {
+        this.nonceVerification = nonceVerification;
+    }
+
     @Override
     public String toString() {
         return CommonHelper.toNiceString(this.getClass(), "name", getName(), "realm", this.realm, "extractor", getCredentialsExtractor(),
-                "authenticator", getAuthenticator(), "profileCreator", getProfileCreator());
+                "authenticator", getAuthenticator(), "profileCreator", getProfileCreator(), "nonceService", nonceService,
+                "nonceVerification", nonceVerification);
     }
 }
@@ -105,6 +105,18 @@ public class DigestCredentials extends TokenCredentials {
         return username;
     }
 
+    public String getNonce() {
+        return nonce;
+    }
+
+    public String getNc() {
+        return nc;
+    }
+
+    public String getQop() {
+        return qop;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
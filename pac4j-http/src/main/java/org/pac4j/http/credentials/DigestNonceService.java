@@ -0,0 +1,323 @@
+package org.pac4j.http.credentials;
+
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.core.util.InitializableObject;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Issues and verifies the nonces of the HTTP digest authentication.
+ *
+ * <p>A nonce is the timestamp of its creation and some random bytes, signed with HMAC-SHA256: it can be verified
+ * without any server-side state, by any node sharing the same {@link #getSecret()}. If no secret is defined,
+ * a random one is generated at initialization.</p>
+ *
+ * <p>The nonce counts (<code>nc</code>) already received are tracked per nonce in a sliding window (like the IPsec
+ * anti-replay window), so that requests received slightly out of order are accepted but replays are not.
+ * Only the last {@link #getMaxTrackedNonces()} nonces are tracked. When the counts of a nonce are evicted, the untracked nonces
+ * issued up to that one are considered stale, so that their counts cannot be replayed: the client retries with a new nonce.</p>
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public class DigestNonceService extends InitializableObject {
+
+    /**
+     * The result of a nonce verification.
+     */
+    public enum Status {
+        /** the nonce is valid and its count has not been used yet */
+        VALID,
+        /** the nonce is correctly signed, but expired: the client should retry with a new one */
+        STALE,
+        /** the nonce has not been issued by this service */
+        INVALID,
+        /** the nonce count has already been used (or is too old) */
+        REPLAYED
+    }
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private static final int TIMESTAMP_LENGTH = 8;
+
+    private static final int RANDOM_LENGTH = 8;
+
+    private static final int SIGNATURE_LENGTH = 16;
+
+    private static final int NONCE_LENGTH = TIMESTAMP_LENGTH + RANDOM_LENGTH + SIGNATURE_LENGTH;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private String secret;
+
+    private long maxAge = 300_000;
+
+    private int maxTrackedNonces = 10_000;
+
+    private int ncWindowSize = 64;
+
+    private SecretKeySpec key;
+
+    private ThreadLocal<Mac> macs;
+
+    private Map<String, NonceCounter> counters;
+
+    private Queue<NonceCounter> trackedCounters;
+
+    private final AtomicLong evictedUntil = new AtomicLong();
+
+    public DigestNonceService() {}
+
+    public DigestNonceService(final String secret) {
+        this.secret = secret;
+    }
+
+    @Override
+    protected void internalInit(final boolean forceReinit) {
+        CommonHelper.assertTrue(maxAge > 0, "maxAge must be greater than 0");
+        CommonHelper.assertTrue(maxTrackedNonces > 0, "maxTrackedNonces must be greater than 0");
+        CommonHelper.assertTrue(ncWindowSize > 0 && ncWindowSize <= Long.SIZE, "ncWindowSize must be between 1 and 64");
+
+        final byte[] secretBytes;
+        if (CommonHelper.isNotBlank(secret)) {
+            secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        } else {
+            secretBytes = new byte[32];
+            RANDOM.nextBytes(secretBytes);
+        }
+        key = new SecretKeySpec(secretBytes, HMAC_ALGORITHM);
+        macs = ThreadLocal.withInitial(this::newMac);
+
+        counters = new ConcurrentHashMap<>();
+        trackedCounters = new ConcurrentLinkedQueue<>();
+        evictedUntil.set(0);
+    }
+
+    private Mac newMac() {
+        try {
+            final var mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (final GeneralSecurityException e) {
+            throw new TechnicalException("Failed to instantiate the " + HMAC_ALGORITHM + " algorithm", e);
+        }
+    }
+
+    /**
+     * Generate a new nonce.
+     *
+     * @return the nonce
+     */
+    public String generateNonce() {
+        init();
+
+        final var buffer = ByteBuffer.allocate(NONCE_LENGTH);
+        buffer.putLong(System.currentTimeMillis());
+        final var random = new byte[RANDOM_LENGTH];
+        RANDOM.nextBytes(random);
+        buffer.put(random);
+        buffer.put(sign(buffer.array()));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * Verify a nonce, without its count.
+     *
+     * @param nonce the nonce
+     * @return {@link Status#VALID}, {@link Status#STALE} or {@link Status#INVALID}
+     */
+    public Status verifyNonce(final String nonce) {
+        init();
+
+        return verifyTimestamp(extractTimestamp(nonce));
+    }
+
+    private Status verifyTimestamp(final long timestamp) {
+        if (timestamp < 0) {
+            return Status.INVALID;
+        }
+        final var age = System.currentTimeMillis() - timestamp;
+        if (age < 0 || age > maxAge) {
+            return Status.STALE;
+        }
+        return Status.VALID;
+    }
+
+    private long extractTimestamp(final String nonce) {
+        if (nonce == null) {
+            return -1;
+        }
+        final byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(nonce);
+        } catch (final IllegalArgumentException e) {
+            return -1;
+        }
+        if (bytes.length != NONCE_LENGTH) {
+            return -1;
+        }
+        final var signature = new byte[SIGNATURE_LENGTH];
+        System.arraycopy(bytes, TIMESTAMP_LENGTH + RANDOM_LENGTH, signature, 0, SIGNATURE_LENGTH);
+        if (!MessageDigest.isEqual(signature, sign(bytes))) {
+            return -1;
+        }
+        return Math.max(ByteBuffer.wrap(bytes).getLong(), 0);
+    }
+
+    /**
+     * Verify a nonce and its count (hexadecimal, as sent in the digest authorization header) and record the count.
+     *
+     * @param nonce the nonce
+     * @param nc the nonce count
+     * @return the status of the verification
+     */
+    public Status verifyNonce(final String nonce, final String nc) {
+        init();
+
+        final var timestamp = extractTimestamp(nonce);
+        final var status = verifyTimestamp(timestamp);
+        if (status != Status.VALID) {
+            return status;
+        }
+        final long count;
+        try {
+            count = Long.parseLong(nc, 16);
+        } catch (final NumberFormatException e) {
+            return Status.INVALID;
+        }
+        if (count <= 0) {
+            return Status.INVALID;
+        }
+        var counter = counters.get(nonce);
+        if (counter == null) {
+            if (timestamp <= evictedUntil.get()) {
+                // its counts may have been evicted
+                return Status.STALE;
+            }
+            if (count > ncWindowSize) {
+                return Status.REPLAYED;
+            }
+            final var newCounter = new NonceCounter(nonce, timestamp);
+            counter = counters.putIfAbsent(nonce, newCounter);
+            if (counter == null) {
+                counter = newCounter;
+                trackedCounters.add(newCounter);
+                evictCounters();
+            }
+        }
+        return counter.record(count, ncWindowSize) ? Status.VALID : Status.REPLAYED;
+    }
+
+    private void evictCounters() {
+        while (counters.size() > maxTrackedNonces) {
+            final var eldest = trackedCounters.poll();
+            if (eldest == null) {
+                return;
+            }
+            counters.remove(eldest.nonce, eldest);
+            evictedUntil.accumulateAndGet(eldest.timestamp, Math::max);
+        }
+    }
+
+    private byte[] sign(final byte[] bytes) {
+        final var mac = macs.get();
+        mac.update(bytes, 0, TIMESTAMP_LENGTH + RANDOM_LENGTH);
+        final var signature = new byte[SIGNATURE_LENGTH];
+        System.arraycopy(mac.doFinal(), 0, signature, 0, SIGNATURE_LENGTH);
+        return signature;
+    }
+
+    public String getSecret() {
+        return secret;
+    }
+
+    public void setSecret(final String secret) {
+        this.secret = secret;
+    }
+
+    public long getMaxAge() {
+        return maxAge;
+    }
+
+    /**
+     * Define how long (in milliseconds) a nonce is valid.
+     *
+     * @param maxAge the max age
+     */
+    public void setMaxAge(final long maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    public int getMaxTrackedNonces() {
+        return maxTrackedNonces;
+    }
+
+    public void setMaxTrackedNonces(final int maxTrackedNonces) {
+        this.maxTrackedNonces = maxTrackedNonces;
+    }
+
+    public int getNcWindowSize() {
+        return ncWindowSize;
+    }
+
+    public void setNcWindowSize(final int ncWindowSize) {
+        this.ncWindowSize = ncWindowSize;
+    }
+
+    @Override
+    public String toString() {
+        return CommonHelper.toNiceString(this.getClass(), "secret", "[PROTECTED]", "maxAge", maxAge,
+            "maxTrackedNonces", maxTrackedNonces, "ncWindowSize", ncWindowSize);
+    }
+
+    /**
+     * The highest count received for a nonce and a bitmap of the counts received below it.
+     */
+    private static final class NonceCounter {
+
+        private final String nonce;
+
+        private final long timestamp;
+
+        private long highest;
+
+        private long window;
+
+        private NonceCounter(final String nonce, final long timestamp) {
+            this.nonce = nonce;
+            this.timestamp = timestamp;
+        }
+
+        private synchronized boolean record(final long count, final int windowSize) {
+            if (count > highest) {
+                final var shift = count - highest;
+                window = shift >= Long.SIZE ? 1L : (window << shift) | 1L;
+                highest = count;
+                return true;
+            }
+            final var offset = highest - count;
+            if (offset >= windowSize) {
+                return false;
+            }
+            final var bit = 1L << offset;
+            if ((window & bit) != 0) {
+                return false;
+            }
+            window |= bit;
+            return true;
+        }
+    }
+}
@@ -18,14 +18,28 @@ public class X509Credentials extends Credentials {
 
     private final X509Certificate certificate;
 
+    private final X509Certificate issuer;
+
     public X509Credentials(final X509Certificate certificate) {
+        this(certificate, null);
+    }
+
+    public X509Credentials(final X509Certificate certificate, final X509Certificate issuer) {
         this.certificate = certificate;
+        this.issuer = issuer;
     }
 
     public X509Certificate getCertificate() {
         return certificate;
     }
 
+    /**
+     * @return the certificate of the issuer, if presented in the client chain
+     */
+    public X509Certificate getIssuer() {
+        return issuer;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,76 @@
+package org.pac4j.http.credentials.authenticator;
+
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.context.session.SessionStore;
+import org.pac4j.core.credentials.Credentials;
+import org.pac4j.core.credentials.TokenCredentials;
+import org.pac4j.core.credentials.authenticator.Authenticator;
+import org.pac4j.core.exception.CredentialsException;
+import org.pac4j.core.profile.definition.CommonProfileDefinition;
+import org.pac4j.core.profile.definition.ProfileDefinitionAware;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.http.profile.IpProfile;
+import org.pac4j.http.util.IpRangeSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Authenticates users based on their IP and a set of IPv4/IPv6 ranges (CIDR notation).
+ * The ranges are only re-read (from their file) when {@link IpRangeSet#reload()} is called.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public class IpRangeAuthenticator extends ProfileDefinitionAware implements Authenticator {
+
+    private static final Logger logger = LoggerFactory.getLogger(IpRangeAuthenticator.class);
+
+    private IpRangeSet ranges = new IpRangeSet();
+
+    public IpRangeAuthenticator() { }
+
+    public IpRangeAuthenticator(final String... ranges) {
+        this.ranges.setRanges(ranges);
+    }
+
+    public IpRangeAuthenticator(final IpRangeSet ranges) {
+        this.ranges = ranges;
+    }
+
+    @Override
+    protected void internalInit(final boolean forceReinit) {
+        CommonHelper.assertNotNull("ranges", ranges);
+        CommonHelper.assertTrue(!ranges.isEmpty(), "ranges cannot be empty");
+        defaultProfileDefinition(new CommonProfileDefinition(x -> new IpProfile()));
+    }
+
+    @Override
+    public void validate(final Credentials credentials, final WebContext context, final SessionStore sessionStore) {
+        init();
+
+        final var ip = ((TokenCredentials) credentials).getToken();
+
+        if (!ranges.contains(ip)) {
+            throw new CredentialsException("Unauthorized IP address: " + ip);
+        }
+
+        final var profile = (IpProfile) getProfileDefinition().newProfile();
+        profile.setId(ip);
+        logger.debug("profile: {}", profile);
+
+        credentials.setUserProfile(profile);
+    }
+
+    public IpRangeSet getRanges() {
+        return ranges;
+    }
+
+    public void setRanges(final IpRangeSet ranges) {
+        this.ranges = ranges;
+    }
+
+    @Override
+    public String toString() {
+        return CommonHelper.toNiceString(this.getClass(), "ranges", ranges);
+    }
+}
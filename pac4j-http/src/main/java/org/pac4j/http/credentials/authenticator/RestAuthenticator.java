@@ -10,6 +10,8 @@ import org.pac4j.core.credentials.Credentials;
 import org.pac4j.core.credentials.UsernamePasswordCredentials;
 import org.pac4j.core.credentials.authenticator.Authenticator;
 import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.http.client.DefaultHttpClientFactory;
+import org.pac4j.core.http.client.HttpClientFactory;
 import org.pac4j.core.profile.definition.CommonProfileDefinition;
 import org.pac4j.core.profile.definition.ProfileDefinitionAware;
 import org.pac4j.core.util.CommonHelper;
@@ -19,17 +21,31 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.HttpURLConnection;
+import java.net.URI;
 import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * Authenticates against a REST API. The username/password are passed as a basic auth via a POST request,
  * the JSON response is a user profile.
  *
+ * <p>If the {@link #setHttpClientEnabled(boolean)} mode is enabled, the REST API is called through the {@link HttpClientFactory}
+ * of the authenticator (keeping the connections alive, using HTTP/2 when possible) with its own timeouts and retry policy,
+ * and the response is parsed while it is read. The {@link #validateAsync(Credentials, WebContext, SessionStore)} method
+ * can then be used not to block the calling thread. The timeouts and HTTP client setters configure the
+ * {@link DefaultHttpClientFactory} created by the authenticator: a factory defined with
+ * {@link #setHttpClientFactory(HttpClientFactory)}, which may be shared, is replaced by a new one and never modified.</p>
+ *
  * @author Jerome Leleu
  * @since 2.1.0
  */
@@ -41,6 +57,14 @@ public class RestAuthenticator extends ProfileDefinitionAware implements Authent
 
     private String url;
 
+    private boolean httpClientEnabled;
+
+    private HttpClientFactory httpClientFactory;
+
+    private DefaultHttpClientFactory ownHttpClientFactory;
+
+    private URI uri;
+
     public RestAuthenticator() {}
 
     public RestAuthenticator(final String url) {
@@ -57,6 +81,12 @@ public class RestAuthenticator extends ProfileDefinitionAware implements Authent
             mapper.configure(JsonParser.Feature.ALLOW_SINGLE_QUOTES, true);
             mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         }
+        if (httpClientEnabled) {
+            uri = URI.create(url);
+            if (httpClientFactory == null) {
+                getDefaultHttpClientFactory();
+            }
+        }
     }
 
     @Override
@@ -71,6 +101,11 @@ public class RestAuthenticator extends ProfileDefinitionAware implements Authent
             return;
         }
 
+        if (httpClientEnabled) {
+            callRestApiWithHttpClient(credentials);
+            return;
+        }
+
         final var body = callRestApi(username, password);
         logger.debug("body: {}", body);
         if (body != null) {
@@ -78,6 +113,95 @@ public class RestAuthenticator extends ProfileDefinitionAware implements Authent
         }
     }
 
+    /**
+     * Validate the credentials without blocking (in the {@link HttpClientFactory} mode only): the user profile is set
+     * on the credentials when the returned future completes.
+     *
+     * @param cred the credentials
+     * @param context the web context
+     * @param sessionStore the session store
+     * @return the future completion
+     */
+    public CompletableFuture<Void> validateAsync(final Credentials cred, final WebContext context, final SessionStore sessionStore) {
+        init();
+        CommonHelper.assertTrue(httpClientEnabled, "the HttpClient mode must be enabled");
+
+        final var credentials = (UsernamePasswordCredentials) cred;
+        final var username = credentials.getUsername();
+        if (CommonHelper.isBlank(username) || CommonHelper.isBlank(credentials.getPassword())) {
+            logger.info("Empty username or password");
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return httpClientFactory.sendAsync(buildRequest(username, credentials.getPassword()), HttpResponse.BodyHandlers.ofByteArray())
+            .thenAccept(response -> {
+                if (isSuccess(username, response.statusCode(), () -> new String(response.body(), StandardCharsets.UTF_8))) {
+                    try {
+                        setProfile(credentials, mapper.readValue(response.body(), getProfileClass()));
+                    } catch (final IOException e) {
+                        throw new TechnicalException(e);
+                    }
+                }
+            });
+    }
+
+    /**
+     * Call the REST API with the {@link HttpClientFactory} and parse the response while it is read.
+     *
+     * @param credentials the credentials
+     */
+    protected void callRestApiWithHttpClient(final UsernamePasswordCredentials credentials) {
+        final var username = credentials.getUsername();
+        try {
+            final var response = httpClientFactory.send(buildRequest(username, credentials.getPassword()),
+                HttpResponse.BodyHandlers.ofInputStream());
+            try (var body = response.body()) {
+                if (isSuccess(username, response.statusCode(), () -> readError(body))) {
+                    setProfile(credentials, mapper.readValue(body, getProfileClass()));
+                }
+            }
+        } catch (final IOException e) {
+            throw new TechnicalException(e);
+        }
+    }
+
+    protected HttpRequest buildRequest(final String username, final String password) {
+        final var basicAuth = Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        return httpClientFactory.newRequest(uri)
+            .header(HttpConstants.AUTHORIZATION_HEADER, HttpConstants.BASIC_HEADER_PREFIX + basicAuth)
+            .POST(HttpRequest.BodyPublishers.noBody())
+            .build();
+    }
+
+    private boolean isSuccess(final String username, final int code, final Supplier<String> errorBody) {
+        if (code == HttpConstants.OK) {
+            logger.debug("Authentication success for username: {}", username);
+            return true;
+        } else if (code == HttpConstants.UNAUTHORIZED || code == HttpConstants.FORBIDDEN) {
+            logger.info("Authentication failure for username: {} -> ({})[{}]", username, code, errorBody.get());
+        } else {
+            logger.warn("Unexpected error for username: {} -> ({})[{}]", username, code, errorBody.get());
+        }
+        return false;
+    }
+
+    private static String readError(final InputStream body) {
+        try {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (final IOException e) {
+            return e.getMessage();
+        }
+    }
+
+    private Class<? extends RestProfile> getProfileClass() {
+        return ((RestProfile) getProfileDefinition().newProfile()).getClass();
+    }
+
+    private void setProfile(final UsernamePasswordCredentials credentials, final RestProfile profile) {
+        logger.debug("profile: {}", profile);
+        credentials.setUserProfile(profile);
+    }
+
     protected void buildProfile(final UsernamePasswordCredentials credentials, final String body) {
         final var profileClass = (RestProfile) getProfileDefinition().newProfile();
         final RestProfile profile;
@@ -133,6 +257,62 @@ public class RestAuthenticator extends ProfileDefinitionAware implements Authent
         this.url = url;
     }
 
+    public boolean isHttpClientEnabled() {
+        return httpClientEnabled;
+    }
+
+    public void setHttpClientEnabled(final boolean httpClientEnabled) {
+        this.httpClientEnabled = httpClientEnabled;
+    }
+
+    public HttpClientFactory getHttpClientFactory() {
+        return httpClientFactory;
+    }
+
+    protected DefaultHttpClientFactory newHttpClientFactory() {
+        final var factory = new DefaultHttpClientFactory(HttpConstants.DEFAULT_CONNECT_TIMEOUT, HttpConstants.DEFAULT_READ_TIMEOUT);
+        factory.setVersion(HttpClient.Version.HTTP_2);
+        return factory;
+    }
+
+    private DefaultHttpClientFactory getDefaultHttpClientFactory() {
+        if (ownHttpClientFactory == null || httpClientFactory != ownHttpClientFactory) {
+            ownHttpClientFactory = newHttpClientFactory();
+            httpClientFactory = ownHttpClientFactory;
+        }
+        return ownHttpClientFactory;
+    }
+
+    public int getConnectTimeout() {
+        return httpClientFactory instanceof DefaultHttpClientFactory
+            ? ((DefaultHttpClientFactory) httpClientFactory).getConnectTimeout() : HttpConstants.DEFAULT_CONNECT_TIMEOUT;
+    }
+
+    public void setConnectTimeout(final int connectTimeout) {
+        getDefaultHttpClientFactory().setConnectTimeout(connectTimeout);
+    }
+
+    public int getReadTimeout() {
+        return httpClientFactory instanceof DefaultHttpClientFactory
+            ? ((DefaultHttpClientFactory) httpClientFactory).getReadTimeout() : HttpConstants.DEFAULT_READ_TIMEOUT;
+    }
+
+    public void setReadTimeout(final int readTimeout) {
+        getDefaultHttpClientFactory().setReadTimeout(readTimeout);
+    }
+
+    public HttpClient getHttpClient() {
+        return httpClientFactory != null ? httpClientFactory.getHttpClient() : null;
+    }
+
+    public void setHttpClient(final HttpClient httpClient) {
+        getDefaultHttpClientFactory().setHttpClient(httpClient);
+    }
+
+    public void setHttpClientFactory(final HttpClientFactory httpClientFactory) {
+        this.httpClientFactory = httpClientFactory;
+    }
+
     public ObjectMapper getMapper() {
         return mapper;
     }
@@ -143,6 +323,7 @@ public class RestAuthenticator extends ProfileDefinitionAware implements Authent
 
     @Override
     public String toString() {
-        return CommonHelper.toNiceString(this.getClass(), "url", url, "mapper", mapper);
+        return CommonHelper.toNiceString(this.getClass(), "url", url, "mapper", mapper, "httpClientEnabled", httpClientEnabled,
+            "httpClientFactory", httpClientFactory);
     }
 }
@@ -5,18 +5,58 @@ import org.pac4j.core.context.session.SessionStore;
 import org.pac4j.core.credentials.Credentials;
 import org.pac4j.core.credentials.authenticator.Authenticator;
 import org.pac4j.core.exception.CredentialsException;
+import org.pac4j.core.exception.TechnicalException;
 import org.pac4j.core.profile.definition.CommonProfileDefinition;
+import org.pac4j.core.util.CommonHelper;
 import org.pac4j.http.credentials.X509Credentials;
+import org.pac4j.http.credentials.authenticator.revocation.X509RevocationChecker;
+import org.pac4j.http.credentials.authenticator.revocation.X509RevocationStatus;
 import org.pac4j.http.profile.X509Profile;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.CertificateParsingException;
+import java.security.cert.X509Certificate;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Authenticates {@link X509Credentials}. Like the SubjectDnX509PrincipalExtractor in Spring Security.
  *
+ * <p>The identifier is extracted from the subject DN with the regexp pattern or, if a subject alternative name type
+ * is defined (1 for the email, 2 for the DNS name, 6 for the URI...), it is the first subject alternative name of this type.</p>
+ *
+ * <p>The revocation of the certificate can be checked with a {@link X509RevocationChecker}.</p>
+ *
+ * <p>The identifiers of the validated certificates are cached by SHA-256 fingerprint (see {@link #setCacheSize(int)}),
+ * until the certificate expires or its revocation status must be checked again. When the cache is full, arbitrary entries
+ * are evicted. The cache is cleared when the identifier extraction or the revocation checker changes.</p>
+ *
  * @author Jerome Leleu
  * @since 3.3.0
  */
 public class X509Authenticator extends AbstractRegexpAuthenticator implements Authenticator {
 
+    private static final ThreadLocal<MessageDigest> DIGESTS = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new TechnicalException(e);
+        }
+    });
+
+    private int subjectAlternativeNameType = -1;
+
+    private X509RevocationChecker revocationChecker;
+
+    private boolean revocationSoftFail;
+
+    private int cacheSize = 10_000;
+
+    private volatile Map<String, CachedIdentifier> cache;
+
     public X509Authenticator() {
         setRegexpPattern("CN=(.*?)(?:,|$)");
     }
@@ -28,17 +68,69 @@ public class X509Authenticator extends AbstractRegexpAuthenticator implements Au
     @Override
     protected void internalInit(final boolean forceReinit) {
         defaultProfileDefinition(new CommonProfileDefinition(x -> new X509Profile()));
+        clearCache();
     }
 
     @Override
     public void validate(final Credentials credentials, final WebContext context, final SessionStore sessionStore) {
         init();
 
-        final var certificate = ((X509Credentials) credentials).getCertificate();
+        final var x509Credentials = (X509Credentials) credentials;
+        final var certificate = x509Credentials.getCertificate();
         if (certificate == null) {
             throw new CredentialsException("No X509 certificate");
         }
 
+        final var currentCache = cache;
+        final var fingerprint = currentCache != null ? computeFingerprint(certificate) : null;
+        var id = getCachedIdentifier(currentCache, fingerprint);
+        if (id == null) {
+            var validUntil = certificate.getNotAfter().getTime();
+            if (revocationChecker != null) {
+                final var nextUpdate = checkRevocation(certificate, x509Credentials.getIssuer());
+                if (nextUpdate < validUntil) {
+                    validUntil = nextUpdate;
+                }
+            }
+            id = extractIdentifier(certificate);
+            cacheIdentifier(currentCache, fingerprint, id, validUntil);
+        }
+
+        final var profile = (X509Profile) getProfileDefinition().newProfile();
+        profile.setId(id);
+        logger.debug("profile: {}", profile);
+
+        credentials.setUserProfile(profile);
+    }
+
+    /**
+     * Check the revocation status of the certificate.
+     *
+     * @param certificate the certificate
+     * @param issuer the certificate of the issuer
+     * @return until when the status is valid
+     */
+    protected long checkRevocation(final X509Certificate certificate, final X509Certificate issuer) {
+        final var status = revocationChecker.check(certificate, issuer);
+        logger.debug("revocation status: {}", status);
+        if (status.getStatus() == X509RevocationStatus.Status.REVOKED) {
+            throw new CredentialsException("Revoked X509 certificate: " + certificate.getSubjectX500Principal());
+        } else if (status.getStatus() == X509RevocationStatus.Status.UNKNOWN) {
+            if (!revocationSoftFail) {
+                throw new CredentialsException("Unknown revocation status for X509 certificate: "
+                    + certificate.getSubjectX500Principal());
+            }
+            // check again next time
+            return 0;
+        }
+        return status.getNextUpdate() != null ? status.getNextUpdate().getTime() : 0;
+    }
+
+    protected String extractIdentifier(final X509Certificate certificate) {
+        if (subjectAlternativeNameType >= 0) {
+            return extractSubjectAlternativeName(certificate);
+        }
+
         final var principal = certificate.getSubjectDN();
         if (principal == null) {
             throw new CredentialsException("No X509 principal");
@@ -61,11 +153,146 @@ public class X509Authenticator extends AbstractRegexpAuthenticator implements Au
             throw new CredentialsException("Too many matchings for pattern: " +  regexpPattern + " in subjectDN: " + subjectDN);
         }
 
-        final var id = matcher.group(1);
-        final var profile = (X509Profile) getProfileDefinition().newProfile();
-        profile.setId(id);
-        logger.debug("profile: {}", profile);
+        return matcher.group(1);
+    }
 
-        credentials.setUserProfile(profile);
+    protected String extractSubjectAlternativeName(final X509Certificate certificate) {
+        try {
+            final var names = certificate.getSubjectAlternativeNames();
+            if (names != null) {
+                for (final var name : names) {
+                    if (name.size() >= 2 && Integer.valueOf(subjectAlternativeNameType).equals(name.get(0))
+                        && name.get(1) instanceof String) {
+                        return (String) name.get(1);
+                    }
+                }
+            }
+        } catch (final CertificateParsingException e) {
+            throw new CredentialsException("Cannot parse the X509 subject alternative names: " + e.getMessage());
+        }
+        throw new CredentialsException("No X509 subject alternative name of type: " + subjectAlternativeNameType);
+    }
+
+    protected static String computeFingerprint(final X509Certificate certificate) {
+        try {
+            return Base64.getEncoder().encodeToString(DIGESTS.get().digest(certificate.getEncoded()));
+        } catch (final CertificateEncodingException e) {
+            throw new CredentialsException("Cannot encode the X509 certificate: " + e.getMessage());
+        }
+    }
+
+    private static String getCachedIdentifier(final Map<String, CachedIdentifier> cache, final String fingerprint) {
+        if (fingerprint == null) {
+            return null;
+        }
+        final var cached = cache.get(fingerprint);
+        if (cached != null) {
+            if (System.currentTimeMillis() < cached.validUntil) {
+                return cached.id;
+            }
+            cache.remove(fingerprint, cached);
+        }
+        return null;
+    }
+
+    private void cacheIdentifier(final Map<String, CachedIdentifier> cache, final String fingerprint, final String id,
+                                 final long validUntil) {
+        if (fingerprint != null && System.currentTimeMillis() < validUntil) {
+            if (cache.size() >= cacheSize) {
+                final var iterator = cache.keySet().iterator();
+                while (cache.size() >= cacheSize && iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                }
+            }
+            cache.put(fingerprint, new CachedIdentifier(id, validUntil));
+        }
+    }
+
+    /**
+     * Clear the cache of the validated certificates.
+     */
+    public void clearCache() {
+        cache = cacheSize > 0 ? new ConcurrentHashMap<>() : null;
+    }
+
+    @Override
+    public void setRegexpPattern(final String regexpPattern) {
+        super.setRegexpPattern(regexpPattern);
+        if (cache != null) {
+            clearCache();
+        }
+    }
+
+    public int getSubjectAlternativeNameType() {
+        return subjectAlternativeNameType;
+    }
+
+    /**
+     * Define the type of the subject alternative name to use as identifier (-1 to use the subject DN).
+     *
+     * @param subjectAlternativeNameType the subject alternative name type (1: email, 2: DNS name, 6: URI, 7: IP address)
+     */
+    public void setSubjectAlternativeNameType(final int subjectAlternativeNameType) {
+        this.subjectAlternativeNameType = subjectAlternativeNameType;
+        if (cache != null) {
+            clearCache();
+        }
+    }
+
+    public X509RevocationChecker getRevocationChecker() {
+        return revocationChecker;
+    }
+
+    public void setRevocationChecker(final X509RevocationChecker revocationChecker) {
+        this.revocationChecker = revocationChecker;
+        if (cache != null) {
+            clearCache();
+        }
+    }
+
+    public boolean isRevocationSoftFail() {
+        return revocationSoftFail;
+    }
+
+    /**
+     * Define whether the certificates whose revocation status is unknown are accepted.
+     *
+     * @param revocationSoftFail whether the unknown revocation status is accepted
+     */
+    public void setRevocationSoftFail(final boolean revocationSoftFail) {
+        this.revocationSoftFail = revocationSoftFail;
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Define the maximum number of validated certificates cached (0 disables the cache).
+     *
+     * @param cacheSize the cache size
+     */
+    public void setCacheSize(final int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    @Override
+    public String toString() {
+        return CommonHelper.toNiceString(this.getClass(), "regexpPattern", this.regexpPattern,
+            "subjectAlternativeNameType", subjectAlternativeNameType, "revocationChecker", revocationChecker,
+            "revocationSoftFail", revocationSoftFail, "cacheSize", cacheSize);
+    }
+
+    private static final class CachedIdentifier {
+
+        private final String id;
+
+        private final long validUntil;
+
+        private CachedIdentifier(final String id, final long validUntil) {
+            this.id = id;
+            this.validUntil = validUntil;
+        }
     }
 }
@@ -0,0 +1,383 @@
+package org.pac4j.http.credentials.authenticator.revocation;
+
+import org.pac4j.core.context.HttpConstants;
+import org.pac4j.core.http.client.DefaultHttpClientFactory;
+import org.pac4j.core.http.client.HttpClientFactory;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.core.util.InitializableObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Checks the revocation of X509 certificates against a CRL.
+ *
+ * <p>The CRL is downloaded from the {@link #getCrlUrl()} and kept in memory until its <code>nextUpdate</code>.
+ * It is refreshed in the background shortly before (see {@link #getRefreshMargin()}), the current one being served meanwhile.
+ * A failed download is not retried before the {@link #getRetryDelay()}. Once expired, the CRL is no longer used:
+ * the revocation status is unknown until a new one is downloaded.
+ * Each downloaded CRL is saved into the {@link #getCrlFile()}, if defined, which is read if the CRL cannot be downloaded
+ * (offline mode).</p>
+ *
+ * <p>The CRL signature is verified with the public key of the {@link #getTrustAnchor()}, which is mandatory: the issuer certificate
+ * presented by the client is never trusted. If the CRL cannot be verified, the revocation status is unknown.</p>
+ *
+ * <p>Only CRLs are supported: OCSP is not.</p>
+ *
+ * <p>The CRL is downloaded with the {@link #getHttpClientFactory()} (for http(s) URLs).</p>
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public class CrlRevocationChecker extends InitializableObject implements X509RevocationChecker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrlRevocationChecker.class);
+
+    private String crlUrl;
+
+    private String crlFile;
+
+    private long refreshMargin = 60_000;
+
+    private long defaultTimeToLive = 3_600_000;
+
+    private long retryDelay = 60_000;
+
+    private X509Certificate trustAnchor;
+
+    private Executor executor;
+
+    private HttpClientFactory httpClientFactory;
+
+    private volatile CachedCrl cachedCrl;
+
+    private volatile long retryAfter;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    public CrlRevocationChecker() {}
+
+    public CrlRevocationChecker(final String crlUrl) {
+        this.crlUrl = crlUrl;
+    }
+
+    public CrlRevocationChecker(final String crlUrl, final String crlFile) {
+        this.crlUrl = crlUrl;
+        this.crlFile = crlFile;
+    }
+
+    @Override
+    protected void internalInit(final boolean forceReinit) {
+        CommonHelper.assertTrue(CommonHelper.isNotBlank(crlUrl) || CommonHelper.isNotBlank(crlFile),
+            "crlUrl or crlFile must be defined");
+        CommonHelper.assertNotNull("trustAnchor", trustAnchor);
+        if (executor == null) {
+            executor = ForkJoinPool.commonPool();
+        }
+        if (httpClientFactory == null) {
+            httpClientFactory = new DefaultHttpClientFactory();
+        }
+        if (forceReinit) {
+            cachedCrl = null;
+            retryAfter = 0;
+        }
+    }
+
+    @Override
+    public X509RevocationStatus check(final X509Certificate certificate, final X509Certificate issuer) {
+        init();
+
+        final var crl = getCrl();
+        if (crl == null) {
+            return X509RevocationStatus.unknown();
+        }
+        if (System.currentTimeMillis() >= crl.expiration) {
+            logger.debug("The CRL has expired since: {}", new Date(crl.expiration));
+            return X509RevocationStatus.unknown();
+        }
+        if (!crl.crl.getIssuerX500Principal().equals(certificate.getIssuerX500Principal())) {
+            logger.debug("The CRL issuer: {} is not the certificate issuer: {}", crl.crl.getIssuerX500Principal(),
+                certificate.getIssuerX500Principal());
+            return X509RevocationStatus.unknown();
+        }
+        // the issuer presented by the client is not trusted
+        if (!crl.isVerified(trustAnchor)) {
+            return X509RevocationStatus.unknown();
+        }
+        final var status = crl.crl.isRevoked(certificate) ? X509RevocationStatus.Status.REVOKED
+            : X509RevocationStatus.Status.GOOD;
+        return new X509RevocationStatus(status, new Date(crl.expiration));
+    }
+
+    protected CachedCrl getCrl() {
+        var crl = cachedCrl;
+        if (crl == null) {
+            if (System.currentTimeMillis() < retryAfter) {
+                return null;
+            }
+            synchronized (this) {
+                crl = cachedCrl;
+                if (crl == null && System.currentTimeMillis() >= retryAfter) {
+                    crl = loadCrl();
+                    cachedCrl = crl;
+                    if (crl == null) {
+                        // do not try again on each request
+                        retryAfter = System.currentTimeMillis() + retryDelay;
+                    }
+                }
+            }
+        } else if (System.currentTimeMillis() >= crl.expiration - refreshMargin) {
+            refreshInBackground();
+        }
+        return crl;
+    }
+
+    /**
+     * Refresh the CRL in the background (at most one refresh at a time, not before the retry delay after a failure).
+     */
+    public void refreshInBackground() {
+        if (System.currentTimeMillis() < retryAfter) {
+            return;
+        }
+        if (refreshing.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    final var crl = downloadCrl();
+                    if (crl != null) {
+                        cachedCrl = crl;
+                        retryAfter = 0;
+                    } else {
+                        retryAfter = System.currentTimeMillis() + retryDelay;
+                    }
+                } finally {
+                    refreshing.set(false);
+                }
+            }, executor);
+        }
+    }
+
+    protected CachedCrl loadCrl() {
+        final var crl = downloadCrl();
+        if (crl != null) {
+            return crl;
+        }
+        if (CommonHelper.isNotBlank(crlFile)) {
+            try {
+                logger.info("Loading the CRL from the local file: {}", crlFile);
+                return parseCrl(Files.readAllBytes(Paths.get(crlFile)));
+            } catch (final IOException | GeneralSecurityException e) {
+                logger.error("Cannot read the CRL from the local file: {}", crlFile, e);
+            }
+        }
+        return null;
+    }
+
+    protected CachedCrl downloadCrl() {
+        if (CommonHelper.isBlank(crlUrl)) {
+            return null;
+        }
+        try {
+            final var data = readCrl(URI.create(crlUrl));
+            final var crl = parseCrl(data);
+            logger.debug("CRL downloaded from: {}, next update: {}", crlUrl, crl.crl.getNextUpdate());
+            saveCrl(data);
+            return crl;
+        } catch (final IOException | GeneralSecurityException | IllegalArgumentException e) {
+            logger.warn("Cannot download the CRL from: {}", crlUrl, e);
+            return null;
+        }
+    }
+
+    protected byte[] readCrl(final URI uri) throws IOException {
+        final var scheme = uri.getScheme();
+        if (!"http".equalsIgnoreCase(scheme) && !"https".equalsIgnoreCase(scheme)) {
+            // file:, jar:... URLs
+            try (var inputStream = uri.toURL().openStream()) {
+                return inputStream.readAllBytes();
+            }
+        }
+        final var response = httpClientFactory.send(httpClientFactory.newRequest(uri).GET().build(),
+            HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != HttpConstants.OK) {
+            throw new IOException("Unexpected status: " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    protected void saveCrl(final byte[] data) {
+        if (CommonHelper.isNotBlank(crlFile)) {
+            try {
+                final var file = Paths.get(crlFile).toAbsolutePath();
+                final var directory = file.getParent();
+                final var tempFile = directory != null ? Files.createTempFile(directory, "crl", ".tmp")
+                    : Files.createTempFile("crl", ".tmp");
+                Files.write(tempFile, data);
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            } catch (final IOException e) {
+                logger.warn("Cannot save the CRL into the local file: {}", crlFile, e);
+            }
+        }
+    }
+
+    protected CachedCrl parseCrl(final byte[] data) throws GeneralSecurityException {
+        final var crl = (X509CRL) CertificateFactory.getInstance("X.509").generateCRL(new ByteArrayInputStream(data));
+        final var nextUpdate = crl.getNextUpdate();
+        final var now = System.currentTimeMillis();
+        final long expiration;
+        if (nextUpdate == null) {
+            expiration = now + defaultTimeToLive;
+        } else if (nextUpdate.getTime() <= now) {
+            logger.warn("The CRL from: {} is outdated (next update: {})", crlUrl != null ? crlUrl : crlFile, nextUpdate);
+            expiration = now + Math.min(refreshMargin, defaultTimeToLive);
+        } else {
+            expiration = nextUpdate.getTime();
+        }
+        return new CachedCrl(crl, expiration);
+    }
+
+    public String getCrlUrl() {
+        return crlUrl;
+    }
+
+    public void setCrlUrl(final String crlUrl) {
+        this.crlUrl = crlUrl;
+    }
+
+    public String getCrlFile() {
+        return crlFile;
+    }
+
+    public void setCrlFile(final String crlFile) {
+        this.crlFile = crlFile;
+    }
+
+    public long getRefreshMargin() {
+        return refreshMargin;
+    }
+
+    /**
+     * Define how long (in milliseconds) before its next update the CRL is refreshed in the background.
+     *
+     * @param refreshMargin the refresh margin
+     */
+    public void setRefreshMargin(final long refreshMargin) {
+        this.refreshMargin = refreshMargin;
+    }
+
+    public long getDefaultTimeToLive() {
+        return defaultTimeToLive;
+    }
+
+    /**
+     * Define how long (in milliseconds) a CRL without next update is kept.
+     *
+     * @param defaultTimeToLive the default time to live
+     */
+    public void setDefaultTimeToLive(final long defaultTimeToLive) {
+        this.defaultTimeToLive = defaultTimeToLive;
+    }
+
+    public long getRetryDelay() {
+        return retryDelay;
+    }
+
+    /**
+     * Define how long (in milliseconds) to wait before downloading the CRL again after a failure.
+     *
+     * @param retryDelay the retry delay
+     */
+    public void setRetryDelay(final long retryDelay) {
+        this.retryDelay = retryDelay;
+    }
+
+    public X509Certificate getTrustAnchor() {
+        return trustAnchor;
+    }
+
+    /**
+     * Define the certificate of the CRL issuer, whose public key verifies the CRL signature (mandatory).
+     *
+     * @param trustAnchor the certificate of the CRL issuer
+     */
+    public void setTrustAnchor(final X509Certificate trustAnchor) {
+        this.trustAnchor = trustAnchor;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public void setExecutor(final Executor executor) {
+        this.executor = executor;
+    }
+
+    public HttpClientFactory getHttpClientFactory() {
+        return httpClientFactory;
+    }
+
+    public void setHttpClientFactory(final HttpClientFactory httpClientFactory) {
+        this.httpClientFactory = httpClientFactory;
+    }
+
+    @Override
+    public String toString() {
+        return CommonHelper.toNiceString(this.getClass(), "crlUrl", crlUrl, "crlFile", crlFile, "refreshMargin", refreshMargin,
+            "defaultTimeToLive", defaultTimeToLive, "retryDelay", retryDelay, "trustAnchor",
+            trustAnchor != null ? trustAnchor.getSubjectX500Principal() : null);
+    }
+
+    /**
+     * A CRL in memory, until its expiration.
+     */
+    protected static final class CachedCrl {
+
+        private final X509CRL crl;
+
+        private final long expiration;
+
+        private volatile X509Certificate verifiedIssuer;
+
+        CachedCrl(final X509CRL crl, final long expiration) {
+            this.crl = crl;
+            this.expiration = expiration;
+        }
+
+        private boolean isVerified(final X509Certificate issuer) {
+            if (issuer.equals(verifiedIssuer)) {
+                return true;
+            }
+            try {
+                crl.verify(issuer.getPublicKey());
+                verifiedIssuer = issuer;
+                return true;
+            } catch (final GeneralSecurityException e) {
+                logger.warn("The CRL signature cannot be verified with the issuer: {}", issuer.getSubjectX500Principal(), e);
+                return false;
+            }
+        }
+
+        public X509CRL getCrl() {
+            return crl;
+        }
+
+        public long getExpiration() {
+            return expiration;
+        }
+    }
+}
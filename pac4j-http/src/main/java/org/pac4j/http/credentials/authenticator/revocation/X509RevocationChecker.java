@@ -0,0 +1,22 @@
+package org.pac4j.http.credentials.authenticator.revocation;
+
+import java.security.cert.X509Certificate;
+
+/**
+ * Checks whether a X509 certificate has been revoked (through a CRL, OCSP...).
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+@FunctionalInterface
+public interface X509RevocationChecker {
+
+    /**
+     * Check the revocation status of a certificate.
+     *
+     * @param certificate the certificate
+     * @param issuer the certificate of the issuer presented by the client, not trusted (may be <code>null</code> if not presented)
+     * @return the revocation status
+     */
+    X509RevocationStatus check(X509Certificate certificate, X509Certificate issuer);
+}
@@ -0,0 +1,53 @@
+package org.pac4j.http.credentials.authenticator.revocation;
+
+import org.pac4j.core.util.CommonHelper;
+
+import java.util.Date;
+
+/**
+ * The revocation status of a X509 certificate and until when it can be trusted.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class X509RevocationStatus {
+
+    /**
+     * The status values.
+     */
+    public enum Status {
+        GOOD,
+        REVOKED,
+        UNKNOWN
+    }
+
+    private final Status status;
+
+    private final Date nextUpdate;
+
+    public X509RevocationStatus(final Status status, final Date nextUpdate) {
+        CommonHelper.assertNotNull("status", status);
+        this.status = status;
+        this.nextUpdate = nextUpdate != null ? new Date(nextUpdate.getTime()) : null;
+    }
+
+    public static X509RevocationStatus unknown() {
+        return new X509RevocationStatus(Status.UNKNOWN, null);
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return when the status should be checked again, <code>null</code> if unknown
+     */
+    public Date getNextUpdate() {
+        return nextUpdate != null ? new Date(nextUpdate.getTime()) : null;
+    }
+
+    @Override
+    public String toString() {
+        return CommonHelper.toNiceString(this.getClass(), "status", status, "nextUpdate", nextUpdate);
+    }
+}
@@ -6,6 +6,7 @@ import org.pac4j.core.credentials.Credentials;
 import org.pac4j.core.credentials.TokenCredentials;
 import org.pac4j.core.credentials.extractor.CredentialsExtractor;
 import org.pac4j.core.util.CommonHelper;
+import org.pac4j.http.util.IpRangeSet;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -17,6 +18,9 @@ import java.util.Optional;
  * Search for headers as defined in an array.
  * The first match will be returned as specified for {@code enhanced for} iteration over arrays.
  * By default, if no proxy ip is setted ({@link #setProxyIp(String)}), only request from proxy IP will be accepted.
+ * If trusted proxies are defined ({@link #setTrustedProxies(IpRangeSet)}), the forwarded chain of the first header
+ * (<code>X-Forwarded-For</code> by default) is read from right to left, skipping the trusted proxies:
+ * the first untrusted address is the client IP.
  *
  * @author Jerome Leleu
  * @author Guilherme I F L Weizenmann
@@ -26,8 +30,12 @@ public class IpExtractor implements CredentialsExtractor {
 
     private List<String> alternateIpHeaders = Collections.emptyList();
 
+    public static final String X_FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
     private String proxyIp = "";
 
+    private IpRangeSet trustedProxies;
+
     public IpExtractor() {}
 
     public IpExtractor(String... alternateIpHeaders) {
@@ -37,7 +45,9 @@ public class IpExtractor implements CredentialsExtractor {
     @Override
     public Optional<Credentials> extract(WebContext context, final SessionStore sessionStore) {
         final Optional<String> ip;
-        if (alternateIpHeaders.isEmpty()) {
+        if (trustedProxies != null) {
+            ip = ipFromForwardedChain(context);
+        } else if (alternateIpHeaders.isEmpty()) {
             ip = Optional.ofNullable(context.getRemoteAddr());
         } else {
             var requestSourceIp = context.getRemoteAddr();
@@ -59,6 +69,34 @@ public class IpExtractor implements CredentialsExtractor {
         return Optional.of(new TokenCredentials(ip.get()));
     }
 
+    private Optional<String> ipFromForwardedChain(final WebContext context) {
+        final var remoteAddr = context.getRemoteAddr();
+        if (remoteAddr == null || !trustedProxies.contains(remoteAddr)) {
+            return Optional.ofNullable(remoteAddr);
+        }
+        final var header = alternateIpHeaders.isEmpty() ? X_FORWARDED_FOR_HEADER : alternateIpHeaders.get(0);
+        final var chain = context.getRequestHeader(header);
+        if (!chain.isPresent()) {
+            return Optional.of(remoteAddr);
+        }
+        final var value = chain.get();
+        var ip = remoteAddr;
+        var end = value.length();
+        while (end > 0) {
+            final var start = value.lastIndexOf(',', end - 1) + 1;
+            final var hop = value.substring(start, end).trim();
+            end = start - 1;
+            if (hop.isEmpty()) {
+                continue;
+            }
+            ip = hop;
+            if (!trustedProxies.contains(hop)) {
+                break;
+            }
+        }
+        return Optional.of(ip);
+    }
+
     private Optional<String> ipFromHeaders(WebContext context) {
         Optional<String> ip;
         for (var header : alternateIpHeaders) {
@@ -87,6 +125,31 @@ public class IpExtractor implements CredentialsExtractor {
         this.proxyIp = proxyIp == null ? "" : proxyIp;
     }
 
+    /**
+     * @return The trusted proxies
+     * @since 5.4.5
+     */
+    public IpRangeSet getTrustedProxies() {
+        return trustedProxies;
+    }
+
+    /**
+     * @param trustedProxies Set the IP ranges of the trusted proxies, to read the forwarded chain.
+     *                       Setting {@code null} disables the forwarded chain parsing.
+     * @since 5.4.5
+     */
+    public void setTrustedProxies(final IpRangeSet trustedProxies) {
+        this.trustedProxies = trustedProxies;
+    }
+
+    /**
+     * @param trustedProxies Set the IP ranges (CIDR notation) of the trusted proxies, to read the forwarded chain.
+     * @since 5.4.5
+     */
+    public void setTrustedProxies(final String... trustedProxies) {
+        this.trustedProxies = new IpRangeSet(trustedProxies);
+    }
+
     /**
      * @return Defined headers to search for IP as {@link Collections#unmodifiableList(List)}
      * @since 2.1.0
@@ -107,6 +170,7 @@ public class IpExtractor implements CredentialsExtractor {
 
     @Override
     public String toString() {
-        return CommonHelper.toNiceString(this.getClass(), "alternateIpHeaders", Arrays.asList(this.alternateIpHeaders));
+        return CommonHelper.toNiceString(this.getClass(), "alternateIpHeaders", Arrays.asList(this.alternateIpHeaders),
+            "trustedProxies", trustedProxies);
     }
 }
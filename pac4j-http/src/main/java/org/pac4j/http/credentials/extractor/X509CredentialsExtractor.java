@@ -31,8 +31,9 @@ public class X509CredentialsExtractor implements CredentialsExtractor  {
         if (certificates.isPresent() && certificates.get().length > 0) {
             final var certificate = certificates.get()[0];
             logger.debug("X509 certificate: {}", certificate);
+            final var issuer = certificates.get().length > 1 ? certificates.get()[1] : null;
 
-            return Optional.of(new X509Credentials(certificate));
+            return Optional.of(new X509Credentials(certificate, issuer));
         }
 
         logger.debug("No X509 certificate in request");
@@ -0,0 +1,121 @@
+package org.pac4j.http.util;
+
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.util.CommonHelper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A reloadable set of IP ranges, defined directly and/or in a file (one range per line, <code>#</code> for comments).
+ *
+ * <p>The ranges are compiled into an {@link IpRangeTrie} at the first lookup, which is replaced as a whole on {@link #reload()}:
+ * the lookups never wait for a reload. The file is not watched: its changes are only taken into account when
+ * {@link #reload()} is called (by a scheduled task of the application, for example).</p>
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public class IpRangeSet {
+
+    private volatile List<String> ranges = Collections.emptyList();
+
+    private volatile String file;
+
+    private volatile IpRangeTrie trie;
+
+    public IpRangeSet() {}
+
+    public IpRangeSet(final String... ranges) {
+        setRanges(ranges);
+    }
+
+    /**
+     * Whether the address belongs to one of the ranges.
+     *
+     * @param ip the IP address literal
+     * @return whether the address belongs to one of the ranges
+     */
+    public boolean contains(final String ip) {
+        var current = trie;
+        if (current == null) {
+            synchronized (this) {
+                current = trie;
+                if (current == null) {
+                    current = build();
+                    trie = current;
+                }
+            }
+        }
+        return current.contains(ip);
+    }
+
+    /**
+     * Reload the ranges (from the file, if defined).
+     */
+    public synchronized void reload() {
+        trie = build();
+    }
+
+    protected IpRangeTrie build() {
+        final List<String> allRanges = new ArrayList<>(ranges);
+        if (CommonHelper.isNotBlank(file)) {
+            try {
+                for (final var line : Files.readAllLines(Paths.get(file), StandardCharsets.UTF_8)) {
+                    final var comment = line.indexOf('#');
+                    allRanges.add(comment >= 0 ? line.substring(0, comment) : line);
+                }
+            } catch (final IOException e) {
+                throw new TechnicalException("Cannot read the IP ranges file: " + file, e);
+            }
+        }
+        return IpRangeTrie.of(allRanges);
+    }
+
+    /**
+     * @return whether no range is defined
+     */
+    public boolean isEmpty() {
+        return ranges.isEmpty() && CommonHelper.isBlank(file);
+    }
+
+    public List<String> getRanges() {
+        return ranges;
+    }
+
+    public void setRanges(final List<String> ranges) {
+        CommonHelper.assertNotNull("ranges", ranges);
+        this.ranges = ranges;
+        this.trie = null;
+    }
+
+    public void setRanges(final String... ranges) {
+        CommonHelper.assertNotNull("ranges", ranges);
+        setRanges(Arrays.asList(ranges));
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    /**
+     * Define the file of the ranges, read at the first lookup and at each {@link #reload()}.
+     *
+     * @param file the path of the file
+     */
+    public void setFile(final String file) {
+        this.file = file;
+        this.trie = null;
+    }
+
+    @Override
+    public String toString() {
+        return CommonHelper.toNiceString(this.getClass(), "ranges", ranges, "file", file);
+    }
+}
@@ -0,0 +1,370 @@
+package org.pac4j.http.util;
+
+import org.pac4j.core.exception.TechnicalException;
+
+import java.util.Collection;
+
+/**
+ * An immutable set of IPv4 and IPv6 ranges (CIDR notation like <code>10.0.0.0/8</code> or <code>2001:db8::/32</code>,
+ * or single addresses), stored in a compressed binary prefix trie.
+ *
+ * <p>The IPv4 addresses are stored as IPv4-mapped IPv6 addresses (<code>::ffff:a.b.c.d</code>). The lookups parse the address
+ * literal without any DNS resolution and without allocating, and walk at most one node per address bit.</p>
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class IpRangeTrie {
+
+    private static final int ADDRESS_BITS = 128;
+
+    private static final long IPV4_MAPPED_PREFIX = 0xffffL << 32;
+
+    private static final ThreadLocal<long[]> ADDRESSES = ThreadLocal.withInitial(() -> new long[2]);
+
+    private final Node root;
+
+    private final int size;
+
+    private IpRangeTrie(final Node root, final int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Build the trie of the provided ranges.
+     *
+     * @param ranges the IP ranges (CIDR notation) or addresses
+     * @return the trie
+     */
+    public static IpRangeTrie of(final Collection<String> ranges) {
+        final var builder = new BuilderNode();
+        var size = 0;
+        final var address = new long[2];
+        for (final var range : ranges) {
+            if (range == null || range.isBlank()) {
+                continue;
+            }
+            final var trimmed = range.trim();
+            final var slash = trimmed.indexOf('/');
+            final var ip = slash >= 0 ? trimmed.substring(0, slash) : trimmed;
+            final var bits = parse(ip, address);
+            if (bits < 0) {
+                throw new TechnicalException("Invalid IP range: " + range);
+            }
+            var length = ADDRESS_BITS;
+            if (slash >= 0) {
+                try {
+                    length = Integer.parseInt(trimmed.substring(slash + 1));
+                } catch (final NumberFormatException e) {
+                    throw new TechnicalException("Invalid IP range: " + range);
+                }
+                if (length < 0 || length > bits) {
+                    throw new TechnicalException("Invalid IP range: " + range);
+                }
+                length += ADDRESS_BITS - bits;
+            }
+            builder.insert(address[0], address[1], length);
+            size++;
+        }
+        return new IpRangeTrie(builder.compress(0L, 0L, 0), size);
+    }
+
+    /**
+     * Whether the address belongs to one of the ranges.
+     *
+     * @param ip the IP address literal
+     * @return whether the address belongs to one of the ranges, <code>false</code> if it is not a valid IP address
+     */
+    public boolean contains(final String ip) {
+        if (root == null || ip == null) {
+            return false;
+        }
+        final var address = ADDRESSES.get();
+        if (parse(ip, address) < 0) {
+            return false;
+        }
+        final var hi = address[0];
+        final var lo = address[1];
+        var node = root;
+        while (node != null && node.matches(hi, lo)) {
+            if (node.terminal) {
+                return true;
+            }
+            node = bit(hi, lo, node.length) == 0 ? node.zero : node.one;
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of ranges
+     */
+    public int size() {
+        return size;
+    }
+
+    private static int bit(final long hi, final long lo, final int index) {
+        if (index < 64) {
+            return (int) (hi >>> (63 - index)) & 1;
+        }
+        return (int) (lo >>> (127 - index)) & 1;
+    }
+
+    private static long mask(final int length) {
+        return length <= 0 ? 0L : -1L << (64 - Math.min(length, 64));
+    }
+
+    /**
+     * Parse an IPv4 or IPv6 address literal (IPv6 optionally between brackets or with a zone).
+     *
+     * @param ip the address literal
+     * @param address the 128 bits of the address (IPv4 addresses are IPv4-mapped)
+     * @return the number of bits of the parsed address family (32 or 128), -1 if the literal is invalid
+     */
+    static int parse(final String ip, final long[] address) {
+        var start = 0;
+        var end = ip.length();
+        if (end > 1 && ip.charAt(0) == '[' && ip.charAt(end - 1) == ']') {
+            start++;
+            end--;
+        }
+        if (ip.indexOf(':', start) < 0) {
+            final var ipv4 = parseIpv4(ip, start, end);
+            if (ipv4 < 0) {
+                return -1;
+            }
+            address[0] = 0L;
+            address[1] = IPV4_MAPPED_PREFIX | ipv4;
+            return 32;
+        }
+        final var zone = ip.indexOf('%', start);
+        if (zone >= 0 && zone < end) {
+            end = zone;
+        }
+        return parseIpv6(ip, start, end, address) ? ADDRESS_BITS : -1;
+    }
+
+    private static long parseIpv4(final String ip, final int start, final int end) {
+        long result = 0;
+        var octets = 0;
+        var value = -1;
+        for (var i = start; i <= end; i++) {
+            final var c = i < end ? ip.charAt(i) : '.';
+            if (c == '.') {
+                if (value < 0 || ++octets > 4) {
+                    return -1;
+                }
+                result = (result << 8) | value;
+                value = -1;
+            } else if (c >= '0' && c <= '9') {
+                value = (value < 0 ? 0 : value * 10) + (c - '0');
+                if (value > 255) {
+                    return -1;
+                }
+            } else {
+                return -1;
+            }
+        }
+        return octets == 4 ? result : -1;
+    }
+
+    private static boolean parseIpv6(final String ip, final int start, final int end, final long[] address) {
+        long headHi = 0, headLo = 0, tailHi = 0, tailLo = 0;
+        var headGroups = 0;
+        var tailGroups = 0;
+        var compressed = false;
+        var i = start;
+        if (end - start >= 2 && ip.charAt(start) == ':' && ip.charAt(start + 1) == ':') {
+            compressed = true;
+            i += 2;
+        }
+        while (i < end) {
+            var groupEnd = i;
+            var dotted = false;
+            while (groupEnd < end && ip.charAt(groupEnd) != ':') {
+                if (ip.charAt(groupEnd) == '.') {
+                    dotted = true;
+                }
+                groupEnd++;
+            }
+            final int groups;
+            final long value;
+            if (dotted) {
+                if (groupEnd != end) {
+                    return false;
+                }
+                value = parseIpv4(ip, i, end);
+                if (value < 0) {
+                    return false;
+                }
+                groups = 2;
+            } else {
+                if (groupEnd == i || groupEnd - i > 4) {
+                    return false;
+                }
+                long group = 0;
+                for (var j = i; j < groupEnd; j++) {
+                    final var digit = Character.digit(ip.charAt(j), 16);
+                    if (digit < 0) {
+                        return false;
+                    }
+                    group = (group << 4) | digit;
+                }
+                value = group;
+                groups = 1;
+            }
+            final var shift = 16 * groups;
+            if (compressed) {
+                tailHi = (tailHi << shift) | (tailLo >>> (64 - shift));
+                tailLo = (tailLo << shift) | value;
+                tailGroups += groups;
+            } else {
+                headHi = (headHi << shift) | (headLo >>> (64 - shift));
+                headLo = (headLo << shift) | value;
+                headGroups += groups;
+            }
+            if (headGroups + tailGroups > 8) {
+                return false;
+            }
+            i = groupEnd;
+            if (i < end) {
+                // skip the ':' and detect the '::'
+                i++;
+                if (i < end && ip.charAt(i) == ':') {
+                    if (compressed) {
+                        return false;
+                    }
+                    compressed = true;
+                    i++;
+                } else if (i == end) {
+                    return false;
+                }
+            }
+        }
+        if (compressed ? headGroups + tailGroups > 7 : headGroups != 8) {
+            return false;
+        }
+        // shift the head groups to the top
+        final var shift = 16 * (8 - headGroups);
+        if (shift >= 64) {
+            headHi = headLo << (shift - 64);
+            headLo = 0;
+        } else if (shift > 0) {
+            headHi = (headHi << shift) | (headLo >>> (64 - shift));
+            headLo = headLo << shift;
+        }
+        address[0] = headHi | tailHi;
+        address[1] = headLo | tailLo;
+        return true;
+    }
+
+    /**
+     * A node of the compressed trie: the full prefix leading to it, whether it ends a range and its children.
+     */
+    private static final class Node {
+
+        private final long hi;
+
+        private final long lo;
+
+        private final int length;
+
+        private final boolean terminal;
+
+        private final Node zero;
+
+        private final Node one;
+
+        private Node(final long hi, final long lo, final int length, final boolean terminal, final Node zero, final Node one) {
+            this.hi = hi;
+            this.lo = lo;
+            this.length = length;
+            this.terminal = terminal;
+            this.zero = zero;
+            this.one = one;
+        }
+
+        private boolean matches(final long addressHi, final long addressLo) {
+            if (((addressHi ^ hi) & mask(length)) != 0) {
+                return false;
+            }
+            return ((addressLo ^ lo) & mask(length - 64)) == 0;
+        }
+    }
+
+    /**
+     * A node of the uncompressed trie used to build the compressed one.
+     */
+    private static final class BuilderNode {
+
+        private boolean terminal;
+
+        private BuilderNode zero;
+
+        private BuilderNode one;
+
+        private void insert(final long hi, final long lo, final int length) {
+            var node = this;
+            for (var i = 0; i < length; i++) {
+                if (node.terminal) {
+                    // already covered by a larger range
+                    return;
+                }
+                if (bit(hi, lo, i) == 0) {
+                    if (node.zero == null) {
+                        node.zero = new BuilderNode();
+                    }
+                    node = node.zero;
+                } else {
+                    if (node.one == null) {
+                        node.one = new BuilderNode();
+                    }
+                    node = node.one;
+                }
+            }
+            // the smaller ranges are covered by this one
+            node.terminal = true;
+            node.zero = null;
+            node.one = null;
+        }
+
+        private Node compress(final long hi, final long lo, final int length) {
+            var node = this;
+            var nodeHi = hi;
+            var nodeLo = lo;
+            var nodeLength = length;
+            // skip the chains of single children
+            while (!node.terminal && (node.zero == null) != (node.one == null)) {
+                if (node.one != null) {
+                    if (nodeLength < 64) {
+                        nodeHi |= 1L << (63 - nodeLength);
+                    } else {
+                        nodeLo |= 1L << (127 - nodeLength);
+                    }
+                    node = node.one;
+                } else {
+                    node = node.zero;
+                }
+                nodeLength++;
+            }
+            if (!node.terminal && node.zero == null) {
+                // empty trie
+                return null;
+            }
+            final Node zero;
+            final Node one;
+            if (node.terminal) {
+                zero = null;
+                one = null;
+            } else {
+                zero = node.zero.compress(nodeHi, nodeLo, nodeLength + 1);
+                if (nodeLength < 64) {
+                    one = node.one.compress(nodeHi | 1L << (63 - nodeLength), nodeLo, nodeLength + 1);
+                } else {
+                    one = node.one.compress(nodeHi, nodeLo | 1L << (127 - nodeLength), nodeLength + 1);
+                }
+            }
+            return new Node(nodeHi, nodeLo, nodeLength, node.terminal, zero, one);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.pac4j.http.authorization.authorizer;
+
+import org.junit.Test;
+import org.pac4j.core.context.MockWebContext;
+import org.pac4j.core.context.session.MockSessionStore;
+import org.pac4j.core.exception.TechnicalException;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests the {@link IpRangeAuthorizer}.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+@SuppressWarnings("PMD.AvoidUsingHardCodedIP")
+public final class IpRangeAuthorizerTests {
+
+    private final static IpRangeAuthorizer authorizer = new IpRangeAuthorizer("10.0.0.0/8", "2001:db8::/32");
+
+    @Test(expected = TechnicalException.class)
+    public void testNoRanges() {
+        final var authorizer = new IpRangeAuthorizer();
+        authorizer.isAuthorized(MockWebContext.create(), new MockSessionStore(), null);
+    }
+
+    @Test
+    public void testValidateGoodIP() {
+        assertTrue(authorizer.isAuthorized(MockWebContext.create().setRemoteAddress("10.20.30.40"), new MockSessionStore(), null));
+        assertTrue(authorizer.isAuthorized(MockWebContext.create().setRemoteAddress("2001:db8::1"), new MockSessionStore(), null));
+    }
+
+    @Test
+    public void testValidateBadIP() {
+        assertFalse(authorizer.isAuthorized(MockWebContext.create().setRemoteAddress("11.0.0.1"), new MockSessionStore(), null));
+        assertFalse(authorizer.isAuthorized(MockWebContext.create().setRemoteAddress("badIp"), new MockSessionStore(), null));
+    }
+}
@@ -9,10 +9,11 @@ import org.pac4j.core.util.TestsConstants;
 import org.pac4j.core.util.TestsHelper;
 import org.pac4j.http.credentials.CredentialUtil;
 import org.pac4j.http.credentials.DigestCredentials;
+import org.pac4j.http.credentials.DigestNonceService;
 import org.pac4j.http.credentials.authenticator.test.SimpleTestDigestAuthenticator;
 import org.pac4j.http.credentials.authenticator.test.SimpleTestTokenAuthenticator;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 import static org.pac4j.core.context.HttpConstants.*;
 
 /**
@@ -48,6 +49,7 @@ public class DirectDigestAuthClientTests implements TestsConstants {
     public void testAuthentication() {
         final var client = new DirectDigestAuthClient(new SimpleTestDigestAuthenticator());
         client.setRealm(REALM);
+        client.setNonceVerification(false);
         final var context = MockWebContext.create();
         context.addRequestHeader(AUTHORIZATION_HEADER,
                 DIGEST_AUTHORIZATION_HEADER_VALUE);
@@ -64,4 +66,65 @@ public class DirectDigestAuthClientTests implements TestsConstants {
         assertEquals(DIGEST_RESPONSE, serverDigest2);
         assertEquals(USERNAME, profile.getId());
     }
+
+    @Test
+    public void testNonceVerification() {
+        final var client = new DirectDigestAuthClient(new SimpleTestDigestAuthenticator());
+        client.setRealm(REALM);
+        client.setNonceVerification(true);
+        client.init();
+
+        final var nonce = client.getNonceService().generateNonce();
+        final var header = DIGEST_AUTHORIZATION_HEADER_VALUE.replace(NONCE, nonce);
+        assertTrue(client.getCredentials(buildContext(header), new MockSessionStore()).isPresent());
+        // replayed
+        assertFalse(client.getCredentials(buildContext(header), new MockSessionStore()).isPresent());
+        // unknown nonce
+        final var context = buildContext(DIGEST_AUTHORIZATION_HEADER_VALUE);
+        assertFalse(client.getCredentials(context, new MockSessionStore()).isPresent());
+        final var authenticate = context.getResponseHeaders().get(AUTHENTICATE_HEADER);
+        assertTrue(authenticate.startsWith("Digest realm=\"" + REALM + "\", qop=\"auth\", nonce=\""));
+        assertFalse(authenticate.contains("stale=true"));
+    }
+
+    @Test
+    public void testNonceVerifiedByDefault() {
+        final var client = new DirectDigestAuthClient(new SimpleTestDigestAuthenticator());
+        client.setRealm(REALM);
+        assertTrue(client.isNonceVerification());
+        assertFalse(client.getCredentials(buildContext(DIGEST_AUTHORIZATION_HEADER_VALUE), new MockSessionStore()).isPresent());
+    }
+
+    @Test
+    public void testNonceSharedSecret() {
+        final var client1 = new DirectDigestAuthClient(new SimpleTestDigestAuthenticator());
+        client1.setNonceService(new DigestNonceService(SECRET));
+        final var client2 = new DirectDigestAuthClient(new SimpleTestDigestAuthenticator());
+        client2.setNonceService(new DigestNonceService(SECRET));
+
+        final var nonce = client1.getNonceService().generateNonce();
+        final var header = DIGEST_AUTHORIZATION_HEADER_VALUE.replace(NONCE, nonce);
+        assertTrue(client2.getCredentials(buildContext(header), new MockSessionStore()).isPresent());
+    }
+
+    @Test
+    public void testStaleNonce() throws InterruptedException {
+        final var client = new DirectDigestAuthClient(new SimpleTestDigestAuthenticator());
+        client.setNonceVerification(true);
+        client.init();
+        client.getNonceService().setMaxAge(1);
+
+        final var nonce = client.getNonceService().generateNonce();
+        Thread.sleep(10);
+        final var context = buildContext(DIGEST_AUTHORIZATION_HEADER_VALUE.replace(NONCE, nonce));
+        assertFalse(client.getCredentials(context, new MockSessionStore()).isPresent());
+        assertTrue(context.getResponseHeaders().get(AUTHENTICATE_HEADER).endsWith(", stale=true"));
+    }
+
+    private static MockWebContext buildContext(final String header) {
+        final var context = MockWebContext.create();
+        context.addRequestHeader(AUTHORIZATION_HEADER, header);
+        context.setRequestMethod(HTTP_METHOD.GET.name());
+        return context;
+    }
 }
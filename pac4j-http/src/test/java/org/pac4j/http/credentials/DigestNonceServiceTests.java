@@ -0,0 +1,90 @@
+package org.pac4j.http.credentials;
+
+import org.junit.Test;
+import org.pac4j.core.util.TestsConstants;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link DigestNonceService}.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class DigestNonceServiceTests implements TestsConstants {
+
+    @Test
+    public void testValidNonce() {
+        final var service = new DigestNonceService(KEY);
+        final var nonce = service.generateNonce();
+        assertNotEquals(nonce, service.generateNonce());
+        assertEquals(DigestNonceService.Status.VALID, service.verifyNonce(nonce));
+        assertEquals(DigestNonceService.Status.VALID, new DigestNonceService(KEY).verifyNonce(nonce));
+    }
+
+    @Test
+    public void testInvalidNonce() {
+        final var service = new DigestNonceService(KEY);
+        assertEquals(DigestNonceService.Status.INVALID, service.verifyNonce(null));
+        assertEquals(DigestNonceService.Status.INVALID, service.verifyNonce(NONCE));
+        assertEquals(DigestNonceService.Status.INVALID, service.verifyNonce("%%%"));
+        assertEquals(DigestNonceService.Status.INVALID, new DigestNonceService(VALUE).verifyNonce(service.generateNonce()));
+    }
+
+    @Test
+    public void testStaleNonce() throws InterruptedException {
+        final var service = new DigestNonceService(KEY);
+        service.setMaxAge(1);
+        final var nonce = service.generateNonce();
+        Thread.sleep(10);
+        assertEquals(DigestNonceService.Status.STALE, service.verifyNonce(nonce, NC));
+    }
+
+    @Test
+    public void testNonceCounts() {
+        final var service = new DigestNonceService(KEY);
+        service.setNcWindowSize(4);
+        final var nonce = service.generateNonce();
+        assertEquals(DigestNonceService.Status.VALID, service.verifyNonce(nonce, "00000001"));
+        assertEquals(DigestNonceService.Status.REPLAYED, service.verifyNonce(nonce, "00000001"));
+        assertEquals(DigestNonceService.Status.VALID, service.verifyNonce(nonce, "00000003"));
+        // out of order, inside the window
+        assertEquals(DigestNonceService.Status.VALID, service.verifyNonce(nonce, "00000002"));
+        assertEquals(DigestNonceService.Status.REPLAYED, service.verifyNonce(nonce, "00000002"));
+        assertEquals(DigestNonceService.Status.VALID, service.verifyNonce(nonce, "0000000a"));
+        // outside the window
+        assertEquals(DigestNonceService.Status.REPLAYED, service.verifyNonce(nonce, "00000004"));
+        assertEquals(DigestNonceService.Status.INVALID, service.verifyNonce(nonce, "xyz"));
+        assertEquals(DigestNonceService.Status.INVALID, service.verifyNonce(nonce, "00000000"));
+    }
+
+    @Test
+    public void testMaxTrackedNonces() {
+        final var service = new DigestNonceService(KEY);
+        service.setMaxTrackedNonces(1);
+        service.setNcWindowSize(2);
+        final var nonce1 = service.generateNonce();
+        final var nonce2 = service.generateNonce();
+        assertEquals(DigestNonceService.Status.VALID, service.verifyNonce(nonce1, "00000002"));
+        assertEquals(DigestNonceService.Status.VALID, service.verifyNonce(nonce2, "00000001"));
+        // the counts of nonce1 have been evicted
+        assertEquals(DigestNonceService.Status.STALE, service.verifyNonce(nonce1, "00000003"));
+    }
+
+    @Test
+    public void testReplayAfterEviction() throws InterruptedException {
+        final var service = new DigestNonceService(KEY);
+        service.setMaxTrackedNonces(2);
+        final var nonce1 = service.generateNonce();
+        assertEquals(DigestNonceService.Status.VALID, service.verifyNonce(nonce1, NC));
+        Thread.sleep(5);
+        final var nonce2 = service.generateNonce();
+        final var nonce3 = service.generateNonce();
+        assertEquals(DigestNonceService.Status.VALID, service.verifyNonce(nonce2, NC));
+        assertEquals(DigestNonceService.Status.VALID, service.verifyNonce(nonce3, NC));
+        // nonce1 has been evicted: its count cannot be replayed
+        assertEquals(DigestNonceService.Status.STALE, service.verifyNonce(nonce1, NC));
+        assertEquals(DigestNonceService.Status.REPLAYED, service.verifyNonce(nonce2, NC));
+        assertEquals(DigestNonceService.Status.VALID, service.verifyNonce(service.generateNonce(), NC));
+    }
+}
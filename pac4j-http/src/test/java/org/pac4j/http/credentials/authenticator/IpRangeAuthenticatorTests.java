@@ -0,0 +1,135 @@
+package org.pac4j.http.credentials.authenticator;
+
+import org.junit.Test;
+import org.pac4j.core.context.MockWebContext;
+import org.pac4j.core.context.session.MockSessionStore;
+import org.pac4j.core.credentials.TokenCredentials;
+import org.pac4j.core.exception.CredentialsException;
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.util.TestsConstants;
+import org.pac4j.core.util.TestsHelper;
+import org.pac4j.http.credentials.extractor.IpExtractor;
+import org.pac4j.http.profile.IpProfile;
+import org.pac4j.http.util.IpRangeSet;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests the {@link IpRangeAuthenticator}.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+@SuppressWarnings("PMD.AvoidUsingHardCodedIP")
+public final class IpRangeAuthenticatorTests implements TestsConstants {
+
+    private final static IpRangeAuthenticator authenticator = new IpRangeAuthenticator("10.0.0.0/8", "192.168.1.0/24",
+        "2001:db8::/32", "::1/128");
+
+    @Test
+    public void testNoRanges() {
+        TestsHelper.expectException(() -> new IpRangeAuthenticator().validate(new TokenCredentials("10.0.0.1"), null,
+            new MockSessionStore()), TechnicalException.class, "ranges cannot be empty");
+    }
+
+    @Test
+    public void testAllowIpv4() {
+        assertAllowed(authenticator, "10.0.0.0");
+        assertAllowed(authenticator, "10.255.255.255");
+        assertAllowed(authenticator, "192.168.1.1");
+    }
+
+    @Test
+    public void testDenyIpv4() {
+        assertDenied(authenticator, "11.0.0.0");
+        assertDenied(authenticator, "9.255.255.255");
+        assertDenied(authenticator, "192.168.2.1");
+    }
+
+    @Test
+    public void testAllowIpv6() {
+        assertAllowed(authenticator, "2001:db8::1");
+        assertAllowed(authenticator, "2001:0db8:ffff:ffff:ffff:ffff:ffff:ffff");
+        assertAllowed(authenticator, "::1");
+        // IPv4-mapped IPv6 address
+        assertAllowed(authenticator, "::ffff:10.1.2.3");
+    }
+
+    @Test
+    public void testDenyIpv6() {
+        assertDenied(authenticator, "2001:db9::1");
+        assertDenied(authenticator, "::2");
+        assertDenied(authenticator, "fe80::1");
+    }
+
+    @Test
+    public void testDenyInvalidIp() {
+        assertDenied(authenticator, "badIp");
+        assertDenied(authenticator, "10.0.0.256");
+        assertDenied(authenticator, "");
+    }
+
+    @Test
+    public void testTrustedProxyChain() {
+        final var extractor = new IpExtractor();
+        extractor.setTrustedProxies("172.16.0.0/12", "fd00::/8");
+        final var rangeAuthenticator = new IpRangeAuthenticator("2001:db8::/32", "10.0.0.0/8");
+
+        // the first untrusted hop from the right is the client
+        final var allowed = MockWebContext.create().setRemoteAddress("172.16.0.1")
+            .addRequestHeader(IpExtractor.X_FORWARDED_FOR_HEADER, "11.0.0.1, 2001:db8::5, fd00::1");
+        final var credentials = (TokenCredentials) extractor.extract(allowed, new MockSessionStore()).get();
+        rangeAuthenticator.validate(credentials, allowed, new MockSessionStore());
+        assertEquals("2001:db8::5", credentials.getUserProfile().getId());
+
+        // a spoofed allowed address before an untrusted hop is ignored
+        final var denied = MockWebContext.create().setRemoteAddress("172.16.0.1")
+            .addRequestHeader(IpExtractor.X_FORWARDED_FOR_HEADER, "10.0.0.1, 11.0.0.1");
+        final var deniedCredentials = (TokenCredentials) extractor.extract(denied, new MockSessionStore()).get();
+        assertEquals("11.0.0.1", deniedCredentials.getToken());
+        TestsHelper.expectException(() -> rangeAuthenticator.validate(deniedCredentials, denied, new MockSessionStore()),
+            CredentialsException.class, "Unauthorized IP address: 11.0.0.1");
+
+        // an untrusted remote address is the client, whatever the forwarded chain
+        final var untrusted = MockWebContext.create().setRemoteAddress("11.0.0.2")
+            .addRequestHeader(IpExtractor.X_FORWARDED_FOR_HEADER, "10.0.0.1");
+        final var untrustedCredentials = (TokenCredentials) extractor.extract(untrusted, new MockSessionStore()).get();
+        assertEquals("11.0.0.2", untrustedCredentials.getToken());
+    }
+
+    @Test
+    public void testRangesReloadedOnlyOnReload() throws Exception {
+        final var file = File.createTempFile("ipranges", ".txt");
+        file.deleteOnExit();
+        Files.write(file.toPath(), Collections.singletonList("10.0.0.0/8"), StandardCharsets.UTF_8);
+        final var ranges = new IpRangeSet();
+        ranges.setFile(file.getAbsolutePath());
+        final var fileAuthenticator = new IpRangeAuthenticator(ranges);
+        assertAllowed(fileAuthenticator, "10.0.0.1");
+
+        Files.write(file.toPath(), Collections.singletonList("2001:db8::/32"), StandardCharsets.UTF_8);
+        assertAllowed(fileAuthenticator, "10.0.0.1");
+        assertDenied(fileAuthenticator, "2001:db8::1");
+
+        ranges.reload();
+        assertDenied(fileAuthenticator, "10.0.0.1");
+        assertAllowed(fileAuthenticator, "2001:db8::1");
+    }
+
+    private static void assertAllowed(final IpRangeAuthenticator authenticator, final String ip) {
+        final var credentials = new TokenCredentials(ip);
+        authenticator.validate(credentials, null, new MockSessionStore());
+        final var profile = (IpProfile) credentials.getUserProfile();
+        assertEquals(ip, profile.getId());
+    }
+
+    private static void assertDenied(final IpRangeAuthenticator authenticator, final String ip) {
+        TestsHelper.expectException(() -> authenticator.validate(new TokenCredentials(ip), null, new MockSessionStore()),
+            CredentialsException.class, "Unauthorized IP address: " + ip);
+    }
+}
@@ -0,0 +1,166 @@
+package org.pac4j.http.credentials.authenticator;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.pac4j.core.context.HttpConstants;
+import org.pac4j.core.context.MockWebContext;
+import org.pac4j.core.context.session.MockSessionStore;
+import org.pac4j.core.credentials.UsernamePasswordCredentials;
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.http.client.DefaultHttpClientFactory;
+import org.pac4j.core.util.TestsConstants;
+import org.pac4j.core.util.TestsHelper;
+import org.pac4j.http.profile.RestProfile;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link RestAuthenticator} in the HTTP client mode against an embedded server.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class RestAuthenticatorTests implements TestsConstants {
+
+    private HttpServer server;
+
+    private String url;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+        url = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        final var query = exchange.getRequestURI().getQuery();
+        final var basicAuth = HttpConstants.BASIC_HEADER_PREFIX + Base64.getEncoder()
+            .encodeToString((GOOD_USERNAME + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+        final int status;
+        final String body;
+        if (!basicAuth.equals(exchange.getRequestHeaders().getFirst(HttpConstants.AUTHORIZATION_HEADER))) {
+            status = HttpConstants.UNAUTHORIZED;
+            body = "Unauthorized";
+        } else if ("r=ok".equals(query)) {
+            status = HttpConstants.OK;
+            body = "{ 'id': '" + ID + "', roles: [\"" + ROLE + "\"] }";
+        } else if ("r=pe".equals(query)) {
+            status = HttpConstants.OK;
+            body = "bad";
+        } else {
+            status = 404;
+            body = "Not found";
+        }
+        final var bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    private RestAuthenticator newAuthenticator(final String response) {
+        final var authenticator = new RestAuthenticator(url + "?r=" + response);
+        authenticator.setHttpClientEnabled(true);
+        return authenticator;
+    }
+
+    @Test
+    public void testHttpClientProfileOk() {
+        final var authenticator = newAuthenticator("ok");
+        for (var i = 0; i < 2; i++) {
+            final var credentials = new UsernamePasswordCredentials(GOOD_USERNAME, PASSWORD);
+            authenticator.validate(credentials, MockWebContext.create(), new MockSessionStore());
+            final var profile = (RestProfile) credentials.getUserProfile();
+            assertNotNull(profile);
+            assertEquals(ID, profile.getId());
+            assertEquals(ROLE, profile.getRoles().iterator().next());
+        }
+    }
+
+    @Test
+    public void testHttpClientBadPassword() {
+        final var authenticator = newAuthenticator("ok");
+        final var credentials = new UsernamePasswordCredentials(GOOD_USERNAME, VALUE);
+        authenticator.validate(credentials, MockWebContext.create(), new MockSessionStore());
+        assertNull(credentials.getUserProfile());
+    }
+
+    @Test
+    public void testHttpClientAsync() {
+        final var authenticator = newAuthenticator("ok");
+        final var credentials = new UsernamePasswordCredentials(GOOD_USERNAME, PASSWORD);
+        authenticator.validateAsync(credentials, MockWebContext.create(), new MockSessionStore()).join();
+        assertEquals(ID, credentials.getUserProfile().getId());
+
+        final var notFound = newAuthenticator("notfound");
+        final var credentials2 = new UsernamePasswordCredentials(GOOD_USERNAME, PASSWORD);
+        notFound.validateAsync(credentials2, MockWebContext.create(), new MockSessionStore()).join();
+        assertNull(credentials2.getUserProfile());
+    }
+
+    @Test
+    public void testHttpClientNotFound() {
+        final var authenticator = newAuthenticator("notfound");
+        final var credentials = new UsernamePasswordCredentials(GOOD_USERNAME, PASSWORD);
+        authenticator.validate(credentials, MockWebContext.create(), new MockSessionStore());
+        assertNull(credentials.getUserProfile());
+    }
+
+    @Test
+    public void testHttpClientParsingError() {
+        final var authenticator = newAuthenticator("pe");
+        final var credentials = new UsernamePasswordCredentials(GOOD_USERNAME, PASSWORD);
+        final var e = TestsHelper.expectException(() -> authenticator.validate(credentials, MockWebContext.create(),
+            new MockSessionStore()));
+        assertTrue(e instanceof TechnicalException);
+    }
+
+    @Test
+    public void testHttpClientSettings() {
+        final var authenticator = newAuthenticator("ok");
+        assertEquals(HttpConstants.DEFAULT_CONNECT_TIMEOUT, authenticator.getConnectTimeout());
+        authenticator.setConnectTimeout(1000);
+        authenticator.setReadTimeout(2000);
+        final var httpClient = HttpClient.newHttpClient();
+        authenticator.setHttpClient(httpClient);
+        assertEquals(1000, authenticator.getConnectTimeout());
+        assertEquals(2000, authenticator.getReadTimeout());
+        assertSame(httpClient, authenticator.getHttpClient());
+
+        final var credentials = new UsernamePasswordCredentials(GOOD_USERNAME, PASSWORD);
+        authenticator.validate(credentials, MockWebContext.create(), new MockSessionStore());
+        assertEquals(ID, credentials.getUserProfile().getId());
+        final var factory = (DefaultHttpClientFactory) authenticator.getHttpClientFactory();
+        assertEquals(HttpClient.Version.HTTP_2, factory.getVersion());
+        assertEquals(Duration.ofMillis(2000), factory.newRequest(java.net.URI.create(url)).build().timeout().get());
+        assertEquals(1, factory.getMetrics().getRequests());
+    }
+
+    @Test
+    public void testProvidedFactoryNotModified() {
+        final var authenticator = newAuthenticator("ok");
+        final var provided = new DefaultHttpClientFactory(1000, 2000);
+        authenticator.setHttpClientFactory(provided);
+        authenticator.setReadTimeout(3000);
+        assertNotSame(provided, authenticator.getHttpClientFactory());
+        assertEquals(2000, provided.getReadTimeout());
+        assertEquals(3000, authenticator.getReadTimeout());
+    }
+}
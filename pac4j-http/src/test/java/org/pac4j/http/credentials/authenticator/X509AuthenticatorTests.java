@@ -0,0 +1,201 @@
+package org.pac4j.http.credentials.authenticator;
+
+import org.junit.Test;
+import org.pac4j.core.context.MockWebContext;
+import org.pac4j.core.context.session.MockSessionStore;
+import org.pac4j.core.exception.CredentialsException;
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.util.TestsConstants;
+import org.pac4j.core.util.TestsHelper;
+import org.pac4j.http.credentials.X509Credentials;
+import org.pac4j.http.credentials.authenticator.revocation.CrlRevocationChecker;
+import org.pac4j.http.credentials.authenticator.revocation.X509RevocationStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link X509Authenticator}.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class X509AuthenticatorTests implements TestsConstants {
+
+    public static final String CA = "MIIBezCCASGgAwIBAgIUKghKn3OtrBggAue2kISsd7SuFs0wCgYIKoZIzj0EAwIwEjEQMA4GA1UEAwwHVGVzdCBDQTAgFw0y" +
+        "NjEwMTkwMTExMjVaGA8yMTI2MDkyNTAxMTEyNVowEjEQMA4GA1UEAwwHVGVzdCBDQTBZMBMGByqGSM49AgEGCCqGSM49AwEH" +
+        "A0IABHBNml980eQ79dkeNCX21P4T+Z/IZAGQa7S+cGFZbLxsr5dSXmDL3KAaUt9nm7p8t+K2dqATj+iONqdh4rcZQqajUzBR" +
+        "MB0GA1UdDgQWBBR+HYBpTHtvudchl3wHZi1XFh+0ljAfBgNVHSMEGDAWgBR+HYBpTHtvudchl3wHZi1XFh+0ljAPBgNVHRMB" +
+        "Af8EBTADAQH/MAoGCCqGSM49BAMCA0gAMEUCIESOf1qshF+LdYM3rLSCSBF0RFzveQlqZ9RUy/MH0BY/AiEA+WBGa4BHafNf" +
+        "BF8R/CK/IvlMTQ12wEupsd0fA39J7fg=";
+
+    public static final String ALICE = "MIIBiDCCAS2gAwIBAgICEAAwCgYIKoZIzj0EAwIwEjEQMA4GA1UEAwwHVGVzdCBDQTAgFw0yNjEwMTkwMTExMjVaGA8yMTI2" +
+        "MDkyNTAxMTEyNVowEDEOMAwGA1UEAwwFYWxpY2UwWTATBgcqhkjOPQIBBggqhkjOPQMBBwNCAAQ0Z3THqI+YJvOXQB1d9bWL" +
+        "AuQJB3j7MwvzK9KnTBnbnB00VTS4kXJo8kAPhWqxRso7xohlqY3xy90ge6HMgrKRo3MwcTAvBgNVHREEKDAmgRFhbGljZUBl" +
+        "eGFtcGxlLmNvbYIRYWxpY2UuZXhhbXBsZS5jb20wHQYDVR0OBBYEFGYsPcOGa4tpautT2txb9B8pnV2BMB8GA1UdIwQYMBaA" +
+        "FH4dgGlMe2+51yGXfAdmLVcWH7SWMAoGCCqGSM49BAMCA0kAMEYCIQDWB65Q/qtYq4B2EcEvm4qHR1NfXsinDS68ae/X+1h+" +
+        "xAIhAKPmpDW3Zwn1jryr/AQoeRR/S1R+5i6T2k6E7BPOYmu1";
+
+    public static final String BOB = "MIIBgDCCASegAwIBAgICEAEwCgYIKoZIzj0EAwIwEjEQMA4GA1UEAwwHVGVzdCBDQTAgFw0yNjEwMTkwMTExMjVaGA8yMTI2" +
+        "MDkyNTAxMTEyNVowDjEMMAoGA1UEAwwDYm9iMFkwEwYHKoZIzj0CAQYIKoZIzj0DAQcDQgAEEBi5DPutWsntSSC89dzq0Znh" +
+        "I5pMYljz9nA7C8fpXAkilC9gJH+kj1qF/+uvnthtlv+IFX2n2FjeFpPOJxltX6NvMG0wKwYDVR0RBCQwIoEPYm9iQGV4YW1w" +
+        "bGUuY29tgg9ib2IuZXhhbXBsZS5jb20wHQYDVR0OBBYEFEee01g1Y02RQzJx0mWneliyCiYqMB8GA1UdIwQYMBaAFH4dgGlM" +
+        "e2+51yGXfAdmLVcWH7SWMAoGCCqGSM49BAMCA0cAMEQCIC5okN6JjJ5AW4YJl3IF8PhV2kio0mop1Sk7R+X7Ri39AiBvqRbk" +
+        "u0qZMExl5z78dcVE61TAzq5erHGVx5n/2CaW8A==";
+
+    public static final String CRL = "MIHCMGsCAQEwCgYIKoZIzj0EAwIwEjEQMA4GA1UEAwwHVGVzdCBDQRcNMjYxMDE5MDExMTI1WhgPMjEyNjA5MjUwMTExMjVa" +
+        "MBUwEwICEAEXDTI2MTAxOTAxMTEyNVqgDzANMAsGA1UdFAQEAgIQADAKBggqhkjOPQQDAgNHADBEAiBlwHkiyG85EjFYM4jJ" +
+        "2HGeb6gLghl79jR9PVL4e2rLhQIgEDo+a+KjGOdETrlRrE3c5MFGwbT1Nv1B0EPiLi8S5js=";
+
+    @Test
+    public void testSubjectDN() throws Exception {
+        final var authenticator = new X509Authenticator();
+        assertEquals("alice", authenticate(authenticator, new X509Credentials(certificate(ALICE))));
+    }
+
+    @Test
+    public void testSubjectAlternativeName() throws Exception {
+        final var authenticator = new X509Authenticator();
+        authenticator.setSubjectAlternativeNameType(1);
+        assertEquals("alice@example.com", authenticate(authenticator, new X509Credentials(certificate(ALICE))));
+        authenticator.setSubjectAlternativeNameType(2);
+        assertEquals("alice.example.com", authenticate(authenticator, new X509Credentials(certificate(ALICE))));
+        authenticator.setSubjectAlternativeNameType(6);
+        TestsHelper.expectException(() -> authenticate(authenticator, new X509Credentials(certificate(ALICE))),
+            CredentialsException.class, "No X509 subject alternative name of type: 6");
+    }
+
+    @Test
+    public void testCache() throws Exception {
+        final var checks = new AtomicInteger();
+        final var authenticator = new X509Authenticator();
+        authenticator.setRevocationChecker((certificate, issuer) -> {
+            checks.incrementAndGet();
+            return new X509RevocationStatus(X509RevocationStatus.Status.GOOD,
+                new Date(System.currentTimeMillis() + 60_000));
+        });
+        for (var i = 0; i < 3; i++) {
+            assertEquals("alice", authenticate(authenticator, new X509Credentials(certificate(ALICE))));
+        }
+        assertEquals(1, checks.get());
+
+        authenticator.setCacheSize(0);
+        authenticator.init(true);
+        for (var i = 0; i < 3; i++) {
+            assertEquals("alice", authenticate(authenticator, new X509Credentials(certificate(ALICE))));
+        }
+        assertEquals(4, checks.get());
+    }
+
+    @Test
+    public void testCrlRevocation() throws Exception {
+        final var crlFile = File.createTempFile("crl", ".der");
+        crlFile.deleteOnExit();
+        Files.write(crlFile.toPath(), Base64.getDecoder().decode(CRL));
+
+        final var authenticator = new X509Authenticator();
+        final var checker = new CrlRevocationChecker(crlFile.toURI().toString());
+        checker.setTrustAnchor(certificate(CA));
+        authenticator.setRevocationChecker(checker);
+        final var ca = certificate(CA);
+        assertEquals("alice", authenticate(authenticator, new X509Credentials(certificate(ALICE), ca)));
+        TestsHelper.expectException(() -> authenticate(authenticator, new X509Credentials(certificate(BOB), ca)),
+            CredentialsException.class, "Revoked X509 certificate: CN=bob");
+    }
+
+    @Test
+    public void testCrlOffline() throws Exception {
+        final var crlFile = File.createTempFile("crl", ".der");
+        crlFile.deleteOnExit();
+        Files.write(crlFile.toPath(), Base64.getDecoder().decode(CRL));
+
+        final var checker = new CrlRevocationChecker("http://localhost:1/crl", crlFile.getAbsolutePath());
+        checker.setTrustAnchor(certificate(CA));
+        assertEquals(X509RevocationStatus.Status.REVOKED, checker.check(certificate(BOB), null).getStatus());
+        assertEquals(X509RevocationStatus.Status.GOOD, checker.check(certificate(ALICE), null).getStatus());
+        // the self-signed CA is issued by the CRL issuer (itself) and not revoked
+        assertEquals(X509RevocationStatus.Status.GOOD, checker.check(certificate(CA), null).getStatus());
+    }
+
+    @Test
+    public void testRevocationCheckerChangeClearsCache() throws Exception {
+        final var authenticator = new X509Authenticator();
+        authenticator.setRevocationChecker((certificate, issuer) -> new X509RevocationStatus(X509RevocationStatus.Status.GOOD,
+            new Date(System.currentTimeMillis() + 60_000)));
+        assertEquals("alice", authenticate(authenticator, new X509Credentials(certificate(ALICE))));
+        authenticator.setRevocationChecker((certificate, issuer) -> new X509RevocationStatus(X509RevocationStatus.Status.REVOKED,
+            null));
+        TestsHelper.expectException(() -> authenticate(authenticator, new X509Credentials(certificate(ALICE))),
+            CredentialsException.class, "Revoked X509 certificate: CN=alice");
+    }
+
+    @Test
+    public void testCacheSize() throws Exception {
+        final var checks = new AtomicInteger();
+        final var authenticator = new X509Authenticator();
+        authenticator.setCacheSize(1);
+        authenticator.setRevocationChecker((certificate, issuer) -> {
+            checks.incrementAndGet();
+            return new X509RevocationStatus(X509RevocationStatus.Status.GOOD, new Date(System.currentTimeMillis() + 60_000));
+        });
+        assertEquals("alice", authenticate(authenticator, new X509Credentials(certificate(ALICE))));
+        assertEquals("bob", authenticate(authenticator, new X509Credentials(certificate(BOB))));
+        assertEquals("alice", authenticate(authenticator, new X509Credentials(certificate(ALICE))));
+        assertEquals(3, checks.get());
+        assertEquals("alice", authenticate(authenticator, new X509Credentials(certificate(ALICE))));
+        assertEquals(3, checks.get());
+    }
+
+    @Test
+    public void testUnknownRevocation() throws Exception {
+        final var authenticator = new X509Authenticator();
+        authenticator.setRevocationChecker((certificate, issuer) -> X509RevocationStatus.unknown());
+        TestsHelper.expectException(() -> authenticate(authenticator, new X509Credentials(certificate(ALICE))),
+            CredentialsException.class, "Unknown revocation status for X509 certificate: CN=alice");
+        authenticator.setRevocationSoftFail(true);
+        assertEquals("alice", authenticate(authenticator, new X509Credentials(certificate(ALICE))));
+    }
+
+    @Test
+    public void testInvalidCrlSignature() throws Exception {
+        final var crlFile = File.createTempFile("crl", ".der");
+        crlFile.deleteOnExit();
+        Files.write(crlFile.toPath(), Base64.getDecoder().decode(CRL));
+
+        final var checker = new CrlRevocationChecker(null, crlFile.getAbsolutePath());
+        checker.setTrustAnchor(certificate(BOB));
+        assertEquals(X509RevocationStatus.Status.UNKNOWN, checker.check(certificate(ALICE), certificate(CA)).getStatus());
+    }
+
+    @Test
+    public void testPresentedIssuerNotTrusted() throws Exception {
+        final var crlFile = File.createTempFile("crl", ".der");
+        crlFile.deleteOnExit();
+        Files.write(crlFile.toPath(), Base64.getDecoder().decode(CRL));
+
+        final var checker = new CrlRevocationChecker(null, crlFile.getAbsolutePath());
+        TestsHelper.expectException(() -> checker.check(certificate(BOB), certificate(CA)), TechnicalException.class,
+            "trustAnchor cannot be null");
+        checker.setTrustAnchor(certificate(CA));
+        // a junk issuer does not make the revocation status unknown
+        assertEquals(X509RevocationStatus.Status.REVOKED, checker.check(certificate(BOB), certificate(ALICE)).getStatus());
+    }
+
+    private static String authenticate(final X509Authenticator authenticator, final X509Credentials credentials) {
+        authenticator.validate(credentials, MockWebContext.create(), new MockSessionStore());
+        return credentials.getUserProfile().getId();
+    }
+
+    public static X509Certificate certificate(final String data) throws Exception {
+        return (X509Certificate) CertificateFactory.getInstance("X.509")
+            .generateCertificate(new ByteArrayInputStream(Base64.getDecoder().decode(data)));
+    }
+}
@@ -0,0 +1,122 @@
+package org.pac4j.http.credentials.authenticator.revocation;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.pac4j.core.util.TestsConstants;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.pac4j.http.credentials.authenticator.X509AuthenticatorTests.*;
+
+/**
+ * Tests {@link CrlRevocationChecker}.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class CrlRevocationCheckerTests implements TestsConstants {
+
+    private HttpServer server;
+
+    private final AtomicInteger downloads = new AtomicInteger();
+
+    private volatile boolean available = true;
+
+    private String url;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/crl", this::handle);
+        server.start();
+        url = "http://localhost:" + server.getAddress().getPort() + "/crl";
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        downloads.incrementAndGet();
+        if (available) {
+            final var bytes = Base64.getDecoder().decode(CRL);
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        } else {
+            exchange.sendResponseHeaders(500, -1);
+        }
+        exchange.close();
+    }
+
+    @Test
+    public void testFailedRefreshRetriedAfterDelay() throws Exception {
+        final var checker = new CrlRevocationChecker(url);
+        checker.setTrustAnchor(certificate(CA));
+        checker.setExecutor(Runnable::run);
+        // always in the refresh window
+        checker.setRefreshMargin(Long.MAX_VALUE);
+        assertEquals(X509RevocationStatus.Status.GOOD, checker.check(certificate(ALICE), null).getStatus());
+        assertEquals(1, downloads.get());
+
+        available = false;
+        for (var i = 0; i < 3; i++) {
+            assertEquals(X509RevocationStatus.Status.GOOD, checker.check(certificate(ALICE), null).getStatus());
+        }
+        assertEquals(2, downloads.get());
+    }
+
+    @Test
+    public void testFailedLoadRetriedAfterDelay() throws Exception {
+        available = false;
+        final var checker = new CrlRevocationChecker(url);
+        checker.setTrustAnchor(certificate(CA));
+        for (var i = 0; i < 3; i++) {
+            assertEquals(X509RevocationStatus.Status.UNKNOWN, checker.check(certificate(ALICE), null).getStatus());
+        }
+        assertEquals(1, downloads.get());
+    }
+
+    @Test
+    public void testExpiredCrl() throws Exception {
+        final var crlFile = File.createTempFile("crl", ".der");
+        crlFile.deleteOnExit();
+        Files.write(crlFile.toPath(), Base64.getDecoder().decode(CRL));
+
+        final var checker = new ExpiredCrlRevocationChecker(crlFile.getAbsolutePath());
+        checker.setTrustAnchor(certificate(CA));
+        assertEquals(X509RevocationStatus.Status.UNKNOWN, checker.check(certificate(BOB), null).getStatus());
+    }
+
+    @Test
+    public void testUntrustedCrl() throws Exception {
+        final var checker = new CrlRevocationChecker(url);
+        checker.setTrustAnchor(certificate(BOB));
+        assertEquals(X509RevocationStatus.Status.UNKNOWN, checker.check(certificate(ALICE), certificate(CA)).getStatus());
+    }
+
+    /**
+     * A checker whose CRLs are already expired.
+     */
+    private static final class ExpiredCrlRevocationChecker extends CrlRevocationChecker {
+
+        private ExpiredCrlRevocationChecker(final String crlFile) {
+            super(null, crlFile);
+        }
+
+        @Override
+        protected CachedCrl parseCrl(final byte[] data) throws GeneralSecurityException {
+            return new CachedCrl(super.parseCrl(data).getCrl(), System.currentTimeMillis() - 1);
+        }
+    }
+}
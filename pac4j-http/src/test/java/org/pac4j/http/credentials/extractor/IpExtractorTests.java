@@ -15,6 +15,7 @@ import static org.junit.Assert.*;
  * @author Jerome Leleu
  * @since 1.8.0
  */
+@SuppressWarnings("PMD.AvoidUsingHardCodedIP")
 public final class IpExtractorTests implements TestsConstants {
 
     private final static String GOOD_IP = "goodIp";
@@ -70,4 +71,34 @@ public final class IpExtractorTests implements TestsConstants {
         final var credentials = extractor.extract(context, new MockSessionStore());
         assertFalse(credentials.isPresent());
     }
+
+    @Test
+    public void testRetrieveIpFromForwardedChain() {
+        final var ipExtractor = new IpExtractor();
+        ipExtractor.setTrustedProxies("10.0.0.0/8", "::1");
+        final var context = MockWebContext.create().setRemoteAddress("10.0.0.1")
+            .addRequestHeader(IpExtractor.X_FORWARDED_FOR_HEADER, "1.1.1.1, 2.2.2.2,10.0.0.2 ,  ::1");
+        final var credentials = (TokenCredentials) ipExtractor.extract(context, new MockSessionStore()).get();
+        assertEquals("2.2.2.2", credentials.getToken());
+    }
+
+    @Test
+    public void testRetrieveIpFromForwardedChainUntrustedRemote() {
+        final var ipExtractor = new IpExtractor();
+        ipExtractor.setTrustedProxies("10.0.0.0/8");
+        final var context = MockWebContext.create().setRemoteAddress(LOCALHOST)
+            .addRequestHeader(IpExtractor.X_FORWARDED_FOR_HEADER, GOOD_IP);
+        final var credentials = (TokenCredentials) ipExtractor.extract(context, new MockSessionStore()).get();
+        assertEquals(LOCALHOST, credentials.getToken());
+    }
+
+    @Test
+    public void testRetrieveIpFromForwardedChainOnlyTrusted() {
+        final var ipExtractor = new IpExtractor(HEADER_NAME);
+        ipExtractor.setTrustedProxies("10.0.0.0/8");
+        final var context = MockWebContext.create().setRemoteAddress("10.0.0.1");
+        assertEquals("10.0.0.1", ((TokenCredentials) ipExtractor.extract(context, new MockSessionStore()).get()).getToken());
+        context.addRequestHeader(HEADER_NAME, "10.0.0.3, 10.0.0.2");
+        assertEquals("10.0.0.3", ((TokenCredentials) ipExtractor.extract(context, new MockSessionStore()).get()).getToken());
+    }
 }
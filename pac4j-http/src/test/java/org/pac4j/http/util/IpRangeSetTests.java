@@ -0,0 +1,40 @@
+package org.pac4j.http.util;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link IpRangeSet}.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+@SuppressWarnings("PMD.AvoidUsingHardCodedIP")
+public final class IpRangeSetTests {
+
+    @Test
+    public void testReloadFromFile() throws Exception {
+        final var file = File.createTempFile("ipranges", ".txt");
+        file.deleteOnExit();
+        Files.write(file.toPath(), Arrays.asList("# partners", "10.0.0.0/8 # first", ""), StandardCharsets.UTF_8);
+
+        final var ranges = new IpRangeSet("192.168.0.0/16");
+        ranges.setFile(file.getAbsolutePath());
+        assertTrue(ranges.contains("10.0.0.1"));
+        assertTrue(ranges.contains("192.168.0.1"));
+        assertFalse(ranges.contains("172.16.0.1"));
+
+        Files.write(file.toPath(), Arrays.asList("172.16.0.0/12"), StandardCharsets.UTF_8);
+        assertFalse(ranges.contains("172.16.0.1"));
+        ranges.reload();
+        assertTrue(ranges.contains("172.16.0.1"));
+        assertFalse(ranges.contains("10.0.0.1"));
+        assertTrue(ranges.contains("192.168.0.1"));
+    }
+}
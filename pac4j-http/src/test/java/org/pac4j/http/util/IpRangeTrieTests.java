@@ -0,0 +1,94 @@
+package org.pac4j.http.util;
+
+import org.junit.Test;
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.util.TestsHelper;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link IpRangeTrie}.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+@SuppressWarnings("PMD.AvoidUsingHardCodedIP")
+public final class IpRangeTrieTests {
+
+    @Test
+    public void testIpv4() {
+        final var trie = IpRangeTrie.of(Arrays.asList("10.0.0.0/8", "192.168.1.0/24", "172.16.5.4", " ", "192.168.1.128/25"));
+        assertEquals(4, trie.size());
+        assertTrue(trie.contains("10.1.2.3"));
+        assertTrue(trie.contains("192.168.1.255"));
+        assertTrue(trie.contains("172.16.5.4"));
+        assertTrue(trie.contains("::ffff:10.0.0.1"));
+        assertFalse(trie.contains("11.0.0.1"));
+        assertFalse(trie.contains("192.168.2.1"));
+        assertFalse(trie.contains("172.16.5.5"));
+        assertFalse(trie.contains("::10.0.0.1"));
+    }
+
+    @Test
+    public void testIpv6() {
+        final var trie = IpRangeTrie.of(Arrays.asList("2001:db8::/32", "fe80::1", "::1"));
+        assertTrue(trie.contains("2001:db8:0:0:0:0:0:1"));
+        assertTrue(trie.contains("2001:DB8:ffff::"));
+        assertTrue(trie.contains("[2001:db8::1]"));
+        assertTrue(trie.contains("fe80::1%eth0"));
+        assertTrue(trie.contains("0:0:0:0:0:0:0:1"));
+        assertFalse(trie.contains("2001:db9::1"));
+        assertFalse(trie.contains("fe80::2"));
+        assertFalse(trie.contains("127.0.0.1"));
+    }
+
+    @Test
+    public void testAll() {
+        final var trie = IpRangeTrie.of(Arrays.asList("10.0.0.0/8", "::/0"));
+        assertTrue(trie.contains("1.2.3.4"));
+        assertTrue(trie.contains("2001:db8::1"));
+    }
+
+    @Test
+    public void testEmpty() {
+        final var trie = IpRangeTrie.of(Collections.emptyList());
+        assertFalse(trie.contains("1.2.3.4"));
+        assertFalse(trie.contains(null));
+    }
+
+    @Test
+    public void testInvalidAddresses() {
+        final var trie = IpRangeTrie.of(Collections.singletonList("::/0"));
+        for (final var ip : Arrays.asList("", "goodIp", "1.2.3", "1.2.3.4.5", "256.0.0.1", "1..2.3", ":::", "1:2:3:4:5:6:7:8:9",
+            "1::2::3", "12345::", "1:", ":1", "::g", "1.2.3.4::")) {
+            assertFalse(ip, trie.contains(ip));
+        }
+    }
+
+    @Test
+    public void testInvalidRanges() {
+        TestsHelper.expectException(() -> IpRangeTrie.of(Collections.singletonList("10.0.0.0/33")), TechnicalException.class,
+            "Invalid IP range: 10.0.0.0/33");
+        TestsHelper.expectException(() -> IpRangeTrie.of(Collections.singletonList("myhost")), TechnicalException.class,
+            "Invalid IP range: myhost");
+    }
+
+    @Test
+    public void testParse() {
+        final var address = new long[2];
+        assertEquals(128, IpRangeTrie.parse("1:2:3:4:5:6:7:8", address));
+        assertEquals(0x0001000200030004L, address[0]);
+        assertEquals(0x0005000600070008L, address[1]);
+        assertEquals(128, IpRangeTrie.parse("1:2::7:8", address));
+        assertEquals(0x0001000200000000L, address[0]);
+        assertEquals(0x0000000000070008L, address[1]);
+        assertEquals(128, IpRangeTrie.parse("::ffff:1.2.3.4", address));
+        assertEquals(0L, address[0]);
+        assertEquals(0x0000ffff01020304L, address[1]);
+        assertEquals(32, IpRangeTrie.parse("1.2.3.4", address));
+        assertEquals(0x0000ffff01020304L, address[1]);
+    }
+}
@@ -8,11 +8,11 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
-import org.pac4j.core.exception.TechnicalException;
-import org.pac4j.core.util.CommonHelper;
+import org.pac4j.core.context.HttpConstants;
 import org.pac4j.core.util.Pac4jConstants;
 import org.pac4j.jee.config.AbstractConfigFilter;
-import org.pac4j.saml.client.SAML2Client;
+import org.pac4j.jee.context.JEEContext;
+import org.pac4j.saml.metadata.SAML2ServiceProviderMetadataHelper;
 
 /**
  * This filter prints the SP metadata for SAML.
@@ -44,19 +44,15 @@ public class Saml2MetadataFilter extends AbstractConfigFilter {
     protected void internalFilter(final HttpServletRequest request, final HttpServletResponse response,
                                   final FilterChain chain)  throws IOException, ServletException {
 
-        CommonHelper.assertNotNull("config", getSharedConfig());
-        CommonHelper.assertNotNull("clientName", clientName);
-
-        SAML2Client client;
-        final var result = getSharedConfig().getClients().findClient(this.clientName);
-        if (result.isPresent()) {
-            client = (SAML2Client) result.get();
+        final var client = SAML2ServiceProviderMetadataHelper.findClient(getSharedConfig(), this.clientName);
+        final var metadata = SAML2ServiceProviderMetadataHelper.buildMetadataResponse(client, new JEEContext(request, response));
+        if (metadata.isPresent()) {
+            response.setContentLength(metadata.get().length);
+            response.getOutputStream().write(metadata.get());
+            response.getOutputStream().flush();
         } else {
-            throw new TechnicalException("No SAML2 client: " + this.clientName);
+            response.setStatus(HttpConstants.NOT_MODIFIED);
         }
-        client.init();
-        response.getWriter().write(client.getServiceProviderMetadataResolver().getMetadata());
-        response.getWriter().flush();
     }
 
     @Override
@@ -112,7 +112,7 @@ public class JwtGenerator {
         }
 
         // add attributes
-        final var attributes = profile.getAttributes();
+        final var attributes = profile.getAttributesView();
         for (final var entry : attributes.entrySet()) {
             builder.claim(entry.getKey(), entry.getValue());
         }
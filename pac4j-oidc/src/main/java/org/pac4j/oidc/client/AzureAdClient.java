@@ -1,11 +1,9 @@
 package org.pac4j.oidc.client;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -73,31 +71,26 @@ public class AzureAdClient extends OidcClient {
         final var azureConfig = (AzureAdOidcConfiguration) getConfiguration();
         CommonHelper.assertTrue(CommonHelper.isNotBlank(azureConfig.getTenant()),
             "Tenant must be defined. Update your config.");
-        HttpURLConnection connection = null;
-        try {
-            final Map<String, String> headers = new HashMap<>();
-            headers.put( HttpConstants.CONTENT_TYPE_HEADER, HttpConstants.APPLICATION_FORM_ENCODED_HEADER_VALUE);
-            headers.put( HttpConstants.ACCEPT_HEADER, HttpConstants.APPLICATION_JSON);
-
-            connection = HttpUtils.openPostConnection(new URL("https://login.microsoftonline.com/" + azureConfig.getTenant()+
-                "/oauth2/token"), headers);
-
-            final var out = new BufferedWriter(new OutputStreamWriter(connection.getOutputStream(),
-                StandardCharsets.UTF_8));
-            out.write(azureConfig.makeOauth2TokenRequest(azureAdProfile.getRefreshToken().getValue()));
-            out.close();
+        return requestAccessToken(URI.create("https://login.microsoftonline.com/" + azureConfig.getTenant() + "/oauth2/token"),
+            azureConfig.makeOauth2TokenRequest(azureAdProfile.getRefreshToken().getValue()));
+    }
 
-            final var responseCode = connection.getResponseCode();
-            if (responseCode != 200) {
-                throw new TechnicalException("request for access token failed: " + HttpUtils.buildHttpErrorMessage(connection));
+    protected String requestAccessToken(final URI tokenEndpoint, final String payload) {
+        final var httpClientFactory = getConfiguration().getHttpClientFactory();
+        final var request = httpClientFactory.newRequest(tokenEndpoint)
+            .header(HttpConstants.CONTENT_TYPE_HEADER, HttpConstants.APPLICATION_FORM_ENCODED_HEADER_VALUE)
+            .header(HttpConstants.ACCEPT_HEADER, HttpConstants.APPLICATION_JSON)
+            .POST(HttpRequest.BodyPublishers.ofString(payload))
+            .build();
+        try {
+            final var response = httpClientFactory.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != HttpConstants.OK) {
+                throw new TechnicalException("request for access token failed: " + HttpUtils.buildHttpErrorMessage(response));
             }
-            var body = HttpUtils.readBody(connection);
-            final Map<String, Object> res = objectMapper.readValue(body, typeRef);
-            return (String)res.get("access_token");
+            final Map<String, Object> res = objectMapper.readValue(response.body(), typeRef);
+            return (String) res.get("access_token");
         } catch (final IOException e) {
             throw new TechnicalException(e);
-        } finally {
-            HttpUtils.closeConnection(connection);
         }
     }
 }
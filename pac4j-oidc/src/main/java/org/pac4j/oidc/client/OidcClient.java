@@ -78,6 +78,11 @@ public class OidcClient extends IndirectClient {
         configuration.findLogoutHandler().renewSession(oldSessionId, context, sessionStore);
     }
 
+    @Override
+    public boolean destroyBroadcastSession(final WebContext context, final SessionStore sessionStore) {
+        return configuration.findLogoutHandler().destroyBroadcastSession(context, sessionStore);
+    }
+
     public OidcConfiguration getConfiguration() {
         return configuration;
     }
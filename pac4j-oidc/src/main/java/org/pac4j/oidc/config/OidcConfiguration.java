@@ -13,6 +13,8 @@ import java.util.Map;
 import org.pac4j.core.client.config.BaseClientConfiguration;
 import org.pac4j.core.context.HttpConstants;
 import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.http.client.DefaultHttpClientFactory;
+import org.pac4j.core.http.client.HttpClientFactory;
 import org.pac4j.core.logout.handler.DefaultLogoutHandler;
 import org.pac4j.core.logout.handler.LogoutHandler;
 import org.pac4j.core.util.generator.ValueGenerator;
@@ -341,6 +343,12 @@ public class OidcConfiguration extends BaseClientConfiguration {
         this.maxClockSkew = maxClockSkew;
     }
 
+    @Override
+    protected HttpClientFactory newHttpClientFactory() {
+        // the timeouts are read at each request: their later changes apply
+        return new DefaultHttpClientFactory(this::getConnectTimeout, this::getReadTimeout);
+    }
+
     public int getConnectTimeout() {
         return connectTimeout;
     }
@@ -0,0 +1,26 @@
+package org.pac4j.oidc.config;
+
+import org.junit.Test;
+import org.pac4j.core.http.client.DefaultHttpClientFactory;
+import org.pac4j.core.util.TestsConstants;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link OidcConfiguration}.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class OidcConfigurationTests implements TestsConstants {
+
+    @Test
+    public void testTimeoutsChangedAfterFactoryCreation() {
+        final var configuration = new OidcConfiguration();
+        final var factory = (DefaultHttpClientFactory) configuration.getHttpClientFactory();
+        configuration.setConnectTimeout(1000);
+        configuration.setReadTimeout(2000);
+        assertEquals(1000, factory.getConnectTimeout());
+        assertEquals(2000, factory.getReadTimeout());
+    }
+}
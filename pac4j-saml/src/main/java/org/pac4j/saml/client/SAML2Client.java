@@ -127,6 +127,10 @@ public class SAML2Client extends IndirectClient {
     }
 
     protected void initSOAPPipelineProvider() {
+        // the HTTP client of the previous provider is closed on reinitialization
+        if (this.soapPipelineProvider instanceof DefaultSOAPPipelineProvider) {
+            ((DefaultSOAPPipelineProvider) this.soapPipelineProvider).destroy();
+        }
         this.soapPipelineProvider = new DefaultSOAPPipelineProvider(this);
     }
 
@@ -142,12 +146,12 @@ public class SAML2Client extends IndirectClient {
                     "Unsupported response binding type: " + configuration.getResponseBindingType());
         }
 
-        this.profileHandler = new SAML2WebSSOProfileHandler(
-                new SAML2WebSSOMessageSender(this.signatureSigningParametersProvider,
-                        this.configuration.getAuthnRequestBindingType(),
-                        true,
-                        this.configuration.isAuthnRequestSigned()),
-                messageReceiver);
+        final var messageSender = new SAML2WebSSOMessageSender(this.signatureSigningParametersProvider,
+                this.configuration.getAuthnRequestBindingType(),
+                true,
+                this.configuration.isAuthnRequestSigned());
+        messageSender.setPostVelocityTemplateId(this.configuration.getPostBindingVelocityTemplate());
+        this.profileHandler = new SAML2WebSSOProfileHandler(messageSender, messageReceiver);
     }
 
     protected void initSAMLLogoutProfileHandler() {
@@ -159,9 +163,11 @@ public class SAML2Client extends IndirectClient {
     }
 
     protected SAML2LogoutRequestMessageSender getLogoutRequestMessageSender() {
-        return new SAML2LogoutRequestMessageSender(this.signatureSigningParametersProvider,
+        final var messageSender = new SAML2LogoutRequestMessageSender(this.signatureSigningParametersProvider,
             this.configuration.getSpLogoutRequestBindingType(), false,
             this.configuration.isSpLogoutRequestSigned());
+        messageSender.setPostVelocityTemplateId(this.configuration.getPostBindingVelocityTemplate());
+        return messageSender;
     }
 
     protected void initSAMLLogoutResponseValidator() {
@@ -216,11 +222,18 @@ public class SAML2Client extends IndirectClient {
     }
 
     protected void initSAMLReplayCache() {
-        replayCache = new InMemoryReplayCacheProvider();
+        if (configuration.getReplayCacheProvider() != null) {
+            replayCache = configuration.getReplayCacheProvider();
+        } else {
+            replayCache = new InMemoryReplayCacheProvider();
+        }
     }
 
     public void destroy() {
         ((SAML2ServiceProviderMetadataResolver) spMetadataResolver).destroy();
+        if (soapPipelineProvider instanceof DefaultSOAPPipelineProvider) {
+            ((DefaultSOAPPipelineProvider) soapPipelineProvider).destroy();
+        }
     }
 
     @Override
@@ -228,6 +241,11 @@ public class SAML2Client extends IndirectClient {
         configuration.findLogoutHandler().renewSession(oldSessionId, context, sessionStore);
     }
 
+    @Override
+    public boolean destroyBroadcastSession(final WebContext context, final SessionStore sessionStore) {
+        return configuration.findLogoutHandler().destroyBroadcastSession(context, sessionStore);
+    }
+
     public SAML2ResponseValidator getAuthnResponseValidator() {
         return this.authnResponseValidator;
     }
@@ -304,4 +322,8 @@ public class SAML2Client extends IndirectClient {
     public ReplayCacheProvider getReplayCache() {
         return replayCache;
     }
+
+    public SOAPPipelineProvider getSoapPipelineProvider() {
+        return soapPipelineProvider;
+    }
 }
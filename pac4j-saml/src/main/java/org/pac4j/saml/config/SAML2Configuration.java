@@ -34,9 +34,11 @@ import org.pac4j.saml.metadata.keystore.SAML2FileSystemKeystoreGenerator;
 import org.pac4j.saml.metadata.keystore.SAML2HttpUrlKeystoreGenerator;
 import org.pac4j.saml.metadata.keystore.SAML2KeystoreGenerator;
 import org.pac4j.saml.profile.converter.SimpleSAML2AttributeConverter;
+import org.pac4j.saml.replay.ReplayCacheProvider;
 import org.pac4j.saml.sso.impl.SAML2ScopingIdentityProvider;
 import org.pac4j.saml.store.EmptyStoreFactory;
 import org.pac4j.saml.store.SAMLMessageStoreFactory;
+import org.pac4j.saml.transport.AbstractPac4jDecoder;
 import org.pac4j.saml.util.SAML2HttpClientBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,13 +51,18 @@ import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLSocketFactory;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Period;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 
 /**
@@ -143,6 +150,10 @@ public class SAML2Configuration extends BaseClientConfiguration {
 
     private SAMLMessageStoreFactory samlMessageStoreFactory = new EmptyStoreFactory();
 
+    private ReplayCacheProvider replayCacheProvider;
+
+    private String postBindingVelocityTemplate;
+
     private SAML2KeystoreGenerator keystoreGenerator;
 
     private SAML2MetadataGenerator metadataGenerator;
@@ -221,6 +232,12 @@ public class SAML2Configuration extends BaseClientConfiguration {
 
     private int identityProviderMetadataReadTimeout = 2500;
 
+    private long maximumInboundMessageSize = AbstractPac4jDecoder.DEFAULT_MAXIMUM_MESSAGE_SIZE;
+
+    private ExecutorService decryptionExecutor;
+
+    private volatile String metadataFingerprint;
+
     public SAML2Configuration() {
     }
 
@@ -294,7 +311,12 @@ public class SAML2Configuration extends BaseClientConfiguration {
         }
     }
 
+    public String getCallbackUrl() {
+        return callbackUrl;
+    }
+
     public void setCallbackUrl(final String callbackUrl) {
+        invalidateMetadataFingerprint();
         this.callbackUrl = callbackUrl;
         try {
             if (CommonHelper.isBlank(getServiceProviderEntityId())) {
@@ -353,6 +375,7 @@ public class SAML2Configuration extends BaseClientConfiguration {
     }
 
     public void setContactPersons(final List<SAML2MetadataContactPerson> contactPersons) {
+        invalidateMetadataFingerprint();
         this.contactPersons = contactPersons;
     }
 
@@ -361,6 +384,7 @@ public class SAML2Configuration extends BaseClientConfiguration {
     }
 
     public void setMetadataUIInfos(final List<SAML2MetadataUIInfo> metadataUIInfos) {
+        invalidateMetadataFingerprint();
         this.metadataUIInfos = metadataUIInfos;
     }
 
@@ -369,6 +393,7 @@ public class SAML2Configuration extends BaseClientConfiguration {
     }
 
     public void setSupportedProtocols(final List<String> supportedProtocols) {
+        invalidateMetadataFingerprint();
         this.supportedProtocols = supportedProtocols;
     }
 
@@ -462,27 +487,29 @@ public class SAML2Configuration extends BaseClientConfiguration {
     }
 
     public void setKeystoreAlias(final String keyStoreAlias) {
+        invalidateMetadataFingerprint();
         this.keyStoreAlias = keyStoreAlias;
     }
 
     public void setKeystoreType(final String keyStoreType) {
+        invalidateMetadataFingerprint();
         this.keyStoreType = keyStoreType;
     }
 
     public void setKeystoreResourceFilepath(final String path) {
-        this.keystoreResource = new FileSystemResource(path);
+        setKeystoreResource(new FileSystemResource(path));
     }
 
     public void setKeystoreResourceClasspath(final String path) {
-        this.keystoreResource = new ClassPathResource(path);
+        setKeystoreResource(new ClassPathResource(path));
     }
 
     public void setKeystoreResourceUrl(final String url) {
-        this.keystoreResource = mapPathToResource(url);
+        setKeystoreResource(mapPathToResource(url));
     }
 
     public void setKeystorePath(final String path) {
-        this.keystoreResource = mapPathToResource(path);
+        setKeystoreResource(mapPathToResource(path));
     }
 
     public String getKeyStoreAlias() {
@@ -498,6 +525,7 @@ public class SAML2Configuration extends BaseClientConfiguration {
     }
 
     public void setKeystoreResource(final Resource keystoreResource) {
+        invalidateMetadataFingerprint();
         this.keystoreResource = keystoreResource;
     }
 
@@ -506,6 +534,7 @@ public class SAML2Configuration extends BaseClientConfiguration {
     }
 
     public void setKeystorePassword(final String keystorePassword) {
+        invalidateMetadataFingerprint();
         this.keystorePassword = keystorePassword;
     }
 
@@ -514,6 +543,7 @@ public class SAML2Configuration extends BaseClientConfiguration {
     }
 
     public void setPrivateKeyPassword(final String privateKeyPassword) {
+        invalidateMetadataFingerprint();
         this.privateKeyPassword = privateKeyPassword;
     }
 
@@ -546,6 +576,7 @@ public class SAML2Configuration extends BaseClientConfiguration {
     }
 
     public void setServiceProviderEntityId(final String serviceProviderEntityId) {
+        invalidateMetadataFingerprint();
         this.serviceProviderEntityId = serviceProviderEntityId;
     }
 
@@ -586,6 +617,7 @@ public class SAML2Configuration extends BaseClientConfiguration {
     }
 
     public void setResponseBindingType(final String responseBindingType) {
+        invalidateMetadataFingerprint();
         this.responseBindingType = responseBindingType;
     }
 
@@ -626,6 +658,7 @@ public class SAML2Configuration extends BaseClientConfiguration {
     }
 
     public void setNameIdPolicyFormat(final String nameIdPolicyFormat) {
+        invalidateMetadataFingerprint();
         this.nameIdPolicyFormat = nameIdPolicyFormat;
     }
 
@@ -653,11 +686,34 @@ public class SAML2Configuration extends BaseClientConfiguration {
         this.samlMessageStoreFactory = samlMessageStoreFactory;
     }
 
+    public ReplayCacheProvider getReplayCacheProvider() {
+        return replayCacheProvider;
+    }
+
+    public void setReplayCacheProvider(final ReplayCacheProvider replayCacheProvider) {
+        this.replayCacheProvider = replayCacheProvider;
+    }
+
+    public String getPostBindingVelocityTemplate() {
+        return postBindingVelocityTemplate;
+    }
+
+    /**
+     * Define a custom Velocity template to render the HTTP-POST binding form. If none is defined, the form is written
+     * directly, without any template engine.
+     *
+     * @param postBindingVelocityTemplate the Velocity template identifier (for example: <code>/templates/my-post-binding.vm</code>)
+     */
+    public void setPostBindingVelocityTemplate(final String postBindingVelocityTemplate) {
+        this.postBindingVelocityTemplate = postBindingVelocityTemplate;
+    }
+
     public Collection<String> getBlackListedSignatureSigningAlgorithms() {
         return blackListedSignatureSigningAlgorithms;
     }
 
     public void setBlackListedSignatureSigningAlgorithms(final Collection<String> blackListedSignatureSigningAlgorithms) {
+        invalidateMetadataFingerprint();
         this.blackListedSignatureSigningAlgorithms = blackListedSignatureSigningAlgorithms;
     }
 
@@ -666,6 +722,7 @@ public class SAML2Configuration extends BaseClientConfiguration {
     }
 
     public void setSignatureAlgorithms(final List<String> signatureAlgorithms) {
+        invalidateMetadataFingerprint();
         this.signatureAlgorithms = signatureAlgorithms;
     }
 
@@ -674,6 +731,7 @@ public class SAML2Configuration extends BaseClientConfiguration {
     }
 
     public void setSignatureReferenceDigestMethods(final List<String> signatureReferenceDigestMethods) {
+        invalidateMetadataFingerprint();
         this.signatureReferenceDigestMethods = signatureReferenceDigestMethods;
     }
 
@@ -690,6 +748,7 @@ public class SAML2Configuration extends BaseClientConfiguration {
     }
 
     public void setWantsAssertionsSigned(final boolean wantsAssertionsSigned) {
+        invalidateMetadataFingerprint();
         this.wantsAssertionsSigned = wantsAssertionsSigned;
     }
 
@@ -706,6 +765,7 @@ public class SAML2Configuration extends BaseClientConfiguration {
     }
 
     public void setAuthnRequestSigned(final boolean authnRequestSigned) {
+        invalidateMetadataFingerprint();
         this.authnRequestSigned = authnRequestSigned;
     }
 
@@ -772,6 +832,7 @@ public class SAML2Configuration extends BaseClientConfiguration {
     }
 
     public void setMetadataSigner(final SAML2MetadataSigner metadataSigner) {
+        invalidateMetadataFingerprint();
         this.metadataSigner = metadataSigner;
     }
 
@@ -796,6 +857,7 @@ public class SAML2Configuration extends BaseClientConfiguration {
     }
 
     public void setSignMetadata(final boolean signMetadata) {
+        invalidateMetadataFingerprint();
         this.signMetadata = signMetadata;
     }
 
@@ -894,6 +956,7 @@ public class SAML2Configuration extends BaseClientConfiguration {
     }
 
     public void setSingleSignOutServiceUrl(final String singleSignOutServiceUrl) {
+        invalidateMetadataFingerprint();
         this.singleSignOutServiceUrl = singleSignOutServiceUrl;
     }
 
@@ -912,6 +975,40 @@ public class SAML2Configuration extends BaseClientConfiguration {
         return new KeyStoreCredentialProvider(this);
     }
 
+    /**
+     * Get the fingerprint of the settings the generated metadata depend on (see {@link #toMetadataGenerator()}):
+     * a SHA-256 hash, computed once and recomputed after one of these settings is changed through its setter.
+     * The elements of the lists modified in place are not taken into account.
+     *
+     * @return the metadata fingerprint
+     */
+    public String getMetadataFingerprint() {
+        var fingerprint = this.metadataFingerprint;
+        if (fingerprint == null) {
+            fingerprint = computeMetadataFingerprint();
+            this.metadataFingerprint = fingerprint;
+        }
+        return fingerprint;
+    }
+
+    protected String computeMetadataFingerprint() {
+        final var settings = Arrays.asList(serviceProviderEntityId, callbackUrl, singleSignOutServiceUrl, responseBindingType,
+            signMetadata, authnRequestSigned, wantsAssertionsSigned, nameIdPolicyFormat, requestedServiceProviderAttributes,
+            metadataSigner, blackListedSignatureSigningAlgorithms, signatureAlgorithms, signatureReferenceDigestMethods,
+            supportedProtocols, contactPersons, metadataUIInfos, keystoreResource, keyStoreAlias, keyStoreType,
+            keystorePassword, privateKeyPassword);
+        try {
+            final var digest = MessageDigest.getInstance("SHA-256").digest(settings.toString().getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new TechnicalException(e);
+        }
+    }
+
+    protected void invalidateMetadataFingerprint() {
+        this.metadataFingerprint = null;
+    }
+
     public SAML2MetadataGenerator toMetadataGenerator() {
         try {
             final var instance = getMetadataGenerator();
@@ -1011,4 +1108,26 @@ public class SAML2Configuration extends BaseClientConfiguration {
     public void setIdentityProviderMetadataReadTimeout(int identityProviderMetadataReadTimeout) {
         this.identityProviderMetadataReadTimeout = identityProviderMetadataReadTimeout;
     }
+
+    public long getMaximumInboundMessageSize() {
+        return maximumInboundMessageSize;
+    }
+
+    public void setMaximumInboundMessageSize(final long maximumInboundMessageSize) {
+        this.maximumInboundMessageSize = maximumInboundMessageSize;
+    }
+
+    public ExecutorService getDecryptionExecutor() {
+        return decryptionExecutor;
+    }
+
+    /**
+     * Define the executor used to decrypt the encrypted assertions and attributes of a response in parallel.
+     * It should be bounded, for example a fixed thread pool. By default, the decryption is sequential.
+     *
+     * @param decryptionExecutor the decryption executor
+     */
+    public void setDecryptionExecutor(final ExecutorService decryptionExecutor) {
+        this.decryptionExecutor = decryptionExecutor;
+    }
 }
@@ -51,6 +51,7 @@ public class SAML2CredentialsExtractor implements CredentialsExtractor {
         this.saml2LogoutResponseBuilder = new SAML2LogoutResponseBuilder(spLogoutResponseBindingType);
         this.saml2LogoutResponseMessageSender = new SAML2LogoutResponseMessageSender(client.getSignatureSigningParametersProvider(),
             spLogoutResponseBindingType, false, client.getConfiguration().isSpLogoutRequestSigned());
+        this.saml2LogoutResponseMessageSender.setPostVelocityTemplateId(client.getConfiguration().getPostBindingVelocityTemplate());
     }
 
     @Override
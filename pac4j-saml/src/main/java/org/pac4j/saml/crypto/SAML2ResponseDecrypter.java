@@ -0,0 +1,223 @@
+package org.pac4j.saml.crypto;
+
+import org.opensaml.core.xml.XMLObject;
+import org.opensaml.core.xml.util.XMLObjectSupport;
+import org.opensaml.saml.saml2.core.Assertion;
+import org.opensaml.saml.saml2.core.Attribute;
+import org.opensaml.saml.saml2.core.EncryptedAssertion;
+import org.opensaml.saml.saml2.core.EncryptedAttribute;
+import org.opensaml.saml.saml2.core.EncryptedElementType;
+import org.opensaml.saml.saml2.encryption.Decrypter;
+import org.opensaml.xmlsec.encryption.EncryptedKey;
+import org.opensaml.xmlsec.encryption.support.DecryptionException;
+import org.pac4j.core.util.CommonHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Decrypts the encrypted assertions and attributes of one SAML response.
+ *
+ * The symmetric keys decrypted from the same {@link EncryptedKey} are cached for the lifetime of this decrypter,
+ * to avoid unwrapping them again for each encrypted attribute. The encrypted keys are resolved by the
+ * {@link org.opensaml.xmlsec.encryption.support.EncryptedKeyResolver} of the decrypter, which filters them on their recipient.
+ *
+ * When an executor is defined, the elements are decrypted in parallel: each element is cloned in its own document and decrypted
+ * with its own {@link Decrypter}, so that neither the response DOM nor the decrypter are shared between threads.
+ * The elements which cannot be decrypted this way (like an encrypted key referenced outside of the element) are then decrypted
+ * sequentially with the original decrypter. The executor should be bounded, for example a fixed thread pool.
+ *
+ * One instance must be created per response.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public class SAML2ResponseDecrypter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SAML2ResponseDecrypter.class);
+
+    private final Decrypter decrypter;
+
+    private final ExecutorService executor;
+
+    private final Map<String, Key> keys = new ConcurrentHashMap<>();
+
+    public SAML2ResponseDecrypter(final Decrypter decrypter) {
+        this(decrypter, null);
+    }
+
+    public SAML2ResponseDecrypter(final Decrypter decrypter, final ExecutorService executor) {
+        CommonHelper.assertNotNull("decrypter", decrypter);
+        this.decrypter = decrypter;
+        this.executor = executor;
+    }
+
+    /**
+     * Decrypt the encrypted assertions. The assertions which cannot be decrypted are skipped.
+     *
+     * @param encryptedAssertions the encrypted assertions
+     * @return the decrypted assertions, in the same order
+     */
+    public List<Assertion> decryptAssertions(final List<EncryptedAssertion> encryptedAssertions) {
+        final List<Assertion> assertions = new ArrayList<>(encryptedAssertions.size());
+        for (final var decrypted : decryptAll(encryptedAssertions, Assertion.class)) {
+            if (decrypted != null) {
+                assertions.add(decrypted);
+            }
+        }
+        return assertions;
+    }
+
+    /**
+     * Decrypt the encrypted attributes. The attributes which cannot be decrypted are skipped.
+     *
+     * @param encryptedAttributes the encrypted attributes
+     * @return the decrypted attributes, in the same order
+     */
+    public List<Attribute> decryptAttributes(final List<EncryptedAttribute> encryptedAttributes) {
+        final List<Attribute> attributes = new ArrayList<>(encryptedAttributes.size());
+        for (final var decrypted : decryptAll(encryptedAttributes, Attribute.class)) {
+            if (decrypted != null) {
+                attributes.add(decrypted);
+            }
+        }
+        return attributes;
+    }
+
+    private <T extends XMLObject> List<T> decryptAll(final List<? extends EncryptedElementType> encryptedElements,
+                                                     final Class<T> type) {
+        final List<T> decrypted = new ArrayList<>(encryptedElements.size());
+        if (executor == null || encryptedElements.size() < 2) {
+            for (final var encryptedElement : encryptedElements) {
+                decrypted.add(decryptOrSkip(decrypter, encryptedElement, type));
+            }
+            return decrypted;
+        }
+
+        // the response DOM is only read by the current thread, to clone the elements
+        final List<CompletableFuture<T>> futures = new ArrayList<>(encryptedElements.size());
+        for (final var encryptedElement : encryptedElements) {
+            final var clone = cloneElement(encryptedElement);
+            if (clone == null) {
+                futures.add(CompletableFuture.completedFuture(null));
+            } else {
+                futures.add(CompletableFuture.supplyAsync(() -> decryptOrNull(newDecrypter(), clone, type), executor));
+            }
+        }
+        for (var i = 0; i < encryptedElements.size(); i++) {
+            var element = futures.get(i).join();
+            if (element == null) {
+                element = decryptOrSkip(decrypter, encryptedElements.get(i), type);
+            }
+            decrypted.add(element);
+        }
+        return decrypted;
+    }
+
+    private static EncryptedElementType cloneElement(final EncryptedElementType encryptedElement) {
+        try {
+            return XMLObjectSupport.cloneXMLObject(encryptedElement, XMLObjectSupport.CloneOutputOption.RootDOMInNewDocument);
+        } catch (final Exception e) {
+            logger.debug("Cannot clone the encrypted element, it will be decrypted sequentially", e);
+            return null;
+        }
+    }
+
+    /**
+     * Build a new decrypter with the same settings as the original one, for one parallel decryption.
+     *
+     * @return a new decrypter
+     */
+    protected Decrypter newDecrypter() {
+        final var newDecrypter = new Decrypter(decrypter.getKeyResolver(), decrypter.getKEKResolver(),
+            decrypter.getEncryptedKeyResolver());
+        newDecrypter.setRootInNewDocument(decrypter.isRootInNewDocument());
+        return newDecrypter;
+    }
+
+    private <T extends XMLObject> T decryptOrSkip(final Decrypter currentDecrypter, final EncryptedElementType encryptedElement,
+                                                  final Class<T> type) {
+        try {
+            return decrypt(currentDecrypter, encryptedElement, type);
+        } catch (final DecryptionException e) {
+            logger.warn("Decryption of {} failed, continue with the next one", type.getSimpleName(), e);
+            return null;
+        }
+    }
+
+    private <T extends XMLObject> T decryptOrNull(final Decrypter currentDecrypter, final EncryptedElementType encryptedElement,
+                                                  final Class<T> type) {
+        try {
+            return decrypt(currentDecrypter, encryptedElement, type);
+        } catch (final DecryptionException | RuntimeException e) {
+            logger.debug("Parallel decryption of {} failed, it will be decrypted sequentially", type.getSimpleName(), e);
+            return null;
+        }
+    }
+
+    protected <T extends XMLObject> T decrypt(final Decrypter currentDecrypter, final EncryptedElementType encryptedElement,
+                                              final Class<T> type) throws DecryptionException {
+        final var key = resolveDataKey(currentDecrypter, encryptedElement);
+        final XMLObject decrypted;
+        if (key == null) {
+            decrypted = currentDecrypter.decryptData(encryptedElement.getEncryptedData(), currentDecrypter.isRootInNewDocument());
+        } else {
+            decrypted = currentDecrypter.decryptData(encryptedElement.getEncryptedData(), key, currentDecrypter.isRootInNewDocument());
+        }
+        if (!type.isInstance(decrypted)) {
+            throw new DecryptionException("Decrypted element is not a " + type.getSimpleName());
+        }
+        return type.cast(decrypted);
+    }
+
+    /**
+     * Resolve the data encryption key from the encrypted keys found by the encrypted key resolver of the decrypter,
+     * using the keys already decrypted for this response.
+     *
+     * @param currentDecrypter the decrypter
+     * @param encryptedElement the encrypted element
+     * @return the data encryption key or <code>null</code> if no encrypted key can be decrypted
+     */
+    protected Key resolveDataKey(final Decrypter currentDecrypter, final EncryptedElementType encryptedElement) {
+        final var encryptedData = encryptedElement.getEncryptedData();
+        final var encryptedKeyResolver = currentDecrypter.getEncryptedKeyResolver();
+        if (encryptedData == null || encryptedData.getEncryptionMethod() == null || encryptedKeyResolver == null) {
+            return null;
+        }
+        final var algorithm = encryptedData.getEncryptionMethod().getAlgorithm();
+
+        for (final var encryptedKey : encryptedKeyResolver.resolve(encryptedData)) {
+            final var cacheKey = computeCacheKey(encryptedKey, algorithm);
+            if (cacheKey == null) {
+                continue;
+            }
+            var key = keys.get(cacheKey);
+            if (key == null) {
+                try {
+                    key = currentDecrypter.decryptKey(encryptedKey, algorithm);
+                    keys.put(cacheKey, key);
+                } catch (final DecryptionException e) {
+                    logger.debug("Cannot decrypt the encrypted key, trying the next one", e);
+                    continue;
+                }
+            }
+            return key;
+        }
+        return null;
+    }
+
+    private static String computeCacheKey(final EncryptedKey encryptedKey, final String algorithm) {
+        final var cipherData = encryptedKey.getCipherData();
+        if (cipherData == null || cipherData.getCipherValue() == null || cipherData.getCipherValue().getValue() == null) {
+            return null;
+        }
+        return algorithm + "|" + cipherData.getCipherValue().getValue();
+    }
+}
@@ -38,6 +38,7 @@ public class SAML2LogoutMessageReceiver extends AbstractSAML2MessageReceiver {
             decoder = new Pac4jHTTPPostDecoder(webContext);
             try {
                 decoder.setParserPool(Configuration.getParserPool());
+                decoder.setMaximumMessageSize(saml2Configuration.getMaximumInboundMessageSize());
                 decoder.initialize();
                 decoder.decode();
 
@@ -49,6 +50,7 @@ public class SAML2LogoutMessageReceiver extends AbstractSAML2MessageReceiver {
 
             try {
                 decoder.setParserPool(Configuration.getParserPool());
+                decoder.setMaximumMessageSize(saml2Configuration.getMaximumInboundMessageSize());
                 decoder.initialize();
                 decoder.decode();
 
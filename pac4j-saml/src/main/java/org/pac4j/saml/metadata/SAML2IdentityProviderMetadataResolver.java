@@ -46,7 +46,7 @@ public class SAML2IdentityProviderMetadataResolver implements SAML2MetadataResol
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
     private final ReentrantLock lock = new ReentrantLock();
-    private MetadataResolver metadataResolver;
+    private volatile MetadataResolver metadataResolver;
     private long lastModified = NO_LAST_MODIFIED;
     private Proxy proxy = Proxy.NO_PROXY;
 
@@ -85,6 +85,15 @@ public class SAML2IdentityProviderMetadataResolver implements SAML2MetadataResol
         return metadataResolver;
     }
 
+    /**
+     * Get the current metadata resolver, without checking if the metadata have changed.
+     *
+     * @return the current metadata resolver (<code>null</code> before the initialization)
+     */
+    public MetadataResolver getCurrentMetadataResolver() {
+        return metadataResolver;
+    }
+
     boolean hasChanged() {
         long newLastModified;
         try {
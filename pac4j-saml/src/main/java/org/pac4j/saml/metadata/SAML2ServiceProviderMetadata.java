@@ -0,0 +1,79 @@
+package org.pac4j.saml.metadata;
+
+import org.pac4j.core.util.CommonHelper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * The serialized (and possibly signed) metadata of the service provider, with its entity tag for conditional requests.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class SAML2ServiceProviderMetadata {
+
+    private final String content;
+
+    private final byte[] bytes;
+
+    private final String eTag;
+
+    public SAML2ServiceProviderMetadata(final String content) {
+        CommonHelper.assertNotNull("content", content);
+        this.content = content;
+        this.bytes = content.getBytes(StandardCharsets.UTF_8);
+        this.eTag = computeETag(this.bytes);
+    }
+
+    private static String computeETag(final byte[] bytes) {
+        try {
+            final var digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + '"';
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Whether the value of an <code>If-None-Match</code> header matches this metadata.
+     *
+     * @param ifNoneMatch the header value
+     * @return whether the client already has this metadata
+     */
+    public boolean matches(final String ifNoneMatch) {
+        if (CommonHelper.isBlank(ifNoneMatch)) {
+            return false;
+        }
+        for (final var tag : ifNoneMatch.split(",")) {
+            var value = tag.trim();
+            if ("*".equals(value)) {
+                return true;
+            }
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (eTag.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    /**
+     * @return the UTF-8 bytes of the metadata, which must not be modified
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+}
@@ -0,0 +1,65 @@
+package org.pac4j.saml.metadata;
+
+import org.pac4j.core.config.Config;
+import org.pac4j.core.context.HttpConstants;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.saml.client.SAML2Client;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Serves the service provider metadata of a {@link SAML2Client} with conditional request support,
+ * for the metadata filters of the servlet modules.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class SAML2ServiceProviderMetadataHelper {
+
+    private SAML2ServiceProviderMetadataHelper() {}
+
+    /**
+     * Find and initialize the SAML2 client.
+     *
+     * @param config the configuration
+     * @param clientName the client name
+     * @return the initialized client
+     */
+    public static SAML2Client findClient(final Config config, final String clientName) {
+        CommonHelper.assertNotNull("config", config);
+        CommonHelper.assertNotNull("clientName", clientName);
+
+        final var result = config.getClients().findClient(clientName);
+        if (result.isEmpty() || !(result.get() instanceof SAML2Client)) {
+            throw new TechnicalException("No SAML2 client: " + clientName);
+        }
+        final var client = (SAML2Client) result.get();
+        client.init();
+        return client;
+    }
+
+    /**
+     * Set the headers of the metadata response (the ETag and the content type) and return the metadata to write.
+     *
+     * @param client the SAML2 client
+     * @param context the web context
+     * @return the UTF-8 bytes of the metadata or empty if the requester already has them (a 304 status must then be sent)
+     */
+    public static Optional<byte[]> buildMetadataResponse(final SAML2Client client, final WebContext context) {
+        final var metadataResolver = client.getServiceProviderMetadataResolver();
+        if (metadataResolver instanceof SAML2ServiceProviderMetadataResolver) {
+            final var metadata = ((SAML2ServiceProviderMetadataResolver) metadataResolver).getServiceProviderMetadata();
+            context.setResponseHeader(HttpConstants.ETAG_HEADER, metadata.getETag());
+            if (metadata.matches(context.getRequestHeader(HttpConstants.IF_NONE_MATCH_HEADER).orElse(null))) {
+                return Optional.empty();
+            }
+            context.setResponseContentType(HttpConstants.APPLICATION_XML + "; charset=UTF-8");
+            return Optional.of(metadata.getBytes());
+        }
+        context.setResponseContentType(HttpConstants.APPLICATION_XML + "; charset=UTF-8");
+        return Optional.of(metadataResolver.getMetadata().getBytes(StandardCharsets.UTF_8));
+    }
+}
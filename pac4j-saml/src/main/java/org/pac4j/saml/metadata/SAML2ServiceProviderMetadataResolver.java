@@ -11,6 +11,8 @@ import org.pac4j.saml.exceptions.SAMLException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+
 /**
  * @author Misagh Moayyed
  * @since 1.7
@@ -22,6 +24,19 @@ public class SAML2ServiceProviderMetadataResolver implements SAML2MetadataResolv
     protected final SAML2Configuration configuration;
     private MetadataResolver metadataResolver;
 
+    /**
+     * The default minimum interval (in milliseconds) between two checks of the keystore modification.
+     */
+    public static final long DEFAULT_KEYSTORE_CHECK_INTERVAL = 5_000;
+
+    private long keystoreCheckInterval = DEFAULT_KEYSTORE_CHECK_INTERVAL;
+
+    private volatile CachedMetadata cachedMetadata;
+
+    private volatile long nextKeystoreCheck;
+
+    private volatile long keystoreLastModified;
+
     public SAML2ServiceProviderMetadataResolver(final SAML2Configuration configuration) {
         this.configuration = configuration;
         this.metadataResolver = prepareServiceProviderMetadata();
@@ -63,6 +78,52 @@ public class SAML2ServiceProviderMetadataResolver implements SAML2MetadataResolv
 
     @Override
     public String getMetadata() {
+        return getServiceProviderMetadata().getContent();
+    }
+
+    /**
+     * Get the generated (and possibly signed) metadata of the service provider.
+     *
+     * The metadata are generated once and cached: they are only regenerated when the configuration they depend on changes
+     * (see {@link SAML2Configuration#getMetadataFingerprint()}), when the keystore is modified (checked at most every
+     * {@link #getKeystoreCheckInterval()} milliseconds) or after a {@link #clearMetadataCache()}.
+     *
+     * @return the service provider metadata
+     */
+    public SAML2ServiceProviderMetadata getServiceProviderMetadata() {
+        final var fingerprint = configuration.getMetadataFingerprint();
+        final var lastModified = getKeystoreLastModified();
+        var cached = this.cachedMetadata;
+        if (cached == null || !cached.matches(fingerprint, lastModified)) {
+            synchronized (this) {
+                cached = this.cachedMetadata;
+                if (cached == null || !cached.matches(fingerprint, lastModified)) {
+                    logger.debug("Generating service provider metadata for entity: {}", getEntityId());
+                    cached = new CachedMetadata(fingerprint, lastModified, new SAML2ServiceProviderMetadata(generateMetadata()));
+                    this.cachedMetadata = cached;
+                }
+            }
+        }
+        return cached.metadata;
+    }
+
+    /**
+     * Force the regeneration of the metadata on the next request, for example after an element of a configuration list
+     * (a contact person, a requested attribute...) has been modified in place.
+     */
+    public void clearMetadataCache() {
+        this.cachedMetadata = null;
+    }
+
+    public long getKeystoreCheckInterval() {
+        return keystoreCheckInterval;
+    }
+
+    public void setKeystoreCheckInterval(final long keystoreCheckInterval) {
+        this.keystoreCheckInterval = keystoreCheckInterval;
+    }
+
+    protected String generateMetadata() {
         try {
             final var metadataGenerator = configuration.toMetadataGenerator();
             final var entity = metadataGenerator.buildEntityDescriptor();
@@ -72,6 +133,24 @@ public class SAML2ServiceProviderMetadataResolver implements SAML2MetadataResolv
         }
     }
 
+    private long getKeystoreLastModified() {
+        final var now = System.currentTimeMillis();
+        if (now >= nextKeystoreCheck) {
+            nextKeystoreCheck = now + keystoreCheckInterval;
+            final var keystoreResource = configuration.getKeystoreResource();
+            long lastModified = 0;
+            if (keystoreResource != null && keystoreResource.exists()) {
+                try {
+                    lastModified = keystoreResource.lastModified();
+                } catch (final IOException e) {
+                    logger.debug("Cannot read the last modification time of the keystore: {}", keystoreResource, e);
+                }
+            }
+            keystoreLastModified = lastModified;
+        }
+        return keystoreLastModified;
+    }
+
     @Override
     public XMLObject getEntityDescriptorElement() {
         try {
@@ -80,4 +159,24 @@ public class SAML2ServiceProviderMetadataResolver implements SAML2MetadataResolv
             throw new SAMLException("Unable to resolve metadata", e);
         }
     }
+
+    private static final class CachedMetadata {
+
+        private final String fingerprint;
+
+        private final long keystoreLastModified;
+
+        private final SAML2ServiceProviderMetadata metadata;
+
+        private CachedMetadata(final String fingerprint, final long keystoreLastModified,
+                               final SAML2ServiceProviderMetadata metadata) {
+            this.fingerprint = fingerprint;
+            this.keystoreLastModified = keystoreLastModified;
+            this.metadata = metadata;
+        }
+
+        private boolean matches(final String otherFingerprint, final long otherKeystoreLastModified) {
+            return fingerprint.equals(otherFingerprint) && keystoreLastModified == otherKeystoreLastModified;
+        }
+    }
 }
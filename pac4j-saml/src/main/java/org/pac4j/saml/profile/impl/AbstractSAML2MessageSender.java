@@ -20,6 +20,7 @@ import org.pac4j.saml.exceptions.SAMLException;
 import org.pac4j.saml.profile.api.SAML2MessageSender;
 import org.pac4j.saml.transport.Pac4jHTTPPostEncoder;
 import org.pac4j.saml.transport.Pac4jHTTPPostSimpleSignEncoder;
+import org.pac4j.saml.transport.Pac4jHTTPPostStreamingEncoder;
 import org.pac4j.saml.transport.Pac4jHTTPRedirectDeflateEncoder;
 import org.pac4j.saml.util.SAML2Utils;
 import org.pac4j.saml.util.VelocityEngineFactory;
@@ -39,6 +40,7 @@ public abstract class AbstractSAML2MessageSender<T extends SAMLObject> implement
     protected final String destinationBindingType;
     protected final boolean signErrorResponses;
     protected final boolean isRequestSigned;
+    private String postVelocityTemplateId;
 
     public AbstractSAML2MessageSender(final SignatureSigningParametersProvider signatureSigningParametersProvider,
                                       final String destinationBindingType,
@@ -143,6 +145,19 @@ public abstract class AbstractSAML2MessageSender<T extends SAMLObject> implement
         }
     }
 
+    public String getPostVelocityTemplateId() {
+        return postVelocityTemplateId;
+    }
+
+    /**
+     * Define the Velocity template of the HTTP-POST binding form: the form is written without any template if none is defined.
+     *
+     * @param postVelocityTemplateId the Velocity template identifier
+     */
+    public void setPostVelocityTemplateId(final String postVelocityTemplateId) {
+        this.postVelocityTemplateId = postVelocityTemplateId;
+    }
+
     protected boolean mustSignRequest(final SPSSODescriptor spDescriptor, final IDPSSODescriptor idpssoDescriptor) {
         return isRequestSigned;
     }
@@ -154,9 +169,13 @@ public abstract class AbstractSAML2MessageSender<T extends SAMLObject> implement
         final var adapter = ctx.getProfileRequestContextOutboundMessageTransportResponse();
 
         if (SAMLConstants.SAML2_POST_BINDING_URI.equals(destinationBindingType)) {
+            if (postVelocityTemplateId == null) {
+                return new Pac4jHTTPPostStreamingEncoder(adapter);
+            }
             final var velocityEngine = VelocityEngineFactory.getEngine();
             final var encoder = new Pac4jHTTPPostEncoder(adapter);
             encoder.setVelocityEngine(velocityEngine);
+            encoder.setVelocityTemplateId(postVelocityTemplateId);
             return encoder;
 
         } else if (SAMLConstants.SAML2_POST_SIMPLE_SIGN_BINDING_URI.equals(destinationBindingType)) {
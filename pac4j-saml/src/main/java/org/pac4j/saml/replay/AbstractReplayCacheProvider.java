@@ -0,0 +1,116 @@
+package org.pac4j.saml.replay;
+
+import net.shibboleth.utilities.java.support.component.ComponentInitializationException;
+import org.opensaml.storage.ReplayCache;
+import org.pac4j.saml.exceptions.SAMLException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Replay cache provider relying on an atomic "set if absent" operation of its backend: the first check of a message
+ * identifier registers it until the expiration of the message and any further check of the same identifier fails,
+ * whatever the node of the cluster which performs it.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public abstract class AbstractReplayCacheProvider implements ReplayCacheProvider {
+
+    protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final ReplayCache cache;
+
+    private boolean strict = true;
+
+    protected AbstractReplayCacheProvider() {
+        try {
+            cache = new AtomicReplayCache(this);
+            cache.setId("pac4j-replay-cache");
+            cache.initialize();
+        } catch (final ComponentInitializationException e) {
+            throw new SAMLException(e);
+        }
+    }
+
+    @Override
+    public ReplayCache get() {
+        return cache;
+    }
+
+    /**
+     * Register the value for the context if it is not already registered.
+     *
+     * @param context the replay context
+     * @param key the value to register
+     * @param expiration when the registration expires
+     * @return whether the value has been registered (<code>false</code> means a replay)
+     * @throws IOException if the backend fails
+     */
+    protected abstract boolean setIfAbsent(String context, String key, Instant expiration) throws IOException;
+
+    /**
+     * Compute a fixed-size digest of a too long key.
+     *
+     * @param key the key
+     * @return the SHA-256 digest of the key, Base64 encoded
+     */
+    protected static String digest(final String key) {
+        try {
+            final var hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new SAMLException(e);
+        }
+    }
+
+    public boolean isStrict() {
+        return strict;
+    }
+
+    /**
+     * Define whether a backend failure must be considered as a replay (<code>true</code> by default).
+     *
+     * @param strict whether the check is strict
+     */
+    public void setStrict(final boolean strict) {
+        this.strict = strict;
+    }
+
+    /**
+     * OpenSAML replay cache delegating to the {@link #setIfAbsent(String, String, Instant)} operation.
+     */
+    private static final class AtomicReplayCache extends ReplayCache {
+
+        private final AbstractReplayCacheProvider provider;
+
+        private AtomicReplayCache(final AbstractReplayCacheProvider provider) {
+            this.provider = provider;
+        }
+
+        @Override
+        protected void doInitialize() throws ComponentInitializationException {
+            // no OpenSAML storage service is required: the provider is the storage
+        }
+
+        @Override
+        public boolean check(final String context, final String s, final Instant expires) {
+            try {
+                final var registered = provider.setIfAbsent(context, s, expires);
+                if (!registered) {
+                    provider.logger.warn("Replay detected for value: {} in context: {}", s, context);
+                }
+                return registered;
+            } catch (final IOException | RuntimeException e) {
+                provider.logger.error("Cannot check replay for value: {} in context: {}", s, context, e);
+                return !provider.isStrict();
+            }
+        }
+    }
+}
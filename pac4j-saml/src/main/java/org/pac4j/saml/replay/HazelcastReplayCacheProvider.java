@@ -0,0 +1,37 @@
+package org.pac4j.saml.replay;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import org.pac4j.core.util.CommonHelper;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replay cache provider which uses Hazelcast as underlying data store: the identifiers are registered with
+ * an atomic {@link IMap#putIfAbsent(Object, Object, long, TimeUnit)} and expire with the messages, so that a replay
+ * is detected whatever the node of the cluster.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public class HazelcastReplayCacheProvider extends AbstractReplayCacheProvider {
+
+    private static final String MAP_NAME = HazelcastReplayCacheProvider.class.getSimpleName();
+
+    private final HazelcastInstance hazelcastInstance;
+
+    public HazelcastReplayCacheProvider(final HazelcastInstance hazelcastInstance) {
+        CommonHelper.assertNotNull("hazelcastInstance", hazelcastInstance);
+        this.hazelcastInstance = hazelcastInstance;
+    }
+
+    @Override
+    protected boolean setIfAbsent(final String context, final String key, final Instant expiration) {
+        final IMap<String, Long> map = hazelcastInstance.getMap(MAP_NAME);
+        final var expirationTime = expiration.toEpochMilli();
+        final var ttl = Math.max(1L, expirationTime - System.currentTimeMillis());
+        logger.debug("Registering value {} in context {} in Hazelcast map {} for {} ms", key, context, MAP_NAME, ttl);
+        return map.putIfAbsent(digest(context + "|" + key), expirationTime, ttl, TimeUnit.MILLISECONDS) == null;
+    }
+}
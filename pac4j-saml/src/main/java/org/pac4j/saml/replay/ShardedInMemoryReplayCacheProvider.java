@@ -0,0 +1,106 @@
+package org.pac4j.saml.replay;
+
+import org.pac4j.core.util.CommonHelper;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded replay cache provider which stores the identifiers in memory, in several independently locked shards to reduce
+ * contention. Like the {@link InMemoryReplayCacheProvider}, it does not work in a clustered environment.
+ *
+ * When a shard is full, its expired entries are purged first, then the oldest ones are evicted.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public class ShardedInMemoryReplayCacheProvider extends AbstractReplayCacheProvider {
+
+    private static final int DEFAULT_SHARDS = 16;
+
+    private static final int DEFAULT_MAXIMUM_SIZE = 100_000;
+
+    private final Shard[] shards;
+
+    private final int maximumSize;
+
+    public ShardedInMemoryReplayCacheProvider() {
+        this(DEFAULT_SHARDS, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public ShardedInMemoryReplayCacheProvider(final int nbShards, final int maximumSize) {
+        CommonHelper.assertTrue(nbShards > 0, "nbShards must be greater than zero");
+        CommonHelper.assertTrue(maximumSize >= nbShards, "maximumSize must be greater than or equal to nbShards");
+        this.maximumSize = maximumSize;
+        this.shards = new Shard[nbShards];
+        final var shardSize = (maximumSize + nbShards - 1) / nbShards;
+        for (var i = 0; i < nbShards; i++) {
+            shards[i] = new Shard(shardSize);
+        }
+    }
+
+    @Override
+    protected boolean setIfAbsent(final String context, final String key, final Instant expiration) {
+        final var entryKey = context + "|" + key;
+        final var shard = shards[Math.floorMod(entryKey.hashCode(), shards.length)];
+        return shard.setIfAbsent(entryKey, expiration.toEpochMilli(), System.currentTimeMillis());
+    }
+
+    public int size() {
+        var size = 0;
+        for (final var shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    private final class Shard {
+
+        private final int capacity;
+
+        private final Map<String, Long> entries = new LinkedHashMap<>();
+
+        private Shard(final int capacity) {
+            this.capacity = capacity;
+        }
+
+        private synchronized boolean setIfAbsent(final String key, final long expiration, final long now) {
+            final var existing = entries.get(key);
+            if (existing != null && existing >= now) {
+                return false;
+            }
+            // re-insert to keep the insertion order
+            entries.remove(key);
+            entries.put(key, expiration);
+            if (entries.size() > capacity) {
+                evict(now);
+            }
+            return true;
+        }
+
+        private void evict(final long now) {
+            // entries are roughly ordered by expiration: purge the expired ones at the head, then the oldest ones
+            final var iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                final long expiration = iterator.next();
+                if (expiration < now) {
+                    iterator.remove();
+                } else if (entries.size() > capacity) {
+                    logger.warn("Replay cache shard is full ({} entries): evicting a non-expired entry", capacity);
+                    iterator.remove();
+                } else {
+                    break;
+                }
+            }
+        }
+
+        private synchronized int size() {
+            return entries.size();
+        }
+    }
+}
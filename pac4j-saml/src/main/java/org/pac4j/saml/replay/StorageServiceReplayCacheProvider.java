@@ -0,0 +1,34 @@
+package org.pac4j.saml.replay;
+
+import org.opensaml.storage.StorageService;
+import org.pac4j.core.util.CommonHelper;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Replay cache provider backed by an OpenSAML {@link StorageService}: the atomic
+ * {@link StorageService#create(String, String, String, Long)} operation is used to register the identifiers.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public class StorageServiceReplayCacheProvider extends AbstractReplayCacheProvider {
+
+    private final StorageService storageService;
+
+    public StorageServiceReplayCacheProvider(final StorageService storageService) {
+        CommonHelper.assertNotNull("storageService", storageService);
+        this.storageService = storageService;
+    }
+
+    @Override
+    protected boolean setIfAbsent(final String context, final String key, final Instant expiration) throws IOException {
+        final var finalKey = storageService.getCapabilities().getKeySize() < key.length() ? digest(key) : key;
+        return storageService.create(context, finalKey, "x", expiration.toEpochMilli());
+    }
+
+    public StorageService getStorageService() {
+        return storageService;
+    }
+}
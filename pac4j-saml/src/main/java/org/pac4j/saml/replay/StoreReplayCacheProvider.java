@@ -0,0 +1,39 @@
+package org.pac4j.saml.replay;
+
+import org.pac4j.core.store.Store;
+import org.pac4j.core.util.CommonHelper;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Replay cache provider backed by a pac4j {@link Store}: the identifiers are registered with the
+ * {@link Store#setIfAbsent(Object, Object, Duration)} operation, the time-to-live of the entry being the remaining lifetime
+ * of the message.
+ *
+ * <p>The store must be shared by all the nodes of the cluster and its <code>setIfAbsent</code> operation must be atomic.
+ * If the store does not support a time-to-live per entry, its own expiration must be longer than the message lifetime
+ * (plus the clock skew).</p>
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public class StoreReplayCacheProvider extends AbstractReplayCacheProvider {
+
+    private final Store<String, Long> store;
+
+    public StoreReplayCacheProvider(final Store<String, Long> store) {
+        CommonHelper.assertNotNull("store", store);
+        this.store = store;
+    }
+
+    @Override
+    protected boolean setIfAbsent(final String context, final String key, final Instant expiration) {
+        final var timeToLive = Duration.ofMillis(Math.max(1L, expiration.toEpochMilli() - System.currentTimeMillis()));
+        return store.setIfAbsent(digest(context + "|" + key), expiration.toEpochMilli(), timeToLive);
+    }
+
+    public Store<String, Long> getStore() {
+        return store;
+    }
+}
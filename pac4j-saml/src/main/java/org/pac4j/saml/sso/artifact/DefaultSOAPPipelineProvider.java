@@ -1,31 +1,109 @@
 package org.pac4j.saml.sso.artifact;
 
 import net.shibboleth.utilities.java.support.httpclient.HttpClientBuilder;
+import org.apache.http.client.HttpClient;
 import org.opensaml.messaging.pipeline.httpclient.HttpClientMessagePipelineFactory;
 import org.pac4j.saml.client.SAML2Client;
+import org.pac4j.saml.exceptions.SAMLException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
 
 /**
  * A default implementation of {@link SOAPPipelineProvider}, which enforces the
  * default rules set by the SAML SSO Profile.
+ *
+ * The HTTP client and the pipeline factory are built once and shared between the requests: the connections
+ * to the artifact resolution service are pooled and kept alive.
  * 
  * @since 3.8.0
  */
 public class DefaultSOAPPipelineProvider implements SOAPPipelineProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(DefaultSOAPPipelineProvider.class);
+
+    private static final int DEFAULT_MAX_CONNECTIONS = 20;
+
     private final SAML2Client client;
 
+    private volatile HttpClient httpClient;
+
+    private volatile HttpClientMessagePipelineFactory pipelineFactory;
+
     public DefaultSOAPPipelineProvider(final SAML2Client client) {
         this.client = client;
     }
 
+    /**
+     * @return a builder of pooled HTTP clients keeping their connections alive
+     */
     @Override
     public HttpClientBuilder getHttpClientBuilder() {
-        return new HttpClientBuilder();
+        final var builder = new HttpClientBuilder();
+        builder.setConnectionCloseAfterResponse(false);
+        builder.setMaxConnectionsTotal(DEFAULT_MAX_CONNECTIONS);
+        builder.setMaxConnectionsPerRoute(DEFAULT_MAX_CONNECTIONS);
+        return builder;
+    }
+
+    @Override
+    public HttpClient getHttpClient() {
+        var result = this.httpClient;
+        if (result == null) {
+            synchronized (this) {
+                result = this.httpClient;
+                if (result == null) {
+                    result = buildHttpClient();
+                    this.httpClient = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Build the shared HTTP client from {@link #getHttpClientBuilder()}.
+     *
+     * @return the HTTP client
+     */
+    protected HttpClient buildHttpClient() {
+        try {
+            return getHttpClientBuilder().buildClient();
+        } catch (final Exception e) {
+            throw new SAMLException("Unable to build the HTTP client", e);
+        }
     }
 
     @Override
     public HttpClientMessagePipelineFactory getPipelineFactory() {
-        return new DefaultSOAPPipelineFactory(client.getConfiguration(), client.getIdentityProviderMetadataResolver(),
-                client.getServiceProviderMetadataResolver(), client.getSignatureSigningParametersProvider(),
-                client.getSignatureTrustEngineProvider(), client.getReplayCache());
+        var result = this.pipelineFactory;
+        if (result == null) {
+            synchronized (this) {
+                result = this.pipelineFactory;
+                if (result == null) {
+                    result = new DefaultSOAPPipelineFactory(client.getConfiguration(), client.getIdentityProviderMetadataResolver(),
+                        client.getServiceProviderMetadataResolver(), client.getSignatureSigningParametersProvider(),
+                        client.getSignatureTrustEngineProvider(), client.getReplayCache());
+                    this.pipelineFactory = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Close the shared HTTP client.
+     */
+    public synchronized void destroy() {
+        if (this.httpClient instanceof Closeable) {
+            try {
+                ((Closeable) this.httpClient).close();
+            } catch (final IOException e) {
+                logger.warn("Unable to close the HTTP client", e);
+            }
+        }
+        this.httpClient = null;
     }
 }
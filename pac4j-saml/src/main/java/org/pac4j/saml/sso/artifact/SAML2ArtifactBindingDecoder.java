@@ -32,12 +32,36 @@ public class SAML2ArtifactBindingDecoder extends AbstractPac4jDecoder {
 
     private final SOAPPipelineProvider soapPipelineProvider;
 
+    private final DefaultEndpointResolver<ArtifactResolutionService> endpointResolver;
+
+    private final PredicateRoleDescriptorResolver roleResolver;
+
     public SAML2ArtifactBindingDecoder(final WebContext context, final SAML2MetadataResolver idpMetadataResolver,
             final SAML2MetadataResolver spMetadataResolver, final SOAPPipelineProvider soapPipelineProvider) {
+        this(context, idpMetadataResolver, spMetadataResolver, soapPipelineProvider, null, null);
+    }
+
+    /**
+     * Build a decoder reusing the already initialized endpoint and role descriptor resolvers.
+     *
+     * @param context the web context
+     * @param idpMetadataResolver the identity provider metadata resolver
+     * @param spMetadataResolver the service provider metadata resolver
+     * @param soapPipelineProvider the SOAP pipeline provider
+     * @param endpointResolver the initialized endpoint resolver, built for this request if <code>null</code>
+     * @param roleResolver the initialized role descriptor resolver, built for this request if <code>null</code>
+     * @since 5.4.5
+     */
+    public SAML2ArtifactBindingDecoder(final WebContext context, final SAML2MetadataResolver idpMetadataResolver,
+            final SAML2MetadataResolver spMetadataResolver, final SOAPPipelineProvider soapPipelineProvider,
+            final DefaultEndpointResolver<ArtifactResolutionService> endpointResolver,
+            final PredicateRoleDescriptorResolver roleResolver) {
         super(context);
         this.idpMetadataResolver = idpMetadataResolver;
         this.spMetadataResolver = spMetadataResolver;
         this.soapPipelineProvider = soapPipelineProvider;
+        this.endpointResolver = endpointResolver;
+        this.roleResolver = roleResolver;
     }
 
     @Override
@@ -48,12 +72,17 @@ public class SAML2ArtifactBindingDecoder extends AbstractPac4jDecoder {
     @Override
     protected void doDecode() throws MessageDecodingException {
         try {
-            final var endpointResolver = new DefaultEndpointResolver<ArtifactResolutionService>();
-            endpointResolver.initialize();
+            var endpointResolver = this.endpointResolver;
+            if (endpointResolver == null) {
+                endpointResolver = new DefaultEndpointResolver<>();
+                endpointResolver.initialize();
+            }
 
-            final var roleResolver = new PredicateRoleDescriptorResolver(
-                    idpMetadataResolver.resolve());
-            roleResolver.initialize();
+            var roleResolver = this.roleResolver;
+            if (roleResolver == null) {
+                roleResolver = new PredicateRoleDescriptorResolver(idpMetadataResolver.resolve());
+                roleResolver.initialize();
+            }
 
             final var messageContext = new SAML2MessageContext();
 
@@ -67,7 +96,7 @@ public class SAML2ArtifactBindingDecoder extends AbstractPac4jDecoder {
                 }
             };
             soapClient.setPipelineFactory(soapPipelineProvider.getPipelineFactory());
-            soapClient.setHttpClient(soapPipelineProvider.getHttpClientBuilder().buildClient());
+            soapClient.setHttpClient(soapPipelineProvider.getHttpClient());
 
             final var artifactDecoder = new Pac4jHTTPArtifactDecoder();
             artifactDecoder.setWebContext(context);
@@ -1,11 +1,17 @@
 package org.pac4j.saml.sso.artifact;
 
+import net.shibboleth.utilities.java.support.component.ComponentInitializationException;
+import org.opensaml.saml.common.binding.impl.DefaultEndpointResolver;
+import org.opensaml.saml.metadata.resolver.MetadataResolver;
+import org.opensaml.saml.metadata.resolver.impl.PredicateRoleDescriptorResolver;
 import org.opensaml.saml.saml2.core.StatusResponseType;
+import org.opensaml.saml.saml2.metadata.ArtifactResolutionService;
 import org.opensaml.saml.saml2.metadata.Endpoint;
 import org.pac4j.core.context.WebContext;
 import org.pac4j.saml.config.SAML2Configuration;
 import org.pac4j.saml.context.SAML2MessageContext;
 import org.pac4j.saml.exceptions.SAMLException;
+import org.pac4j.saml.metadata.SAML2IdentityProviderMetadataResolver;
 import org.pac4j.saml.metadata.SAML2MetadataResolver;
 import org.pac4j.saml.profile.api.SAML2ResponseValidator;
 import org.pac4j.saml.profile.impl.AbstractSAML2MessageReceiver;
@@ -28,6 +34,10 @@ public class SAML2ArtifactBindingMessageReceiver extends AbstractSAML2MessageRec
 
     private SOAPPipelineProvider soapPipelineProvider;
 
+    private volatile DefaultEndpointResolver<ArtifactResolutionService> endpointResolver;
+
+    private volatile RoleResolver roleResolver;
+
     public SAML2ArtifactBindingMessageReceiver(final SAML2ResponseValidator validator,
             final SAML2MetadataResolver idpMetadataResolver, final SAML2MetadataResolver spMetadataResolver,
             final SOAPPipelineProvider soapPipelineProvider, final SAML2Configuration saml2Configuration) {
@@ -46,10 +56,12 @@ public class SAML2ArtifactBindingMessageReceiver extends AbstractSAML2MessageRec
 
     @Override
     protected AbstractPac4jDecoder getDecoder(final WebContext webContext) {
-        final var decoder = new SAML2ArtifactBindingDecoder(webContext, idpMetadataResolver,
-                spMetadataResolver, soapPipelineProvider);
+        final SAML2ArtifactBindingDecoder decoder;
         try {
+            decoder = new SAML2ArtifactBindingDecoder(webContext, idpMetadataResolver,
+                spMetadataResolver, soapPipelineProvider, getEndpointResolver(), getRoleResolver());
             decoder.setParserPool(Configuration.getParserPool());
+            decoder.setMaximumMessageSize(saml2Configuration.getMaximumInboundMessageSize());
             decoder.initialize();
             decoder.decode();
         } catch (final Exception e) {
@@ -58,8 +70,66 @@ public class SAML2ArtifactBindingMessageReceiver extends AbstractSAML2MessageRec
         return decoder;
     }
 
+    /**
+     * The endpoint resolver is stateless: it is initialized once and shared between the requests.
+     *
+     * @return the endpoint resolver
+     * @throws ComponentInitializationException if the initialization fails
+     */
+    protected DefaultEndpointResolver<ArtifactResolutionService> getEndpointResolver() throws ComponentInitializationException {
+        var resolver = endpointResolver;
+        if (resolver == null) {
+            // concurrent initializations are harmless: one of the equivalent resolvers is kept
+            resolver = new DefaultEndpointResolver<>();
+            resolver.initialize();
+            endpointResolver = resolver;
+        }
+        return resolver;
+    }
+
+    /**
+     * The role descriptor resolver is shared between the requests, it is only rebuilt when the identity provider
+     * metadata have been reloaded (which is checked when the message context is built).
+     *
+     * @return the role descriptor resolver
+     * @throws ComponentInitializationException if the initialization fails
+     */
+    protected PredicateRoleDescriptorResolver getRoleResolver() throws ComponentInitializationException {
+        final var metadataResolver = getCurrentIdpMetadataResolver();
+        final var cached = roleResolver;
+        if (cached != null && cached.metadataResolver == metadataResolver) {
+            return cached.resolver;
+        }
+        final var resolver = new PredicateRoleDescriptorResolver(metadataResolver);
+        resolver.initialize();
+        roleResolver = new RoleResolver(metadataResolver, resolver);
+        return resolver;
+    }
+
+    private MetadataResolver getCurrentIdpMetadataResolver() {
+        if (idpMetadataResolver instanceof SAML2IdentityProviderMetadataResolver) {
+            final var current = ((SAML2IdentityProviderMetadataResolver) idpMetadataResolver).getCurrentMetadataResolver();
+            if (current != null) {
+                return current;
+            }
+        }
+        return idpMetadataResolver.resolve();
+    }
+
     @Override
     protected String getProfileUri() {
         return SAML2_WEBSSO_PROFILE_URI;
     }
+
+    private static final class RoleResolver {
+
+        private final MetadataResolver metadataResolver;
+
+        private final PredicateRoleDescriptorResolver resolver;
+
+        private RoleResolver(final MetadataResolver metadataResolver, final PredicateRoleDescriptorResolver resolver) {
+            this.metadataResolver = metadataResolver;
+            this.resolver = resolver;
+        }
+    }
 }
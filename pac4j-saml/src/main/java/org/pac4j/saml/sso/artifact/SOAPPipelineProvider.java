@@ -1,7 +1,9 @@
 package org.pac4j.saml.sso.artifact;
 
 import net.shibboleth.utilities.java.support.httpclient.HttpClientBuilder;
+import org.apache.http.client.HttpClient;
 import org.opensaml.messaging.pipeline.httpclient.HttpClientMessagePipelineFactory;
+import org.pac4j.saml.exceptions.SAMLException;
 
 /**
  * Provider for the components required to perform SOAP calls for
@@ -15,6 +17,18 @@ public interface SOAPPipelineProvider {
      */
     HttpClientBuilder getHttpClientBuilder();
 
+    /**
+     * @return the http client used to perform the SOAP calls. By default, a new client is built
+     *         from {@link #getHttpClientBuilder()} for each call.
+     */
+    default HttpClient getHttpClient() {
+        try {
+            return getHttpClientBuilder().buildClient();
+        } catch (final Exception e) {
+            throw new SAMLException("Unable to build the HTTP client", e);
+        }
+    }
+
     /**
      * @return a pipeline factory that will be used by the
      *         {@code PipelineFactoryHttpSOAPClient} to process incoming and
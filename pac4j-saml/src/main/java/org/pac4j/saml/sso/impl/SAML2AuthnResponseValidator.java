@@ -10,6 +10,7 @@ import org.opensaml.saml.saml2.core.AudienceRestriction;
 import org.opensaml.saml.saml2.core.AuthnRequest;
 import org.opensaml.saml.saml2.core.AuthnStatement;
 import org.opensaml.saml.saml2.core.Conditions;
+import org.opensaml.saml.saml2.core.EncryptedAttribute;
 import org.opensaml.saml.saml2.core.NameID;
 import org.opensaml.saml.saml2.core.Response;
 import org.opensaml.saml.saml2.core.Subject;
@@ -17,13 +18,13 @@ import org.opensaml.saml.saml2.core.SubjectConfirmation;
 import org.opensaml.saml.saml2.core.SubjectConfirmationData;
 import org.opensaml.saml.saml2.encryption.Decrypter;
 import org.opensaml.saml.saml2.metadata.AssertionConsumerService;
-import org.opensaml.xmlsec.encryption.support.DecryptionException;
 import org.opensaml.xmlsec.signature.Signature;
 import org.opensaml.xmlsec.signature.support.SignatureTrustEngine;
 import org.pac4j.core.credentials.Credentials;
 import org.pac4j.saml.config.SAML2Configuration;
 import org.pac4j.saml.context.SAML2MessageContext;
 import org.pac4j.saml.credentials.SAML2Credentials;
+import org.pac4j.saml.crypto.SAML2ResponseDecrypter;
 import org.pac4j.saml.crypto.SAML2SignatureTrustEngineProvider;
 import org.pac4j.saml.exceptions.SAMAssertionSubjectException;
 import org.pac4j.saml.exceptions.SAMLAssertionAudienceException;
@@ -90,19 +91,39 @@ public class SAML2AuthnResponseValidator extends AbstractSAML2ResponseValidator
         verifyMessageReplay(context);
         validateSamlProtocolResponse(response, context, engine);
 
-        if (decrypter != null) {
-            decryptEncryptedAssertions(response, decrypter);
+        final var responseDecrypter = buildResponseDecrypter();
+        if (responseDecrypter != null) {
+            decryptEncryptedAssertions(response, responseDecrypter);
         }
 
         validateSamlSSOResponse(response, context, engine, decrypter);
-        return buildSAML2Credentials(context, response);
+        return buildSAML2Credentials(context, response, responseDecrypter);
+    }
+
+    /**
+     * Build the decrypter of the current response, which caches the decrypted keys of the response
+     * and uses the decryption executor of the configuration, if any.
+     *
+     * @return the response decrypter or <code>null</code> if no decrypter is defined
+     */
+    protected SAML2ResponseDecrypter buildResponseDecrypter() {
+        if (decrypter == null) {
+            return null;
+        }
+        return new SAML2ResponseDecrypter(decrypter, configuration.getDecryptionExecutor());
     }
 
     protected SAML2Credentials buildSAML2Credentials(final SAML2MessageContext context,
                                                      final Response response) {
+        return buildSAML2Credentials(context, response, buildResponseDecrypter());
+    }
+
+    protected SAML2Credentials buildSAML2Credentials(final SAML2MessageContext context,
+                                                     final Response response,
+                                                     final SAML2ResponseDecrypter responseDecrypter) {
         final var subjectAssertion = context.getSubjectAssertion();
 
-        final var samlAttributes = collectAssertionAttributes(subjectAssertion);
+        final var samlAttributes = collectAssertionAttributes(subjectAssertion, responseDecrypter);
         final var attributes = SAML2Credentials.SAMLAttribute.from(configuration.getSamlAttributeConverter(), samlAttributes);
 
         final var samlNameId = determineNameID(context, attributes);
@@ -125,23 +146,23 @@ public class SAML2AuthnResponseValidator extends AbstractSAML2ResponseValidator
     }
 
     protected List<Attribute> collectAssertionAttributes(final Assertion subjectAssertion) {
+        return collectAssertionAttributes(subjectAssertion, buildResponseDecrypter());
+    }
+
+    protected List<Attribute> collectAssertionAttributes(final Assertion subjectAssertion,
+                                                         final SAML2ResponseDecrypter responseDecrypter) {
         final List<Attribute> attributes = new ArrayList<>();
+        final List<EncryptedAttribute> encryptedAttributes = new ArrayList<>();
         for (final var attributeStatement : subjectAssertion.getAttributeStatements()) {
-            for (final var attribute : attributeStatement.getAttributes()) {
-                attributes.add(attribute);
-            }
-            if (!attributeStatement.getEncryptedAttributes().isEmpty()) {
-                if (decrypter == null) {
-                    logger.warn("Encrypted attributes returned, but no keystore was provided.");
-                } else {
-                    for (final var encryptedAttribute : attributeStatement.getEncryptedAttributes()) {
-                        try {
-                            attributes.add(decrypter.decrypt(encryptedAttribute));
-                        } catch (final DecryptionException e) {
-                            logger.warn("Decryption of attribute failed, continue with the next one", e);
-                        }
-                    }
-                }
+            attributes.addAll(attributeStatement.getAttributes());
+            encryptedAttributes.addAll(attributeStatement.getEncryptedAttributes());
+        }
+        if (!encryptedAttributes.isEmpty()) {
+            if (responseDecrypter == null) {
+                logger.warn("Encrypted attributes returned, but no keystore was provided.");
+            } else {
+                // the keys decrypted for the previous attributes of the response are reused
+                attributes.addAll(responseDecrypter.decryptAttributes(encryptedAttributes));
             }
         }
         return attributes;
@@ -343,15 +364,19 @@ public class SAML2AuthnResponseValidator extends AbstractSAML2ResponseValidator
      * @param decrypter the decrypter
      */
     protected void decryptEncryptedAssertions(final Response response, final Decrypter decrypter) {
-        for (final var encryptedAssertion : response.getEncryptedAssertions()) {
-            try {
-                final var decryptedAssertion = decrypter.decrypt(encryptedAssertion);
-                response.getAssertions().add(decryptedAssertion);
-            } catch (final DecryptionException e) {
-                logger.error("Decryption of assertion failed, continue with the next one", e);
-            }
-        }
+        decryptEncryptedAssertions(response, new SAML2ResponseDecrypter(decrypter));
+    }
 
+    /**
+     * Decrypt encrypted assertions and add them to the assertions list of the response.
+     *
+     * @param response  the response
+     * @param responseDecrypter the decrypter of the response
+     */
+    protected void decryptEncryptedAssertions(final Response response, final SAML2ResponseDecrypter responseDecrypter) {
+        if (!response.getEncryptedAssertions().isEmpty()) {
+            response.getAssertions().addAll(responseDecrypter.decryptAssertions(response.getEncryptedAssertions()));
+        }
     }
 
     /**
@@ -31,6 +31,7 @@ public class SAML2WebSSOMessageReceiver extends AbstractSAML2MessageReceiver {
         final var decoder = new Pac4jHTTPPostDecoder(webContext);
         try {
             decoder.setParserPool(Configuration.getParserPool());
+            decoder.setMaximumMessageSize(saml2Configuration.getMaximumInboundMessageSize());
             decoder.initialize();
             decoder.decode();
 
@@ -1,6 +1,5 @@
 package org.pac4j.saml.transport;
 
-import net.shibboleth.utilities.java.support.codec.Base64Support;
 import net.shibboleth.utilities.java.support.component.ComponentInitializationException;
 import net.shibboleth.utilities.java.support.logic.Constraint;
 import net.shibboleth.utilities.java.support.xml.ParserPool;
@@ -24,8 +23,12 @@ import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
 
 import javax.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.Optional;
 
 /**
@@ -36,6 +39,9 @@ import java.util.Optional;
  */
 public abstract class AbstractPac4jDecoder extends AbstractMessageDecoder {
 
+    /** Default maximum size of the decoded message: 10 MB. */
+    public static final long DEFAULT_MAXIMUM_MESSAGE_SIZE = 10L * 1024 * 1024;
+
     static final String[] SAML_PARAMETERS = {"SAMLRequest", "SAMLResponse", "logoutRequest"};
 
     protected final Logger logger = LoggerFactory.getLogger(getClass());
@@ -45,12 +51,60 @@ public abstract class AbstractPac4jDecoder extends AbstractMessageDecoder {
 
     protected final WebContext context;
 
+    /** Maximum size of the decoded (and inflated) message. */
+    protected long maximumMessageSize = DEFAULT_MAXIMUM_MESSAGE_SIZE;
+
     public AbstractPac4jDecoder(final WebContext context) {
         CommonHelper.assertNotNull("context", context);
         this.context = context;
     }
 
+    /**
+     * Get the Base64 decoded message.
+     *
+     * @return the decoded message
+     * @throws MessageDecodingException if the message cannot be found or decoded
+     * @deprecated use {@link #getDecodedMessageStream()} to avoid building intermediate copies of the message
+     */
+    @Deprecated
     protected byte[] getBase64DecodedMessage() throws MessageDecodingException {
+        try (var stream = getDecodedMessageStream()) {
+            final var decodedBytes = stream.readAllBytes();
+            logger.trace("Decoded SAML message:\n{}", new String(decodedBytes, StandardCharsets.UTF_8));
+            return decodedBytes;
+        } catch (final IOException e) {
+            throw new MessageDecodingException(e);
+        }
+    }
+
+    /**
+     * Get the message, Base64 decoded on the fly, as a stream bounded by the {@link #maximumMessageSize}.
+     *
+     * @return the stream of the decoded message
+     * @throws MessageDecodingException if the message cannot be found
+     */
+    protected InputStream getDecodedMessageStream() throws MessageDecodingException {
+        final var encodedMessage = getEncodedMessage();
+        if (encodedMessage.contains("<")) {
+            logger.trace("Raw SAML message:\n{}", encodedMessage);
+            return boundedStream(new ByteArrayInputStream(encodedMessage.getBytes(StandardCharsets.UTF_8)));
+        } else {
+            // the MIME decoder ignores line separators like the OpenSAML decoder
+            return boundedStream(Base64.getMimeDecoder().wrap(new AsciiStringInputStream(encodedMessage)));
+        }
+    }
+
+    /**
+     * Limit the size of the message read from the given stream.
+     *
+     * @param stream the stream of the message
+     * @return the bounded stream
+     */
+    protected InputStream boundedStream(final InputStream stream) {
+        return new BoundedInputStream(stream, maximumMessageSize);
+    }
+
+    private String getEncodedMessage() throws MessageDecodingException {
         Optional<String> encodedMessage = Optional.empty();
         for (final var parameter : SAML_PARAMETERS) {
             encodedMessage = this.context.getRequestParameter(parameter);
@@ -81,21 +135,8 @@ public abstract class AbstractPac4jDecoder extends AbstractMessageDecoder {
         if (!encodedMessage.isPresent()) {
             throw new MessageDecodingException("Request did not contain either a SAMLRequest parameter, a SAMLResponse parameter, "
                 + "a logoutRequest parameter or a body content");
-        } else {
-            if (encodedMessage.get().contains("<")) {
-                logger.trace("Raw SAML message:\n{}", encodedMessage);
-                return encodedMessage.get().getBytes(StandardCharsets.UTF_8);
-            } else {
-
-                try {
-                    final var decodedBytes = Base64Support.decode(encodedMessage.get());
-                    logger.trace("Decoded SAML message:\n{}", new String(decodedBytes, StandardCharsets.UTF_8));
-                    return decodedBytes;
-                } catch (final Exception e) {
-                    throw new MessageDecodingException(e);
-                }
-            }
         }
+        return encodedMessage.get();
     }
 
     @Override
@@ -174,5 +215,93 @@ public abstract class AbstractPac4jDecoder extends AbstractMessageDecoder {
         Constraint.isNotNull(pool, "ParserPool cannot be null");
         parserPool = pool;
     }
+
+    public long getMaximumMessageSize() {
+        return maximumMessageSize;
+    }
+
+    /**
+     * Sets the maximum size of the decoded message, to bound the memory used by hostile messages.
+     *
+     * @param maximumMessageSize the maximum size in bytes
+     */
+    public void setMaximumMessageSize(final long maximumMessageSize) {
+        this.maximumMessageSize = maximumMessageSize;
+    }
+
+    /**
+     * Input stream reading the chars of an ASCII string as bytes, without copying it.
+     */
+    private static final class AsciiStringInputStream extends InputStream {
+
+        private final String value;
+
+        private int position;
+
+        private AsciiStringInputStream(final String value) {
+            this.value = value;
+        }
+
+        @Override
+        public int read() {
+            return position < value.length() ? value.charAt(position++) & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) {
+            if (length == 0) {
+                return 0;
+            }
+            final var remaining = value.length() - position;
+            if (remaining <= 0) {
+                return -1;
+            }
+            final var count = Math.min(length, remaining);
+            for (var i = 0; i < count; i++) {
+                bytes[offset + i] = (byte) value.charAt(position++);
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Input stream failing when more than a maximum number of bytes are read.
+     */
+    private static final class BoundedInputStream extends FilterInputStream {
+
+        private final long maximumSize;
+
+        private long count;
+
+        private BoundedInputStream(final InputStream in, final long maximumSize) {
+            super(in);
+            this.maximumSize = maximumSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final var b = super.read();
+            if (b >= 0) {
+                checkSize(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+            final var nb = super.read(bytes, offset, length);
+            if (nb > 0) {
+                checkSize(nb);
+            }
+            return nb;
+        }
+
+        private void checkSize(final int nb) throws IOException {
+            count += nb;
+            if (count > maximumSize) {
+                throw new IOException("SAML message exceeds the maximum size of " + maximumSize + " bytes");
+            }
+        }
+    }
 }
 
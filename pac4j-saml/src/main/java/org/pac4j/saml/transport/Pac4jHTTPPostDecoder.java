@@ -1,5 +1,6 @@
 package org.pac4j.saml.transport;
 
+import org.opensaml.core.xml.XMLObject;
 import org.opensaml.messaging.decoder.MessageDecodingException;
 import org.opensaml.messaging.handler.MessageHandlerException;
 import org.opensaml.saml.common.SAMLObject;
@@ -12,7 +13,7 @@ import org.pac4j.core.context.WebContext;
 import org.pac4j.saml.context.SAML2MessageContext;
 import org.pac4j.saml.util.SAML2Utils;
 
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
 
 /**
  * Decoder for messages sent via POST and SOAP bindings.
@@ -35,8 +36,12 @@ public class Pac4jHTTPPostDecoder extends AbstractPac4jDecoder {
             final var relayState = this.context.getRequestParameter("RelayState").orElse(null);
             logger.debug("Decoded SAML relay state of: {}", relayState);
             SAMLBindingSupport.setRelayState(messageContext.getMessageContext(), relayState);
-            final var base64DecodedMessage = this.getBase64DecodedMessage();
-            final var xmlObject = this.unmarshallMessage(new ByteArrayInputStream(base64DecodedMessage));
+            final XMLObject xmlObject;
+            try (var decodedMessage = this.getDecodedMessageStream()) {
+                xmlObject = this.unmarshallMessage(decodedMessage);
+            } catch (final IOException e) {
+                throw new MessageDecodingException("Cannot decode message", e);
+            }
             SAML2Utils.logProtocolMessage(xmlObject);
             final SAMLObject inboundMessage;
             if (xmlObject instanceof Envelope) {
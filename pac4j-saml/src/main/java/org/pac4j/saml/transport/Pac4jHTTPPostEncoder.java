@@ -29,6 +29,7 @@ import java.nio.charset.StandardCharsets;
 /**
  * Pac4j implementation extending directly the {@link AbstractMessageEncoder} as intermediate classes use the JEE HTTP response.
  * It's mostly a copy/paste of the source code of these intermediate opensaml classes.
+ * It renders the POST form with a Velocity template, see {@link Pac4jHTTPPostStreamingEncoder} for the template-free encoder.
  *
  * @author Misagh Moayyed
  * @since 1.8
@@ -0,0 +1,208 @@
+package org.pac4j.saml.transport;
+
+import net.shibboleth.utilities.java.support.codec.HTMLEncoder;
+import net.shibboleth.utilities.java.support.xml.SerializeSupport;
+import org.opensaml.core.xml.XMLObject;
+import org.opensaml.core.xml.io.MarshallingException;
+import org.opensaml.core.xml.util.XMLObjectSupport;
+import org.opensaml.messaging.context.MessageContext;
+import org.opensaml.messaging.encoder.AbstractMessageEncoder;
+import org.opensaml.messaging.encoder.MessageEncodingException;
+import org.opensaml.saml.common.SAMLObject;
+import org.opensaml.saml.common.binding.BindingException;
+import org.opensaml.saml.common.binding.SAMLBindingSupport;
+import org.opensaml.saml.saml2.core.RequestAbstractType;
+import org.opensaml.saml.saml2.core.StatusResponseType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Element;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.net.URI;
+import java.util.Base64;
+
+/**
+ * HTTP-POST binding encoder which writes the auto-submit HTML form directly to the response writer, without any template
+ * engine: the static parts of the form are precompiled and the SAML message is serialized and Base64 encoded as a stream.
+ *
+ * The {@link Pac4jHTTPPostEncoder} is used instead when a custom Velocity template is defined
+ * (see {@link org.pac4j.saml.config.SAML2Configuration#setPostBindingVelocityTemplate(String)}).
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public class Pac4jHTTPPostStreamingEncoder extends AbstractMessageEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(Pac4jHTTPPostStreamingEncoder.class);
+
+    private static final String FORM_PREFIX = "<!DOCTYPE html>\n"
+        + "<html>\n"
+        + "    <head>\n"
+        + "        <meta charset=\"utf-8\" />\n"
+        + "    </head>\n"
+        + "    <body onload=\"document.forms[0].submit()\">\n"
+        + "        <noscript>\n"
+        + "            <p>\n"
+        + "                <strong>Note:</strong> Since your browser does not support JavaScript,\n"
+        + "                you must press the Continue button once to proceed.\n"
+        + "            </p>\n"
+        + "        </noscript>\n"
+        + "        <form action=\"";
+
+    private static final String FORM_START = "\" method=\"post\">\n"
+        + "            <div>\n";
+
+    private static final String RELAY_STATE_PREFIX = "                <input type=\"hidden\" name=\"RelayState\" value=\"";
+
+    private static final String SAML_REQUEST_PREFIX = "                <input type=\"hidden\" name=\"SAMLRequest\" value=\"";
+
+    private static final String SAML_RESPONSE_PREFIX = "                <input type=\"hidden\" name=\"SAMLResponse\" value=\"";
+
+    private static final String INPUT_SUFFIX = "\"/>\n";
+
+    private static final String FORM_SUFFIX = "            </div>\n"
+        + "            <noscript>\n"
+        + "                <div>\n"
+        + "                    <input type=\"submit\" value=\"Continue\"/>\n"
+        + "                </div>\n"
+        + "            </noscript>\n"
+        + "        </form>\n"
+        + "    </body>\n"
+        + "</html>\n";
+
+    private final Pac4jSAMLResponse responseAdapter;
+
+    public Pac4jHTTPPostStreamingEncoder(final Pac4jSAMLResponse responseAdapter) {
+        this.responseAdapter = responseAdapter;
+    }
+
+    @Override
+    protected void doEncode() throws MessageEncodingException {
+        final var messageContext = getMessageContext();
+
+        final var outboundMessage = (SAMLObject) messageContext.getMessage();
+        if (outboundMessage == null) {
+            throw new MessageEncodingException("No outbound SAML message contained in message context");
+        }
+
+        final String inputPrefix;
+        if (outboundMessage instanceof RequestAbstractType) {
+            inputPrefix = SAML_REQUEST_PREFIX;
+        } else if (outboundMessage instanceof StatusResponseType) {
+            inputPrefix = SAML_RESPONSE_PREFIX;
+        } else {
+            throw new MessageEncodingException("SAML message is neither a SAML RequestAbstractType or StatusResponseType");
+        }
+
+        final var endpointURL = getEndpointURL(messageContext).toString();
+        final var domMessage = marshallMessage(outboundMessage);
+        if (log.isTraceEnabled()) {
+            log.trace("Output XML message: {}", SerializeSupport.nodeToString(domMessage));
+        }
+
+        responseAdapter.setContentType("text/html");
+        responseAdapter.init();
+
+        try {
+            final Writer out = responseAdapter.getOutputStreamWriter();
+            out.write(FORM_PREFIX);
+            out.write(HTMLEncoder.encodeForHTMLAttribute(endpointURL));
+            out.write(FORM_START);
+
+            final var relayState = SAMLBindingSupport.getRelayState(messageContext);
+            if (SAMLBindingSupport.checkRelayState(relayState)) {
+                log.debug("Setting RelayState parameter to: '{}'", relayState);
+                out.write(RELAY_STATE_PREFIX);
+                out.write(HTMLEncoder.encodeForHTMLAttribute(relayState));
+                out.write(INPUT_SUFFIX);
+            }
+
+            log.debug("Serializing and Base64 encoding SAML message");
+            out.write(inputPrefix);
+            // the Base64 alphabet is safe in an HTML attribute: no escaping is required
+            try (var base64Stream = Base64.getEncoder().wrap(new WriterOutputStream(out))) {
+                SerializeSupport.writeNode(domMessage, base64Stream);
+            }
+            out.write(INPUT_SUFFIX);
+
+            out.write(FORM_SUFFIX);
+            out.flush();
+        } catch (final IOException | RuntimeException e) {
+            throw new MessageEncodingException("Error creating output document", e);
+        }
+    }
+
+    /**
+     * Gets the response URL from the message context.
+     *
+     * @param messageContext current message context
+     * @return response URL from the message context
+     * @throws MessageEncodingException throw if no relying party endpoint is available
+     */
+    protected URI getEndpointURL(final MessageContext messageContext) throws MessageEncodingException {
+        try {
+            return SAMLBindingSupport.getEndpointURL(messageContext);
+        } catch (final BindingException e) {
+            throw new MessageEncodingException("Could not obtain message endpoint URL", e);
+        }
+    }
+
+    /**
+     * Helper method that marshalls the given message.
+     *
+     * @param message message the marshall and serialize
+     * @return marshalled message
+     * @throws MessageEncodingException thrown if the give message can not be marshalled into its DOM representation
+     */
+    protected Element marshallMessage(final XMLObject message) throws MessageEncodingException {
+        log.debug("Marshalling message");
+
+        try {
+            return XMLObjectSupport.marshall(message);
+        } catch (final MarshallingException e) {
+            throw new MessageEncodingException("Error marshalling message", e);
+        }
+    }
+
+    /**
+     * Output stream writing the ASCII bytes of the Base64 encoding as chars to the underlying writer.
+     * Closing it does not close the writer.
+     */
+    private static final class WriterOutputStream extends OutputStream {
+
+        private final Writer writer;
+
+        private final char[] buffer = new char[1024];
+
+        private WriterOutputStream(final Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            writer.write(b);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            var remaining = length;
+            var position = offset;
+            while (remaining > 0) {
+                final var chunk = Math.min(remaining, buffer.length);
+                for (var i = 0; i < chunk; i++) {
+                    buffer[i] = (char) bytes[position + i];
+                }
+                writer.write(buffer, 0, chunk);
+                position += chunk;
+                remaining -= chunk;
+            }
+        }
+
+        @Override
+        public void close() {
+            // the underlying writer remains open
+        }
+    }
+}
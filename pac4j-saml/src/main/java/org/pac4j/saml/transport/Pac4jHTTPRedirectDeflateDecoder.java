@@ -9,11 +9,11 @@ import org.pac4j.saml.context.SAML2MessageContext;
 import org.pac4j.saml.util.SAML2Utils;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
-import java.util.zip.*;
+import java.io.PushbackInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 /**
  * Decoder for messages sent via HTTP-Redirect binding.
@@ -32,9 +32,12 @@ public class Pac4jHTTPRedirectDeflateDecoder extends AbstractPac4jDecoder {
         final var messageContext = new SAML2MessageContext();
 
         if (WebContextHelper.isGet(context)) {
-            final var base64DecodedMessage = this.getBase64DecodedMessage();
-            final var inflatedMessage = inflate(base64DecodedMessage);
-            final var inboundMessage = (SAMLObject) this.unmarshallMessage(inflatedMessage);
+            final SAMLObject inboundMessage;
+            try (var inflatedMessage = inflate(this.getDecodedMessageStream())) {
+                inboundMessage = (SAMLObject) this.unmarshallMessage(inflatedMessage);
+            } catch (final IOException e) {
+                throw new MessageDecodingException("Cannot decode message", e);
+            }
             SAML2Utils.logProtocolMessage(inboundMessage);
             messageContext.getMessageContext().setMessage(inboundMessage);
             logger.debug("Decoded SAML message");
@@ -47,39 +50,56 @@ public class Pac4jHTTPRedirectDeflateDecoder extends AbstractPac4jDecoder {
 
     protected InputStream inflate(final byte[] input) throws MessageDecodingException {
         try {
-            // compatible with GZIP and PKZIP
-            return internalInflate(input, new Inflater(true));
+            return inflate(new ByteArrayInputStream(input));
         } catch (final IOException e) {
-            try {
-                // deflate compression only
-                return internalInflate(input, new Inflater());
-            } catch (final IOException e2) {
-                throw new MessageDecodingException("Cannot decode message", e2);
-            }
+            throw new MessageDecodingException("Cannot decode message", e);
         }
     }
 
-    protected InputStream internalInflate(final byte[] input, final Inflater inflater) throws IOException {
-        final var baos = new ByteArrayOutputStream();
-        final var iis = new InflaterInputStream(new ByteArrayInputStream(input), inflater);
-        try {
-            final var buffer = new byte[1000];
-            int length;
-            while ((length = iis.read(buffer)) > 0) {
-                baos.write(buffer, 0, length);
-            }
-            final var decodedBytes = baos.toByteArray();
-            final var decodedMessage = new String(decodedBytes, StandardCharsets.UTF_8);
-            logger.debug("Inflated SAML message: {}", decodedMessage);
-            return new ByteArrayInputStream(decodedBytes);
-        } finally {
-            baos.close();
-            iis.close();
+    /**
+     * Inflate the decoded message on the fly, the inflated message being bounded by the maximum message size.
+     *
+     * @param input the decoded message
+     * @return the stream of the inflated message
+     * @throws IOException if the message cannot be read
+     */
+    protected InputStream inflate(final InputStream input) throws IOException {
+        final var pushbackStream = new PushbackInputStream(input, 2);
+        final var header = new byte[2];
+        final var nb = pushbackStream.readNBytes(header, 0, 2);
+        if (nb > 0) {
+            pushbackStream.unread(header, 0, nb);
         }
+        // deflate compression only if a zlib header is present, otherwise compatible with GZIP and PKZIP
+        final var nowrap = nb < 2 || !isZlibHeader(header[0], header[1]);
+        return boundedStream(new EndingInflaterInputStream(pushbackStream, new Inflater(nowrap)));
+    }
+
+    private static boolean isZlibHeader(final byte cmf, final byte flg) {
+        return (cmf & 0x0F) == 8 && (((cmf & 0xFF) << 8) | (flg & 0xFF)) % 31 == 0;
     }
 
     @Override
     public String getBindingURI(final SAML2MessageContext messageContext) {
         return SAMLConstants.SAML2_REDIRECT_BINDING_URI;
     }
+
+    /**
+     * An inflater stream releasing the native memory of its own inflater when closed.
+     */
+    private static final class EndingInflaterInputStream extends InflaterInputStream {
+
+        private EndingInflaterInputStream(final InputStream in, final Inflater inflater) {
+            super(in, inflater);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                inf.end();
+            }
+        }
+    }
 }
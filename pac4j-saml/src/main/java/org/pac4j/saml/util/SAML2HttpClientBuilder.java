@@ -20,6 +20,7 @@ public class SAML2HttpClientBuilder {
     private boolean followRedirects;
     private boolean closeConnectionAfterResponse = true;
     private int maxConnectionsTotal = 3;
+    private int maxConnectionsPerRoute = -1;
     private CredentialsProvider credentialsProvider;
 
     public HttpClient build() {
@@ -36,6 +37,9 @@ public class SAML2HttpClientBuilder {
             }
             builder.setHttpFollowRedirects(this.followRedirects);
             builder.setMaxConnectionsTotal(this.maxConnectionsTotal);
+            if (this.maxConnectionsPerRoute > 0) {
+                builder.setMaxConnectionsPerRoute(this.maxConnectionsPerRoute);
+            }
             builder.setConnectionCloseAfterResponse(this.closeConnectionAfterResponse);
 
             if (this.credentialsProvider != null) {
@@ -95,6 +99,14 @@ public class SAML2HttpClientBuilder {
         this.maxConnectionsTotal = maxConnectionsTotal;
     }
 
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    public void setMaxConnectionsPerRoute(final int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
     public CredentialsProvider getCredentialsProvider() {
         return credentialsProvider;
     }
@@ -1,5 +1,8 @@
 package org.pac4j.saml.config;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
@@ -52,4 +55,21 @@ public class SAML2ConfigurationTests {
         final var signingCertKey = new File("target/saml-signing-cert-" + certNameResult + ".key");
         assertTrue(signingCertKey.exists());
     }
+
+    @Test
+    public void verifyMetadataFingerprint() {
+        final var configuration = new SAML2Configuration();
+        configuration.setKeystorePath("target/keystore.jks");
+        configuration.setKeystorePassword("pac4j-secret");
+        final var fingerprint = configuration.getMetadataFingerprint();
+        assertFalse(fingerprint.contains("pac4j-secret"));
+        assertEquals(fingerprint, configuration.getMetadataFingerprint());
+
+        configuration.setKeystorePassword("pac4j-secret2");
+        final var passwordFingerprint = configuration.getMetadataFingerprint();
+        assertNotEquals(fingerprint, passwordFingerprint);
+
+        configuration.setKeystorePath("target/keystore2.jks");
+        assertNotEquals(passwordFingerprint, configuration.getMetadataFingerprint());
+    }
 }
@@ -0,0 +1,184 @@
+package org.pac4j.saml.crypto;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.opensaml.core.xml.XMLObjectBuilderFactory;
+import org.opensaml.saml.common.SAMLObjectBuilder;
+import org.opensaml.saml.saml2.core.Assertion;
+import org.opensaml.saml.saml2.core.Attribute;
+import org.opensaml.saml.saml2.core.EncryptedAttribute;
+import org.opensaml.saml.saml2.encryption.Decrypter;
+import org.opensaml.saml.saml2.encryption.Encrypter;
+import org.opensaml.security.credential.Credential;
+import org.opensaml.security.credential.CredentialSupport;
+import org.opensaml.xmlsec.encryption.EncryptedKey;
+import org.opensaml.xmlsec.encryption.support.DataEncryptionParameters;
+import org.opensaml.xmlsec.encryption.support.DecryptionException;
+import org.opensaml.xmlsec.encryption.support.EncryptedKeyResolver;
+import org.opensaml.xmlsec.encryption.support.EncryptionConstants;
+import org.opensaml.xmlsec.encryption.support.InlineEncryptedKeyResolver;
+import org.opensaml.xmlsec.encryption.support.KeyEncryptionParameters;
+import org.opensaml.xmlsec.keyinfo.impl.StaticKeyInfoCredentialResolver;
+import org.pac4j.core.util.TestsConstants;
+import org.pac4j.saml.util.Configuration;
+
+import java.security.Key;
+import java.security.KeyPairGenerator;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link SAML2ResponseDecrypter}.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class SAML2ResponseDecrypterTests implements TestsConstants {
+
+    private final XMLObjectBuilderFactory builderFactory = Configuration.getBuilderFactory();
+
+    private final AtomicInteger nbKeyDecryptions = new AtomicInteger();
+
+    private Credential credential;
+
+    private Encrypter encrypter;
+
+    @Before
+    public void setUp() throws Exception {
+        credential = generateCredential();
+        final var dataParameters = new DataEncryptionParameters();
+        dataParameters.setAlgorithm(EncryptionConstants.ALGO_ID_BLOCKCIPHER_AES128);
+        final var keyParameters = new KeyEncryptionParameters();
+        keyParameters.setEncryptionCredential(credential);
+        keyParameters.setAlgorithm(EncryptionConstants.ALGO_ID_KEYTRANSPORT_RSAOAEP);
+        encrypter = new Encrypter(dataParameters, keyParameters);
+        encrypter.setKeyPlacement(Encrypter.KeyPlacement.INLINE);
+    }
+
+    @Test
+    public void testDecryptAssertions() throws Exception {
+        final var first = encrypter.encrypt(buildAssertion(ID));
+        final var second = encrypter.encrypt(buildAssertion(VALUE));
+
+        final var assertions = new SAML2ResponseDecrypter(buildDecrypter(credential)).decryptAssertions(Arrays.asList(first, second));
+
+        assertEquals(2, assertions.size());
+        assertEquals(ID, assertions.get(0).getID());
+        assertEquals(VALUE, assertions.get(1).getID());
+    }
+
+    @Test
+    public void testDecryptAttributes() throws Exception {
+        final var first = encrypter.encrypt(buildAttribute(KEY));
+        final var second = encrypter.encrypt(buildAttribute(NAME));
+
+        final var attributes = new SAML2ResponseDecrypter(buildDecrypter(credential)).decryptAttributes(Arrays.asList(first, second));
+
+        assertEquals(2, attributes.size());
+        assertEquals(KEY, attributes.get(0).getName());
+        assertEquals(NAME, attributes.get(1).getName());
+        assertEquals(2, nbKeyDecryptions.get());
+    }
+
+    @Test
+    public void testKeyReusedForTheSameEncryptedKey() throws Exception {
+        final EncryptedAttribute encryptedAttribute = encrypter.encrypt(buildAttribute(KEY));
+
+        final var attributes = new SAML2ResponseDecrypter(buildDecrypter(credential))
+            .decryptAttributes(Arrays.asList(encryptedAttribute, encryptedAttribute));
+
+        assertEquals(2, attributes.size());
+        assertEquals(KEY, attributes.get(0).getName());
+        assertEquals(KEY, attributes.get(1).getName());
+        assertEquals(1, nbKeyDecryptions.get());
+    }
+
+    @Test
+    public void testParallelDecryption() throws Exception {
+        final var executor = Executors.newFixedThreadPool(2);
+        try {
+            final var decrypter = new SAML2ResponseDecrypter(buildDecrypter(credential), executor);
+
+            final var assertions = decrypter.decryptAssertions(Arrays.asList(encrypter.encrypt(buildAssertion(ID)),
+                encrypter.encrypt(buildAssertion(VALUE))));
+            assertEquals(2, assertions.size());
+            assertEquals(ID, assertions.get(0).getID());
+            assertEquals(VALUE, assertions.get(1).getID());
+
+            final var attributes = decrypter.decryptAttributes(Arrays.asList(encrypter.encrypt(buildAttribute(KEY)),
+                encrypter.encrypt(buildAttribute(NAME)), encrypter.encrypt(buildAttribute(VALUE))));
+            assertEquals(3, attributes.size());
+            assertEquals(KEY, attributes.get(0).getName());
+            assertEquals(NAME, attributes.get(1).getName());
+            assertEquals(VALUE, attributes.get(2).getName());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testEncryptedKeyForAnotherRecipientIsIgnored() throws Exception {
+        final var keyParameters = new KeyEncryptionParameters();
+        keyParameters.setEncryptionCredential(credential);
+        keyParameters.setAlgorithm(EncryptionConstants.ALGO_ID_KEYTRANSPORT_RSAOAEP);
+        keyParameters.setRecipient(NAME);
+        final var dataParameters = new DataEncryptionParameters();
+        dataParameters.setAlgorithm(EncryptionConstants.ALGO_ID_BLOCKCIPHER_AES128);
+        final var recipientEncrypter = new Encrypter(dataParameters, keyParameters);
+        recipientEncrypter.setKeyPlacement(Encrypter.KeyPlacement.INLINE);
+        final var encryptedAttribute = recipientEncrypter.encrypt(buildAttribute(KEY));
+
+        final var decrypter = new SAML2ResponseDecrypter(buildDecrypter(credential, new InlineEncryptedKeyResolver(Set.of(VALUE))));
+
+        assertTrue(decrypter.decryptAttributes(Collections.singletonList(encryptedAttribute)).isEmpty());
+        assertEquals(0, nbKeyDecryptions.get());
+    }
+
+    @Test
+    public void testFailedDecryptionsAreSkipped() throws Exception {
+        final var decrypter = new SAML2ResponseDecrypter(buildDecrypter(generateCredential()));
+
+        assertTrue(decrypter.decryptAssertions(Collections.singletonList(encrypter.encrypt(buildAssertion(ID)))).isEmpty());
+        assertTrue(decrypter.decryptAttributes(Collections.singletonList(encrypter.encrypt(buildAttribute(KEY)))).isEmpty());
+    }
+
+    private static Credential generateCredential() throws Exception {
+        final var generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        final var keyPair = generator.generateKeyPair();
+        return CredentialSupport.getSimpleCredential(keyPair.getPublic(), keyPair.getPrivate());
+    }
+
+    private Decrypter buildDecrypter(final Credential decryptionCredential) {
+        return buildDecrypter(decryptionCredential, new InlineEncryptedKeyResolver());
+    }
+
+    private Decrypter buildDecrypter(final Credential decryptionCredential, final EncryptedKeyResolver encryptedKeyResolver) {
+        final var decrypter = new Decrypter(null, new StaticKeyInfoCredentialResolver(decryptionCredential), encryptedKeyResolver) {
+            @Override
+            public Key decryptKey(final EncryptedKey encryptedKey, final String algorithm) throws DecryptionException {
+                nbKeyDecryptions.incrementAndGet();
+                return super.decryptKey(encryptedKey, algorithm);
+            }
+        };
+        decrypter.setRootInNewDocument(true);
+        return decrypter;
+    }
+
+    private Assertion buildAssertion(final String id) {
+        final var assertion = ((SAMLObjectBuilder<Assertion>) builderFactory.getBuilder(Assertion.DEFAULT_ELEMENT_NAME)).buildObject();
+        assertion.setID(id);
+        return assertion;
+    }
+
+    private Attribute buildAttribute(final String name) {
+        final var attribute = ((SAMLObjectBuilder<Attribute>) builderFactory.getBuilder(Attribute.DEFAULT_ELEMENT_NAME)).buildObject();
+        attribute.setName(name);
+        return attribute;
+    }
+}
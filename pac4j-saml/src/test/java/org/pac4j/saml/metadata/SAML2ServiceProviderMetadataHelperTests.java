@@ -0,0 +1,62 @@
+package org.pac4j.saml.metadata;
+
+import org.junit.Test;
+import org.pac4j.core.config.Config;
+import org.pac4j.core.context.HttpConstants;
+import org.pac4j.core.context.MockWebContext;
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.util.TestsConstants;
+import org.pac4j.core.util.TestsHelper;
+import org.pac4j.saml.client.SAML2Client;
+import org.pac4j.saml.config.SAML2Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link SAML2ServiceProviderMetadataHelper}.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class SAML2ServiceProviderMetadataHelperTests implements TestsConstants {
+
+    private static final String CLIENT_NAME = "SAML2Client";
+
+    private static Config buildConfig() {
+        final var configuration = new SAML2Configuration(new FileSystemResource("target/samlKeystore.jks"),
+            "pac4j-demo-passwd", "pac4j-demo-passwd", new ClassPathResource("testshib-providers.xml"));
+        configuration.setServiceProviderEntityId("urn:mace:saml:pac4j.org");
+        configuration.setForceKeystoreGeneration(true);
+        configuration.setForceServiceProviderMetadataGeneration(true);
+        configuration.setServiceProviderMetadataResource(new FileSystemResource("target/helper-sp-metadata.xml"));
+        final var client = new SAML2Client(configuration);
+        client.setCallbackUrl(CALLBACK_URL);
+        return new Config(client);
+    }
+
+    @Test
+    public void testUnknownClient() {
+        TestsHelper.expectException(() -> SAML2ServiceProviderMetadataHelper.findClient(buildConfig(), NAME),
+            TechnicalException.class, "No SAML2 client: " + NAME);
+    }
+
+    @Test
+    public void testMetadataAndNotModified() {
+        final var client = SAML2ServiceProviderMetadataHelper.findClient(buildConfig(), CLIENT_NAME);
+
+        final var context = MockWebContext.create();
+        final var metadata = SAML2ServiceProviderMetadataHelper.buildMetadataResponse(client, context);
+        assertTrue(metadata.isPresent());
+        assertTrue(new String(metadata.get(), StandardCharsets.UTF_8).contains("urn:mace:saml:pac4j.org"));
+        final var eTag = context.getResponseHeaders().get(HttpConstants.ETAG_HEADER);
+        assertNotNull(eTag);
+
+        final var conditionalContext = MockWebContext.create().addRequestHeader(HttpConstants.IF_NONE_MATCH_HEADER, eTag);
+        assertFalse(SAML2ServiceProviderMetadataHelper.buildMetadataResponse(client, conditionalContext).isPresent());
+        assertEquals(eTag, conditionalContext.getResponseHeaders().get(HttpConstants.ETAG_HEADER));
+    }
+}
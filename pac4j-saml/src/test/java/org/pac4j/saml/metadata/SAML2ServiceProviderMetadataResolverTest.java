@@ -61,6 +61,47 @@ public class SAML2ServiceProviderMetadataResolverTest {
         assertNotNull(metadataResolver.resolve());
     }
 
+    @Test
+    public void serviceProviderMetadataCachedUntilConfigurationChanges() {
+        final var configuration =
+            initializeConfiguration(new FileSystemResource("target/cached-sp-metadata.xml"), "target/keystore.jks");
+        final var metadataResolver = new SAML2ServiceProviderMetadataResolver(configuration);
+
+        final var metadata = metadataResolver.getServiceProviderMetadata();
+        assertSame(metadata, metadataResolver.getServiceProviderMetadata());
+
+        configuration.setSingleSignOutServiceUrl("http://localhost:8080/logout");
+        final var logoutMetadata = metadataResolver.getServiceProviderMetadata();
+        assertNotSame(metadata, logoutMetadata);
+        assertNotEquals(metadata.getETag(), logoutMetadata.getETag());
+        assertTrue(logoutMetadata.getContent().contains("http://localhost:8080/logout"));
+        assertSame(logoutMetadata, metadataResolver.getServiceProviderMetadata());
+
+        configuration.getRequestedServiceProviderAttributes()
+            .add(new SAML2ServiceProviderRequestedAttribute("urn:oid:2.5.4.42", "givenName"));
+        assertSame(logoutMetadata, metadataResolver.getServiceProviderMetadata());
+        metadataResolver.clearMetadataCache();
+        final var attributeMetadata = metadataResolver.getServiceProviderMetadata();
+        assertNotSame(logoutMetadata, attributeMetadata);
+        assertTrue(attributeMetadata.getContent().contains("urn:oid:2.5.4.42"));
+        assertSame(attributeMetadata, metadataResolver.getServiceProviderMetadata());
+    }
+
+    @Test
+    public void serviceProviderMetadataRegeneratedWhenKeystoreChanges() throws Exception {
+        final var configuration =
+            initializeConfiguration(new FileSystemResource("target/keystore-sp-metadata.xml"), "target/keystore.jks");
+        final var metadataResolver = new SAML2ServiceProviderMetadataResolver(configuration);
+
+        metadataResolver.setKeystoreCheckInterval(0);
+
+        final var metadata = metadataResolver.getServiceProviderMetadata();
+        assertSame(metadata, metadataResolver.getServiceProviderMetadata());
+        final var keystore = configuration.getKeystoreResource().getFile();
+        assertTrue(keystore.setLastModified(keystore.lastModified() + 10_000));
+        assertNotSame(metadata, metadataResolver.getServiceProviderMetadata());
+    }
+
     @Test
     public void resolveServiceProviderMetadataViaUrl() throws Exception {
         final var restBody = IOUtils.toString(
@@ -0,0 +1,36 @@
+package org.pac4j.saml.metadata;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link SAML2ServiceProviderMetadata}.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class SAML2ServiceProviderMetadataTests {
+
+    private static final String CONTENT = "<md:EntityDescriptor entityID=\"urn:sp\"/>";
+
+    @Test
+    public void testETag() {
+        final var metadata = new SAML2ServiceProviderMetadata(CONTENT);
+        assertEquals(metadata.getETag(), new SAML2ServiceProviderMetadata(CONTENT).getETag());
+        assertNotEquals(metadata.getETag(), new SAML2ServiceProviderMetadata(CONTENT + " ").getETag());
+        assertTrue(metadata.getETag().startsWith("\"") && metadata.getETag().endsWith("\""));
+    }
+
+    @Test
+    public void testMatches() {
+        final var metadata = new SAML2ServiceProviderMetadata(CONTENT);
+        final var eTag = metadata.getETag();
+        assertFalse(metadata.matches(null));
+        assertFalse(metadata.matches("\"other\""));
+        assertTrue(metadata.matches(eTag));
+        assertTrue(metadata.matches("W/" + eTag));
+        assertTrue(metadata.matches("\"other\", " + eTag));
+        assertTrue(metadata.matches("*"));
+    }
+}
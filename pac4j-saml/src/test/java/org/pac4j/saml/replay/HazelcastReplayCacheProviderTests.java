@@ -0,0 +1,80 @@
+package org.pac4j.saml.replay;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests {@link HazelcastReplayCacheProvider}.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+@RunWith(MockitoJUnitRunner.class)
+public final class HazelcastReplayCacheProviderTests {
+
+    private static final String CONTEXT = "context";
+
+    private final Map<String, Long> backendMap = new HashMap<>();
+
+    @Mock
+    private IMap<String, Long> mapInstance;
+
+    private HazelcastReplayCacheProvider provider;
+
+    @Before
+    public void setUp() {
+        lenient().when(mapInstance.putIfAbsent(anyString(), anyLong(), anyLong(), any(TimeUnit.class)))
+            .thenAnswer(ic -> backendMap.putIfAbsent(ic.getArgument(0), ic.getArgument(1)));
+
+        final var hazelcastInstance = mock(HazelcastInstance.class);
+        when(hazelcastInstance.<String, Long>getMap(HazelcastReplayCacheProvider.class.getSimpleName())).thenReturn(mapInstance);
+
+        provider = new HazelcastReplayCacheProvider(hazelcastInstance);
+    }
+
+    @Test
+    public void testReplay() {
+        final var expires = Instant.now().plusSeconds(60);
+        assertTrue(provider.get().check(CONTEXT, "id1", expires));
+        assertFalse(provider.get().check(CONTEXT, "id1", expires));
+        assertTrue(provider.get().check(CONTEXT, "id2", expires));
+        assertTrue(provider.get().check("otherContext", "id1", expires));
+    }
+
+    @Test
+    public void testTimeToLive() {
+        final var expires = Instant.now().plusSeconds(60);
+        assertTrue(provider.get().check(CONTEXT, "id", expires));
+        verify(mapInstance).putIfAbsent(anyString(), eq(expires.toEpochMilli()),
+            longThat(ttl -> ttl > 0 && ttl <= 60_000), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testExpiredMessage() {
+        assertTrue(provider.get().check(CONTEXT, "id", Instant.now().minusSeconds(1)));
+        verify(mapInstance).putIfAbsent(anyString(), anyLong(), eq(1L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testBackendFailure() {
+        when(mapInstance.putIfAbsent(anyString(), anyLong(), anyLong(), any(TimeUnit.class)))
+            .thenThrow(new IllegalStateException("unavailable"));
+        final var expires = Instant.now().plusSeconds(60);
+        assertFalse(provider.get().check(CONTEXT, "id", expires));
+        provider.setStrict(false);
+        assertTrue(provider.get().check(CONTEXT, "id", expires));
+    }
+}
@@ -0,0 +1,46 @@
+package org.pac4j.saml.replay;
+
+import org.junit.Test;
+
+import java.time.Instant;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link ShardedInMemoryReplayCacheProvider}.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class ShardedInMemoryReplayCacheProviderTests {
+
+    private static final String CONTEXT = "context";
+
+    @Test
+    public void testReplay() {
+        final var provider = new ShardedInMemoryReplayCacheProvider();
+        final var expires = Instant.now().plusSeconds(60);
+        assertTrue(provider.get().check(CONTEXT, "id1", expires));
+        assertFalse(provider.get().check(CONTEXT, "id1", expires));
+        assertTrue(provider.get().check(CONTEXT, "id2", expires));
+        assertTrue(provider.get().check("otherContext", "id1", expires));
+    }
+
+    @Test
+    public void testExpired() {
+        final var provider = new ShardedInMemoryReplayCacheProvider();
+        assertTrue(provider.get().check(CONTEXT, "id", Instant.now().minusSeconds(1)));
+        assertTrue(provider.get().check(CONTEXT, "id", Instant.now().plusSeconds(60)));
+        assertFalse(provider.get().check(CONTEXT, "id", Instant.now().plusSeconds(60)));
+    }
+
+    @Test
+    public void testBounded() {
+        final var provider = new ShardedInMemoryReplayCacheProvider(2, 10);
+        final var expires = Instant.now().plusSeconds(60);
+        for (var i = 0; i < 100; i++) {
+            assertTrue(provider.get().check(CONTEXT, "id" + i, expires));
+        }
+        assertTrue(provider.size() <= 10);
+    }
+}
@@ -0,0 +1,107 @@
+package org.pac4j.saml.replay;
+
+import org.junit.Test;
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.store.GuavaStore;
+import org.pac4j.core.store.Store;
+import org.pac4j.core.util.TestsHelper;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link StoreReplayCacheProvider}.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class StoreReplayCacheProviderTests {
+
+    private static final String CONTEXT = "context";
+
+    @Test
+    public void testMissingStore() {
+        TestsHelper.expectException(() -> new StoreReplayCacheProvider(null), TechnicalException.class, "store cannot be null");
+    }
+
+    @Test
+    public void testReplay() {
+        final var provider = new StoreReplayCacheProvider(new GuavaStore<>(100, 1, TimeUnit.MINUTES));
+        final var expires = Instant.now().plusSeconds(60);
+        assertTrue(provider.get().check(CONTEXT, "id1", expires));
+        assertFalse(provider.get().check(CONTEXT, "id1", expires));
+        assertTrue(provider.get().check(CONTEXT, "id2", expires));
+        assertTrue(provider.get().check("otherContext", "id1", expires));
+    }
+
+    @Test
+    public void testReplayOnAnotherNode() {
+        final var sharedStore = new GuavaStore<String, Long>(100, 1, TimeUnit.MINUTES);
+        final var expires = Instant.now().plusSeconds(60);
+        assertTrue(new StoreReplayCacheProvider(sharedStore).get().check(CONTEXT, "id", expires));
+        assertFalse(new StoreReplayCacheProvider(sharedStore).get().check(CONTEXT, "id", expires));
+    }
+
+    @Test
+    public void testStoredExpiration() {
+        final var store = new GuavaStore<String, Long>(100, 1, TimeUnit.MINUTES);
+        final var provider = new StoreReplayCacheProvider(store);
+        final var expires = Instant.now().plusSeconds(60);
+        assertTrue(provider.get().check(CONTEXT, "id", expires));
+        assertEquals(1, store.getCache().size());
+        assertEquals(Long.valueOf(expires.toEpochMilli()), store.getCache().asMap().values().iterator().next());
+    }
+
+    @Test
+    public void testTimeToLiveIsTheMessageLifetime() {
+        final var timeToLives = new ArrayList<Duration>();
+        final var store = new GuavaStore<String, Long>(100, 1, TimeUnit.MINUTES) {
+            @Override
+            protected boolean internalSetIfAbsent(final String key, final Long value, final Duration timeToLive) {
+                timeToLives.add(timeToLive);
+                return super.internalSetIfAbsent(key, value, timeToLive);
+            }
+        };
+        assertTrue(new StoreReplayCacheProvider(store).get().check(CONTEXT, "id", Instant.now().plusSeconds(60)));
+        assertEquals(1, timeToLives.size());
+        assertTrue(timeToLives.get(0).compareTo(Duration.ofSeconds(55)) > 0);
+        assertTrue(timeToLives.get(0).compareTo(Duration.ofSeconds(60)) <= 0);
+    }
+
+    @Test
+    public void testStoreFailure() {
+        final var provider = new StoreReplayCacheProvider(new FailingStore());
+        final var expires = Instant.now().plusSeconds(60);
+        assertFalse(provider.get().check(CONTEXT, "id", expires));
+        provider.setStrict(false);
+        assertTrue(provider.get().check(CONTEXT, "id", expires));
+    }
+
+    private static final class FailingStore implements Store<String, Long> {
+
+        @Override
+        public Optional<Long> get(final String key) {
+            throw new TechnicalException("unavailable");
+        }
+
+        @Override
+        public void set(final String key, final Long value) {
+            throw new TechnicalException("unavailable");
+        }
+
+        @Override
+        public boolean setIfAbsent(final String key, final Long value) {
+            throw new TechnicalException("unavailable");
+        }
+
+        @Override
+        public void remove(final String key) {
+            throw new TechnicalException("unavailable");
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.pac4j.saml.sso.artifact;
+
+import net.shibboleth.utilities.java.support.httpclient.HttpClientBuilder;
+import org.apache.http.client.methods.HttpGet;
+import org.junit.Test;
+import org.pac4j.core.util.TestsConstants;
+import org.pac4j.core.util.TestsHelper;
+import org.pac4j.saml.client.SAML2Client;
+import org.pac4j.saml.config.SAML2Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link DefaultSOAPPipelineProvider}.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class DefaultSOAPPipelineProviderTests implements TestsConstants {
+
+    private static SAML2Client buildClient() {
+        final var configuration = new SAML2Configuration(new FileSystemResource("target/samlKeystore.jks"),
+            "pac4j-demo-passwd", "pac4j-demo-passwd", new ClassPathResource("testshib-providers.xml"));
+        configuration.setServiceProviderEntityId("urn:mace:saml:pac4j.org");
+        configuration.setForceKeystoreGeneration(true);
+        configuration.setForceServiceProviderMetadataGeneration(true);
+        configuration.setServiceProviderMetadataResource(new FileSystemResource("target/soap-sp-metadata.xml"));
+        final var client = new SAML2Client(configuration);
+        client.setCallbackUrl(CALLBACK_URL);
+        return client;
+    }
+
+    @Test
+    public void testSharedComponents() {
+        final var client = buildClient();
+        client.init();
+        final var provider = client.getSoapPipelineProvider();
+
+        assertTrue(provider instanceof DefaultSOAPPipelineProvider);
+        assertSame(provider.getHttpClient(), provider.getHttpClient());
+        assertSame(provider.getPipelineFactory(), provider.getPipelineFactory());
+    }
+
+    @Test
+    public void testHttpClientBuiltFromTheBuilder() {
+        final var client = buildClient();
+        client.init();
+        final var nbBuilders = new AtomicInteger();
+        final var provider = new DefaultSOAPPipelineProvider(client) {
+            @Override
+            public HttpClientBuilder getHttpClientBuilder() {
+                nbBuilders.incrementAndGet();
+                return super.getHttpClientBuilder();
+            }
+        };
+
+        assertSame(provider.getHttpClient(), provider.getHttpClient());
+        assertEquals(1, nbBuilders.get());
+        assertFalse(provider.getHttpClientBuilder().isConnectionCloseAfterResponse());
+    }
+
+    @Test
+    public void testHttpClientClosedOnReinit() {
+        final var client = buildClient();
+        client.init();
+        final var provider = client.getSoapPipelineProvider();
+        final var httpClient = provider.getHttpClient();
+
+        client.init(true);
+
+        assertNotSame(provider, client.getSoapPipelineProvider());
+        assertNotSame(httpClient, client.getSoapPipelineProvider().getHttpClient());
+        final var e = TestsHelper.expectException(() -> httpClient.execute(new HttpGet("http://localhost:1")));
+        assertTrue(e instanceof IllegalStateException);
+    }
+
+    @Test
+    public void testHttpClientRebuiltAfterDestroy() {
+        final var client = buildClient();
+        client.init();
+        final var provider = (DefaultSOAPPipelineProvider) client.getSoapPipelineProvider();
+        final var httpClient = provider.getHttpClient();
+
+        provider.destroy();
+
+        assertNotSame(httpClient, provider.getHttpClient());
+    }
+}
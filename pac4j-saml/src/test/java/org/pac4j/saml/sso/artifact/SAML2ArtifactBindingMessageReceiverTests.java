@@ -0,0 +1,48 @@
+package org.pac4j.saml.sso.artifact;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.pac4j.saml.config.SAML2Configuration;
+import org.pac4j.saml.metadata.SAML2IdentityProviderMetadataResolver;
+import org.springframework.core.io.ClassPathResource;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link SAML2ArtifactBindingMessageReceiver}.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class SAML2ArtifactBindingMessageReceiverTests {
+
+    private SAML2IdentityProviderMetadataResolver idpMetadataResolver;
+
+    private SAML2ArtifactBindingMessageReceiver receiver;
+
+    @Before
+    public void setUp() {
+        final var configuration = new SAML2Configuration();
+        configuration.setIdentityProviderMetadataResource(new ClassPathResource("idp-metadata.xml"));
+        idpMetadataResolver = new SAML2IdentityProviderMetadataResolver(configuration);
+        idpMetadataResolver.init();
+        receiver = new SAML2ArtifactBindingMessageReceiver(null, idpMetadataResolver, null, null, configuration);
+    }
+
+    @Test
+    public void testSharedEndpointResolver() throws Exception {
+        assertSame(receiver.getEndpointResolver(), receiver.getEndpointResolver());
+    }
+
+    @Test
+    public void testRoleResolverRebuiltOnlyAfterReload() throws Exception {
+        final var roleResolver = receiver.getRoleResolver();
+        assertSame(roleResolver, receiver.getRoleResolver());
+
+        idpMetadataResolver.resolve(true);
+
+        final var reloadedRoleResolver = receiver.getRoleResolver();
+        assertNotSame(roleResolver, reloadedRoleResolver);
+        assertSame(reloadedRoleResolver, receiver.getRoleResolver());
+    }
+}
@@ -0,0 +1,141 @@
+package org.pac4j.saml.transport;
+
+import org.junit.Test;
+import org.opensaml.core.xml.XMLObjectBuilderFactory;
+import org.opensaml.messaging.encoder.MessageEncoder;
+import org.opensaml.saml.common.SAMLObject;
+import org.opensaml.saml.common.SAMLObjectBuilder;
+import org.opensaml.saml.saml2.core.AuthnRequest;
+import org.opensaml.saml.saml2.core.Issuer;
+import org.opensaml.saml.saml2.core.LogoutResponse;
+import org.opensaml.saml.saml2.metadata.SingleSignOnService;
+import org.pac4j.core.context.MockWebContext;
+import org.pac4j.saml.context.SAML2MessageContext;
+import org.pac4j.saml.util.Configuration;
+import org.pac4j.saml.util.VelocityEngineFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link Pac4jHTTPPostStreamingEncoder} against the {@link Pac4jHTTPPostEncoder} and its default Velocity template.
+ *
+ * @author Jerome Leleu
+ * @since 5.4.5
+ */
+public final class Pac4jHTTPPostStreamingEncoderTests {
+
+    private static final String ENDPOINT = "https://idp.example.org/sso?a=1&b=\"2\"";
+
+    private static final String RELAY_STATE = "state<&>\"";
+
+    private static final Pattern ACTION = Pattern.compile("<form action=\"([^\"]*)\" method=\"post\">");
+
+    private static final Pattern INPUT = Pattern.compile("<input type=\"hidden\" name=\"(\\w+)\" value=\"([^\"]*)\"/>");
+
+    private final XMLObjectBuilderFactory builderFactory = Configuration.getBuilderFactory();
+
+    @Test
+    public void testSameFormAsVelocityForRequest() throws Exception {
+        final var request = buildAuthnRequest();
+        final var streamingForm = encode(request, RELAY_STATE, true);
+        final var velocityForm = encode(request, RELAY_STATE, false);
+
+        assertEquals(extractAction(velocityForm), extractAction(streamingForm));
+        final var streamingInputs = extractInputs(streamingForm);
+        assertEquals(extractInputs(velocityForm), streamingInputs);
+        final var encodedRelayState = streamingInputs.get("RelayState");
+        assertTrue(encodedRelayState.startsWith("state&lt;&amp;"));
+        assertFalse(encodedRelayState.contains("<"));
+
+        final var message = new String(Base64.getDecoder().decode(streamingInputs.get("SAMLRequest")), StandardCharsets.UTF_8);
+        assertTrue(message.contains("ID=\"" + request.getID() + "\""));
+        assertTrue(streamingForm.contains("document.forms[0].submit()"));
+    }
+
+    @Test
+    public void testSameFormAsVelocityForResponseWithoutRelayState() throws Exception {
+        final var response = buildLogoutResponse();
+        final var streamingForm = encode(response, null, true);
+        final var velocityForm = encode(response, null, false);
+
+        assertEquals(extractAction(velocityForm), extractAction(streamingForm));
+        final var streamingInputs = extractInputs(streamingForm);
+        assertEquals(extractInputs(velocityForm), streamingInputs);
+        assertEquals(1, streamingInputs.size());
+        assertTrue(streamingInputs.containsKey("SAMLResponse"));
+    }
+
+    private String encode(final SAMLObject message, final String relayState, final boolean streaming) throws Exception {
+        final var context = new SAML2MessageContext();
+        final var endpoint = ((SAMLObjectBuilder<SingleSignOnService>) builderFactory
+            .getBuilder(SingleSignOnService.DEFAULT_ELEMENT_NAME)).buildObject();
+        endpoint.setLocation(ENDPOINT);
+        context.getSAMLPeerEndpointContext().setEndpoint(endpoint);
+        if (relayState != null) {
+            context.getSAMLBindingContext().setRelayState(relayState);
+        }
+        context.getMessageContext().setMessage(message);
+
+        final var response = new DefaultPac4jSAMLResponse(MockWebContext.create());
+        final MessageEncoder encoder;
+        if (streaming) {
+            encoder = new Pac4jHTTPPostStreamingEncoder(response);
+        } else {
+            final var velocityEncoder = new Pac4jHTTPPostEncoder(response);
+            velocityEncoder.setVelocityEngine(VelocityEngineFactory.getEngine());
+            encoder = velocityEncoder;
+        }
+        encoder.setMessageContext(context.getMessageContext());
+        encoder.initialize();
+        encoder.prepareContext();
+        encoder.encode();
+        return response.getOutgoingContent();
+    }
+
+    private static String extractAction(final String form) {
+        final var matcher = ACTION.matcher(form);
+        assertTrue(matcher.find());
+        return matcher.group(1);
+    }
+
+    private static Map<String, String> extractInputs(final String form) {
+        final Map<String, String> inputs = new LinkedHashMap<>();
+        final var matcher = INPUT.matcher(form);
+        while (matcher.find()) {
+            inputs.put(matcher.group(1), matcher.group(2));
+        }
+        return inputs;
+    }
+
+    private AuthnRequest buildAuthnRequest() {
+        final var request = ((SAMLObjectBuilder<AuthnRequest>) builderFactory.getBuilder(AuthnRequest.DEFAULT_ELEMENT_NAME))
+            .buildObject();
+        request.setID("_request1");
+        request.setIssueInstant(Instant.now());
+        request.setDestination(ENDPOINT);
+        request.setIssuer(buildIssuer());
+        return request;
+    }
+
+    private LogoutResponse buildLogoutResponse() {
+        final var response = ((SAMLObjectBuilder<LogoutResponse>) builderFactory.getBuilder(LogoutResponse.DEFAULT_ELEMENT_NAME))
+            .buildObject();
+        response.setID("_response1");
+        response.setIssueInstant(Instant.now());
+        response.setIssuer(buildIssuer());
+        return response;
+    }
+
+    private Issuer buildIssuer() {
+        final var issuer = ((SAMLObjectBuilder<Issuer>) builderFactory.getBuilder(Issuer.DEFAULT_ELEMENT_NAME)).buildObject();
+        issuer.setValue("https://sp.example.org");
+        return issuer;
+    }
+}
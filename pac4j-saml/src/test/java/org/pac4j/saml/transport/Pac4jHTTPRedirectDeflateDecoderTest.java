@@ -3,6 +3,7 @@ package org.pac4j.saml.transport;
 import org.junit.Test;
 import org.opensaml.core.xml.util.XMLObjectSupport;
 import org.opensaml.messaging.context.MessageContext;
+import org.opensaml.messaging.decoder.MessageDecodingException;
 import org.opensaml.saml.common.SAMLObject;
 import org.opensaml.saml.saml2.core.impl.AuthnRequestImpl;
 import org.pac4j.core.context.MockWebContext;
@@ -53,6 +54,24 @@ public class Pac4jHTTPRedirectDeflateDecoderTest {
         assertTrue(decoder.getMessageContext().getMessage() instanceof AuthnRequestImpl);
     }
 
+    @Test(expected = MessageDecodingException.class)
+    public void testMessageTooLarge() throws Exception {
+        final var webContext = MockWebContext.create();
+
+        final var xmlObject = XMLObjectSupport.unmarshallFromReader(Configuration.getParserPool(), new StringReader(AUTHN_REQUEST));
+
+        final var encoder =
+            new Pac4jHTTPRedirectDeflateEncoder(new DefaultPac4jSAMLResponse(webContext), false);
+        final var message = encoder.deflateAndBase64Encode((SAMLObject) xmlObject);
+
+        webContext.addRequestParameter("SAMLResponse", message);
+        final var decoder = new Pac4jHTTPRedirectDeflateDecoder(webContext);
+        decoder.setParserPool(Configuration.getParserPool());
+        decoder.setMaximumMessageSize(100);
+        decoder.initialize();
+        decoder.decode();
+    }
+
     @Test
     public void testBuildRedirectUrlWithExistingQueryParameters() throws Exception {
         final var webContext = MockWebContext.create();